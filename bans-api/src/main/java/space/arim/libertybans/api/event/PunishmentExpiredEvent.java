@@ -0,0 +1,50 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.api.event;
+
+import space.arim.omnibus.events.AsyncEvent;
+
+import space.arim.libertybans.api.punish.Punishment;
+
+/**
+ * Called when a cached mute reaches its end date. <br>
+ * <br>
+ * Precisely, this event is fired by an instance of LibertyBans when all of the following hold:
+ * <ul>
+ * <li>The punishment is a temporary mute. Bans, warns, kicks, and permanent mutes never fire this event.</li>
+ * <li>The mute is cached by this instance at its end date. Mutes are cached for online players, and
+ * on proxies also for players whose mutes were recently looked up.</li>
+ * <li>The mute was not revoked or otherwise removed from the cache beforehand.</li>
+ * </ul>
+ * The event is fired within about a second after the end date. It is fired at most once per instance,
+ * but each instance caching the mute fires it separately. It is not fired for mutes which expire while
+ * not cached, such as those of offline players, nor retroactively after a restart.
+ *
+ */
+public interface PunishmentExpiredEvent extends AsyncEvent {
+
+	/**
+	 * Gets the punishment which expired
+	 *
+	 * @return the expired punishment
+	 */
+	Punishment getPunishment();
+
+}
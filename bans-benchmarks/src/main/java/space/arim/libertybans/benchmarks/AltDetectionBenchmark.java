@@ -0,0 +1,55 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.core.alts.AltDetection;
+import space.arim.libertybans.core.alts.AltInfoRequest;
+import space.arim.libertybans.core.alts.WhichAlts;
+
+/**
+ * Alt detection for accounts each of which has alts sharing its address
+ *
+ */
+public class AltDetectionBenchmark extends DatabaseBenchmark {
+
+	@Param({"ALL_ALTS", "BANNED_OR_MUTED_ALTS"})
+	public WhichAlts whichAlts;
+
+	private AltDetection altDetection;
+
+	@Setup
+	public void setup() {
+		startInstance(AddressStrictness.NORMAL);
+		altDetection = instance.request(AltDetection.class);
+	}
+
+	@Benchmark
+	public Object detectAlts() {
+		int index = nextAccount();
+		return altDetection.detectAlts(new AltInfoRequest(
+				dataset.uuid(index), dataset.address(index), whichAlts, true, 10
+		)).join();
+	}
+
+}
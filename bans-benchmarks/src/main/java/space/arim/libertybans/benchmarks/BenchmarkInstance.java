@@ -0,0 +1,120 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import space.arim.injector.Identifier;
+import space.arim.injector.Injector;
+import space.arim.injector.InjectorBuilder;
+import space.arim.injector.SpecificationSupport;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.bootstrap.BaseFoundation;
+import space.arim.libertybans.bootstrap.PlatformId;
+import space.arim.libertybans.core.ApiBindModule;
+import space.arim.libertybans.core.CommandsModule;
+import space.arim.libertybans.core.PillarOneReplacementModule;
+import space.arim.libertybans.core.PillarTwoBindModule;
+import space.arim.libertybans.core.database.Vendor;
+import space.arim.libertybans.core.env.InstanceType;
+import space.arim.libertybans.core.uuid.ServerType;
+import space.arim.libertybans.it.ConfigSpec;
+import space.arim.libertybans.it.DatabaseInstance;
+import space.arim.libertybans.it.SetAltRegistry;
+import space.arim.libertybans.it.env.QuackBindModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A running instance backed by embedded HSQLDB and the test platform used by the integration tests
+ *
+ */
+public final class BenchmarkInstance implements AutoCloseable {
+
+	private final Injector injector;
+	private final BaseFoundation base;
+	private final Path tempDirectory;
+
+	/**
+	 * The fixed current time of every benchmark instance
+	 */
+	public static final long UNIX_TIME = 1_700_000_000L;
+
+	private BenchmarkInstance(Injector injector, BaseFoundation base, Path tempDirectory) {
+		this.injector = injector;
+		this.base = base;
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Creates and starts an instance
+	 *
+	 * @param addressStrictness the address strictness to configure
+	 * @return the started instance
+	 */
+	public static BenchmarkInstance start(AddressStrictness addressStrictness) {
+		ConfigSpec configSpec = new ConfigSpec(
+				Vendor.HSQLDB, addressStrictness, SetAltRegistry.Option.ON_CONNECTION,
+				ServerType.ONLINE, InstanceType.PROXY, false, UNIX_TIME
+		);
+		Path tempDirectory;
+		try {
+			tempDirectory = Files.createTempDirectory("libertybans-benchmark");
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		Injector injector = new InjectorBuilder()
+				.bindInstance(Identifier.ofTypeAndNamed(Path.class, "folder"), tempDirectory)
+				.bindInstance(PlatformId.class, new PlatformId("Benchmark", "0.0"))
+				.bindInstance(InstanceType.class, configSpec.instanceType())
+				.bindInstance(ConfigSpec.class, configSpec)
+				.bindInstance(DatabaseInstance.Credential.class, new DatabaseInstance.Credential(Vendor.HSQLDB))
+				.addBindModules(
+						new ApiBindModule(),
+						new PillarOneReplacementModule(),
+						new PillarTwoBindModule(),
+						new CommandsModule(),
+						new QuackBindModule())
+				.specification(SpecificationSupport.JAKARTA)
+				.multiBindings(true)
+				.build();
+		BaseFoundation base = injector.request(BaseFoundation.class);
+		base.startup();
+		return new BenchmarkInstance(injector, base, tempDirectory);
+	}
+
+	public <T> T request(Class<T> type) {
+		return injector.request(type);
+	}
+
+	@Override
+	public void close() throws IOException {
+		base.shutdown();
+		try (Stream<Path> files = Files.walk(tempDirectory)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.core.selector.Guardian;
+
+/**
+ * Chat and command checks. Commands are first matched against the configured mute commands,
+ * and only those which match, as well as chat messages, look up the player's mute.
+ *
+ */
+public class ChatBenchmark extends DatabaseBenchmark {
+
+	@Param({"CHAT", "MUTE_COMMAND", "OTHER_COMMAND"})
+	public Message message;
+
+	private Guardian guardian;
+
+	public enum Message {
+		CHAT(null),
+		MUTE_COMMAND("essentials:msg friend hello there"),
+		OTHER_COMMAND("spawn");
+
+		final String command;
+
+		Message(String command) {
+			this.command = command;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		startInstance(AddressStrictness.NORMAL);
+		guardian = instance.request(Guardian.class);
+	}
+
+	@Benchmark
+	public Object checkChat() {
+		int index = nextAccount();
+		return guardian.checkChat(dataset.uuid(index), dataset.address(index), message.command).join();
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.core.selector.Guardian;
+
+/**
+ * Login checks of returning accounts, for each address strictness. Passes through the
+ * {@code Gatekeeper}, including recording the account's name and address.
+ *
+ */
+public class ConnectionBenchmark extends DatabaseBenchmark {
+
+	@Param({"LENIENT", "NORMAL", "STERN", "STRICT"})
+	public AddressStrictness addressStrictness;
+
+	private Guardian guardian;
+
+	@Setup
+	public void setup() {
+		startInstance(addressStrictness);
+		guardian = instance.request(Guardian.class);
+	}
+
+	@Benchmark
+	public Object executeAndCheckConnection() {
+		int index = nextAccount();
+		return guardian.executeAndCheckConnection(
+				dataset.uuid(index), dataset.name(index), dataset.address(index)
+		).join();
+	}
+
+}
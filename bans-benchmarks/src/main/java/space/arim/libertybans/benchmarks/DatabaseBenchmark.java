@@ -0,0 +1,86 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.libertybans.api.select.AddressStrictness;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for benchmarks requiring a seeded database. <br>
+ * <br>
+ * Benchmark methods are meant to be run by a single thread. Each invocation uses the next account
+ * of the dataset, in an order which spreads accesses across the whole dataset.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dhsqldb.reconfig_logging=false", "-Dorg.jooq.no-logo=true", "-Dorg.jooq.no-tips=true"})
+public abstract class DatabaseBenchmark {
+
+	@Param({"10000", "1000000", "10000000"})
+	public int accounts;
+
+	protected BenchmarkInstance instance;
+	protected SeededDataset dataset;
+	private int cursor;
+
+	// A prime larger than any dataset, so that consecutive accounts are far apart
+	private static final long STRIDE = 15_485_863L;
+
+	protected void startInstance(AddressStrictness addressStrictness) {
+		instance = BenchmarkInstance.start(addressStrictness);
+		dataset = new SeededDataset(accounts);
+		dataset.seed(instance);
+	}
+
+	/**
+	 * Yields the index of the next account to use
+	 *
+	 * @return the account index
+	 */
+	protected int nextAccount() {
+		int index = (int) ((cursor * STRIDE) % accounts);
+		cursor = (cursor + 1) % accounts;
+		return index;
+	}
+
+	@TearDown
+	public void closeInstance() throws IOException {
+		if (instance != null) {
+			instance.close();
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import space.arim.api.jsonchat.adventure.util.ComponentText;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.api.select.PunishmentSelector;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.InternalFormatter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of punishment messages, using the default message layout for each punishment type. The size
+ * of the dataset does not matter here.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dhsqldb.reconfig_logging=false", "-Dorg.jooq.no-logo=true", "-Dorg.jooq.no-tips=true"})
+public class FormatterBenchmark {
+
+	@Param({"BAN", "MUTE"})
+	public PunishmentType type;
+
+	private BenchmarkInstance instance;
+	private InternalFormatter formatter;
+	private ComponentText layout;
+	private Punishment punishment;
+
+	@Setup
+	public void setup() {
+		instance = BenchmarkInstance.start(AddressStrictness.NORMAL);
+		new SeededDataset(10_000).seed(instance);
+		formatter = instance.request(InternalFormatter.class);
+		layout = instance.request(Configs.class).getMessagesConfig().additions().forType(type).layout();
+		punishment = instance.request(PunishmentSelector.class)
+				.selectionBuilder()
+				.type(type)
+				.build()
+				.getFirstSpecificPunishment()
+				.toCompletableFuture().join()
+				.orElseThrow();
+	}
+
+	@TearDown
+	public void closeInstance() throws IOException {
+		instance.close();
+	}
+
+	@Benchmark
+	public Object formatWithPunishment() {
+		return formatter.formatWithPunishment(layout, punishment).join();
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.core.selector.cache.AlwaysAvailableMuteCache;
+
+/**
+ * Mute lookups through the mute cache used on game servers. Online players are served from memory,
+ * while offline players, as looked up through the API, are queried from the database.
+ *
+ */
+public class MuteCacheBenchmark extends DatabaseBenchmark {
+
+	private AlwaysAvailableMuteCache muteCache;
+	private int onlineCursor;
+
+	private static final int ONLINE_PLAYERS = 2_048;
+
+	@Setup
+	public void setup() {
+		startInstance(AddressStrictness.NORMAL);
+		muteCache = instance.request(AlwaysAvailableMuteCache.class);
+		muteCache.startup();
+		for (int index = 0; index < ONLINE_PLAYERS; index++) {
+			muteCache.cacheOnLogin(dataset.uuid(index), dataset.address(index)).join();
+		}
+	}
+
+	@TearDown
+	public void shutdownMuteCache() {
+		muteCache.shutdown();
+	}
+
+	@Benchmark
+	public Object onlinePlayer() {
+		int index = onlineCursor;
+		onlineCursor = (index + 1) % ONLINE_PLAYERS;
+		return muteCache.getChatMuteMessage(dataset.uuid(index), dataset.address(index)).join();
+	}
+
+	@Benchmark
+	public Object offlinePlayer() {
+		// Accounts past the online players are never cached
+		int index = ONLINE_PLAYERS + nextAccount() % (dataset.accounts() - ONLINE_PLAYERS);
+		return muteCache.getChatMuteMessage(dataset.uuid(index), dataset.address(index)).join();
+	}
+
+}
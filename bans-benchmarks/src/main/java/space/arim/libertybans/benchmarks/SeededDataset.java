@@ -0,0 +1,158 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import space.arim.libertybans.api.ConsoleOperator;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.PlayerVictim;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.punish.EnforcementOptions;
+import space.arim.libertybans.api.punish.PunishmentDrafter;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.punish.EnforcementOpts;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
+import static space.arim.libertybans.core.schema.tables.Names.NAMES;
+import static space.arim.libertybans.core.schema.tables.StrictLinks.STRICT_LINKS;
+
+/**
+ * Deterministic sample data. Every account has one name and one address, and accounts sharing
+ * an address are grouped in fours, so that each account has three alts. The strict links between
+ * accounts are materialized to match. <br>
+ * <br>
+ * A small number of accounts, independent of the dataset size, are banned and muted.
+ *
+ */
+public final class SeededDataset {
+
+	private final int accounts;
+
+	static final int ACCOUNTS_PER_ADDRESS = 4;
+	// A multiple of ACCOUNTS_PER_ADDRESS, so that accounts sharing an address are inserted together
+	private static final int INSERT_CHUNK_SIZE = 5_000;
+	private static final int MAX_PUNISHED_ACCOUNTS = 1_000;
+
+	public SeededDataset(int accounts) {
+		if (accounts < ACCOUNTS_PER_ADDRESS) {
+			throw new IllegalArgumentException("Too few accounts: " + accounts);
+		}
+		this.accounts = accounts;
+	}
+
+	public int accounts() {
+		return accounts;
+	}
+
+	public UUID uuid(int index) {
+		return new UUID(0xBE_4C_11L, index);
+	}
+
+	public String name(int index) {
+		return "p" + index;
+	}
+
+	public NetworkAddress address(int index) {
+		int group = index / ACCOUNTS_PER_ADDRESS;
+		// Use 10.0.0.0/8 and its neighbours so that no address is special
+		return NetworkAddress.of(new byte[] {
+				(byte) (10 + (group >>> 24)), (byte) (group >>> 16), (byte) (group >>> 8), (byte) group
+		});
+	}
+
+	/**
+	 * Whether the account at the given index was banned by {@link #seed(BenchmarkInstance)}
+	 *
+	 * @param index the account index
+	 * @return true if banned
+	 */
+	public boolean isBanned(int index) {
+		return index < punishedAccounts() && index % 2 == 0;
+	}
+
+	/**
+	 * Whether the account at the given index was muted by {@link #seed(BenchmarkInstance)}
+	 *
+	 * @param index the account index
+	 * @return true if muted
+	 */
+	public boolean isMuted(int index) {
+		return index < punishedAccounts() && index % 2 == 1;
+	}
+
+	private int punishedAccounts() {
+		return Math.min(accounts / 100, MAX_PUNISHED_ACCOUNTS);
+	}
+
+	/**
+	 * Inserts the dataset into the database of the given instance
+	 *
+	 * @param instance the instance
+	 */
+	public void seed(BenchmarkInstance instance) {
+		QueryExecutor queryExecutor = instance.request(QueryExecutor.class);
+		Instant updated = Instant.ofEpochSecond(BenchmarkInstance.UNIX_TIME).minusSeconds(60L);
+		for (int start = 0; start < accounts; start += INSERT_CHUNK_SIZE) {
+			int end = Math.min(start + INSERT_CHUNK_SIZE, accounts);
+			int chunkStart = start;
+			queryExecutor.execute((context) -> {
+				var names = context
+						.insertInto(NAMES)
+						.columns(NAMES.UUID, NAMES.NAME, NAMES.UPDATED);
+				var addresses = context
+						.insertInto(ADDRESSES)
+						.columns(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED);
+				var strictLinks = context
+						.insertInto(STRICT_LINKS)
+						.columns(STRICT_LINKS.UUID1, STRICT_LINKS.UUID2);
+				for (int index = chunkStart; index < end; index++) {
+					names = names.values(uuid(index), name(index), updated);
+					addresses = addresses.values(uuid(index), address(index), updated);
+					// Link each account with every account at its address, including itself
+					int groupStart = index - (index % ACCOUNTS_PER_ADDRESS);
+					int groupEnd = Math.min(groupStart + ACCOUNTS_PER_ADDRESS, accounts);
+					for (int linked = groupStart; linked < groupEnd; linked++) {
+						strictLinks = strictLinks.values(uuid(index), uuid(linked));
+					}
+				}
+				names.execute();
+				addresses.execute();
+				strictLinks.execute();
+			}).join();
+		}
+		PunishmentDrafter drafter = instance.request(PunishmentDrafter.class);
+		EnforcementOpts noEnforcement = EnforcementOpts.builder()
+				.enforcement(EnforcementOptions.Enforcement.NONE)
+				.build();
+		for (int index = 0; index < punishedAccounts(); index++) {
+			drafter.draftBuilder()
+					.type((index % 2 == 0) ? PunishmentType.BAN : PunishmentType.MUTE)
+					.victim(PlayerVictim.of(uuid(index)))
+					.operator(ConsoleOperator.INSTANCE)
+					.reason("Seeded punishment " + index)
+					.build()
+					.enactPunishment(noEnforcement)
+					.toCompletableFuture().join();
+		}
+	}
+
+}
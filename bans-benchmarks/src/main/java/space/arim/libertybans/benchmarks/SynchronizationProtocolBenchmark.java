@@ -0,0 +1,130 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import space.arim.libertybans.api.PlayerOperator;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.punish.EnforcementOptions;
+import space.arim.libertybans.core.punish.EnforcementOpts;
+import space.arim.libertybans.core.punish.Mode;
+import space.arim.libertybans.core.punish.sync.MessageReceiver;
+import space.arim.libertybans.core.punish.sync.PacketEnforceUnenforce;
+import space.arim.libertybans.core.punish.sync.PacketExpunge;
+import space.arim.libertybans.core.punish.sync.PacketUpdateDetails;
+import space.arim.libertybans.core.punish.sync.SynchronizationPacket;
+import space.arim.libertybans.core.punish.sync.SynchronizationProtocol;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.ReactionStage;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and reception of synchronization packets. Does not require a database
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SynchronizationProtocolBenchmark {
+
+	@Param({"1", "64"})
+	public int batchSize;
+
+	private SynchronizationProtocol sender;
+	private SynchronizationProtocol receiver;
+	private SynchronizationPacket[] packets;
+	private byte[][] serializedPackets;
+	private MessageReceiver messageReceiver;
+
+	@Setup
+	public void setup() {
+		FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+		// Different instances, since a protocol ignores its own messages
+		sender = new SynchronizationProtocol(futuresFactory);
+		receiver = new SynchronizationProtocol(futuresFactory);
+
+		EnforcementOpts enforcementOptions = EnforcementOpts.builder()
+				.broadcasting(EnforcementOptions.Broadcasting.NORMAL)
+				.targetArgument("target")
+				.unOperator(PlayerOperator.of(UUID.randomUUID()))
+				.build();
+		packets = new SynchronizationPacket[batchSize];
+		for (int n = 0; n < batchSize; n++) {
+			packets[n] = switch (n % 4) {
+				case 0 -> new PacketEnforceUnenforce(n, PunishmentType.BAN, Mode.DO, enforcementOptions);
+				case 1 -> new PacketEnforceUnenforce(n, PunishmentType.MUTE, Mode.UNDO, enforcementOptions);
+				case 2 -> new PacketUpdateDetails(n);
+				default -> new PacketExpunge(n);
+			};
+		}
+		serializedPackets = new byte[batchSize][];
+		for (int n = 0; n < batchSize; n++) {
+			serializedPackets[n] = sender.serializeMessage(packets[n]);
+		}
+		messageReceiver = new MessageReceiver() {
+			@Override
+			public ReactionStage<?> onReception(SynchronizationPacket message) {
+				return futuresFactory.completedFuture(message);
+			}
+
+			@Override
+			public ReactionStage<?> onReception(List<SynchronizationPacket> messages) {
+				return futuresFactory.completedFuture(messages);
+			}
+		};
+	}
+
+	@Benchmark
+	public void serialize(Blackhole blackhole) {
+		for (SynchronizationPacket packet : packets) {
+			blackhole.consume(sender.serializeMessage(packet));
+		}
+	}
+
+	@Benchmark
+	public void receiveIndividually(Blackhole blackhole) {
+		for (byte[] serializedPacket : serializedPackets) {
+			blackhole.consume(receiver.receiveMessage(serializedPacket, messageReceiver));
+		}
+	}
+
+	@Benchmark
+	public Object receiveAsBatch() {
+		return receiver.receiveMessages(serializedPackets, messageReceiver);
+	}
+
+}
@@ -27,10 +27,13 @@ import space.arim.libertybans.api.LibertyBans;
 import space.arim.libertybans.bootstrap.PlatformId;
 import space.arim.libertybans.bootstrap.plugin.PluginInfo;
 import space.arim.libertybans.core.addon.AddonCenter;
+import space.arim.libertybans.core.alts.AccountGraph;
 import space.arim.libertybans.core.commands.extra.TabCompletion;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.database.DatabaseManager;
 import space.arim.libertybans.core.env.EnvironmentManager;
+import space.arim.libertybans.core.punish.AssociationQueue;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.libertybans.core.selector.cache.MuteCache;
 import space.arim.libertybans.core.service.AsynchronicityManager;
 import space.arim.libertybans.core.uuid.UUIDManager;
@@ -47,6 +50,9 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 	private final DatabaseManager databaseManager;
 	private final UUIDManager uuidManager;
 	private final MuteCache muteCache;
+	private final ActiveBanIndex activeBanIndex;
+	private final AccountGraph accountGraph;
+	private final AssociationQueue associationQueue;
 	private final TabCompletion tabCompletion;
 	private final EnvironmentManager envManager;
 	private final AddonCenter addonCenter;
@@ -58,7 +64,8 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 
 	@Inject
 	public LifecycleGodfather(PlatformId platformId, AsynchronicityManager asyncManager, Configs configs, DatabaseManager databaseManager,
-                              UUIDManager uuidManager, MuteCache muteCache, TabCompletion tabCompletion,
+                              UUIDManager uuidManager, MuteCache muteCache, ActiveBanIndex activeBanIndex,
+                              AccountGraph accountGraph, AssociationQueue associationQueue, TabCompletion tabCompletion,
                               EnvironmentManager envManager, AddonCenter addonCenter,
                               LibertyBans api) {
         this.platformId = platformId;
@@ -67,6 +74,9 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 		this.databaseManager = databaseManager;
 		this.uuidManager = uuidManager;
 		this.muteCache = muteCache;
+		this.activeBanIndex = activeBanIndex;
+		this.accountGraph = accountGraph;
+		this.associationQueue = associationQueue;
 		this.tabCompletion = tabCompletion;
 		this.envManager = envManager;
 		this.addonCenter = addonCenter;
@@ -84,6 +94,9 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 		databaseManager.startup();
 		uuidManager.startup();
 		muteCache.startup();
+		activeBanIndex.startup();
+		accountGraph.startup();
+		associationQueue.startup();
 		tabCompletion.startup();
 		addonCenter.startup();
 		envManager.startup();
@@ -98,11 +111,16 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 	@Override
 	void restart0() {
 		envManager.shutdown();
+		// Write queued associations to the database before it is replaced
+		associationQueue.shutdown();
 		asyncManager.restart();
 		configs.restart();
 		databaseManager.restart();
 		uuidManager.restart();
 		muteCache.restart();
+		activeBanIndex.restart();
+		accountGraph.restart();
+		associationQueue.startup();
 		tabCompletion.restart();
 		addonCenter.restart();
 		envManager.startup();
@@ -113,6 +131,9 @@ public class LifecycleGodfather extends AbstractBaseFoundation {
 		envManager.shutdown();
 		addonCenter.shutdown();
 		tabCompletion.shutdown();
+		associationQueue.shutdown();
+		accountGraph.shutdown();
+		activeBanIndex.shutdown();
 		muteCache.shutdown();
 		uuidManager.shutdown();
 		configs.shutdown();
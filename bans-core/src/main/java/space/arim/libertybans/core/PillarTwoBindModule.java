@@ -30,7 +30,7 @@ import space.arim.libertybans.core.commands.usage.UsageGlossary;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
 import space.arim.libertybans.core.punish.sync.EnforcingMessageReceiver;
 import space.arim.libertybans.core.punish.sync.MessageReceiver;
-import space.arim.libertybans.core.punish.sync.SQLSynchronizationMessenger;
+import space.arim.libertybans.core.punish.sync.NotifyingSynchronizationMessenger;
 import space.arim.libertybans.core.punish.sync.SynchronizationMessenger;
 import space.arim.libertybans.core.uuid.DynamicNameValidator;
 import space.arim.libertybans.core.uuid.NameValidator;
@@ -75,7 +75,7 @@ public class PillarTwoBindModule {
 		return database;
 	}
 
-	public SynchronizationMessenger synchronizationMessenger(SQLSynchronizationMessenger synchronizationMessenger) {
+	public SynchronizationMessenger synchronizationMessenger(NotifyingSynchronizationMessenger synchronizationMessenger) {
 		return synchronizationMessenger;
 	}
 
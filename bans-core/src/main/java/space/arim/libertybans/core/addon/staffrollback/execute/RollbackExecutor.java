@@ -21,21 +21,30 @@ package space.arim.libertybans.core.addon.staffrollback.execute;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
+import org.jooq.Condition;
 import space.arim.libertybans.api.select.PunishmentSelector;
 import space.arim.libertybans.core.database.InternalDatabase;
+import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
+import space.arim.libertybans.core.database.execute.Workload;
+import space.arim.libertybans.core.punish.GlobalEnforcement;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
+import java.util.List;
+
 import static space.arim.libertybans.core.schema.tables.Punishments.PUNISHMENTS;
 
 public final class RollbackExecutor {
 
 	private final Provider<InternalDatabase> dbProvider;
 	private final PunishmentSelector selector;
+	private final GlobalEnforcement enforcement;
 
 	@Inject
-	public RollbackExecutor(Provider<InternalDatabase> dbProvider, PunishmentSelector selector) {
+	public RollbackExecutor(Provider<InternalDatabase> dbProvider, PunishmentSelector selector,
+							GlobalEnforcement enforcement) {
 		this.dbProvider = dbProvider;
 		this.selector = selector;
+		this.enforcement = enforcement;
 	}
 
 	public CentralisedFuture<Integer> previewCount(PreparedRollback rollback) {
@@ -50,12 +59,23 @@ public final class RollbackExecutor {
 	}
 
 	public CentralisedFuture<Integer> executeRollback(PreparedRollback rollback) {
-		return dbProvider.get().queryWithRetry((context, transaction) -> {
-			return context
+		return dbProvider.get().queryWithRetry(SQLTransactionalFunction.withWorkload(Workload.BULK, (context, transaction) -> {
+			Condition condition = PUNISHMENTS.OPERATOR.eq(rollback.operator())
+					.and(PUNISHMENTS.START.between(rollback.minStartTime(), rollback.maxStartTime()));
+			List<Long> deletedIds = context
+					.select(PUNISHMENTS.ID)
+					.from(PUNISHMENTS)
+					.where(condition)
+					.forUpdate()
+					.fetch(PUNISHMENTS.ID);
+			context
 					.deleteFrom(PUNISHMENTS)
-					.where(PUNISHMENTS.OPERATOR.eq(rollback.operator()))
-					.and(PUNISHMENTS.START.between(rollback.minStartTime(), rollback.maxStartTime()))
+					.where(condition)
 					.execute();
+			return deletedIds;
+		})).thenCompose((deletedIds) -> {
+			// The rows were deleted directly, so caches and the ban index must be told, here and elsewhere
+			return enforcement.clearExpunged(deletedIds).thenApply((ignore) -> deletedIds.size());
 		});
 	}
 }
@@ -0,0 +1,304 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.alts;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jooq.Cursor;
+import org.jooq.Record3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.Part;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.database.execute.SQLFunction;
+import space.arim.libertybans.core.database.sql.AccountExpirationCondition;
+import space.arim.libertybans.core.punish.JoinListener;
+import space.arim.omnibus.util.ThisClass;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
+
+/**
+ * An optional, memory-resident graph of accounts linked by shared addresses. <br>
+ * <br>
+ * When enabled, alt detection finds the candidate alts of a user by looking up the user's addresses and the
+ * other users of those addresses, rather than scanning the address history in the database. The graph is
+ * loaded at startup and kept current for names and addresses recorded or deleted on this instance. <br>
+ * <br>
+ * Addresses recorded on other instances are not known to the graph. When synchronization is enabled, alt
+ * detection therefore still queries the database, and uses the graph only to add addresses not yet written.
+ *
+ */
+@Singleton
+public final class AccountGraph implements Part {
+
+	private final Configs configs;
+	private final Provider<QueryExecutor> queryExecutor;
+
+	private volatile Graph graph;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	@Inject
+	public AccountGraph(Configs configs, Provider<QueryExecutor> queryExecutor, JoinListener joinListener) {
+		this.configs = configs;
+		this.queryExecutor = queryExecutor;
+		joinListener.subscribe((uuid, name, address, currentTime) -> record(uuid, address, currentTime));
+	}
+
+	@Override
+	public void startup() {
+		reload().join();
+	}
+
+	/**
+	 * Discards the current contents and loads the graph anew from the database, without blocking. <br>
+	 * <br>
+	 * The graph is not {@link #isReady()} until loading completes, so that callers fall back to the database
+	 * in the meantime. Does nothing if the graph is disabled.
+	 *
+	 * @return a future completed once loading is finished
+	 */
+	public CompletableFuture<?> reload() {
+		if (!configs.getSqlConfig().accountGraph().enable()) {
+			graph = null;
+			return CompletableFuture.completedFuture(null);
+		}
+		Graph graph = new Graph();
+		// Install the graph first, so that changes made while loading are not lost
+		this.graph = graph;
+		return queryExecutor.get().query(SQLFunction.readOnly((context) -> {
+			int count = 0;
+			try (Cursor<Record3<UUID, NetworkAddress, Instant>> cursor = context
+					.select(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED)
+					.from(ADDRESSES)
+					.fetchLazy()) {
+				for (Record3<UUID, NetworkAddress, Instant> record : cursor) {
+					graph.link(record.value1(), record.value2(), record.value3());
+					count++;
+				}
+			}
+			return count;
+		})).thenAccept((loaded) -> {
+			graph.finishLoading();
+			logger.debug("Loaded {} address records into the account graph", loaded);
+		});
+	}
+
+	@Override
+	public void restart() {
+		startup();
+	}
+
+	@Override
+	public void shutdown() {
+		graph = null;
+	}
+
+	/**
+	 * Whether the graph is enabled and loaded, such that it may be used in place of the database
+	 *
+	 * @return true if ready for use
+	 */
+	public boolean isReady() {
+		Graph graph = this.graph;
+		return graph != null && graph.loaded;
+	}
+
+	/**
+	 * Records that a user has used an address. Does nothing if the graph is disabled
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the address
+	 * @param recorded when the address was used
+	 */
+	public void record(UUID uuid, NetworkAddress address, Instant recorded) {
+		Graph graph = this.graph;
+		if (graph != null) {
+			graph.link(uuid, address, recorded);
+		}
+	}
+
+	/**
+	 * Removes the address history of a user recorded at a certain time. Mirrors the deletion of
+	 * address history from the database. Does nothing if the graph is disabled
+	 *
+	 * @param uuid the user's UUID
+	 * @param recorded the time the deleted addresses were recorded
+	 */
+	public void remove(UUID uuid, Instant recorded) {
+		Graph graph = this.graph;
+		if (graph != null) {
+			graph.unlink(uuid, recorded);
+		}
+	}
+
+	/**
+	 * Finds the neighbourhood of a user: the user's non-expired addresses, and the other users
+	 * who have used those addresses and whose use of them has not expired. <br>
+	 * <br>
+	 * Expiration follows the same semantics as {@link AccountExpirationCondition}. The user's current
+	 * address is always included, since it may not yet be recorded.
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the user's current address
+	 * @param currentTime the current time
+	 * @return the neighbourhood of the user
+	 * @throws IllegalStateException if the graph is not {@link #isReady()}
+	 */
+	public Neighbourhood neighbourhood(UUID uuid, NetworkAddress address, Instant currentTime) {
+		Graph graph = this.graph;
+		if (graph == null || !graph.loaded) {
+			throw new IllegalStateException("Account graph is not ready");
+		}
+		Instant expiredBefore = AccountExpirationCondition.expiredBefore(configs, currentTime);
+
+		Set<NetworkAddress> addresses = new HashSet<>();
+		addresses.add(address);
+		Map<NetworkAddress, Instant> pastAddresses = graph.addressesByUser.get(uuid);
+		if (pastAddresses != null) {
+			pastAddresses.forEach((pastAddress, updated) -> {
+				if (isNotExpired(updated, expiredBefore)) {
+					addresses.add(pastAddress);
+				}
+			});
+		}
+		Set<UUID> alts = new HashSet<>();
+		for (NetworkAddress sharedAddress : addresses) {
+			Map<UUID, Instant> users = graph.usersByAddress.get(sharedAddress);
+			if (users == null) {
+				continue;
+			}
+			users.forEach((user, updated) -> {
+				if (!user.equals(uuid) && isNotExpired(updated, expiredBefore)) {
+					alts.add(user);
+				}
+			});
+		}
+		return new Neighbourhood(addresses, alts);
+	}
+
+	private static boolean isNotExpired(Instant updated, @Nullable Instant expiredBefore) {
+		return expiredBefore == null || updated.isAfter(expiredBefore);
+	}
+
+	/**
+	 * The neighbourhood of a user in the account graph
+	 *
+	 * @param addresses the user's addresses, including the current address
+	 * @param alts the other users of those addresses
+	 */
+	public record Neighbourhood(Set<NetworkAddress> addresses, Set<UUID> alts) { }
+
+	private static final class Graph {
+
+		/*
+		Each edge between a user and an address is stored twice, once in each direction, with the time it was
+		last recorded. Both directions are keyed such that lookups need not touch the database.
+
+		The inner maps are concurrent, so that reads are lock-free. Writes to an inner map happen within
+		compute on the outer map, which ensures an emptied inner map is never removed while being written.
+		 */
+		final Map<UUID, Map<NetworkAddress, Instant>> addressesByUser = new ConcurrentHashMap<>();
+		final Map<NetworkAddress, Map<UUID, Instant>> usersByAddress = new ConcurrentHashMap<>();
+
+		// Guarded by this
+		private List<Removal> removedWhileLoading = new ArrayList<>();
+		private volatile boolean loaded;
+
+		synchronized void finishLoading() {
+			// Deleted history may have been loaded after it was removed
+			for (Removal removal : removedWhileLoading) {
+				unlinkNow(removal.uuid, removal.recorded);
+			}
+			removedWhileLoading = null;
+			loaded = true;
+		}
+
+		void link(UUID uuid, NetworkAddress address, Instant recorded) {
+			// Merging by the latest time means the order of loading and recording is irrelevant
+			addressesByUser.compute(uuid, (k, addresses) -> {
+				if (addresses == null) {
+					addresses = new ConcurrentHashMap<>(2);
+				}
+				addresses.merge(address, recorded, Graph::latest);
+				return addresses;
+			});
+			usersByAddress.compute(address, (k, users) -> {
+				if (users == null) {
+					users = new ConcurrentHashMap<>(2);
+				}
+				users.merge(uuid, recorded, Graph::latest);
+				return users;
+			});
+		}
+
+		void unlink(UUID uuid, Instant recorded) {
+			synchronized (this) {
+				if (removedWhileLoading != null) {
+					removedWhileLoading.add(new Removal(uuid, recorded));
+				}
+			}
+			unlinkNow(uuid, recorded);
+		}
+
+		private void unlinkNow(UUID uuid, Instant recorded) {
+			List<NetworkAddress> unlinked = new ArrayList<>();
+			addressesByUser.computeIfPresent(uuid, (k, addresses) -> {
+				addresses.entrySet().removeIf((entry) -> {
+					if (entry.getValue().equals(recorded)) {
+						unlinked.add(entry.getKey());
+						return true;
+					}
+					return false;
+				});
+				// Returning null removes the mapping
+				return addresses.isEmpty() ? null : addresses;
+			});
+			for (NetworkAddress address : unlinked) {
+				usersByAddress.computeIfPresent(address, (k, users) -> {
+					// Only remove the edge if it was not re-recorded in the meantime
+					users.remove(uuid, recorded);
+					return users.isEmpty() ? null : users;
+				});
+			}
+		}
+
+		private static Instant latest(Instant first, Instant second) {
+			return first.isAfter(second) ? first : second;
+		}
+
+		private record Removal(UUID uuid, Instant recorded) { }
+	}
+
+}
@@ -31,6 +31,7 @@ import space.arim.libertybans.api.user.KnownAccount;
 import space.arim.libertybans.core.database.pagination.*;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
 import space.arim.libertybans.core.database.execute.SQLFunction;
+import space.arim.libertybans.core.punish.Association;
 import space.arim.libertybans.core.punish.MiscUtil;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
@@ -46,10 +47,12 @@ import static space.arim.libertybans.core.schema.tables.LatestNames.LATEST_NAMES
 public final class AccountHistory {
 
 	private final Provider<QueryExecutor> queryExecutor;
+	private final AccountGraph accountGraph;
 
 	@Inject
-	public AccountHistory(Provider<QueryExecutor> queryExecutor) {
+	public AccountHistory(Provider<QueryExecutor> queryExecutor, AccountGraph accountGraph) {
 		this.queryExecutor = queryExecutor;
+		this.accountGraph = accountGraph;
 	}
 
 	public KnownAccount newAccount(UUID uuid, String username, NetworkAddress address, Instant recorded) {
@@ -122,7 +125,16 @@ public final class AccountHistory {
 					.where(ADDRESSES.UUID.eq(user))
 					.and(ADDRESSES.UPDATED.eq(recorded))
 					.execute();
-			return updateCount != 0;
+			if (updateCount == 0) {
+				return false;
+			}
+			new Association(user, context).relinkAccounts();
+			return true;
+		}).thenApply((deleted) -> {
+			if (deleted) {
+				accountGraph.remove(user, recorded);
+			}
+			return deleted;
 		});
 	}
 
@@ -21,6 +21,7 @@ package space.arim.libertybans.core.alts;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.SelectField;
@@ -43,8 +44,10 @@ import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,12 +61,19 @@ public class AltDetection {
 
 	private final Configs configs;
 	private final Provider<QueryExecutor> queryExecutor;
+	private final AccountGraph accountGraph;
 	private final Time time;
 
+	/**
+	 * Beyond this many candidate alts from the account graph, the candidates are not passed to the database
+	 */
+	private static final int MAX_CANDIDATE_ALTS = 500;
+
 	@Inject
-	public AltDetection(Configs configs, Provider<QueryExecutor> queryExecutor, Time time) {
+	public AltDetection(Configs configs, Provider<QueryExecutor> queryExecutor, AccountGraph accountGraph, Time time) {
 		this.configs = configs;
 		this.queryExecutor = queryExecutor;
+		this.accountGraph = accountGraph;
 		this.time = time;
 	}
 
@@ -92,19 +102,31 @@ public class AltDetection {
  		 */
 		final Instant currentTime = time.currentTimestamp();
 
-		/*
-		Database optimization: we pre-fetch the target player's addresses, then use them.
-
-		The RDMS is not powerful enough to optimize the query if we don't do this. The query becomes too complicated,
-		and the engine falls back to a full table scan (tested with MariaDB). In practice, performance scales better
-		by fetching the IP addresses and using an IN clause like we do here.
-		 */
-		List<NetworkAddress> lookForAddresses = context
-				.select(ADDRESSES.ADDRESS)
-				.from(ADDRESSES)
-				.where(ADDRESSES.UUID.eq(query.uuid()))
-				.and(new AccountExpirationCondition(ADDRESSES.UPDATED).isNotExpired(configs, currentTime))
-				.fetch(ADDRESSES.ADDRESS);
+		AltInfoRequest request = query.request;
+		Pagination<InstantThenUUID> pagination = new Pagination<>(
+				request.pageAnchor(), request.oldestFirst(),
+				InstantThenUUID.defineOrder(ADDRESSES.UPDATED, ADDRESSES.UUID)
+		);
+		Collection<NetworkAddress> lookForAddresses;
+		Condition candidateAlts = noCondition();
+		if (accountGraph.isReady() && configs.getSqlConfig().synchronization().enabled()) {
+			// Addresses recorded on other instances are unknown to the graph, so it cannot rule out alts
+			Set<NetworkAddress> addresses = new HashSet<>(lookForAddresses(context, query, currentTime));
+			addresses.addAll(accountGraph.neighbourhood(query.uuid(), query.address(), currentTime).addresses());
+			lookForAddresses = addresses;
+		} else if (accountGraph.isReady()) {
+			// The account graph already knows the target player's addresses and the users sharing them
+			AccountGraph.Neighbourhood neighbourhood = accountGraph.neighbourhood(query.uuid(), query.address(), currentTime);
+			if (neighbourhood.alts().isEmpty()) {
+				return pagination.anchor().buildPage(List.of(), new DetectedAltLiaison());
+			}
+			lookForAddresses = neighbourhood.addresses();
+			if (neighbourhood.alts().size() <= MAX_CANDIDATE_ALTS) {
+				candidateAlts = ADDRESSES.UUID.in(neighbourhood.alts());
+			}
+		} else {
+			lookForAddresses = lookForAddresses(context, query, currentTime);
+		}
 
 		var detectedAlt = ADDRESSES;
 		List<SelectField<?>> selectFields = new ArrayList<>(List.of(
@@ -127,11 +149,6 @@ public class AltDetection {
 			typeMatches.put(type, victimTypeField);
 			selectFields.add(victimTypeField);
 		}
-		AltInfoRequest request = query.request;
-		Pagination<InstantThenUUID> pagination = new Pagination<>(
-				request.pageAnchor(), request.oldestFirst(),
-				InstantThenUUID.defineOrder(detectedAlt.UPDATED, detectedAlt.UUID)
-		);
 		List<DetectedAlt> detectedAlts = context
 				.select(selectFields)
 				.from(selectTables)
@@ -139,6 +156,8 @@ public class AltDetection {
 				.where(detectedAlt.ADDRESS.in(lookForAddresses))
 				// Ignore the player themselves
 				.and(detectedAlt.UUID.notEqual(query.uuid()))
+				// Restrict to the candidates found in the account graph, if any
+				.and(candidateAlts)
 				// Filter non-expired alts
 				.and(new AccountExpirationCondition(detectedAlt.UPDATED).isNotExpired(configs, currentTime))
 				// Filter based on punishments matched
@@ -174,18 +193,41 @@ public class AltDetection {
 							scannedTypes
 					);
 				});
-		return pagination.anchor().buildPage(detectedAlts, new KeysetPage.AnchorLiaison<>() {
-
-            @Override
-            public BorderValueHandle<InstantThenUUID> borderValueHandle() {
-                return InstantThenUUID.borderValueHandle();
-            }
-
-            @Override
-            public InstantThenUUID getAnchor(DetectedAlt datum) {
-                return new InstantThenUUID(datum.recorded(), datum.uuid());
-            }
-        });
+		return pagination.anchor().buildPage(detectedAlts, new DetectedAltLiaison());
+	}
+
+	private List<NetworkAddress> lookForAddresses(DSLContext context, AltQuery query, Instant currentTime) {
+		/*
+		Database optimization: we pre-fetch the target player's addresses, then use them.
+
+		The RDMS is not powerful enough to optimize the query if we don't do this. The query becomes too complicated,
+		and the engine falls back to a full table scan (tested with MariaDB). In practice, performance scales better
+		by fetching the IP addresses and using an IN clause like we do here.
+		 */
+		List<NetworkAddress> lookForAddresses = context
+				.select(ADDRESSES.ADDRESS)
+				.from(ADDRESSES)
+				.where(ADDRESSES.UUID.eq(query.uuid()))
+				.and(new AccountExpirationCondition(ADDRESSES.UPDATED).isNotExpired(configs, currentTime))
+				.fetch(ADDRESSES.ADDRESS);
+		if (!lookForAddresses.contains(query.address())) {
+			// The current address may not yet be written, if associations are queued
+			lookForAddresses.add(query.address());
+		}
+		return lookForAddresses;
+	}
+
+	private static final class DetectedAltLiaison implements KeysetPage.AnchorLiaison<DetectedAlt, InstantThenUUID> {
+
+		@Override
+		public BorderValueHandle<InstantThenUUID> borderValueHandle() {
+			return InstantThenUUID.borderValueHandle();
+		}
+
+		@Override
+		public InstantThenUUID getAnchor(DetectedAlt datum) {
+			return new InstantThenUUID(datum.recorded(), datum.uuid());
+		}
 	}
 
 	record AltQuery(AltInfoRequest request,
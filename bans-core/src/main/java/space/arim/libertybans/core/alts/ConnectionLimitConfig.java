@@ -25,6 +25,7 @@ import space.arim.dazzleconf.annote.ConfDefault;
 import space.arim.dazzleconf.annote.ConfHeader;
 import space.arim.dazzleconf.annote.ConfKey;
 import space.arim.dazzleconf.annote.NumericRange;
+import space.arim.dazzleconf.annote.SubSection;
 
 @ConfHeader({
 		"Limits players connecting from the same IP address.",
@@ -54,4 +55,28 @@ public interface ConnectionLimitConfig {
 	@ConfComments("The message when a player is denied from joining due to the limit")
 	@ConfDefault.DefaultString("There have been too many connections from your IP address recently")
 	Component message();
+
+	@ConfKey("in-memory")
+	@SubSection
+	InMemory inMemory();
+
+	@ConfHeader({
+			"Counts recent joins in memory rather than querying the database on every join.",
+			"For each address, only as many recent players as needed to decide the limit are kept.",
+			"An address is read from the database once, when it is first checked."
+	})
+	interface InMemory {
+
+		@ConfComments("Whether to count joins in memory")
+		@ConfDefault.DefaultBoolean(true)
+		boolean enable();
+
+		@ConfKey("reconcile-interval-seconds")
+		@ConfComments({"With synchronization enabled, joins on other instances are only visible in the database.",
+				"How often, at most, should the count for an address be re-read from the database?",
+				"Set to 0 to never re-read. This option has no effect if synchronization is disabled."})
+		@ConfDefault.DefaultInteger(30)
+		@NumericRange(min = 0)
+		int reconcileIntervalSeconds();
+	}
 }
@@ -19,42 +19,236 @@
 
 package space.arim.libertybans.core.alts;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.DSLContext;
+import org.jooq.Record2;
 import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.punish.AssociationQueue;
+import space.arim.libertybans.core.punish.JoinListener;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
 
 import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
 
+@Singleton
 public final class ConnectionLimiter {
 
 	private final Configs configs;
+	private final AssociationQueue associationQueue;
+
+	/*
+	The in-memory windows are bounded by both the number of addresses and, per address, the number of
+	users. An address not seen within the limiter's duration has nothing left to count, so it expires.
+	 */
+	private final Cache<NetworkAddress, Window> windows = Caffeine.newBuilder()
+			.maximumSize(MAX_ADDRESSES)
+			.expireAfter(Expiry.accessing((NetworkAddress address, Window window) -> windowDuration()))
+			.build();
+
+	private static final int MAX_ADDRESSES = 20_000;
 
 	@Inject
-	public ConnectionLimiter(Configs configs) {
+	public ConnectionLimiter(Configs configs, AssociationQueue associationQueue, JoinListener joinListener) {
 		this.configs = configs;
+		this.associationQueue = associationQueue;
+		joinListener.subscribe((uuid, name, address, currentTime) -> record(uuid, address, currentTime));
+	}
+
+	private ConnectionLimitConfig config() {
+		return configs.getMainConfig().enforcement().connectionLimiter();
+	}
+
+	private Duration windowDuration() {
+		return Duration.ofSeconds(config().durationSeconds());
+	}
+
+	/**
+	 * Records that a user has joined from an address. Does nothing unless the limiter counts joins in memory
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the address
+	 * @param currentTime the time of joining
+	 */
+	public void record(UUID uuid, NetworkAddress address, Instant currentTime) {
+		ConnectionLimitConfig config = config();
+		if (config.enable() && config.inMemory().enable()) {
+			windows.get(address, (k) -> new Window())
+					.record(uuid, currentTime.getEpochSecond(), config.limit() + 1);
+		}
 	}
 
 	public @Nullable Component hasExceededLimit(DSLContext context, NetworkAddress address,
 												Instant currentTime) {
-		var config = configs.getMainConfig().enforcement().connectionLimiter();
+		var config = config();
 		if (config.enable()) {
 			Instant timeBeforeDuration = currentTime.minusSeconds(config.durationSeconds());
-			int count = context
+			int count;
+			if (config.inMemory().enable()) {
+				count = countInMemory(context, address, currentTime, timeBeforeDuration, config);
+			} else {
+				count = countInDatabase(context, address, timeBeforeDuration);
+			}
+			if (count > config.limit()) {
+				return config.message();
+			}
+		}
+		return null;
+	}
+
+	private int countInMemory(DSLContext context, NetworkAddress address, Instant currentTime,
+							  Instant timeBeforeDuration, ConnectionLimitConfig config) {
+		Window window = windows.get(address, (k) -> new Window());
+		long reconcileInterval;
+		if (configs.getSqlConfig().synchronization().enabled()) {
+			reconcileInterval = config.inMemory().reconcileIntervalSeconds();
+		} else {
+			reconcileInterval = 0L;
+		}
+		if (window.claimReconciliation(currentTime.getEpochSecond(), reconcileInterval)) {
+			// Only the most recent joins can decide the limit
+			int capacity = config.limit() + 1;
+			for (Record2<UUID, Instant> record : context
+					.select(ADDRESSES.UUID, ADDRESSES.UPDATED)
+					.from(ADDRESSES)
+					.where(ADDRESSES.ADDRESS.eq(address))
+					.and(ADDRESSES.UPDATED.greaterOrEqual(timeBeforeDuration))
+					.orderBy(ADDRESSES.UPDATED.desc())
+					.limit(capacity)
+					.fetch()) {
+				window.record(record.value1(), record.value2().getEpochSecond(), capacity);
+			}
+		}
+		return window.count(timeBeforeDuration.getEpochSecond());
+	}
+
+	private int countInDatabase(DSLContext context, NetworkAddress address, Instant timeBeforeDuration) {
+		Set<UUID> pendingUUIDs = associationQueue.pendingUUIDsAt(address, timeBeforeDuration);
+		if (pendingUUIDs.isEmpty()) {
+			return context
 					.selectCount()
 					.from(ADDRESSES)
 					.where(ADDRESSES.ADDRESS.eq(address))
 					.and(ADDRESSES.UPDATED.greaterOrEqual(timeBeforeDuration))
 					.fetchSingle()
 					.value1();
-			if (count > config.limit()) {
-				return config.message();
+		}
+		// Some associations are not yet written. Count distinct users to avoid double-counting
+		Set<UUID> uuids = context
+				.select(ADDRESSES.UUID)
+				.from(ADDRESSES)
+				.where(ADDRESSES.ADDRESS.eq(address))
+				.and(ADDRESSES.UPDATED.greaterOrEqual(timeBeforeDuration))
+				.fetchSet(ADDRESSES.UUID);
+		pendingUUIDs.addAll(uuids);
+		return pendingUUIDs.size();
+	}
+
+	/**
+	 * The recent joins from a single address, by distinct user, newest first. <br>
+	 * <br>
+	 * Only the newest {@code limit + 1} users are kept. This suffices to answer the limit check exactly:
+	 * if more than {@code limit} users joined within the window, then the newest {@code limit + 1}
+	 * certainly did, and the older ones leave the window first.
+	 *
+	 */
+	static final class Window {
+
+		private static final long NEVER = Long.MIN_VALUE;
+
+		// Guarded by this
+		private UUID[] uuids = new UUID[2];
+		private long[] joined = new long[2];
+		private int size;
+		private long reconciledAt = NEVER;
+
+		/**
+		 * Records a join, keeping the latest join time per user
+		 *
+		 * @param uuid the user
+		 * @param time the join time in epoch seconds
+		 * @param capacity the maximum number of users to keep
+		 */
+		synchronized void record(UUID uuid, long time, int capacity) {
+			for (int n = 0; n < size; n++) {
+				if (uuids[n].equals(uuid)) {
+					if (joined[n] >= time) {
+						return;
+					}
+					remove(n);
+					break;
+				}
+			}
+			int position = 0;
+			while (position < size && joined[position] >= time) {
+				position++;
+			}
+			if (position >= capacity) {
+				return;
 			}
+			int newSize = Math.min(size + 1, capacity);
+			if (uuids.length < newSize) {
+				int length = Math.min(capacity, uuids.length * 2);
+				uuids = Arrays.copyOf(uuids, length);
+				joined = Arrays.copyOf(joined, length);
+			}
+			int moved = newSize - position - 1;
+			System.arraycopy(uuids, position, uuids, position + 1, moved);
+			System.arraycopy(joined, position, joined, position + 1, moved);
+			uuids[position] = uuid;
+			joined[position] = time;
+			if (newSize < size) {
+				// The capacity was lowered
+				Arrays.fill(uuids, newSize, size, null);
+			}
+			size = newSize;
+		}
+
+		private void remove(int index) {
+			int moved = size - index - 1;
+			System.arraycopy(uuids, index + 1, uuids, index, moved);
+			System.arraycopy(joined, index + 1, joined, index, moved);
+			uuids[--size] = null;
+		}
+
+		/**
+		 * Counts the users who joined at or after the given time
+		 *
+		 * @param since the start of the window in epoch seconds
+		 * @return the count
+		 */
+		synchronized int count(long since) {
+			int count = 0;
+			while (count < size && joined[count] >= since) {
+				count++;
+			}
+			return count;
+		}
+
+		/**
+		 * Determines whether to read the database, and if so, marks this window as reconciled. The first
+		 * caller always seeds the window. Concurrent callers meanwhile use the counts already in memory.
+		 *
+		 * @param now the current time in epoch seconds
+		 * @param interval the minimum interval between reconciliations, or 0 to never reconcile after seeding
+		 * @return true if the caller should read the database
+		 */
+		synchronized boolean claimReconciliation(long now, long interval) {
+			if (reconciledAt == NEVER || (interval > 0L && now - reconciledAt >= interval)) {
+				reconciledAt = now;
+				return true;
+			}
+			return false;
 		}
-		return null;
 	}
 }
@@ -76,12 +76,12 @@ public final class AccountHistoryCommands extends AbstractSubCommandGroup {
 	}
 
 	@Override
-	public Stream<String> suggest(CmdSender sender, String arg, int argIndex) {
+	public Stream<String> suggest(CmdSender sender, String arg, int argIndex, String prefix) {
 		switch (argIndex) {
 		case 0:
 			return Stream.of("delete", "list").filter((subCmd) -> hasPermission(sender, subCmd));
 		case 1:
-			return tabCompletion.completeOfflinePlayerNames(sender);
+			return tabCompletion.completeOfflinePlayerNames(sender, prefix);
 		default:
 			break;
 		}
@@ -27,6 +27,7 @@ import space.arim.libertybans.bootstrap.PlatformId;
 import space.arim.libertybans.bootstrap.plugin.PluginInfo;
 import space.arim.libertybans.core.addon.AddonCenter;
 import space.arim.libertybans.core.config.MessagesConfig;
+import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.env.CmdSender;
 import space.arim.libertybans.core.env.Environment;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
@@ -44,15 +45,18 @@ public final class AdminCommands extends AbstractSubCommandGroup {
 	private final PlatformId platformId;
 	private final Provider<Environment> environment;
 	private final AddonCenter addonCenter;
+	private final Provider<InternalDatabase> dbProvider;
 
 	@Inject
 	public AdminCommands(Dependencies dependencies, Provider<BaseFoundation> foundation, PlatformId platformId,
-                         Provider<Environment> environment, AddonCenter addonCenter) {
+                         Provider<Environment> environment, AddonCenter addonCenter,
+                         Provider<InternalDatabase> dbProvider) {
 		super(dependencies, Arrays.stream(Type.values()).map(Type::toString));
 		this.foundation = foundation;
 		this.platformId = platformId;
 		this.environment = environment;
 		this.addonCenter = addonCenter;
+		this.dbProvider = dbProvider;
     }
 
 	private MessagesConfig.Admin adminConfig() {
@@ -158,6 +162,7 @@ public final class AdminCommands extends AbstractSubCommandGroup {
 					"Run state: " + foundation.get().getRunState(),
 					"Version: " + PluginInfo.VERSION,
 					"Database: " + PluginInfo.DATABASE_REVISION_MAJOR + '.' + PluginInfo.DATABASE_REVISION_MINOR,
+					"Database retries: " + dbProvider.get().retryMetrics().snapshot(),
 					"Platform: " + platformId.name() + ' ' + platformId.version(),
 					"Addons: " + addonCenter.allIdentifiers().toList(),
 					"Implementation environment: " + environment.get().getClass().getSimpleName(),
@@ -22,6 +22,7 @@ package space.arim.libertybans.core.commands;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import space.arim.libertybans.core.alts.AccountGraph;
 import space.arim.libertybans.core.config.MessagesConfig;
 import space.arim.libertybans.core.env.CmdSender;
 import space.arim.libertybans.core.importing.AdvancedBanImportSource;
@@ -32,6 +33,7 @@ import space.arim.libertybans.core.importing.ImportStatistics;
 import space.arim.libertybans.core.importing.LiteBansImportSource;
 import space.arim.libertybans.core.importing.PlatformImportSource;
 import space.arim.libertybans.core.importing.SelfImportProcess;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
@@ -47,6 +49,8 @@ public final class ImportCommands extends AbstractSubCommandGroup {
 	private final Map<PluginSourceType, Provider<? extends ImportSource>> importSourceProviders;
 	/** The self-import process has no ImportSource implementation */
 	private final SelfImportProcess selfImportProcess;
+	private final AccountGraph accountGraph;
+	private final ActiveBanIndex activeBanIndex;
 	private final AtomicBoolean isImporting = new AtomicBoolean();
 
 	@Inject
@@ -55,7 +59,8 @@ public final class ImportCommands extends AbstractSubCommandGroup {
 						  Provider<BanManagerImportSource> banManagerImportSourceProvider,
 						  Provider<LiteBansImportSource> liteBansImportSourceProvider,
 						  Provider<PlatformImportSource> platformImportSourceProvider,
-						  SelfImportProcess selfImportProcess) {
+						  SelfImportProcess selfImportProcess, AccountGraph accountGraph,
+						  ActiveBanIndex activeBanIndex) {
 		super(dependencies, "import");
 		this.executor = executor;
 		importSourceProviders = Map.of(
@@ -64,6 +69,8 @@ public final class ImportCommands extends AbstractSubCommandGroup {
 				PluginSourceType.LITEBANS, liteBansImportSourceProvider,
 				PluginSourceType.VANILLA, platformImportSourceProvider);
 		this.selfImportProcess = selfImportProcess;
+		this.accountGraph = accountGraph;
+		this.activeBanIndex = activeBanIndex;
 	}
 
 	private enum PluginSourceType {
@@ -140,7 +147,13 @@ public final class ImportCommands extends AbstractSubCommandGroup {
 				});
 			}
 			sender().sendMessage(importMessages().started());
-			return importFuture.whenComplete((ignore, ex) -> isImporting.set(false));
+			return importFuture.whenComplete((ignore, ex) -> {
+				// Imported punishments and address history are written directly to the database
+				// Reload without blocking, since this runs on a database thread
+				accountGraph.reload();
+				activeBanIndex.reload();
+				isImporting.set(false);
+			});
 		}
 
 		private MessagesConfig.Admin.Importing importMessages() {
@@ -52,10 +52,7 @@ import space.arim.libertybans.core.selector.SelectionBuilderBaseImpl;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -84,11 +81,11 @@ public class ListCommands extends AbstractSubCommandGroup {
 	}
 
 	@Override
-	public Stream<String> suggest(CmdSender sender, String arg, int argIndex) {
+	public Stream<String> suggest(CmdSender sender, String arg, int argIndex, String prefix) {
 		if (argIndex == 0) {
 			ListType listType = ListType.fromString(arg);
 			if (listType.requiresTarget()) {
-				return tabCompletion.completeOfflinePlayerNames(sender);
+				return tabCompletion.completeOfflinePlayerNames(sender, prefix);
 			}
 		}
 		return Stream.empty();
@@ -249,11 +246,9 @@ public class ListCommands extends AbstractSubCommandGroup {
 				return completedFuture(null);
 			}
 
-			ComponentText body = section.layoutBody();
-			Map<Punishment, CentralisedFuture<Component>> entries = new HashMap<>(punishments.size());
-			for (Punishment punishment : punishments) {
-				entries.put(punishment, formatter.formatWithPunishment(body, punishment));
-			}
+			CentralisedFuture<List<Component>> entries = formatter.formatAllWithPunishment(
+					section.layoutBody(), punishments
+			);
 
 			int page = pageAnchor.page();
 			class HeaderFooterReplacer implements UnaryOperator<String> {
@@ -275,12 +270,7 @@ public class ListCommands extends AbstractSubCommandGroup {
 			ComponentLike header = section.layoutHeader().replaceText(headerFooterReplacer);
 			ComponentLike footer = section.layoutFooter().replaceText(headerFooterReplacer);
 
-			return futuresFactory().allOf(entries.values()).thenRun(() -> {
-
-				List<Component> punishmentMessages = new ArrayList<>(punishments.size());
-				for (Punishment punishment : punishments) {
-					punishmentMessages.add(entries.get(punishment).join());
-				}
+			return entries.thenAccept((punishmentMessages) -> {
 				Component joinedMessage = Component.join(Component.newline(),
 						header,
 						Component.join(Component.newline(), punishmentMessages),
@@ -60,7 +60,28 @@ public interface SubCommandGroup {
 	 * @param argIndex the index of the furthest argument
 	 * @return tab complete suggestions
 	 */
-	Stream<String> suggest(CmdSender sender, String arg, int argIndex);
+	default Stream<String> suggest(CmdSender sender, String arg, int argIndex) {
+		return suggest(sender, arg, argIndex, "");
+	}
+
+	/**
+	 * Gets tab complete suggestions for a sub command, knowing what has been typed of the furthest argument. <br>
+	 * <br>
+	 * The suggestions are filtered by the caller, so implementing this method is optional. It allows
+	 * implementations to avoid supplying suggestions which would be filtered out anyway. <br>
+	 * <br>
+	 * Each of the two {@code suggest} methods delegates to the other by default, so implementations must
+	 * override at least one of them.
+	 *
+	 * @param sender the command sender
+	 * @param arg the sub command matched to this sub command group, lowercased
+	 * @param argIndex the index of the furthest argument
+	 * @param prefix the part of the furthest argument already typed, lowercased
+	 * @return tab complete suggestions
+	 */
+	default Stream<String> suggest(CmdSender sender, String arg, int argIndex, String prefix) {
+		return suggest(sender, arg, argIndex);
+	}
 
 	/**
 	 * Determines whether the sender has permission for a sub command, for tab completion purposes
@@ -0,0 +1,98 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.commands.extra;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of recent player names, sorted case-insensitively. Completing a prefix seeks to the first
+ * matching name and reads at most the requested number of names, regardless of the size of the index.
+ *
+ */
+final class OfflineNameIndex {
+
+	private final ConcurrentSkipListMap<String, Name> names = new ConcurrentSkipListMap<>();
+
+	private record Name(String name, Instant updated) {
+
+		boolean isRecent(Instant cutoff) {
+			return updated.isAfter(cutoff);
+		}
+
+		static Name latest(Name first, Name second) {
+			return second.updated.isAfter(first.updated) ? second : first;
+		}
+	}
+
+	/**
+	 * Adds a name, or updates it if the given time is later than the existing one
+	 *
+	 * @param name the name
+	 * @param updated when the name was last used
+	 */
+	void add(String name, Instant updated) {
+		names.merge(name.toLowerCase(Locale.ROOT), new Name(name, updated), Name::latest);
+	}
+
+	/**
+	 * Removes names not used after the cutoff
+	 *
+	 * @param cutoff the cutoff time
+	 */
+	void removeExpired(Instant cutoff) {
+		names.values().removeIf((name) -> !name.isRecent(cutoff));
+	}
+
+	/**
+	 * Completes names starting with a prefix, ignoring case, in alphabetical order
+	 *
+	 * @param prefix the prefix
+	 * @param cutoff names not used after this time are ignored
+	 * @param limit the maximum number of names
+	 * @return the matching names
+	 */
+	List<String> complete(String prefix, Instant cutoff, int limit) {
+		String lowercasePrefix = prefix.toLowerCase(Locale.ROOT);
+		List<String> completions = new ArrayList<>(Math.min(limit, 16));
+		for (Map.Entry<String, Name> entry : names.tailMap(lowercasePrefix).entrySet()) {
+			if (!entry.getKey().startsWith(lowercasePrefix)) {
+				break;
+			}
+			Name name = entry.getValue();
+			if (name.isRecent(cutoff)) {
+				completions.add(name.name);
+				if (completions.size() == limit) {
+					break;
+				}
+			}
+		}
+		return completions;
+	}
+
+	int size() {
+		return names.size();
+	}
+
+}
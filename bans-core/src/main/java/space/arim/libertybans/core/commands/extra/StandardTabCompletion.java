@@ -19,11 +19,13 @@
 
 package space.arim.libertybans.core.commands.extra;
 
-import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import org.jooq.Cursor;
+import org.jooq.Record2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.MainConfig;
@@ -31,12 +33,14 @@ import space.arim.libertybans.core.config.ParsedDuration;
 import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.database.execute.SQLFunction;
 import space.arim.libertybans.core.env.CmdSender;
+import space.arim.libertybans.core.punish.JoinListener;
 import space.arim.libertybans.core.service.Time;
+import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -49,39 +53,40 @@ public final class StandardTabCompletion implements TabCompletion {
 	private final Provider<InternalDatabase> dbProvider;
 	private final Time time;
 
-	private AsyncLoadingCache<Boolean, Set<String>> nameCache;
+	private volatile OfflineNames offlineNames;
+
+	/**
+	 * How far to look back before the previous fetch. Names may be written with an earlier timestamp
+	 * than the time of writing, such as by association write-behind or due to clock drift between servers.
+	 */
+	private static final Duration FETCH_OVERLAP = Duration.ofMinutes(1L);
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
 	@Inject
-	public StandardTabCompletion(Configs configs, Provider<InternalDatabase> dbProvider, Time time) {
+	public StandardTabCompletion(Configs configs, Provider<InternalDatabase> dbProvider, Time time,
+								 JoinListener joinListener) {
 		this.configs = configs;
 		this.dbProvider = dbProvider;
 		this.time = time;
+		joinListener.subscribe((uuid, name, address, currentTime) -> recordName(name, currentTime));
 	}
 
 	@Override
 	public void startup() {
 		var config = configs.getMainConfig().commands().tabCompletion().offlinePlayerNames();
 		if (config.enable()) {
-			Duration retention = Duration.ofMinutes(config.retentionMinutes());
-			Duration cacheRefresh = Duration.ofSeconds(config.cacheRefreshSeconds());
-			AsyncLoadingCache<Boolean, Set<String>> nameCache = Caffeine.newBuilder()
-					.refreshAfterWrite(cacheRefresh)
-					.buildAsync((key, executor) -> {
-						InternalDatabase database = dbProvider.get();
-						Instant currentTimeMinusRetention = time.currentTimestamp().minus(retention);
-						return database.query(SQLFunction.readOnly((context) -> {
-							return Set.copyOf(context
-									.select(NAMES.NAME)
-									.from(NAMES)
-									.where(NAMES.UPDATED.greaterThan(currentTimeMinusRetention))
-									.fetchSet(NAMES.NAME));
-						}));
-					});
+			OfflineNames offlineNames = new OfflineNames(
+					Duration.ofMinutes(config.retentionMinutes()),
+					Duration.ofSeconds(config.cacheRefreshSeconds()),
+					config.maxCompletions()
+			);
+			// Install first, so that names recorded while loading are not lost
+			this.offlineNames = offlineNames;
 			// Load initial value
-			nameCache.get(Boolean.TRUE).join();
-			this.nameCache = nameCache;
+			offlineNames.fetch().join();
 		} else {
-			nameCache = null;
+			offlineNames = null;
 		}
 	}
 
@@ -92,7 +97,7 @@ public final class StandardTabCompletion implements TabCompletion {
 
 	@Override
 	public void shutdown() {
-		nameCache = null;
+		offlineNames = null;
 	}
 
 	@Override
@@ -104,11 +109,89 @@ public final class StandardTabCompletion implements TabCompletion {
 	}
 
 	@Override
-	public Stream<String> completeOfflinePlayerNames(CmdSender sender) {
-		if (nameCache == null) {
+	public Stream<String> completeOfflinePlayerNames(CmdSender sender, String prefix) {
+		OfflineNames offlineNames = this.offlineNames;
+		if (offlineNames == null) {
 			return completeOnlinePlayerNames(sender);
 		}
-		return nameCache.get(Boolean.TRUE).orTimeout(1L, TimeUnit.MILLISECONDS).join().stream();
+		Instant currentTime = time.currentTimestamp();
+		offlineNames.fetchIfDue(currentTime);
+		return offlineNames.index.complete(
+				prefix, currentTime.minus(offlineNames.retention), offlineNames.maxCompletions
+		).stream();
+	}
+
+	@Override
+	public void recordName(String name, Instant currentTime) {
+		OfflineNames offlineNames = this.offlineNames;
+		if (offlineNames != null) {
+			offlineNames.index.add(name, currentTime);
+		}
+	}
+
+	private final class OfflineNames {
+
+		final OfflineNameIndex index = new OfflineNameIndex();
+		final Duration retention;
+		private final Duration fetchInterval;
+		final int maxCompletions;
+
+		private final AtomicBoolean fetching = new AtomicBoolean(true);
+		private volatile Instant lastFetch;
+		private volatile Instant nextFetch = Instant.MIN;
+
+		OfflineNames(Duration retention, Duration fetchInterval, int maxCompletions) {
+			this.retention = retention;
+			this.fetchInterval = fetchInterval;
+			this.maxCompletions = maxCompletions;
+		}
+
+		void fetchIfDue(Instant currentTime) {
+			if (!currentTime.isBefore(nextFetch) && fetching.compareAndSet(false, true)) {
+				fetch();
+			}
+		}
+
+		/**
+		 * Fetches names updated since the last fetch, or all recent names if there was none.
+		 * Also removes names which are no longer recent. Must be called by whoever set {@code fetching}
+		 *
+		 * @return a future completed once fetched
+		 */
+		CentralisedFuture<?> fetch() {
+			Instant currentTime = time.currentTimestamp();
+			Instant retentionCutoff = currentTime.minus(retention);
+			Instant since;
+			if (lastFetch == null || lastFetch.minus(FETCH_OVERLAP).isBefore(retentionCutoff)) {
+				since = retentionCutoff;
+			} else {
+				since = lastFetch.minus(FETCH_OVERLAP);
+			}
+			return dbProvider.get().query(SQLFunction.readOnly((context) -> {
+				int count = 0;
+				try (Cursor<Record2<String, Instant>> cursor = context
+						.select(NAMES.NAME, NAMES.UPDATED)
+						.from(NAMES)
+						.where(NAMES.UPDATED.greaterThan(since))
+						.fetchLazy()) {
+					for (Record2<String, Instant> record : cursor) {
+						index.add(record.value1(), record.value2());
+						count++;
+					}
+				}
+				return count;
+			})).whenComplete((count, ex) -> {
+				nextFetch = currentTime.plus(fetchInterval);
+				if (ex == null) {
+					index.removeExpired(retentionCutoff);
+					lastFetch = currentTime;
+					logger.trace("Fetched {} names for tab completion, {} in total", count, index.size());
+				} else {
+					logger.warn("Failed to fetch player names for tab completion", ex);
+				}
+				fetching.set(false);
+			});
+		}
 	}
 
 	@Override
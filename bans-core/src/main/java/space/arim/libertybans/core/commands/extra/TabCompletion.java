@@ -23,10 +23,11 @@ import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.core.Part;
 import space.arim.libertybans.core.env.CmdSender;
 
+import java.time.Instant;
 import java.util.stream.Stream;
 
 /**
- * Tab completion. Methods should be called from and only from the same thread as that on which
+ * Tab completion. Completion methods should be called from and only from the same thread as that on which
  * tab completion was requested by the platform.
  *
  */
@@ -34,7 +35,24 @@ public interface TabCompletion extends Part {
 
 	Stream<String> completeOnlinePlayerNames(CmdSender sender);
 
-	Stream<String> completeOfflinePlayerNames(CmdSender sender);
+	/**
+	 * Completes the names of players who have recently joined. The completions may be limited to
+	 * those starting with the given prefix, ignoring case, but callers should still filter them.
+	 *
+	 * @param sender the command sender
+	 * @param prefix the part of the name already typed
+	 * @return the completions
+	 */
+	Stream<String> completeOfflinePlayerNames(CmdSender sender, String prefix);
+
+	/**
+	 * Records the name of a joining player, so that it may be completed as an offline player name.
+	 * Unlike the completion methods, this may be called from any thread.
+	 *
+	 * @param name the player's name
+	 * @param currentTime the current time
+	 */
+	void recordName(String name, Instant currentTime);
 
 	Stream<String> completePunishmentDurations(CmdSender sender, PunishmentType type);
 
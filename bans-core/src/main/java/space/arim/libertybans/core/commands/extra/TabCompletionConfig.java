@@ -23,6 +23,7 @@ import space.arim.dazzleconf.annote.ConfComments;
 import space.arim.dazzleconf.annote.ConfDefault;
 import space.arim.dazzleconf.annote.ConfHeader;
 import space.arim.dazzleconf.annote.ConfKey;
+import space.arim.dazzleconf.annote.NumericRange;
 import space.arim.dazzleconf.annote.SubSection;
 import space.arim.libertybans.core.config.ParsedDuration;
 
@@ -57,11 +58,20 @@ public interface TabCompletionConfig {
 
 		@ConfKey("cache-refresh-seconds")
 		@ConfComments({
-				"This feature is implemented using a cache. How often should the cache be refreshed?",
+				"This feature is implemented using an index of names, which is updated when players join on this server.",
+				"How often should names recorded by other servers be fetched from the database?",
 				"Shorter times mean more accurate tab completion but use slightly more performance"})
 		@ConfDefault.DefaultLong(120)
 		long cacheRefreshSeconds();
 
+		@ConfKey("max-completions")
+		@ConfComments({
+				"The maximum number of names to tab-complete at once",
+				"Players see only the names starting with what they have typed, so a lower limit is rarely noticed"})
+		@ConfDefault.DefaultInteger(100)
+		@NumericRange(min = 1)
+		int maxCompletions();
+
 	}
 
 	@ConfKey("use-only-players-on-same-server")
@@ -19,6 +19,8 @@
 
 package space.arim.libertybans.core.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.inject.Inject;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
@@ -53,9 +55,13 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
@@ -69,8 +75,18 @@ public class Formatter implements InternalFormatter {
 	private final UUIDManager uuidManager;
 	private final Time time;
 	private final ComponentSerializer<Component, ? extends Component, String> messageParser;
+	private final Cache<ComponentText, Template> templates = Caffeine.newBuilder().weakKeys().build();
+	private final Cache<PunishmentMessageKey, PunishmentMessage> punishmentMessages = Caffeine.newBuilder()
+			.maximumSize(PUNISHMENT_MESSAGE_CACHE_SIZE)
+			.expireAfterWrite(Duration.ofSeconds(2 * PUNISHMENT_MESSAGE_TIME_BUCKET))
+			.build();
 
 	private static final long MARGIN_OF_INITIATION = 10; // seconds
+	private static final int PUNISHMENT_MESSAGE_CACHE_SIZE = 1000;
+	/**
+	 * Granularity of time-dependent variables, such as TIME_REMAINING, in cached punishment messages
+	 */
+	static final long PUNISHMENT_MESSAGE_TIME_BUCKET = 5; // seconds
 	
 	@Inject
 	public Formatter(FactoryOfTheFuture futuresFactory, Configs configs, AbacusForIds abacusForIds,
@@ -110,7 +126,45 @@ public class Formatter implements InternalFormatter {
 	
 	@Override
 	public CentralisedFuture<Component> getPunishmentMessage(Punishment punishment) {
-		return formatWithPunishment(messages().additions().forType(punishment.getType()).layout(), punishment);
+		MessagesConfig messages = messages();
+		MainConfig mainConfig = configs.getMainConfig();
+		PunishmentMessageKey key = new PunishmentMessageKey(
+				punishment.getIdentifier(), time.currentTime() / PUNISHMENT_MESSAGE_TIME_BUCKET
+		);
+		PunishmentMessage cached = punishmentMessages.getIfPresent(key);
+		if (cached != null && cached.isFor(punishment, messages, mainConfig)) {
+			return futuresFactory.copyFuture(cached.message);
+		}
+		CentralisedFuture<Component> message = formatWithPunishment(
+				messages.additions().forType(punishment.getType()).layout(), punishment
+		);
+		PunishmentMessage entry = new PunishmentMessage(punishment, messages, mainConfig, message);
+		punishmentMessages.put(key, entry);
+		message.whenComplete((ignore, ex) -> {
+			if (ex != null) {
+				punishmentMessages.asMap().remove(key, entry);
+			}
+		});
+		return futuresFactory.copyFuture(message);
+	}
+
+	@Override
+	public void invalidatePunishmentMessage(long id) {
+		punishmentMessages.asMap().keySet().removeIf((key) -> key.id == id);
+	}
+
+	private record PunishmentMessageKey(long id, long timeBucket) { }
+
+	/**
+	 * A rendered punishment message. Valid only for the same punishment details and the same
+	 * configuration generation; reloading creates new configuration objects, hence identity comparison.
+	 */
+	private record PunishmentMessage(Punishment punishment, MessagesConfig messages, MainConfig mainConfig,
+									 CentralisedFuture<Component> message) {
+
+		boolean isFor(Punishment punishment, MessagesConfig messages, MainConfig mainConfig) {
+			return this.messages == messages && this.mainConfig == mainConfig && this.punishment.equals(punishment);
+		}
 	}
 
 	@Override
@@ -135,12 +189,47 @@ public class Formatter implements InternalFormatter {
 
 	private CentralisedFuture<Component> formatWithPunishment(
 			ComponentText componentText, Punishment punishment, @Nullable Operator unOperator, @Nullable Boolean silence) {
+		Template template = templates.get(componentText, Template::compile);
 		Formatting formatting = new Formatting(punishment, unOperator, silence);
-		formatting.requestFutureVars(componentText);
-		return futuresFactory.supplyAsync(() -> {
-			formatting.computeRemaining();
-			return formatting.replaceInMessage(componentText);
-		}).thenCompose(future -> future);
+		formatting.computeVariables(template);
+		if (template.futureVariables.isEmpty()) {
+			// Nothing to wait for
+			return futuresFactory.completedFuture(formatting.replaceInMessage(componentText, template));
+		}
+		return futuresFactory.allOf(formatting.futureReplacements.values())
+				.thenApply((ignore) -> formatting.replaceInMessage(componentText, template));
+	}
+
+	@Override
+	public CentralisedFuture<List<Component>> formatAllWithPunishment(ComponentText componentText,
+																	  List<Punishment> punishments) {
+		Template template = templates.get(componentText, Template::compile);
+		Set<UUID> uuids = new HashSet<>();
+		for (Punishment punishment : punishments) {
+			for (FutureReplaceable futureReplaceable : template.futureVariables) {
+				UUID uuid = referencedUUID(futureReplaceable, punishment);
+				if (uuid != null) {
+					uuids.add(uuid);
+				}
+			}
+		}
+		if (uuids.isEmpty()) {
+			return futuresFactory.completedFuture(formatAllResolved(componentText, template, punishments, Map.of()));
+		}
+		// Resolve every name on the page in one batch, then render all entries without further waiting
+		return uuidManager.lookupNames(uuids)
+				.thenApply((names) -> formatAllResolved(componentText, template, punishments, names));
+	}
+
+	private List<Component> formatAllResolved(ComponentText componentText, Template template,
+											  List<Punishment> punishments, Map<UUID, String> names) {
+		List<Component> messages = new ArrayList<>(punishments.size());
+		for (Punishment punishment : punishments) {
+			Formatting formatting = new Formatting(punishment, null, null);
+			formatting.computeVariables(template, names);
+			messages.add(formatting.replaceInMessage(componentText, template));
+		}
+		return messages;
 	}
 	
 	private enum SimpleReplaceable {
@@ -190,6 +279,92 @@ public class Formatter implements InternalFormatter {
 		}
 	}
 
+	/**
+	 * A message compiled into segments of literal text and variables. Compiled once per
+	 * message, that is, once per configuration load, and reused thereafter. The message itself
+	 * is not referenced, so that the template is discarded along with the message. <br>
+	 * <br>
+	 * Each text segment of the message is split into an array whose elements are either
+	 * literal strings or {@code SimpleReplaceable} or {@code FutureReplaceable} variables.
+	 */
+	private record Template(Map<String, Object[]> compiledTexts,
+							Set<SimpleReplaceable> simpleVariables, Set<ComponentReplaceable> componentVariables,
+							Set<FutureReplaceable> futureVariables) {
+
+		private static final Map<String, Enum<?>> VARIABLES_BY_NAME;
+
+		static {
+			Map<String, Enum<?>> variablesByName = new HashMap<>();
+			for (SimpleReplaceable simpleReplaceable : SimpleReplaceable.values()) {
+				variablesByName.put(simpleReplaceable.name(), simpleReplaceable);
+			}
+			for (FutureReplaceable futureReplaceable : FutureReplaceable.values()) {
+				variablesByName.put(futureReplaceable.name(), futureReplaceable);
+			}
+			VARIABLES_BY_NAME = Map.copyOf(variablesByName);
+		}
+
+		static Template compile(ComponentText componentText) {
+			Set<SimpleReplaceable> simpleVariables = EnumSet.noneOf(SimpleReplaceable.class);
+			for (SimpleReplaceable simpleReplaceable : SimpleReplaceable.values()) {
+				if (componentText.contains(simpleReplaceable.getVariable())) {
+					simpleVariables.add(simpleReplaceable);
+				}
+			}
+			Set<ComponentReplaceable> componentVariables = EnumSet.noneOf(ComponentReplaceable.class);
+			for (ComponentReplaceable componentReplaceable : ComponentReplaceable.values()) {
+				if (componentText.contains(componentReplaceable.getVariable())) {
+					componentVariables.add(componentReplaceable);
+				}
+			}
+			Set<FutureReplaceable> futureVariables = EnumSet.noneOf(FutureReplaceable.class);
+			for (FutureReplaceable futureReplaceable : FutureReplaceable.values()) {
+				if (componentText.contains(futureReplaceable.getVariable())) {
+					futureVariables.add(futureReplaceable);
+				}
+			}
+			Map<String, Object[]> compiledTexts = new HashMap<>();
+			componentText.replaceText((text) -> {
+				compiledTexts.computeIfAbsent(text, Template::compileText);
+				return text;
+			});
+			return new Template(Map.copyOf(compiledTexts), simpleVariables, componentVariables, futureVariables);
+		}
+
+		static Object[] compileText(String text) {
+			List<Object> segments = new ArrayList<>();
+			int literalStart = 0;
+			int searchFrom = 0;
+			int variableStart;
+			while ((variableStart = text.indexOf('%', searchFrom)) != -1) {
+				int variableEnd = text.indexOf('%', variableStart + 1);
+				if (variableEnd == -1) {
+					break;
+				}
+				Enum<?> variable = VARIABLES_BY_NAME.get(text.substring(variableStart + 1, variableEnd));
+				if (variable == null) {
+					// The closing '%' might open the next variable
+					searchFrom = variableEnd;
+					continue;
+				}
+				if (variableStart > literalStart) {
+					segments.add(text.substring(literalStart, variableStart));
+				}
+				segments.add(variable);
+				literalStart = searchFrom = variableEnd + 1;
+			}
+			if (literalStart < text.length() || segments.isEmpty()) {
+				segments.add(text.substring(literalStart));
+			}
+			return segments.toArray();
+		}
+
+		Object[] segmentsOf(String text) {
+			Object[] segments = compiledTexts.get(text);
+			return (segments == null) ? compileText(text) : segments;
+		}
+	}
+
 	private final class Formatting {
 
 		private final Punishment punishment;
@@ -200,144 +375,215 @@ public class Formatter implements InternalFormatter {
 		private final EnumMap<ComponentReplaceable, Component> componentReplacements = new EnumMap<>(ComponentReplaceable.class);
 		private final Map<FutureReplaceable, CentralisedFuture<String>> futureReplacements = new EnumMap<>(FutureReplaceable.class);
 
+		private RelativeTimes relativeTimes;
+
         private Formatting(Punishment punishment, @Nullable Operator unOperator, @Nullable Boolean silence) {
             this.punishment = punishment;
             this.unOperator = unOperator;
             this.silence = silence;
         }
 
-        void requestFutureVars(ComponentText componentText) {
-			for (FutureReplaceable futureReplaceable : FutureReplaceable.values()) {
+		void computeVariables(Template template) {
+			computeVariables(template, null);
+		}
 
+		/**
+		 * Computes the variables used by the template
+		 *
+		 * @param template the template
+		 * @param resolvedNames if nonnull, the already resolved player names to use instead of lookups
+		 */
+		void computeVariables(Template template, @Nullable Map<UUID, String> resolvedNames) {
+			for (FutureReplaceable futureReplaceable : template.futureVariables) {
 				if (unOperator == null && futureReplaceable == FutureReplaceable.UNOPERATOR) {
 					continue;
 				}
-				if (componentText.contains(futureReplaceable.getVariable())) {
-					CentralisedFuture<String> replacement = getFutureReplacement(futureReplaceable, punishment, unOperator);
-					futureReplacements.put(futureReplaceable, replacement);
+				CentralisedFuture<String> replacement;
+				UUID uuid;
+				if (resolvedNames != null && (uuid = referencedUUID(futureReplaceable, punishment)) != null) {
+					String name = resolvedNames.get(uuid);
+					replacement = futuresFactory.completedFuture(
+							(name == null) ? messages().formatting().victimDisplay().playerNameUnknown() : name
+					);
+				} else {
+					replacement = getFutureReplacement(futureReplaceable, punishment, unOperator);
+				}
+				futureReplacements.put(futureReplaceable, replacement);
+			}
+			for (SimpleReplaceable simpleReplaceable : template.simpleVariables) {
+				String replacement = computeSimple(simpleReplaceable);
+				if (replacement != null) {
+					simpleReplacements.put(simpleReplaceable, replacement);
+				}
+			}
+			for (ComponentReplaceable componentReplaceable : template.componentVariables) {
+				Component replacement = computeComponent(componentReplaceable);
+				if (replacement != null) {
+					componentReplacements.put(componentReplaceable, replacement);
 				}
 			}
 		}
 
-		void computeRemaining() {
-			MessagesConfig.Formatting formatting = messages().formatting();
-
-			simpleReplacements.put(SimpleReplaceable.ID, abacusForIds.displayId(punishment.getIdentifier()));
-			simpleReplacements.put(SimpleReplaceable.TYPE, formatPunishmentType(punishment.getType()));
-			simpleReplacements.put(SimpleReplaceable.TYPE_VERB, formatPunishmentTypeVerb(punishment.getType()));
-			simpleReplacements.put(SimpleReplaceable.VICTIM_ID, formatVictimId(punishment.getVictim()));
-			simpleReplacements.put(SimpleReplaceable.OPERATOR_ID, formatOperatorId(punishment.getOperator()));
-			if (unOperator != null)
-				simpleReplacements.put(SimpleReplaceable.UNOPERATOR_ID, formatOperatorId(unOperator));
-			simpleReplacements.put(SimpleReplaceable.REASON, punishment.getReason());
-			simpleReplacements.put(SimpleReplaceable.SCOPE, formatScope(punishment.getScope()));
-			{
-				final long now = time.currentTime();
-				final long start = punishment.getStartDateSeconds();
-
-				final long timePassed = now - start;
-
-				final String durationFormatted;
-				final String relativeEndFormatted, relativeEndFormattedSimple;
-				boolean notExpired = false;
-
-				if (punishment.isPermanent()) {
-					// Permanent punishment
-					MessagesConfig.Formatting.PermanentDisplay display = formatting.permanentDisplay();
-					durationFormatted = display.duration();
-					relativeEndFormatted = display.relative();
-					relativeEndFormattedSimple = relativeEndFormatted;
-					notExpired = true;
+		private @Nullable String computeSimple(SimpleReplaceable simpleReplaceable) {
+			return switch (simpleReplaceable) {
+				case ID -> abacusForIds.displayId(punishment.getIdentifier());
+				case TYPE -> formatPunishmentType(punishment.getType());
+				case TYPE_VERB -> formatPunishmentTypeVerb(punishment.getType());
+				case VICTIM_ID -> formatVictimId(punishment.getVictim());
+				case OPERATOR_ID -> formatOperatorId(punishment.getOperator());
+				case UNOPERATOR_ID -> (unOperator == null) ? null : formatOperatorId(unOperator);
+				case REASON -> punishment.getReason();
+				case SCOPE -> formatScope(punishment.getScope());
+				case DURATION -> relativeTimes().durationFormatted();
+				case START_DATE -> formatAbsoluteDate(punishment.getStartDate());
+				case TIME_PASSED -> formatRelative(relativeTimes().timePassed());
+				case TIME_PASSED_SIMPLE -> formatRelativeSimple(relativeTimes().timePassed());
+				case END_DATE -> formatAbsoluteDate(punishment.getEndDate());
+				case TIME_REMAINING -> relativeTimes().relativeEndFormatted();
+				case TIME_REMAINING_SIMPLE -> relativeTimes().relativeEndFormattedSimple();
+				case TRACK, TRACK_ID, TRACK_NAMESPACE -> computeTrack(simpleReplaceable);
+			};
+		}
 
-				} else {
-					final long end = punishment.getEndDateSeconds();
-					assert end != 0 : end;
-					// Temporary punishment
-					long duration = end - start;
-					durationFormatted = formatRelative(duration);
-
-					if (timePassed < MARGIN_OF_INITIATION) {
-						// Punishment recently enacted
-						// Using a margin of initiation prevents the "29 days, 23 hours, 59 minutes" issue
-						relativeEndFormatted = durationFormatted;
-						relativeEndFormattedSimple = formatRelativeSimple(duration);
-						notExpired = true;
-
-					} else if (timePassed >= duration) {
-						// Expired punishment
-						relativeEndFormatted = formatting.noTimeRemainingDisplay();
-						relativeEndFormattedSimple = relativeEndFormatted;
-					} else {
-						// Punishment still active
-						long timeRemaining = end - now;
-						relativeEndFormatted = formatRelative(timeRemaining);
-						relativeEndFormattedSimple = formatRelativeSimple(timeRemaining);
-						notExpired = true;
+		private @Nullable Component computeComponent(ComponentReplaceable componentReplaceable) {
+			MessagesConfig.Formatting formatting = messages().formatting();
+			return switch (componentReplaceable) {
+				case HAS_EXPIRED -> {
+					MessagesConfig.Formatting.PunishmentExpiredDisplay display = formatting.punishmentExpiredDisplay();
+					yield (relativeTimes().notExpired()) ? display.notExpired() : display.expired();
+				}
+				case SILENCE -> {
+					if (silence == null) {
+						yield null;
 					}
+					var silenceDisplay = formatting.silence();
+					yield (silence) ? silenceDisplay.silent() : silenceDisplay.notSilent();
 				}
-				simpleReplacements.put(SimpleReplaceable.DURATION, durationFormatted);
-				simpleReplacements.put(SimpleReplaceable.START_DATE, formatAbsoluteDate(punishment.getStartDate()));
-				simpleReplacements.put(SimpleReplaceable.TIME_PASSED, formatRelative(timePassed));
-				simpleReplacements.put(SimpleReplaceable.TIME_PASSED_SIMPLE, formatRelativeSimple(timePassed));
-				simpleReplacements.put(SimpleReplaceable.END_DATE, formatAbsoluteDate(punishment.getEndDate()));
-				simpleReplacements.put(SimpleReplaceable.TIME_REMAINING, relativeEndFormatted);
-				simpleReplacements.put(SimpleReplaceable.TIME_REMAINING_SIMPLE, relativeEndFormattedSimple);
-				MessagesConfig.Formatting.PunishmentExpiredDisplay display = formatting.punishmentExpiredDisplay();
-				componentReplacements.put(ComponentReplaceable.HAS_EXPIRED, (notExpired) ? display.notExpired() : display.expired());
-			}
-			if (silence != null) {
-				var silenceDisplay = formatting.silence();
-				componentReplacements.put(ComponentReplaceable.SILENCE, (silence) ? silenceDisplay.silent() : silenceDisplay.notSilent());
-			}
-			String track, trackId, trackNamespace;
-			MessagesConfig.Formatting.TrackDisplay trackDisplay = formatting.trackDisplay();
+			};
+		}
+
+		private String computeTrack(SimpleReplaceable simpleReplaceable) {
+			MessagesConfig.Formatting.TrackDisplay trackDisplay = messages().formatting().trackDisplay();
 			EscalationTrack escalationTrack = punishment.getEscalationTrack().orElse(null);
 			if (escalationTrack == null) {
-				track = trackDisplay.noTrack();
-				trackId = trackDisplay.noTrackId();
-				trackNamespace = trackDisplay.noTrackNamespace();
+				return switch (simpleReplaceable) {
+					case TRACK -> trackDisplay.noTrack();
+					case TRACK_ID -> trackDisplay.noTrackId();
+					case TRACK_NAMESPACE -> trackDisplay.noTrackNamespace();
+					default -> throw new IllegalArgumentException("Not a track variable: " + simpleReplaceable);
+				};
+			}
+			String id = escalationTrack.getValue();
+			return switch (simpleReplaceable) {
+				case TRACK -> trackDisplay.trackDisplayNames().getOrDefault(id, id);
+				case TRACK_ID -> id;
+				case TRACK_NAMESPACE -> escalationTrack.getNamespace();
+				default -> throw new IllegalArgumentException("Not a track variable: " + simpleReplaceable);
+			};
+		}
+
+		private RelativeTimes relativeTimes() {
+			if (relativeTimes == null) {
+				relativeTimes = computeRelativeTimes();
+			}
+			return relativeTimes;
+		}
+
+		private RelativeTimes computeRelativeTimes() {
+			final long now = time.currentTime();
+			final long start = punishment.getStartDateSeconds();
+
+			final long timePassed = now - start;
+
+			final String durationFormatted;
+			final String relativeEndFormatted, relativeEndFormattedSimple;
+			boolean notExpired = false;
+
+			if (punishment.isPermanent()) {
+				// Permanent punishment
+				MessagesConfig.Formatting.PermanentDisplay display = messages().formatting().permanentDisplay();
+				durationFormatted = display.duration();
+				relativeEndFormatted = display.relative();
+				relativeEndFormattedSimple = relativeEndFormatted;
+				notExpired = true;
+
 			} else {
-				String id = escalationTrack.getValue();
-				track = trackDisplay.trackDisplayNames().getOrDefault(id, id);
-				trackId = id;
-				trackNamespace = escalationTrack.getNamespace();
+				final long end = punishment.getEndDateSeconds();
+				assert end != 0 : end;
+				// Temporary punishment
+				long duration = end - start;
+				durationFormatted = formatRelative(duration);
+
+				if (timePassed < MARGIN_OF_INITIATION) {
+					// Punishment recently enacted
+					// Using a margin of initiation prevents the "29 days, 23 hours, 59 minutes" issue
+					relativeEndFormatted = durationFormatted;
+					relativeEndFormattedSimple = formatRelativeSimple(duration);
+					notExpired = true;
+
+				} else if (timePassed >= duration) {
+					// Expired punishment
+					relativeEndFormatted = messages().formatting().noTimeRemainingDisplay();
+					relativeEndFormattedSimple = relativeEndFormatted;
+				} else {
+					// Punishment still active
+					long timeRemaining = end - now;
+					relativeEndFormatted = formatRelative(timeRemaining);
+					relativeEndFormattedSimple = formatRelativeSimple(timeRemaining);
+					notExpired = true;
+				}
 			}
-			simpleReplacements.put(SimpleReplaceable.TRACK, track);
-			simpleReplacements.put(SimpleReplaceable.TRACK_ID, trackId);
-			simpleReplacements.put(SimpleReplaceable.TRACK_NAMESPACE, trackNamespace);
+			return new RelativeTimes(
+					timePassed, durationFormatted, relativeEndFormatted, relativeEndFormattedSimple, notExpired
+			);
 		}
 
-		private CentralisedFuture<Component> replaceInMessage(ComponentText componentText) {
-			return futuresFactory.allOf(futureReplacements.values()).thenApply((ignore) -> {
+		private Component replaceInMessage(ComponentText componentText, Template template) {
 
-				class Replacer implements UnaryOperator<String> {
-					@Override
-					public String apply(String text) {
-						for (Map.Entry<SimpleReplaceable, String> simpleReplacement : simpleReplacements.entrySet()) {
-							text = text.replace(
-									simpleReplacement.getKey().getVariable(),
-									simpleReplacement.getValue());
+			class Replacer implements UnaryOperator<String> {
+				@Override
+				public String apply(String text) {
+					Object[] segments = template.segmentsOf(text);
+					if (segments.length == 1 && segments[0] instanceof String literal) {
+						return literal;
+					}
+					StringBuilder builder = new StringBuilder(text.length() + 16);
+					for (Object segment : segments) {
+						if (segment instanceof String literal) {
+							builder.append(literal);
+							continue;
 						}
-						for (Map.Entry<FutureReplaceable, CentralisedFuture<String>> futureReplacement : futureReplacements.entrySet()) {
-							text = text.replace(
-									futureReplacement.getKey().getVariable(),
-									futureReplacement.getValue().join());
+						String replacement;
+						if (segment instanceof SimpleReplaceable simpleReplaceable) {
+							replacement = simpleReplacements.get(simpleReplaceable);
+						} else {
+							CentralisedFuture<String> futureReplacement = futureReplacements.get((FutureReplaceable) segment);
+							replacement = (futureReplacement == null) ? null : futureReplacement.join();
+						}
+						if (replacement == null) {
+							// Leave the variable in place if it is unavailable
+							builder.append('%').append(((Enum<?>) segment).name()).append('%');
+						} else {
+							builder.append(replacement);
 						}
-						return text;
 					}
+					return builder.toString();
 				}
-				Component component = componentText.replaceText(new Replacer()).asComponent();
-				for (Map.Entry<ComponentReplaceable, Component> componentReplacement : componentReplacements.entrySet()) {
-					component = component.replaceText(config -> {
-						config.matchLiteral(componentReplacement.getKey().getVariable())
-								.replacement(componentReplacement.getValue());
-					});
-				}
-				return component;
-			});
+			}
+			Component component = componentText.replaceText(new Replacer()).asComponent();
+			for (Map.Entry<ComponentReplaceable, Component> componentReplacement : componentReplacements.entrySet()) {
+				component = component.replaceText(config -> {
+					config.matchLiteral(componentReplacement.getKey().getVariable())
+							.replacement(componentReplacement.getValue());
+				});
+			}
+			return component;
 		}
 	}
 
+	private record RelativeTimes(long timePassed, String durationFormatted, String relativeEndFormatted,
+								 String relativeEndFormattedSimple, boolean notExpired) { }
+
 	private CentralisedFuture<String> getFutureReplacement(FutureReplaceable futureReplaceable, Punishment punishment,
 			Operator unOperator) {
 		return switch (futureReplaceable) {
@@ -347,6 +593,30 @@ public class Formatter implements InternalFormatter {
 		};
 	}
 
+	/**
+	 * Gets the player whose name is displayed by a future variable
+	 *
+	 * @param futureReplaceable the future variable
+	 * @param punishment the punishment
+	 * @return the player's uuid, or null if the variable does not display a player name
+	 */
+	private static @Nullable UUID referencedUUID(FutureReplaceable futureReplaceable, Punishment punishment) {
+		return switch (futureReplaceable) {
+			case VICTIM -> {
+				Victim victim = punishment.getVictim();
+				if (victim instanceof PlayerVictim playerVictim) {
+					yield playerVictim.getUUID();
+				} else if (victim instanceof CompositeVictim compositeVictim) {
+					yield compositeVictim.getUUID();
+				}
+				yield null;
+			}
+			case OPERATOR -> (punishment.getOperator() instanceof PlayerOperator playerOperator) ?
+					playerOperator.getUUID() : null;
+			case UNOPERATOR -> null;
+		};
+	}
+
 	private String formatVictimId(Victim victim) {
 		UUID uuid;
 		if (victim instanceof PlayerVictim playerVictim) {
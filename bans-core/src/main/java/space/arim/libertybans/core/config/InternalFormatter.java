@@ -29,6 +29,8 @@ import space.arim.libertybans.api.Operator;
 import space.arim.libertybans.api.formatter.PunishmentFormatter;
 import space.arim.libertybans.api.punish.Punishment;
 
+import java.util.List;
+
 public interface InternalFormatter extends PunishmentFormatter {
 
 	/**
@@ -54,6 +56,14 @@ public interface InternalFormatter extends PunishmentFormatter {
 	 * @return a future yielding the formatted sendable message
 	 */
 	CentralisedFuture<Component> getPunishmentMessage(Punishment punishment);
+
+	/**
+	 * Discards any cached punishment message for the given punishment. Should be called
+	 * when the punishment's details are updated or when it is revoked.
+	 *
+	 * @param id the punishment ID
+	 */
+	void invalidatePunishmentMessage(long id);
 	
 	/**
 	 * Parses and formats a message with a punishment
@@ -65,6 +75,18 @@ public interface InternalFormatter extends PunishmentFormatter {
 	CentralisedFuture<Component> formatWithPunishment(ComponentText componentText,
 													  Punishment punishment);
 
+	/**
+	 * Parses and formats a message once for each of several punishments, such as the entries
+	 * of a punishment list page. The names of all referenced players are resolved together
+	 * before any of the messages are formatted.
+	 *
+	 * @param componentText the message
+	 * @param punishments the punishments
+	 * @return a future of the resulting formatted sendable messages, in the same order as the punishments
+	 */
+	CentralisedFuture<List<Component>> formatAllWithPunishment(ComponentText componentText,
+															   List<Punishment> punishments);
+
 	/**
 	 * Parses and formats a message with a punishment and silent status. Used when punishments are issued.
 	 *
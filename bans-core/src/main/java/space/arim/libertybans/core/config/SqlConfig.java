@@ -20,8 +20,10 @@
 package space.arim.libertybans.core.config;
 
 import space.arim.dazzleconf.annote.ConfComments;
+import space.arim.dazzleconf.annote.ConfDefault.DefaultBoolean;
 import space.arim.dazzleconf.annote.ConfDefault.DefaultInteger;
 import space.arim.dazzleconf.annote.ConfDefault.DefaultString;
+import space.arim.dazzleconf.annote.ConfDefault.DefaultStrings;
 import space.arim.dazzleconf.annote.ConfHeader;
 import space.arim.dazzleconf.annote.ConfKey;
 import space.arim.dazzleconf.annote.IntegerRange;
@@ -29,6 +31,8 @@ import space.arim.dazzleconf.annote.SubSection;
 import space.arim.libertybans.core.database.DatabaseSettingsConfig;
 import space.arim.libertybans.core.database.RefreshTaskRunnable;
 
+import java.util.List;
+
 @ConfHeader({
 		"",
 		"SQL Database settings",
@@ -100,6 +104,126 @@ public interface SqlConfig extends DatabaseSettingsConfig {
 		}
 	}
 
+	@ConfKey("active-ban-index")
+	@SubSection
+	ActiveBanIndex activeBanIndex();
+
+	@ConfHeader({"An in-memory index of active bans, which allows checking incoming logins for bans",
+			"without querying the database. Name and address history are still recorded in the database.",
+			"",
+			"The index is used only for the LENIENT and NORMAL address strictness settings.",
+			"It holds every active ban in memory, so it is intended for large servers with frequent logins.",
+			"",
+			"Do NOT enable this option if any program other than LibertyBans adds or removes bans in the database.",
+			"Punishments made on other instances of LibertyBans are recognized only if synchronization is enabled."})
+	interface ActiveBanIndex {
+
+		@ConfComments("Whether to enable the active ban index")
+		@DefaultBoolean(false)
+		boolean enable();
+
+	}
+
+	@ConfKey("account-graph")
+	@SubSection
+	AccountGraph accountGraph();
+
+	@ConfHeader({"An in-memory graph of which players have used which addresses. Alt detection, including",
+			"alts-auto-show on join, uses the graph to find candidate alts without scanning address history.",
+			"",
+			"The graph holds every recorded address in memory, which takes roughly 300 bytes per",
+			"entry in the addresses table. It is intended for large servers with frequent logins.",
+			"",
+			"Do NOT enable this option if any program other than LibertyBans records or deletes addresses.",
+			"If synchronization is enabled, alt detection still queries the database, because addresses",
+			"recorded on other instances of LibertyBans are not held in the graph until it is reloaded."})
+	interface AccountGraph {
+
+		@ConfComments("Whether to enable the account graph")
+		@DefaultBoolean(false)
+		boolean enable();
+
+	}
+
+	@ConfKey("association-write-behind")
+	@SubSection
+	AssociationWriteBehind associationWriteBehind();
+
+	@ConfHeader({"Players' names and addresses are recorded when they join. By default, this happens",
+			"in the same transaction as the ban check, which therefore requires a write to the database.",
+			"",
+			"With write-behind enabled, names and addresses are instead queued in memory and written",
+			"in batches. Repeated joins by the same player are merged. The ban check itself becomes read-only.",
+			"",
+			"The trade-off is that recently recorded names and addresses may take up to the flush interval",
+			"to become visible. For example, a new alt account may go unnoticed by STERN or STRICT address",
+			"strictness until its address is written. If the server crashes, unwritten entries are lost."})
+	interface AssociationWriteBehind {
+
+		@ConfComments("Whether to enable write-behind batching of names and addresses")
+		@DefaultBoolean(false)
+		boolean enable();
+
+		@ConfKey("flush-interval-millis")
+		@ConfComments("How frequently queued names and addresses are written, in milliseconds")
+		@IntegerRange(min = 50L, max = 10_000L)
+		@DefaultInteger(1000)
+		long flushIntervalMillis();
+
+		@ConfKey("max-batch-size")
+		@ConfComments({"Once this many entries are queued, they are written immediately",
+				"instead of waiting for the flush interval"})
+		@IntegerRange(min = 1L, max = 10_000L)
+		@DefaultInteger(250)
+		int maxBatchSize();
+
+	}
+
+	@ConfKey("read-replicas")
+	@SubSection
+	ReadReplicas readReplicas();
+
+	@ConfHeader({"Read-only queries, such as alt checks, history, list commands, and mute lookups,",
+			"may be sent to read replicas of your database rather than the primary database.",
+			"Logins, punishing, and anything else which writes to the database still uses the primary.",
+			"",
+			"Replicas use the same database name, username, and password as the primary database.",
+			"If a replica becomes unreachable, the primary database is used until the replica recovers.",
+			"",
+			"This has no effect when using HSQLDB."})
+	interface ReadReplicas {
+
+		@ConfComments("Whether to use read replicas")
+		@DefaultBoolean(false)
+		boolean enable();
+
+		@ConfComments({"The replicas to use, each in the form host:port",
+				"If the port is omitted, the port of the primary database is used"})
+		@DefaultStrings({})
+		List<String> endpoints();
+
+		@ConfKey("connection-pool-size")
+		@ConfComments("The size of the connection pool for each replica")
+		@IntegerRange(min = 1L, max = 100L)
+		@DefaultInteger(4)
+		int poolSize();
+
+		@ConfKey("health-check-interval-seconds")
+		@ConfComments("How frequently unreachable replicas are checked for recovery, in seconds")
+		@IntegerRange(min = 1L, max = 600L)
+		@DefaultInteger(10)
+		int healthCheckIntervalSeconds();
+
+		@ConfKey("read-your-writes-millis")
+		@ConfComments({"After a punishment is made or changed on this instance, reads use the primary database",
+				"for this many milliseconds, so that replication lag does not hide the change.",
+				"This should be at least the usual replication lag of your replicas."})
+		@IntegerRange(min = 0L, max = 60_000L)
+		@DefaultInteger(2000)
+		long readYourWritesMillis();
+
+	}
+
 	@SubSection
 	Synchronization synchronization();
 
@@ -109,17 +233,30 @@ public interface SqlConfig extends DatabaseSettingsConfig {
 		@ConfComments({"Availalble synchronization options:",
 				"NONE - no synchronization",
 				"ANSI_SQL - uses your database to synchronize punishments (called ANSI_SQL because it uses standard SQL)",
+				"NOTIFY - uses the notification feature of PostgreSQL (LISTEN/NOTIFY) so that punishments are",
+				"  synchronized immediately. Messages are still stored in the database, which is polled as a fallback",
+				"  at the notify-fallback-poll-rate-seconds.",
+				"  Each instance holds one connection for listening, in addition to the connection pool.",
+				"  With databases other than PostgreSQL, ANSI_SQL is used instead.",
+				"PLUGIN_MESSAGING - for backend servers behind a proxy. Punishments are forwarded through the proxy",
+				"  using plugin messaging, so they are synchronized immediately. Requires use-plugin-messaging to be enabled.",
+				"  Messages are also stored in the database, which is polled for any the proxy could not forward,",
+				"  such as when no player is online.",
+				"  Note that the proxy only forwards messages to servers which have players online.",
 				"Other options may be added in the future, upon feature request."})
 		@DefaultString("NONE")
 		SyncMode mode();
 
 		enum SyncMode {
 			NONE,
-			ANSI_SQL
+			ANSI_SQL,
+			NOTIFY,
+			PLUGIN_MESSAGING
 		}
 
 		@ConfKey("poll-rate-millis")
 		@ConfComments({"How frequently the database is polled for updates, in milliseconds.",
+				"With NOTIFY, notify-fallback-poll-rate-seconds is used instead, while notifications are available.",
 				"Usually the default setting of 4 seconds will be sufficiently responsive without querying the database too often",
 				"If you want to increase responsiveness, lower this value. If you want to reduce database load, increase this value.",
 				"",
@@ -128,8 +265,17 @@ public interface SqlConfig extends DatabaseSettingsConfig {
 		@DefaultInteger(4000)
 		long pollRateMillis();
 
+		@ConfKey("notify-fallback-poll-rate-seconds")
+		@ConfComments({"With NOTIFY, how frequently the database is still polled, in seconds.",
+				"This polling only picks up messages whose notification was missed, such as while the listening",
+				"connection reconnects, or when the clocks of the instances disagree.",
+				"Messages are kept in the database for longer than this value, so it should be the same on all instances."})
+		@IntegerRange(min = 1L, max = RefreshTaskRunnable.MAX_NOTIFY_FALLBACK_POLL_RATE_SECONDS)
+		@DefaultInteger(120)
+		long notifyFallbackPollRateSeconds();
+
 		default boolean enabled() {
-			return mode() == SyncMode.ANSI_SQL;
+			return mode() != SyncMode.NONE;
 		}
 	}
 
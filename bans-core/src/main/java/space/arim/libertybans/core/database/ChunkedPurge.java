@@ -0,0 +1,146 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database;
+
+import org.jooq.DSLContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.omnibus.util.ThisClass;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Deletes rows in bounded batches, each in its own transaction, so that locks are held only
+ * briefly. The batch size adapts to the observed latency of each batch, and purging pauses
+ * while the database bulkheads are saturated.
+ *
+ */
+final class ChunkedPurge {
+
+	private final InternalDatabase database;
+	private final BooleanSupplier underLoad;
+	private final Duration pauseUnderLoad;
+	private final Duration maxPause;
+
+	private int batchSize = INITIAL_BATCH_SIZE;
+
+	static final int MIN_BATCH_SIZE = 50;
+	static final int INITIAL_BATCH_SIZE = 500;
+	static final int MAX_BATCH_SIZE = 5000;
+	static final Duration TARGET_BATCH_LATENCY = Duration.ofMillis(100L);
+	private static final int PROGRESS_INTERVAL = 10_000;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	ChunkedPurge(InternalDatabase database, BooleanSupplier underLoad) {
+		this(database, underLoad, Duration.ofMillis(500L), Duration.ofSeconds(30L));
+	}
+
+	ChunkedPurge(InternalDatabase database, BooleanSupplier underLoad, Duration pauseUnderLoad, Duration maxPause) {
+		this.database = database;
+		this.underLoad = underLoad;
+		this.pauseUnderLoad = pauseUnderLoad;
+		this.maxPause = maxPause;
+	}
+
+	interface Batch {
+
+		/**
+		 * Deletes at most roughly the given number of rows
+		 *
+		 * @param context the DSL context
+		 * @param batchSize the batch size
+		 * @return the number of rows deleted
+		 */
+		int delete(DSLContext context, int batchSize);
+
+	}
+
+	/**
+	 * Deletes in batches until a batch deletes fewer rows than requested. If the database stays
+	 * under load for too long, purging stops early; the remaining rows are left for the next run.
+	 *
+	 * @param description what is being purged, for progress reporting
+	 * @param batch the batch deletion
+	 * @return the total number of rows deleted
+	 * @throws SQLException if acquiring a connection failed
+	 */
+	int purge(String description, Batch batch) throws SQLException {
+		int totalDeleted = 0;
+		int nextProgressReport = PROGRESS_INTERVAL;
+		while (true) {
+			if (!awaitCapacity()) {
+				logger.info("Paused purging {} because the database is under load. Purged {} so far; " +
+						"the remainder will be purged later", description, totalDeleted);
+				return totalDeleted;
+			}
+			int currentBatchSize = batchSize;
+			long startTime = System.nanoTime();
+			int deleted;
+			try (Connection connection = database.getConnection()) {
+				deleted = database.queryWithExistingConnection(
+						connection, (context, transaction) -> batch.delete(context, currentBatchSize)
+				);
+			}
+			adaptBatchSize(Duration.ofNanos(System.nanoTime() - startTime));
+			totalDeleted += deleted;
+			if (deleted < currentBatchSize) {
+				return totalDeleted;
+			}
+			if (totalDeleted >= nextProgressReport) {
+				logger.info("Purged {} {} so far", totalDeleted, description);
+				nextProgressReport = totalDeleted + PROGRESS_INTERVAL;
+			}
+		}
+	}
+
+	private boolean awaitCapacity() {
+		long pausedNanos = 0L;
+		while (underLoad.getAsBoolean()) {
+			if (pausedNanos >= maxPause.toNanos()) {
+				return false;
+			}
+			try {
+				Thread.sleep(pauseUnderLoad.toMillis());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			pausedNanos += pauseUnderLoad.toNanos();
+		}
+		return true;
+	}
+
+	void adaptBatchSize(Duration latency) {
+		if (latency.compareTo(TARGET_BATCH_LATENCY) > 0) {
+			batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+		} else if (latency.compareTo(TARGET_BATCH_LATENCY.dividedBy(2L)) < 0) {
+			batchSize = Math.min(MAX_BATCH_SIZE, batchSize * 2);
+		}
+	}
+
+	int batchSize() {
+		return batchSize;
+	}
+
+}
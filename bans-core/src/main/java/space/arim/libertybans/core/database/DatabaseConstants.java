@@ -22,6 +22,9 @@ package space.arim.libertybans.core.database;
 import org.jooq.Table;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static space.arim.libertybans.core.schema.Tables.*;
 
@@ -38,8 +41,29 @@ public final class DatabaseConstants {
 	public static final String LIBERTYBANS_08X_FLYWAY_TABLE = "libertybans_flyway";
 	public static final String TABLE_PREFIX = "libertybans_";
 
+	/**
+	 * Keeps IN lists well under the bind parameter limits of all supported databases
+	 */
+	public static final int MAX_IN_LIST = 500;
+
 	private DatabaseConstants() {}
 
+	/**
+	 * Splits values into chunks, each of which is small enough to be used as an IN list
+	 *
+	 * @param values the values
+	 * @param <T> the value type
+	 * @return the chunks, each no larger than {@link #MAX_IN_LIST}
+	 */
+	public static <T> List<List<T>> inListChunks(Collection<T> values) {
+		List<T> list = List.copyOf(values);
+		List<List<T>> chunks = new ArrayList<>((list.size() + MAX_IN_LIST - 1) / MAX_IN_LIST);
+		for (int start = 0; start < list.size(); start += MAX_IN_LIST) {
+			chunks.add(list.subList(start, Math.min(start + MAX_IN_LIST, list.size())));
+		}
+		return chunks;
+	}
+
 	/**
 	 * Gets all the tables in the specified order
 	 *
@@ -49,7 +73,7 @@ public final class DatabaseConstants {
 	public static Table<?>[] allTables(TableOrder tableOrder) {
 		// Referees first, referents last with respect to foreign keys
 		Table<?>[] tables = new Table[] {
-				NAMES, ADDRESSES, HISTORY, BANS, MUTES, WARNS, PUNISHMENTS, VICTIMS, MESSAGES, REVISION
+				NAMES, ADDRESSES, STRICT_LINKS, HISTORY, BANS, MUTES, WARNS, PUNISHMENTS, VICTIMS, MESSAGES, REVISION
 		};
 		if (tableOrder == TableOrder.REFERENTS_FIRST) {
 			// Reverse array
@@ -84,7 +108,7 @@ public final class DatabaseConstants {
 
 	public static Table<?>[] allViews() {
 		return new Table[] {
-				LATEST_NAMES, LATEST_ADDRESSES, STRICT_LINKS,
+				LATEST_NAMES, LATEST_ADDRESSES,
 				APPLICABLE_ACTIVE, APPLICABLE_HISTORY, APPLICABLE_BANS, APPLICABLE_MUTES, APPLICABLE_WARNS,
 				SIMPLE_ACTIVE, SIMPLE_HISTORY, SIMPLE_BANS, SIMPLE_MUTES, SIMPLE_WARNS
 		};
@@ -21,6 +21,7 @@ package space.arim.libertybans.core.database;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import space.arim.libertybans.api.database.PunishmentDatabase;
 import space.arim.libertybans.bootstrap.StartupException;
@@ -28,6 +29,7 @@ import space.arim.libertybans.core.Part;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.database.flyway.MigrationTargetController;
 import space.arim.libertybans.core.punish.GlobalEnforcement;
+import space.arim.libertybans.core.punish.sync.SynchronizationMessenger;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.EnhancedExecutor;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
@@ -44,13 +46,15 @@ public class DatabaseManager implements Part {
 	private final Configs configs;
 	private final Time time;
 	private final GlobalEnforcement globalEnforcement;
+	private final Provider<SynchronizationMessenger> synchronizationMessenger;
 
 	private volatile StandardDatabase database;
 
 	@Inject
 	public DatabaseManager(@Named("folder") Path folder, MigrationTargetController migrationTargetController,
 						   FactoryOfTheFuture futuresFactory, EnhancedExecutor enhancedExecutor, Configs configs,
-						   Time time, GlobalEnforcement globalEnforcement) {
+						   Time time, GlobalEnforcement globalEnforcement,
+						   Provider<SynchronizationMessenger> synchronizationMessenger) {
 		this.folder = folder;
         this.migrationTargetController = migrationTargetController;
         this.futuresFactory = futuresFactory;
@@ -58,6 +62,7 @@ public class DatabaseManager implements Part {
 		this.configs = configs;
 		this.time = time;
 		this.globalEnforcement = globalEnforcement;
+		this.synchronizationMessenger = synchronizationMessenger;
 	}
 
 	public MigrationTargetController migrationTargetController() {
@@ -80,6 +85,10 @@ public class DatabaseManager implements Part {
 		return globalEnforcement;
 	}
 
+	SynchronizationMessenger synchronizationMessenger() {
+		return synchronizationMessenger.get();
+	}
+
 	public InternalDatabase getInternal() {
 		return database;
 	}
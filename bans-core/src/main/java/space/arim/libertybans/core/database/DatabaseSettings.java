@@ -24,11 +24,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,12 +40,15 @@ import space.arim.libertybans.core.database.flyway.MigrateWithFlyway;
 import space.arim.libertybans.core.database.flyway.MigrationFailedException;
 import space.arim.libertybans.core.database.jooq.JooqClassloading;
 import space.arim.libertybans.core.database.jooq.JooqContext;
+import space.arim.libertybans.core.database.execute.Bulkheads;
 import space.arim.libertybans.core.database.execute.JooqQueryExecutor;
-import space.arim.libertybans.core.service.SimpleThreadFactory;
+import space.arim.libertybans.core.database.execute.ReadRouting;
+import space.arim.libertybans.core.database.execute.RetryMetrics;
 import space.arim.omnibus.util.ThisClass;
 
 import space.arim.libertybans.bootstrap.StartupException;
 import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.punish.sync.NotifyingSynchronizationMessenger;
 
 /**
  * Database settings creator, NOT thread safe!
@@ -60,7 +64,9 @@ public class DatabaseSettings {
 	private DatabaseSettingsConfig config;
 	private Vendor vendor;
 	private HikariConfig hikariConf;
+	private int listenerConnections;
 
+	private static final Duration REPLICA_CONNECTION_TIMEOUT = Duration.ofSeconds(2L);
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
 	public DatabaseSettings(Path folder, DatabaseManager manager) {
@@ -74,7 +80,9 @@ public class DatabaseSettings {
 	 * @return a database result, which should be checked for success or failure
 	 */
 	DatabaseResult create() {
-		return create(manager.configs().getSqlConfig());
+		SqlConfig sqlConfig = manager.configs().getSqlConfig();
+		listenerConnections = NotifyingSynchronizationMessenger.holdsListenerConnection(sqlConfig) ? 1 : 0;
+		return create(sqlConfig, sqlConfig.readReplicas());
 	}
 
 	/**
@@ -98,19 +106,26 @@ public class DatabaseSettings {
 	 * @return a database result, which should be checked for success or failure
 	 */
 	public DatabaseResult create(DatabaseSettingsConfig config) {
+		return create(config, null);
+	}
+
+	private DatabaseResult create(DatabaseSettingsConfig config, SqlConfig.@Nullable ReadReplicas replicasConfig) {
 		HikariDataSource hikariDataSource = createDataSource(config);
 		// Check database compatibility and provide retro support if necessary
 		boolean retroSupport = checkCompatibilityAndYieldRetroSupport(hikariDataSource);
+		ReadRouting readRouting = createReadRouting(replicasConfig);
 
 		JooqContext jooqContext = new JooqContext(vendor.dialect(), retroSupport);
-		ExecutorService threadPool = Executors.newFixedThreadPool(
-				hikariConf.getMaximumPoolSize(),
-				SimpleThreadFactory.create("Database")
-		);
+		// The listener's connection is not for the bulkheads to share out
+		Bulkheads bulkheads = Bulkheads.create(hikariConf.getMaximumPoolSize() - listenerConnections);
+		RetryMetrics retryMetrics = new RetryMetrics();
 		StandardDatabase database  = new StandardDatabase(
-				folder, manager, vendor, hikariDataSource,
-				new JooqQueryExecutor(jooqContext, hikariDataSource, manager.futuresFactory(), threadPool),
-				threadPool
+				folder, manager, vendor, hikariDataSource, readRouting,
+				new JooqQueryExecutor(
+						jooqContext, hikariDataSource, readRouting, manager.futuresFactory(), bulkheads,
+						manager.enhancedExecutor(), retryMetrics
+				),
+				bulkheads, retryMetrics
 		);
 
 		JooqClassloading jooqClassloading = new JooqClassloading(jooqContext);
@@ -127,6 +142,71 @@ public class DatabaseSettings {
 		return new DatabaseResult(database, jooqClassloading, true);
 	}
 
+	private ReadRouting createReadRouting(SqlConfig.@Nullable ReadReplicas replicasConfig) {
+		if (replicasConfig == null || !replicasConfig.enable()) {
+			return ReadRouting.primaryOnly();
+		}
+		if (vendor == Vendor.HSQLDB) {
+			logger.warn("Read replicas are enabled, but they cannot be used with HSQLDB. Ignoring them.");
+			return ReadRouting.primaryOnly();
+		}
+		HikariConfig primaryConf = hikariConf;
+		List<ReadRouting.NamedDataSource> replicas = new ArrayList<>();
+		try {
+			for (String endpoint : replicasConfig.endpoints()) {
+				Endpoint parsed = Endpoint.parse(endpoint, config.authDetails().port());
+				if (parsed == null) {
+					logger.warn("Ignoring read replica '{}' because it is not in the form host:port", endpoint);
+					continue;
+				}
+				hikariConf = new HikariConfig();
+				setHikariConfig(parsed);
+				// Fall back to the primary quickly rather than waiting for an unreachable replica
+				hikariConf.setConnectionTimeout(Math.min(
+						hikariConf.getConnectionTimeout(), REPLICA_CONNECTION_TIMEOUT.toMillis()
+				));
+				hikariConf.setMinimumIdle(replicasConfig.poolSize());
+				hikariConf.setMaximumPoolSize(replicasConfig.poolSize());
+				hikariConf.setPoolName("LibertyBansReplicaPool-" + replicas.size() + '-' + vendor);
+				// Do not fail startup if a replica is unreachable
+				hikariConf.setInitializationFailTimeout(-1L);
+				replicas.add(new ReadRouting.NamedDataSource(endpoint, new HikariDataSource(hikariConf)));
+			}
+		} finally {
+			hikariConf = primaryConf;
+		}
+		return new ReadRouting(replicas, Duration.ofMillis(replicasConfig.readYourWritesMillis()));
+	}
+
+	record Endpoint(String host, int port) {
+
+		/**
+		 * Parses an endpoint in the form host:port. IPv6 addresses must be enclosed in brackets
+		 *
+		 * @param endpoint the endpoint
+		 * @param defaultPort the port if unspecified
+		 * @return the endpoint, or null if invalid
+		 */
+		static @Nullable Endpoint parse(String endpoint, int defaultPort) {
+			String host = endpoint.strip();
+			int port = defaultPort;
+			int portSeparator = host.lastIndexOf(':');
+			if (portSeparator != -1 && host.indexOf(']', portSeparator) == -1
+					&& (host.startsWith("[") || host.indexOf(':') == portSeparator)) {
+				try {
+					port = Integer.parseInt(host.substring(portSeparator + 1));
+				} catch (NumberFormatException ex) {
+					return null;
+				}
+				host = host.substring(0, portSeparator);
+			}
+			if (host.isEmpty() || port < 1 || port > 65535) {
+				return null;
+			}
+			return new Endpoint(host, port);
+		}
+	}
+
 	private boolean checkCompatibilityAndYieldRetroSupport(HikariDataSource dataSource) {
 		if (Boolean.getBoolean("libertybans.database.disablecheck")) {
 			return false;
@@ -145,8 +225,13 @@ public class DatabaseSettings {
 	}
 
 	private void setHikariConfig() {
+		SqlConfig.AuthDetails authDetails = config.authDetails();
+		setHikariConfig(new Endpoint(authDetails.host(), authDetails.port()));
+	}
+
+	private void setHikariConfig(Endpoint endpoint) {
 		setUsernameAndPassword();
-		setConfiguredDriver();
+		setConfiguredDriver(endpoint);
 
 		// Timeouts
 		SqlConfig.Timeouts timeouts = config.timeouts();
@@ -155,8 +240,8 @@ public class DatabaseSettings {
 		hikariConf.setConnectionTimeout(connectionTimeout.toMillis());
 		hikariConf.setMaxLifetime(maxLifetime.toMillis());
 
-		// Pool size
-		int poolSize = config.poolSize();
+		// Pool size, plus any connection held permanently by the synchronization listener
+		int poolSize = config.poolSize() + listenerConnections;
 		hikariConf.setMinimumIdle(poolSize);
 		hikariConf.setMaximumPoolSize(poolSize);
 
@@ -185,8 +270,8 @@ public class DatabaseSettings {
 		hikariConf.setPassword(password);
 	}
 
-	private void setConfiguredDriver() {
-		String jdbcUrl = getBaseUrl() + getUrlProperties();
+	private void setConfiguredDriver(Endpoint endpoint) {
+		String jdbcUrl = getBaseUrl(endpoint) + getUrlProperties();
 
 		if (config.useTraditionalJdbcUrl()) {
 			setDriverClassName(vendor.driver.driverClassName());
@@ -198,13 +283,12 @@ public class DatabaseSettings {
 		}
 	}
 
-	private String getBaseUrl() {
+	private String getBaseUrl(Endpoint endpoint) {
 		return switch (vendor) {
 			case MARIADB, MYSQL, POSTGRES, COCKROACH -> {
-				SqlConfig.AuthDetails authDetails = config.authDetails();
-				String host = authDetails.host();
-				int port = authDetails.port();
-				String database = authDetails.database();
+				String host = endpoint.host();
+				int port = endpoint.port();
+				String database = config.authDetails().database();
 
 				if (vendor.isPostgresLike()) {
 					yield "jdbc:postgresql://" + host + ":" + port + "/" + database;
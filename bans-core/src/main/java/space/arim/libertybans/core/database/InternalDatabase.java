@@ -23,6 +23,7 @@ import org.jooq.DSLContext;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.database.PunishmentDatabase;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.database.execute.RetryMetrics;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -34,7 +35,42 @@ public interface InternalDatabase extends QueryExecutor {
 
 	Vendor getVendor();
 
-	int clearExpiredPunishments(DSLContext context, PunishmentType type, Instant currentTime);
+	/**
+	 * Clears expired punishments of the given type, starting with those which expired first
+	 *
+	 * @param context the DSL context
+	 * @param type the punishment type, not KICK
+	 * @param currentTime the current time
+	 * @param limit the maximum number of punishments to clear
+	 * @return the number of expired punishments cleared
+	 */
+	int clearExpiredPunishments(DSLContext context, PunishmentType type, Instant currentTime, int limit);
+
+	/**
+	 * Clears expired punishments of the given type for a single victim. Unlike clearing the
+	 * whole table, this does not conflict with concurrent transactions for other victims.
+	 *
+	 * @param context the DSL context
+	 * @param type the punishment type, not KICK
+	 * @param victimId the victim ID
+	 * @param currentTime the current time
+	 * @return the number of expired punishments cleared
+	 */
+	int clearExpiredPunishments(DSLContext context, PunishmentType type, int victimId, Instant currentTime);
+
+	/**
+	 * Keeps read-only queries on the primary database for a short while, so that they observe
+	 * a recent change to punishments. Does nothing if read replicas are not used.
+	 *
+	 */
+	void readYourWrites();
+
+	/**
+	 * Gets metrics on transactions retried due to serialization failure
+	 *
+	 * @return the retry metrics
+	 */
+	RetryMetrics retryMetrics();
 
 	/**
 	 * Designed to be used by testing, to clear all tables after one integration test
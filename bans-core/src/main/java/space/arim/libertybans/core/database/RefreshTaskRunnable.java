@@ -19,18 +19,20 @@
 
 package space.arim.libertybans.core.database;
 
+import org.jooq.Table;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.core.config.SqlConfig;
 import space.arim.libertybans.core.punish.MiscUtil;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.ThisClass;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 
+import static org.jooq.impl.DSL.max;
 import static space.arim.libertybans.core.schema.tables.Messages.MESSAGES;
 
 /**
@@ -42,21 +44,25 @@ public final class RefreshTaskRunnable implements Runnable {
 	private final DatabaseManager manager;
 	private final InternalDatabase database;
 	private final Time time;
+	private final ChunkedPurge purge;
 
 	/*
 	We do not want punishments to expire before their messages are polled.
 	So, we make the max poll rate 30 seconds less than the expiration time;
 	the extra latency accounts for clock desynchronization and server lag.
+	With NOTIFY, the fallback poll rate may exceed this, so the expiration time is extended to match.
 	 */
 	public static final long MAX_POLL_RATE_MILLIS = 30 * 1000L;
-	private static final Duration MESSAGE_EXPIRATION_TIME = Duration.ofMillis(MAX_POLL_RATE_MILLIS).plusSeconds(30L);
+	public static final long MAX_NOTIFY_FALLBACK_POLL_RATE_SECONDS = 15 * 60L;
+	private static final Duration EXPIRATION_LATENCY = Duration.ofSeconds(30L);
 
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
-	RefreshTaskRunnable(DatabaseManager manager, InternalDatabase database, Time time) {
+	RefreshTaskRunnable(DatabaseManager manager, InternalDatabase database, Time time, ChunkedPurge purge) {
 		this.manager = manager;
 		this.database = database;
 		this.time = time;
+		this.purge = purge;
 	}
 
 	@Override
@@ -68,33 +74,59 @@ public final class RefreshTaskRunnable implements Runnable {
 		}
 		// Track how many records were deleted
 		int deletedCount = 0;
-		try (Connection connection = database.getConnection()) {
-			// These DELETE queries may delete many rows. As such, they are run in single-query transactions
-			// Grouping them together in the same transaction would require unnecessary exertion from the RDMS
+		try {
+			// These DELETE queries may delete many rows. As such, they are run in bounded batches,
+			// each in its own transaction, so that locks on the data tables are held only briefly
 			Instant currentTime = time.currentTimestamp();
 			for (PunishmentType type : MiscUtil.punishmentTypesExcludingKick()) {
-				deletedCount += database.queryWithExistingConnection(
-						connection,
-						(context, transaction) -> database
-								.clearExpiredPunishments(context, type, currentTime)
+				deletedCount += purge.purge(
+						"expired " + type,
+						(context, batchSize) -> database.clearExpiredPunishments(context, type, currentTime, batchSize)
 				);
 			}
-			if (manager.configs().getSqlConfig().synchronization().enabled()) {
-				Instant deleteMessagesBefore = currentTime.minus(MESSAGE_EXPIRATION_TIME);
-				deletedCount += database.queryWithExistingConnection(
-						connection,
-						(context, transaction) -> context
-								.deleteFrom(MESSAGES)
-								.where(MESSAGES.TIME.lessOrEqual(deleteMessagesBefore))
-								.execute()
-				);
+			SqlConfig.Synchronization synchronization = manager.configs().getSqlConfig().synchronization();
+			if (synchronization.enabled()) {
+				Instant deleteMessagesBefore = currentTime.minus(messageExpirationTime(synchronization));
+				deletedCount += purge.purge("expired messages", (context, batchSize) -> {
+					// Messages have no ID, so delete up to the latest time within the batch
+					Table<?> batch = context
+							.select(MESSAGES.TIME)
+							.from(MESSAGES)
+							.where(MESSAGES.TIME.lessOrEqual(deleteMessagesBefore))
+							.orderBy(MESSAGES.TIME)
+							.limit(batchSize)
+							.asTable("batch");
+					Instant batchUpTo = context
+							.select(max(batch.field(MESSAGES.TIME)))
+							.from(batch)
+							.fetchSingle()
+							.value1();
+					if (batchUpTo == null) {
+						return 0;
+					}
+					return context
+							.deleteFrom(MESSAGES)
+							.where(MESSAGES.TIME.lessOrEqual(batchUpTo))
+							.execute();
+				});
 			}
 		} catch (SQLException ex) {
 			// Note that we have no retry logic. This could be due to serialization failure.
-			// However, it is reasonable to expect the RDMS to retry single-query transactions
+			// However, batches already committed stay purged, and the remainder is purged on the next run
 			logger.warn("Failed to clear expired punishments or messages", ex);
 			return;
 		}
 		logger.info("Cleared {} expired punishments and/or messages", deletedCount);
 	}
+
+	private static Duration messageExpirationTime(SqlConfig.Synchronization synchronization) {
+		Duration maxPollRate = Duration.ofMillis(MAX_POLL_RATE_MILLIS);
+		if (synchronization.mode() == SqlConfig.Synchronization.SyncMode.NOTIFY) {
+			Duration fallbackPollRate = Duration.ofSeconds(synchronization.notifyFallbackPollRateSeconds());
+			if (fallbackPollRate.compareTo(maxPollRate) > 0) {
+				maxPollRate = fallbackPollRate;
+			}
+		}
+		return maxPollRate.plus(EXPIRATION_LATENCY);
+	}
 }
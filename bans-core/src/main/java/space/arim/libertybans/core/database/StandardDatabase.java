@@ -27,11 +27,15 @@ import org.slf4j.LoggerFactory;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.database.PunishmentDatabase;
 import space.arim.libertybans.bootstrap.plugin.PluginInfo;
+import space.arim.libertybans.core.database.execute.Bulkheads;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.database.execute.ReadRouting;
+import space.arim.libertybans.core.database.execute.RetryMetrics;
 import space.arim.libertybans.core.database.execute.SQLFunction;
 import space.arim.libertybans.core.database.execute.SQLRunnable;
 import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
 import space.arim.libertybans.core.database.execute.SQLTransactionalRunnable;
+import space.arim.libertybans.core.database.execute.Workload;
 import space.arim.libertybans.core.database.sql.TableForType;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.ThisClass;
@@ -49,9 +53,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import static space.arim.libertybans.core.schema.Tables.PUNISHMENTS;
 
@@ -61,23 +64,29 @@ public final class StandardDatabase implements InternalDatabase, AutoCloseable {
 	private final DatabaseManager manager;
 	private final Vendor vendor;
 	private final HikariDataSource dataSource;
+	private final ReadRouting readRouting;
 	private final QueryExecutor queryExecutor;
-	private final ExecutorService threadPool;
+	private final Bulkheads bulkheads;
+	private final RetryMetrics retryMetrics;
 	private final PunishmentDatabase external = new External();
 
 	private ScheduledTask expirationRefreshTask;
 	private ScheduledTask synchronizationPollTask;
+	private ScheduledTask replicaHealthCheckTask;
 
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
 	StandardDatabase(Path folder, DatabaseManager manager, Vendor vendor,
-                     HikariDataSource dataSource, QueryExecutor queryExecutor, ExecutorService threadPool) {
+                     HikariDataSource dataSource, ReadRouting readRouting,
+                     QueryExecutor queryExecutor, Bulkheads bulkheads, RetryMetrics retryMetrics) {
         this.folder = folder;
         this.manager = manager;
 		this.vendor = vendor;
 		this.dataSource = dataSource;
+		this.readRouting = readRouting;
 		this.queryExecutor = queryExecutor;
-		this.threadPool = threadPool;
+		this.bulkheads = bulkheads;
+		this.retryMetrics = retryMetrics;
 	}
 
 	/*
@@ -89,40 +98,55 @@ public final class StandardDatabase implements InternalDatabase, AutoCloseable {
 	void startTasks(Time time) {
 		EnhancedExecutor enhancedExecutor = manager.enhancedExecutor();
 		expirationRefreshTask = enhancedExecutor.scheduleRepeating(
-				new RefreshTaskRunnable(manager, this, time),
+				new RefreshTaskRunnable(manager, this, time, new ChunkedPurge(this, bulkheads::isSaturated)),
 				Duration.ofHours(3L),
 				DelayCalculators.fixedDelay()
 		);
+		if (readRouting.hasReplicas()) {
+			var replicasConf = manager.configs().getSqlConfig().readReplicas();
+			replicaHealthCheckTask = enhancedExecutor.scheduleRepeating(
+					readRouting::checkHealth,
+					Duration.ofSeconds(replicasConf.healthCheckIntervalSeconds()),
+					DelayCalculators.fixedDelay()
+			);
+		}
 		var synchronizationConf = manager.configs().getSqlConfig().synchronization();
 		if (synchronizationConf.enabled()) {
-			synchronizationPollTask = enhancedExecutor.scheduleRepeating(
-					manager.globalEnforcement(),
-					Duration.ofMillis(synchronizationConf.pollRateMillis()),
-					DelayCalculators.fixedDelay()
+			boolean listeningForSynchronization = manager.synchronizationMessenger().startListening(
+					this, manager.globalEnforcement()
 			);
+			if (!listeningForSynchronization) {
+				Duration pollRate;
+				if (manager.synchronizationMessenger().isNotified()) {
+					// Polling only picks up missed notifications
+					pollRate = Duration.ofSeconds(synchronizationConf.notifyFallbackPollRateSeconds());
+				} else {
+					pollRate = Duration.ofMillis(synchronizationConf.pollRateMillis());
+				}
+				synchronizationPollTask = enhancedExecutor.scheduleRepeating(
+						manager.globalEnforcement(), pollRate, DelayCalculators.fixedDelay()
+				);
+			}
 		}
 	}
 
 	void cancelTasks() {
 		expirationRefreshTask.cancel();
+		if (replicaHealthCheckTask != null) {
+			replicaHealthCheckTask.cancel();
+			replicaHealthCheckTask = null;
+		}
 		if (synchronizationPollTask != null) {
 			synchronizationPollTask.cancel();
 			synchronizationPollTask = null;
 		}
+		manager.synchronizationMessenger().stopListening();
 	}
 
 	@Override
 	public void close() {
-		threadPool.shutdown();
-		try {
-			boolean terminated = threadPool.awaitTermination(5L, TimeUnit.SECONDS);
-			if (!terminated) {
-				logger.warn("Reached timeout while waiting for thread pool");
-			}
-		} catch (InterruptedException ex) {
-			Thread.currentThread().interrupt();
-			logger.warn("Interrupted while waiting for thread pool", ex);
-		}
+		bulkheads.shutdown();
+		readRouting.close();
 		dataSource.close();
 	}
 
@@ -150,6 +174,16 @@ public final class StandardDatabase implements InternalDatabase, AutoCloseable {
 		return vendor;
 	}
 
+	@Override
+	public void readYourWrites() {
+		readRouting.readYourWrites();
+	}
+
+	@Override
+	public RetryMetrics retryMetrics() {
+		return retryMetrics;
+	}
+
 	@Override
 	public void executeWithExistingConnection(Connection connection, SQLTransactionalRunnable command) throws SQLException {
 		queryExecutor.executeWithExistingConnection(connection, command);
@@ -181,12 +215,37 @@ public final class StandardDatabase implements InternalDatabase, AutoCloseable {
 	}
 
 	@Override
-	public int clearExpiredPunishments(DSLContext context, PunishmentType type, Instant currentTime) {
+	public int clearExpiredPunishments(DSLContext context, PunishmentType type, Instant currentTime, int limit) {
+		assert type != PunishmentType.KICK;
+		var dataTable = new TableForType(type).dataTable();
+		// Select the IDs first, because MySQL does not permit LIMIT in subqueries used with IN
+		List<Long> expiredIds = context
+				.select(dataTable.id())
+				.from(dataTable.table())
+				.innerJoin(PUNISHMENTS)
+				.on(dataTable.id().eq(PUNISHMENTS.ID))
+				.where(PUNISHMENTS.END.notEqual(Instant.MAX))
+				.and(PUNISHMENTS.END.lessThan(currentTime))
+				.orderBy(PUNISHMENTS.END)
+				.limit(limit)
+				.fetch(dataTable.id());
+		if (expiredIds.isEmpty()) {
+			return 0;
+		}
+		return context
+				.deleteFrom(dataTable.table())
+				.where(dataTable.id().in(expiredIds))
+				.execute();
+	}
+
+	@Override
+	public int clearExpiredPunishments(DSLContext context, PunishmentType type, int victimId, Instant currentTime) {
 		assert type != PunishmentType.KICK;
 		var dataTable = new TableForType(type).dataTable();
 		return context
 				.deleteFrom(dataTable.table())
-				.where(dataTable.id().in(context
+				.where(dataTable.victimId().eq(victimId))
+				.and(dataTable.id().in(context
 						.select(PUNISHMENTS.ID)
 						.from(PUNISHMENTS)
 						.where(PUNISHMENTS.END.notEqual(Instant.MAX))
@@ -255,7 +314,7 @@ public final class StandardDatabase implements InternalDatabase, AutoCloseable {
 
 		@Override
 		public Executor getExecutor() {
-			return threadPool;
+			return bulkheads.executor(Workload.STANDARD);
 		}
 
 	}
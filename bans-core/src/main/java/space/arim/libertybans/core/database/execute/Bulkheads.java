@@ -0,0 +1,200 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.core.service.SimpleThreadFactory;
+import space.arim.omnibus.util.ThisClass;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Partitions the connection pool by {@link Workload}, and provides the threads on which database
+ * operations run. <br>
+ * <br>
+ * A share of connections is reserved for login-critical work: other work may never hold more than
+ * the remainder. Bulk work is limited to a share of that remainder. One connection is left over for
+ * callers which acquire connections directly, such as the API and the expiration refresh task. <br>
+ * <br>
+ * Virtual threads are used if the runtime supports them, since operations spend most of their time
+ * waiting on the database. Otherwise, each workload has its own thread pool, so that threads blocked
+ * on bulk work cannot delay logins.
+ *
+ */
+public final class Bulkheads {
+
+	private final Semaphore general;
+	private final Semaphore bulk;
+	private final Map<Workload, ExecutorService> executors;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	private Bulkheads(Semaphore general, Semaphore bulk, Map<Workload, ExecutorService> executors) {
+		this.general = general;
+		this.bulk = bulk;
+		this.executors = executors;
+	}
+
+	/**
+	 * Creates bulkheads for a connection pool of the given size
+	 *
+	 * @param poolSize the connection pool size
+	 * @return the bulkheads
+	 */
+	public static Bulkheads create(int poolSize) {
+		Limits limits = Limits.forPoolSize(poolSize);
+		Map<Workload, ExecutorService> executors = new EnumMap<>(Workload.class);
+		ExecutorService virtualThreads = newVirtualThreadExecutor();
+		if (virtualThreads != null) {
+			for (Workload workload : Workload.values()) {
+				executors.put(workload, virtualThreads);
+			}
+		} else {
+			executors.put(Workload.LOGIN, Executors.newFixedThreadPool(
+					poolSize, SimpleThreadFactory.create("Database-Login")
+			));
+			executors.put(Workload.STANDARD, Executors.newFixedThreadPool(
+					limits.general(), SimpleThreadFactory.create("Database")
+			));
+			executors.put(Workload.BULK, Executors.newFixedThreadPool(
+					limits.bulk(), SimpleThreadFactory.create("Database-Bulk")
+			));
+		}
+		logger.debug("Using database bulkheads {} with virtual threads: {}", limits, virtualThreads != null);
+		return new Bulkheads(new Semaphore(limits.general()), new Semaphore(limits.bulk()), executors);
+	}
+
+	/**
+	 * The maximum number of connections which may be held by non-login and by bulk work
+	 *
+	 * @param general the limit for standard and bulk work together
+	 * @param bulk the limit for bulk work
+	 */
+	record Limits(int general, int bulk) {
+
+		static Limits forPoolSize(int poolSize) {
+			int loginReserve = poolSize / 3;
+			// Leave one connection for direct use
+			int general = Math.max(1, poolSize - loginReserve - 1);
+			int bulk = Math.max(1, general / 2);
+			return new Limits(general, bulk);
+		}
+	}
+
+	private static @Nullable ExecutorService newVirtualThreadExecutor() {
+		if (Boolean.getBoolean("libertybans.database.disablevirtualthreads")) {
+			return null;
+		}
+		// Virtual threads require Java 21, but we compile for Java 17
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class)
+					.invoke(builder, "LibertyBans-Database-Virtual-", 1L);
+			ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		} catch (ReflectiveOperationException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the executor on which to run the given workload
+	 *
+	 * @param workload the workload
+	 * @return the executor
+	 */
+	public Executor executor(Workload workload) {
+		return executors.get(workload);
+	}
+
+	/**
+	 * Runs the given operation on the current thread, once the workload is permitted to use a connection
+	 *
+	 * @param workload the workload
+	 * @param operation the operation, which should use at most one connection
+	 * @param <R> the result type
+	 * @return the result of the operation
+	 */
+	<R> R call(Workload workload, Supplier<R> operation) {
+		return switch (workload) {
+			case LOGIN -> operation.get();
+			case STANDARD -> callWith(general, operation);
+			case BULK -> callWith(bulk, () -> callWith(general, operation));
+		};
+	}
+
+	private static <R> R callWith(Semaphore semaphore, Supplier<R> operation) {
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for a database connection", ex);
+		}
+		try {
+			return operation.get();
+		} finally {
+			semaphore.release();
+		}
+	}
+
+	/**
+	 * Whether the connections available to standard work are all in use, or work is queued waiting for one.
+	 * Maintenance which acquires connections directly should then yield
+	 *
+	 * @return true if saturated
+	 */
+	public boolean isSaturated() {
+		return general.availablePermits() == 0 || general.hasQueuedThreads() || bulk.hasQueuedThreads();
+	}
+
+	/**
+	 * Shuts down the executors, waiting a short while for running operations to complete
+	 *
+	 */
+	public void shutdown() {
+		List<ExecutorService> distinctExecutors = executors.values().stream().distinct().toList();
+		distinctExecutors.forEach(ExecutorService::shutdown);
+		try {
+			for (ExecutorService executor : distinctExecutors) {
+				boolean terminated = executor.awaitTermination(5L, TimeUnit.SECONDS);
+				if (!terminated) {
+					logger.warn("Reached timeout while waiting for thread pool");
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted while waiting for thread pool", ex);
+		}
+	}
+
+}
@@ -19,6 +19,7 @@
 
 package space.arim.libertybans.core.database.execute;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.DSLContext;
 import org.jooq.exception.DataAccessException;
 import org.slf4j.Logger;
@@ -27,30 +28,39 @@ import space.arim.libertybans.core.database.jooq.JooqContext;
 import space.arim.omnibus.util.ArraysUtil;
 import space.arim.omnibus.util.ThisClass;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 
 public final class JooqQueryExecutor implements QueryExecutor {
 
 	private final JooqContext jooqContext;
 	private final DataSource dataSource;
+	private final ReadRouting readRouting;
 	private final FactoryOfTheFuture futuresFactory;
-	private final Executor threadPool;
+	private final Bulkheads bulkheads;
+	private final EnhancedExecutor enhancedExecutor;
+	private final RetryMetrics retryMetrics;
 
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
-	public JooqQueryExecutor(JooqContext jooqContext, DataSource dataSource,
-							 FactoryOfTheFuture futuresFactory, Executor threadPool) {
+	public JooqQueryExecutor(JooqContext jooqContext, DataSource dataSource, ReadRouting readRouting,
+							 FactoryOfTheFuture futuresFactory, Bulkheads bulkheads,
+							 EnhancedExecutor enhancedExecutor, RetryMetrics retryMetrics) {
 		this.jooqContext = Objects.requireNonNull(jooqContext, "jooqContext");
 		this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+		this.readRouting = Objects.requireNonNull(readRouting, "readRouting");
 		this.futuresFactory = Objects.requireNonNull(futuresFactory, "futuresFactory");
-		this.threadPool = Objects.requireNonNull(threadPool, "threadPool");
+		this.bulkheads = Objects.requireNonNull(bulkheads, "bulkheads");
+		this.enhancedExecutor = Objects.requireNonNull(enhancedExecutor, "enhancedExecutor");
+		this.retryMetrics = Objects.requireNonNull(retryMetrics, "retryMetrics");
 	}
 
 	private static <E extends Throwable> E rollbackBeforeThrow(Connection connection, E reason) throws E {
@@ -67,8 +77,18 @@ public final class JooqQueryExecutor implements QueryExecutor {
 				new DataAccessException("Unable to commit (" + cause.getSQLState() + ')', cause));
 	}
 
+	private Connection connectionFor(SQLFunction<?> command) throws SQLException {
+		if (command.isReadOnly() && !command.requiresPrimary()) {
+			Connection replicaConnection = readRouting.replicaConnection();
+			if (replicaConnection != null) {
+				return replicaConnection;
+			}
+		}
+		return dataSource.getConnection();
+	}
+
 	private <R> R obtainUnfailing(SQLFunction<R> command) {
-		try (Connection connection = dataSource.getConnection()) {
+		try (Connection connection = connectionFor(command)) {
 			if (command.isReadOnly()) {
 				connection.setReadOnly(true);
 			}
@@ -107,74 +127,111 @@ public final class JooqQueryExecutor implements QueryExecutor {
 		return "40001".equals(ex.getSQLState());
 	}
 
-	private static void exponentialBackoff(int retry) {
-		int sleepMs = 50 * ((int) Math.pow(2, retry)) + ThreadLocalRandom.current().nextInt(0, 100);
-		try {
-			Thread.sleep(sleepMs);
-		} catch (InterruptedException ex) {
-			Thread.currentThread().interrupt();
-			throw new RuntimeException("Interrupted during retry back-off", ex);
-		}
+	private static Duration exponentialBackoff(int retry) {
+		return Duration.ofMillis(50L * (1L << retry) + ThreadLocalRandom.current().nextInt(0, 100));
 	}
 
-	private <R> R obtainWithRetry(int retryCount, SQLTransactionalFunction<R> command) {
-		// Collect serialization failures and report them
-		Exception[] serializationFailures = new Exception[0];
+	private record Attempt<R>(R value, @Nullable Exception serializationFailure) {}
 
+	private <R> Attempt<R> attemptOnce(SQLTransactionalFunction<R> command) {
 		try (Connection connection = dataSource.getConnection()) {
 			DSLContext context = jooqContext.createContext(connection);
-
-			for (int retry = 0; retry < retryCount; retry++) {
-				if (retry != 0) {
-					// This is not the first attempt
+			RollbackTrackingTransaction transaction = new RollbackTrackingTransaction(context, connection);
+			R value;
+			try {
+				value = command.obtain(context, transaction);
+			} catch (DataAccessException ex) {
+				SQLException rootCause;
+				if ((rootCause = ex.getCause(SQLException.class)) != null && isSerializationFailure(rootCause)) {
+					// Retry later
 					connection.rollback();
-					exponentialBackoff(retry);
+					return new Attempt<>(null, ex);
 				}
-				RollbackTrackingTransaction transaction = new RollbackTrackingTransaction(context, connection);
-				R value;
+				throw rollbackBeforeThrow(connection, ex);
+			} catch (RuntimeException ex) {
+				throw rollbackBeforeThrow(connection, ex);
+			}
+			if (transaction.wasNotRolledBack()) {
 				try {
-					value = command.obtain(context, transaction);
-				} catch (DataAccessException ex) {
-					SQLException rootCause;
-					if ((rootCause = ex.getCause(SQLException.class)) != null && isSerializationFailure(rootCause)) {
-						// Retry
-						serializationFailures = ArraysUtil.expandAndInsert(serializationFailures, ex, 0);
-						continue;
-					}
-					throw rollbackBeforeThrow(connection, ex);
-				} catch (RuntimeException ex) {
-					throw rollbackBeforeThrow(connection, ex);
-				}
-				if (transaction.wasNotRolledBack()) {
-					try {
-						connection.commit();
-					} catch (SQLException ex) {
-						if (isSerializationFailure(ex)) {
-							// Retry
-							serializationFailures = ArraysUtil.expandAndInsert(serializationFailures, ex, 0);
-							continue;
-						}
-						throw unableToCommit(connection, ex);
+					connection.commit();
+				} catch (SQLException ex) {
+					if (isSerializationFailure(ex)) {
+						// Retry later
+						connection.rollback();
+						return new Attempt<>(null, ex);
 					}
+					throw unableToCommit(connection, ex);
 				}
+			}
+			return new Attempt<>(value, null);
+
+		} catch (SQLException ex) {
+			throw new DataAccessException("Unable to manage connection", ex);
+		}
+	}
+
+	/*
+	 * Between attempts, the connection and thread are released. The next attempt is scheduled
+	 * after the back-off, so that contention does not occupy the connection pool with sleeping.
+	 */
+	private <R> void attemptWithRetry(int retry, int retryCount, SQLTransactionalFunction<R> command,
+									  Exception[] serializationFailures, CentralisedFuture<R> future) {
+		if (retry >= retryCount) {
+			retryMetrics.recordExhausted();
+			DataAccessException failure = new DataAccessException(
+					"Retry count exceeded. Here are the serialization failures in reverse order of occurrence.");
+			for (Exception serializationFailure : serializationFailures) {
+				failure.addSuppressed(serializationFailure);
+			}
+			future.completeExceptionally(failure);
+			return;
+		}
+		Workload workload = command.workload();
+		Runnable attemptAndReschedule = () -> {
+			Attempt<R> attempt;
+			try {
+				attempt = bulkheads.call(workload, () -> attemptOnce(command));
+			} catch (RuntimeException | Error ex) {
+				future.completeExceptionally(ex);
+				return;
+			}
+			Exception serializationFailure = attempt.serializationFailure();
+			if (serializationFailure == null) {
 				if (retry != 0) {
 					logger.trace("Database operation succeeded after {} tries", retry);
 					if (retry > retryCount / 2) {
+						retryMetrics.recordHeavyContention();
 						logger.info("Heavy contention detected on the database. Consider upping the retry count.");
 					}
 				}
-				return value;
+				future.complete(attempt.value());
+				return;
 			}
-
-		} catch (SQLException ex) {
-			throw new DataAccessException("Unable to manage connection", ex);
-		}
-		DataAccessException failure = new DataAccessException(
-				"Retry count exceeded. Here are the serialization failures in reverse order of occurrence.");
-		for (Exception serializationFailure : serializationFailures) {
-			failure.addSuppressed(serializationFailure);
+			Exception[] allFailures = ArraysUtil.expandAndInsert(serializationFailures, serializationFailure, 0);
+			int nextRetry = retry + 1;
+			if (nextRetry >= retryCount) {
+				attemptWithRetry(nextRetry, retryCount, command, allFailures, future);
+				return;
+			}
+			Duration backoff = exponentialBackoff(nextRetry);
+			retryMetrics.recordRetry(backoff);
+			try {
+				enhancedExecutor.scheduleOnce(
+						() -> attemptWithRetry(nextRetry, retryCount, command, allFailures, future), backoff
+				);
+			} catch (RuntimeException ex) {
+				// For example, the executor is shut down. The future must not be left incomplete
+				for (Exception failure : allFailures) {
+					ex.addSuppressed(failure);
+				}
+				future.completeExceptionally(ex);
+			}
+		};
+		try {
+			bulkheads.executor(workload).execute(attemptAndReschedule);
+		} catch (RejectedExecutionException ex) {
+			future.completeExceptionally(ex);
 		}
-		throw failure;
 	}
 
 	@Override
@@ -211,7 +268,10 @@ public final class JooqQueryExecutor implements QueryExecutor {
 
 	@Override
 	public <R> CentralisedFuture<R> query(SQLFunction<R> command) {
-		return futuresFactory.supplyAsync(() -> obtainUnfailing(command), threadPool);
+		Workload workload = command.workload();
+		return futuresFactory.supplyAsync(
+				() -> bulkheads.call(workload, () -> obtainUnfailing(command)), bulkheads.executor(workload)
+		);
 	}
 
 	@Override
@@ -221,7 +281,10 @@ public final class JooqQueryExecutor implements QueryExecutor {
 
 	@Override
 	public <R> CentralisedFuture<R> queryWithRetry(int retryCount, SQLTransactionalFunction<R> command) {
-		return futuresFactory.supplyAsync(() -> obtainWithRetry(retryCount, command), threadPool);
+		retryMetrics.recordOperation();
+		CentralisedFuture<R> future = futuresFactory.newIncompleteFuture();
+		attemptWithRetry(0, retryCount, command, new Exception[0], future);
+		return future;
 	}
 
 }
@@ -0,0 +1,195 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.omnibus.util.ThisClass;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only queries to read replicas. <br>
+ * <br>
+ * Replicas are used in turn. A replica which cannot provide a connection is skipped until the
+ * next health check finds it reachable again. For a short time after punishments change, reads
+ * are kept on the primary database so that they observe the change even if replicas lag behind.
+ *
+ */
+public final class ReadRouting {
+
+	private final List<Replica> replicas;
+	private final long readYourWritesNanos;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	private volatile long primaryOnlyUntil;
+
+	private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 2;
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	/**
+	 * Creates from the given replicas
+	 *
+	 * @param replicas the data sources of each replica, named for the purpose of logging
+	 * @param readYourWrites how long reads are kept on the primary database after a write
+	 */
+	public ReadRouting(List<NamedDataSource> replicas, Duration readYourWrites) {
+		this.replicas = replicas.stream().map(Replica::new).toList();
+		this.readYourWritesNanos = readYourWrites.toNanos();
+		primaryOnlyUntil = System.nanoTime();
+	}
+
+	/**
+	 * Read routing which always uses the primary database
+	 *
+	 * @return read routing without replicas
+	 */
+	public static ReadRouting primaryOnly() {
+		return new ReadRouting(List.of(), Duration.ZERO);
+	}
+
+	/**
+	 * A replica data source
+	 *
+	 * @param name the name, usually the host and port
+	 * @param dataSource the data source
+	 */
+	public record NamedDataSource(String name, DataSource dataSource) {
+
+		public NamedDataSource {
+			Objects.requireNonNull(name, "name");
+			Objects.requireNonNull(dataSource, "dataSource");
+		}
+	}
+
+	/**
+	 * Whether any replicas are configured
+	 *
+	 * @return true if there are replicas
+	 */
+	public boolean hasReplicas() {
+		return !replicas.isEmpty();
+	}
+
+	/**
+	 * Keeps reads on the primary database for a short while. Should be called when punishments change
+	 *
+	 */
+	public void readYourWrites() {
+		if (hasReplicas()) {
+			primaryOnlyUntil = System.nanoTime() + readYourWritesNanos;
+		}
+	}
+
+	/**
+	 * Obtains a connection from a healthy replica, if appropriate
+	 *
+	 * @return the replica connection, or null if the primary database should be used
+	 */
+	@Nullable Connection replicaConnection() {
+		int size = replicas.size();
+		if (size == 0 || System.nanoTime() - primaryOnlyUntil < 0) {
+			return null;
+		}
+		int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+		for (int n = 0; n < size; n++) {
+			Replica replica = replicas.get((start + n) % size);
+			if (!replica.healthy) {
+				continue;
+			}
+			try {
+				return replica.dataSource().getConnection();
+			} catch (SQLException ex) {
+				replica.markUnhealthy(ex);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks every replica's health. Reachable replicas are returned to use
+	 *
+	 */
+	public void checkHealth() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource().getConnection()) {
+				if (connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS)) {
+					replica.markHealthy();
+				} else {
+					replica.markUnhealthy(null);
+				}
+			} catch (SQLException ex) {
+				replica.markUnhealthy(ex);
+			}
+		}
+	}
+
+	/**
+	 * Closes the replicas' data sources
+	 *
+	 */
+	public void close() {
+		for (Replica replica : replicas) {
+			if (replica.dataSource() instanceof AutoCloseable closeable) {
+				try {
+					closeable.close();
+				} catch (Exception ex) {
+					logger.warn("Failed to close read replica {}", replica.source.name(), ex);
+				}
+			}
+		}
+	}
+
+	private static final class Replica {
+
+		private final NamedDataSource source;
+		private volatile boolean healthy = true;
+
+		private Replica(NamedDataSource source) {
+			this.source = source;
+		}
+
+		DataSource dataSource() {
+			return source.dataSource();
+		}
+
+		void markHealthy() {
+			if (!healthy) {
+				healthy = true;
+				logger.info("Read replica {} is reachable again", source.name());
+			}
+		}
+
+		void markUnhealthy(@Nullable SQLException cause) {
+			if (healthy) {
+				healthy = false;
+				logger.warn("Read replica {} is unreachable. Using the primary database instead.", source.name(), cause);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts retries of transactions due to serialization failure, which indicate contention
+ * on the database
+ *
+ */
+public final class RetryMetrics {
+
+	private final LongAdder operations = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder backoffMillis = new LongAdder();
+	private final LongAdder heavyContention = new LongAdder();
+	private final LongAdder exhausted = new LongAdder();
+
+	void recordOperation() {
+		operations.increment();
+	}
+
+	void recordRetry(Duration backoff) {
+		retries.increment();
+		backoffMillis.add(backoff.toMillis());
+	}
+
+	void recordHeavyContention() {
+		heavyContention.increment();
+	}
+
+	void recordExhausted() {
+		exhausted.increment();
+	}
+
+	/**
+	 * Takes a snapshot of the current metrics
+	 *
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(
+				operations.sum(), retries.sum(), backoffMillis.sum(), heavyContention.sum(), exhausted.sum()
+		);
+	}
+
+	/**
+	 * A snapshot of retry metrics
+	 *
+	 * @param operations the number of retryable operations started
+	 * @param retries the total number of retries
+	 * @param backoffMillis the total time spent backing off between retries
+	 * @param heavyContention the number of operations which needed more than half their allowed retries
+	 * @param exhausted the number of operations which failed because they ran out of retries
+	 */
+	public record Snapshot(long operations, long retries, long backoffMillis, long heavyContention, long exhausted) {
+
+		@Override
+		public String toString() {
+			return operations + " operations, " + retries + " retries, " + backoffMillis + "ms backoff, "
+					+ heavyContention + " heavily contended, " + exhausted + " exhausted";
+		}
+	}
+
+}
@@ -27,6 +27,20 @@ public interface SQLFunction<R> {
 		return false;
 	}
 
+	/**
+	 * Whether this function must observe the latest data, such that it is never sent to a read
+	 * replica even if it is read-only
+	 *
+	 * @return true to always use the primary database
+	 */
+	default boolean requiresPrimary() {
+		return false;
+	}
+
+	default Workload workload() {
+		return Workload.STANDARD;
+	}
+
 	R obtain(DSLContext context) throws RuntimeException;
 
 	static <R> SQLFunction<R> readOnly(SQLFunction<R> command) {
@@ -37,6 +51,74 @@ public interface SQLFunction<R> {
 				return true;
 			}
 
+			@Override
+			public boolean requiresPrimary() {
+				return command.requiresPrimary();
+			}
+
+			@Override
+			public Workload workload() {
+				return command.workload();
+			}
+
+			@Override
+			public R obtain(DSLContext context) throws RuntimeException {
+				return command.obtain(context);
+			}
+		};
+	}
+
+	/**
+	 * Marks a function as read-only, but keeps it on the primary database. Used where replication
+	 * lag would be harmful, such as for checking bans on login and receiving synchronization messages
+	 *
+	 * @param command the function
+	 * @return the read-only function which requires the primary database
+	 * @param <R> the result type
+	 */
+	static <R> SQLFunction<R> readOnlyOnPrimary(SQLFunction<R> command) {
+		return new SQLFunction<>() {
+
+			@Override
+			public boolean isReadOnly() {
+				return true;
+			}
+
+			@Override
+			public boolean requiresPrimary() {
+				return true;
+			}
+
+			@Override
+			public Workload workload() {
+				return command.workload();
+			}
+
+			@Override
+			public R obtain(DSLContext context) throws RuntimeException {
+				return command.obtain(context);
+			}
+		};
+	}
+
+	static <R> SQLFunction<R> withWorkload(Workload workload, SQLFunction<R> command) {
+		return new SQLFunction<>() {
+
+			@Override
+			public boolean isReadOnly() {
+				return command.isReadOnly();
+			}
+
+			@Override
+			public boolean requiresPrimary() {
+				return command.requiresPrimary();
+			}
+
+			@Override
+			public Workload workload() {
+				return workload;
+			}
+
 			@Override
 			public R obtain(DSLContext context) throws RuntimeException {
 				return command.obtain(context);
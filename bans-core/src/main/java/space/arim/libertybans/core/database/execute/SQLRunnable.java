@@ -27,6 +27,10 @@ public interface SQLRunnable {
 		return false;
 	}
 
+	default Workload workload() {
+		return Workload.STANDARD;
+	}
+
 	void run(DSLContext context) throws RuntimeException;
 
 	default SQLFunction<Void> runnableAsFunction() {
@@ -37,6 +41,11 @@ public interface SQLRunnable {
 				return SQLRunnable.this.isReadOnly();
 			}
 
+			@Override
+			public Workload workload() {
+				return SQLRunnable.this.workload();
+			}
+
 			@Override
 			public Void obtain(DSLContext context) throws RuntimeException {
 				run(context);
@@ -54,6 +63,31 @@ public interface SQLRunnable {
 				return true;
 			}
 
+			@Override
+			public Workload workload() {
+				return command.workload();
+			}
+
+			@Override
+			public void run(DSLContext context) throws RuntimeException {
+				command.run(context);
+			}
+		};
+	}
+
+	static SQLRunnable withWorkload(Workload workload, SQLRunnable command) {
+		return new SQLRunnable() {
+
+			@Override
+			public boolean isReadOnly() {
+				return command.isReadOnly();
+			}
+
+			@Override
+			public Workload workload() {
+				return workload;
+			}
+
 			@Override
 			public void run(DSLContext context) throws RuntimeException {
 				command.run(context);
@@ -23,5 +23,24 @@ import org.jooq.DSLContext;
 
 public interface SQLTransactionalFunction<R> {
 
+	default Workload workload() {
+		return Workload.STANDARD;
+	}
+
 	R obtain(DSLContext context, Transaction transaction) throws RuntimeException;
+
+	static <R> SQLTransactionalFunction<R> withWorkload(Workload workload, SQLTransactionalFunction<R> command) {
+		return new SQLTransactionalFunction<>() {
+
+			@Override
+			public Workload workload() {
+				return workload;
+			}
+
+			@Override
+			public R obtain(DSLContext context, Transaction transaction) throws RuntimeException {
+				return command.obtain(context, transaction);
+			}
+		};
+	}
 }
@@ -23,11 +23,20 @@ import org.jooq.DSLContext;
 
 public interface SQLTransactionalRunnable {
 
+	default Workload workload() {
+		return Workload.STANDARD;
+	}
+
 	void run(DSLContext context, Transaction transaction) throws RuntimeException;
 
 	default SQLTransactionalFunction<Void> runnableAsFunction() {
 		class RunnableAsFunction implements SQLTransactionalFunction<Void> {
 
+			@Override
+			public Workload workload() {
+				return SQLTransactionalRunnable.this.workload();
+			}
+
 			@Override
 			public Void obtain(DSLContext context, Transaction transaction) throws RuntimeException {
 				run(context, transaction);
@@ -36,4 +45,19 @@ public interface SQLTransactionalRunnable {
 		}
 		return new RunnableAsFunction();
 	}
+
+	static SQLTransactionalRunnable withWorkload(Workload workload, SQLTransactionalRunnable command) {
+		return new SQLTransactionalRunnable() {
+
+			@Override
+			public Workload workload() {
+				return workload;
+			}
+
+			@Override
+			public void run(DSLContext context, Transaction transaction) throws RuntimeException {
+				command.run(context, transaction);
+			}
+		};
+	}
 }
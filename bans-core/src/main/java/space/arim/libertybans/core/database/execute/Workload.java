@@ -0,0 +1,44 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+/**
+ * The kind of work a database operation performs, which determines the connections it may use. <br>
+ * <br>
+ * Connections are reserved for login-critical work, so that it is never starved by other work.
+ * Bulk work is further limited so that it cannot occupy all remaining connections.
+ *
+ */
+public enum Workload {
+
+	/**
+	 * Work which a player is waiting on, such as checking bans on join or looking up mutes
+	 */
+	LOGIN,
+	/**
+	 * Ordinary work, such as punishing and listing punishments
+	 */
+	STANDARD,
+	/**
+	 * Administrative work which may take a long time, such as rollbacks and imports
+	 */
+	BULK
+
+}
@@ -19,6 +19,7 @@
 
 package space.arim.libertybans.core.database.sql;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
@@ -37,14 +38,29 @@ public final class AccountExpirationCondition {
 	}
 
 	public Condition isNotExpired(Configs configs, Instant currentTime) {
-		var altAccountExpiration = configs.getMainConfig().enforcement().altAccountExpiration();
-		if (!altAccountExpiration.enable()) {
+		Instant expiredBefore = expiredBefore(configs, currentTime);
+		if (expiredBefore == null) {
 			return DSL.noCondition();
 		}
-		Instant expiredBefore = currentTime.minus(Duration.ofDays(altAccountExpiration.expirationTimeDays()));
 		return updatedField.greaterThan(expiredBefore);
 	}
 
+	/**
+	 * Gets the time at or before which accounts are considered expired. An account is not expired
+	 * if it was updated after this time.
+	 *
+	 * @param configs the configuration
+	 * @param currentTime the current time
+	 * @return the expiration threshold, or null if alt account expiration is disabled
+	 */
+	public static @Nullable Instant expiredBefore(Configs configs, Instant currentTime) {
+		var altAccountExpiration = configs.getMainConfig().enforcement().altAccountExpiration();
+		if (!altAccountExpiration.enable()) {
+			return null;
+		}
+		return currentTime.minus(Duration.ofDays(altAccountExpiration.expirationTimeDays()));
+	}
+
 	@Override
 	public String toString() {
 		return "AccountExpirationCondition{" +
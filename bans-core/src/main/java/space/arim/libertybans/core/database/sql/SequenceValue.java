@@ -142,6 +142,30 @@ public class SequenceValue<R extends Number> {
 			insertNew.accept(nextValue());
 			return context.select(lastValueInSession()).fetchSingle(sequenceValueField);
 		}
+
+		/**
+		 * Like {@link #executeReified()}, but tolerates a concurrent transaction inserting the same row.
+		 * The insertion must therefore do nothing if a matching row already exists. Afterward, the ID
+		 * is selected again, since the generated value may not have been used.
+		 *
+		 * @return the ID of the existing or inserted row
+		 */
+		R executeIdempotently() {
+			R existingId = context
+					.select(sequenceValueField)
+					.from(table)
+					.where(matchExisting)
+					.fetchOne(sequenceValueField);
+			if (existingId != null) {
+				return existingId;
+			}
+			insertNew.accept(nextValue());
+			return context
+					.select(sequenceValueField)
+					.from(table)
+					.where(matchExisting)
+					.fetchSingle(sequenceValueField);
+		}
 	}
 
 }
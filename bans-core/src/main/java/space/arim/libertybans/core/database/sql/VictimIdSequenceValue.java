@@ -21,8 +21,16 @@ package space.arim.libertybans.core.database.sql;
 
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import space.arim.libertybans.api.AddressVictim;
+import space.arim.libertybans.api.CompositeVictim;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.PlayerVictim;
 import space.arim.libertybans.api.Victim;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import static org.jooq.impl.DSL.val;
 import static space.arim.libertybans.core.schema.Sequences.LIBERTYBANS_VICTIM_IDS;
 import static space.arim.libertybans.core.schema.tables.Victims.VICTIMS;
@@ -34,12 +42,66 @@ public final class VictimIdSequenceValue extends SequenceValue<Integer> {
 	}
 
 	public Field<Integer> retrieveVictimId(Victim victim) {
+		return retrieveOrGenerate(victim).execute();
+	}
+
+	/**
+	 * Retrieves or generates the ID of a victim, then locks the victim's row until the end of
+	 * the transaction. Transactions locking the same victim are thereby executed one after
+	 * another, while transactions for different victims do not conflict. <br>
+	 * <br>
+	 * For a composite victim, the player and address victims it is made of are locked as well.
+	 * Thus, any two victims sharing a UUID or address cannot be locked at the same time, which
+	 * protects calculations reading the punishments of related victims. <br>
+	 * <br>
+	 * Since the caller's transaction need not be serializable, two transactions may try to create
+	 * the same new victim. The insertion is therefore idempotent, and the loser uses the winner's row.
+	 *
+	 * @param victim the victim
+	 * @return the victim ID
+	 */
+	public int retrieveAndLockVictimId(Victim victim) {
+		int victimId = retrieveOrGenerateIdempotently(victim).executeIdempotently();
+		List<Integer> lockIds = new ArrayList<>(3);
+		lockIds.add(victimId);
+		if (victim instanceof CompositeVictim compositeVictim) {
+			UUID uuid = compositeVictim.getUUID();
+			NetworkAddress address = compositeVictim.getAddress();
+			if (!uuid.equals(CompositeVictim.WILDCARD_UUID)) {
+				lockIds.add(retrieveOrGenerateIdempotently(PlayerVictim.of(uuid)).executeIdempotently());
+			}
+			if (!address.equals(CompositeVictim.WILDCARD_ADDRESS)) {
+				lockIds.add(retrieveOrGenerateIdempotently(AddressVictim.of(address)).executeIdempotently());
+			}
+		}
+		// Lock in a consistent order to prevent deadlocks
+		lockIds.sort(null);
+		for (int lockId : lockIds) {
+			context
+					.select(VICTIMS.ID)
+					.from(VICTIMS)
+					.where(VICTIMS.ID.eq(lockId))
+					.forUpdate()
+					.execute();
+		}
+		return victimId;
+	}
+
+	private RetrieveOrGenerate retrieveOrGenerate(Victim victim) {
+		return retrieveOrGenerate(victim, false);
+	}
+
+	private RetrieveOrGenerate retrieveOrGenerateIdempotently(Victim victim) {
+		return retrieveOrGenerate(victim, true);
+	}
+
+	private RetrieveOrGenerate retrieveOrGenerate(Victim victim, boolean ignoreExisting) {
 		VictimData victimData = FixedVictimData.from(new SerializedVictim(victim));
 		return new RetrieveOrGenerate(
 				VICTIMS, VICTIMS.ID,
 				new VictimCondition(new VictimTableFields()).matchesVictim(victimData),
 				(newId) -> {
-					context
+					var insert = context
 							.insertInto(VICTIMS)
 							.columns(VICTIMS.ID, VICTIMS.TYPE, VICTIMS.UUID, VICTIMS.ADDRESS)
 							.values(
@@ -47,10 +109,14 @@ public final class VictimIdSequenceValue extends SequenceValue<Integer> {
 									val(victimData.type(), VICTIMS.TYPE),
 									val(victimData.uuid(), VICTIMS.UUID),
 									val(victimData.address(), VICTIMS.ADDRESS)
-							)
-							.execute();
+							);
+					if (ignoreExisting) {
+						insert.onConflict(VICTIMS.TYPE, VICTIMS.UUID, VICTIMS.ADDRESS).doNothing().execute();
+					} else {
+						insert.execute();
+					}
 				}
-		).execute();
+		);
 	}
 
 }
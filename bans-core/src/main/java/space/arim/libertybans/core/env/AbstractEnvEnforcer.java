@@ -26,9 +26,11 @@ import space.arim.libertybans.core.config.InternalFormatter;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
+import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 public abstract class AbstractEnvEnforcer<P> implements EnvEnforcer<P> {
@@ -38,6 +40,8 @@ public abstract class AbstractEnvEnforcer<P> implements EnvEnforcer<P> {
 	private final Interlocutor interlocutor;
 	private final AudienceRepresenter<? super P> audienceRepresenter;
 
+	private final OnlinePlayerIndex<P> onlinePlayers = new OnlinePlayerIndex<>();
+
 	protected AbstractEnvEnforcer(FactoryOfTheFuture futuresFactory, InternalFormatter formatter,
 								  Interlocutor interlocutor, AudienceRepresenter<? super P> audienceRepresenter) {
 		this.futuresFactory = Objects.requireNonNull(futuresFactory, "futuresFactory");
@@ -98,20 +102,115 @@ public abstract class AbstractEnvEnforcer<P> implements EnvEnforcer<P> {
 		audienceRepresenter.toAudience(player).sendMessage(message);
 	}
 
+	/*
+	Online player index
+	 */
+
+	/**
+	 * Begins indexing online players, so that police can be dispatched without iterating over every
+	 * online player. Should be called once the join and quit listeners are registered
+	 *
+	 * @return a future completed once the players already online have been indexed
+	 */
+	public final CentralisedFuture<Void> startIndexingPlayers() {
+		// Track quits first, so that players leaving while we seed are not indexed
+		onlinePlayers.startSeeding();
+		return doForAllPlayers((players) -> {
+			for (P player : players) {
+				onlinePlayers.seed(player, getUniqueIdFor(player), getAddressFor(player));
+			}
+		}).thenCompose((ignore) -> {
+			// The collection of players may have been a stale snapshot
+			return doForAllPlayers(onlinePlayers::finishSeeding);
+		});
+	}
+
+	/**
+	 * Stops indexing online players. Should be called once the join and quit listeners are unregistered
+	 *
+	 */
+	public final void stopIndexingPlayers() {
+		onlinePlayers.setActive(false);
+	}
+
+	/**
+	 * Called by the join listener
+	 *
+	 * @param player the player who joined
+	 */
+	public final void indexPlayerJoin(P player) {
+		onlinePlayers.add(player, getUniqueIdFor(player), getAddressFor(player));
+	}
+
+	/**
+	 * Called by the quit listener
+	 *
+	 * @param player the player who quit
+	 */
+	public final void indexPlayerQuit(P player) {
+		onlinePlayers.remove(player, getUniqueIdFor(player), getAddressFor(player));
+	}
+
 	@Override
 	public final CentralisedFuture<Void> dispatchPolice(Police<P> police) {
+		return dispatchPolice(List.of(police));
+	}
+
+	@Override
+	public final CentralisedFuture<Void> dispatchPolice(List<Police<P>> police) {
+		if (police.isEmpty()) {
+			return completedVoid();
+		}
+		if (onlinePlayers.isActive()) {
+			return dispatchIndexedPolice(police);
+		}
 		return doForAllPlayers((players) -> {
-			List<P> matchedPlayers = new ArrayList<>();
+			List<List<P>> matchedPlayers = new ArrayList<>(police.size());
+			for (int n = 0; n < police.size(); n++) {
+				matchedPlayers.add(new ArrayList<>());
+			}
 			// Some platforms do not provide guarantees about concurrent iteration in presence of kicks
 			// Proxies effectively must, but game server APIs like Bukkit and Sponge need not
 			for (P player : players) {
-				if (police.targetMatcher().matches(getUniqueIdFor(player), getAddressFor(player))
-						&& police.serverNameMatch().test(getPlayableServerName(player))) {
-					matchedPlayers.add(player);
+				UUID uuid = getUniqueIdFor(player);
+				InetAddress address = getAddressFor(player);
+				for (int n = 0; n < police.size(); n++) {
+					Police<P> officer = police.get(n);
+					if (officer.targetMatcher().matches(uuid, address)
+							&& officer.serverNameMatch().test(getPlayableServerName(player))) {
+						matchedPlayers.get(n).add(player);
+					}
 				}
 			}
-			matchedPlayers.forEach(police.arrest());
+			arrestAll(police, matchedPlayers);
 		});
 	}
 
+	private CentralisedFuture<Void> dispatchIndexedPolice(List<Police<P>> police) {
+		List<List<P>> matchedPlayers = new ArrayList<>(police.size());
+		boolean anyMatched = false;
+		for (Police<P> officer : police) {
+			List<P> matched = new ArrayList<>();
+			for (P player : onlinePlayers.find(officer.targetMatcher())) {
+				if (officer.serverNameMatch().test(getPlayableServerName(player))) {
+					matched.add(player);
+				}
+			}
+			matchedPlayers.add(matched);
+			anyMatched |= !matched.isEmpty();
+		}
+		if (!anyMatched) {
+			// Nobody to arrest, so there is no need to enter a callback
+			return completedVoid();
+		}
+		// Arrests must happen within a callback
+		return doForAllPlayers((players) -> arrestAll(police, matchedPlayers));
+	}
+
+	private static <P> void arrestAll(List<Police<P>> police, List<List<P>> matchedPlayers) {
+		for (int n = 0; n < police.size(); n++) {
+			matchedPlayers.get(n).forEach(police.get(n).arrest());
+		}
+	}
+
 }
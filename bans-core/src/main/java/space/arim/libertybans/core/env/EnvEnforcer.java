@@ -21,6 +21,7 @@ package space.arim.libertybans.core.env;
 
 import java.net.InetAddress;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -116,6 +117,14 @@ public interface EnvEnforcer<@PlatformPlayer P> {
 	 */
 	CentralisedFuture<Void> dispatchPolice(Police<P> police);
 
+	/**
+	 * Enforces multiple punishments in a single pass over online players. Equivalent to dispatching each police
+	 * in order, except that players are matched only once. Matched players are arrested in the order of the police.
+	 *
+	 * @param police the police to dispatch, in order
+	 */
+	CentralisedFuture<Void> dispatchPolice(List<Police<P>> police);
+
 	/**
 	 * Gets the uuid of a player. <br>
 	 * <br>
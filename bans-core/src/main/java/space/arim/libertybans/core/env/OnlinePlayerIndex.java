@@ -0,0 +1,190 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.env;
+
+import space.arim.api.env.annote.PlatformPlayer;
+
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrently maintained index of online players by UUID and by address, which allows matching
+ * players to a {@link TargetMatcher} without iterating over every online player. <br>
+ * <br>
+ * The index is kept current by platform join and quit listeners. It is inactive until those listeners
+ * are registered and the players already online have been added. <br>
+ * <br>
+ * Adding the players already online is called seeding. The listeners must be registered beforehand,
+ * and players who quit while seeding are not seeded. Since the collection of online players may be
+ * a stale snapshot, seeding is finished by checking that every seeded player is still online.
+ *
+ * @param <P> the player type
+ */
+final class OnlinePlayerIndex<@PlatformPlayer P> {
+
+	private final Map<UUID, P> byUUID = new ConcurrentHashMap<>();
+	private final Map<InetAddress, Set<P>> byAddress = new ConcurrentHashMap<>();
+	private volatile boolean active;
+
+	private volatile boolean seeding;
+	// Guarded by this, and non-null while seeding
+	private Map<P, Seed> seeded;
+	private Set<P> departed;
+
+	boolean isActive() {
+		return active;
+	}
+
+	synchronized void setActive(boolean active) {
+		this.active = active;
+		if (!active) {
+			stopSeeding();
+			byUUID.clear();
+			byAddress.clear();
+		}
+	}
+
+	/**
+	 * Begins seeding. Should be called after the join and quit listeners are registered, but before
+	 * obtaining the players already online
+	 *
+	 */
+	synchronized void startSeeding() {
+		seeded = new IdentityHashMap<>();
+		departed = Collections.newSetFromMap(new IdentityHashMap<>());
+		seeding = true;
+	}
+
+	/**
+	 * Adds a player who was online when seeding began, unless the player has since quit, or a newer
+	 * login with the same UUID was already added
+	 *
+	 * @param player the player
+	 * @param uuid the player's UUID
+	 * @param address the player's address
+	 */
+	synchronized void seed(P player, UUID uuid, InetAddress address) {
+		if (!seeding || departed.contains(player) || byUUID.putIfAbsent(uuid, player) != null) {
+			return;
+		}
+		addAddress(player, address);
+		seeded.put(player, new Seed(uuid, address));
+	}
+
+	/**
+	 * Finishes seeding and activates the index. Seeded players who are no longer online are removed
+	 *
+	 * @param stillOnline the players online now
+	 */
+	synchronized void finishSeeding(Collection<? extends P> stillOnline) {
+		if (!seeding) {
+			return;
+		}
+		Set<P> online = Collections.newSetFromMap(new IdentityHashMap<>());
+		online.addAll(stillOnline);
+		seeded.forEach((player, seed) -> {
+			if (!online.contains(player)) {
+				removeMappings(player, seed.uuid(), seed.address());
+			}
+		});
+		stopSeeding();
+		active = true;
+	}
+
+	private void stopSeeding() {
+		seeding = false;
+		seeded = null;
+		departed = null;
+	}
+
+	void add(P player, UUID uuid, InetAddress address) {
+		byUUID.put(uuid, player);
+		addAddress(player, address);
+	}
+
+	private void addAddress(P player, InetAddress address) {
+		byAddress.compute(address, (a, players) -> {
+			if (players == null) {
+				players = ConcurrentHashMap.newKeySet();
+			}
+			players.add(player);
+			return players;
+		});
+	}
+
+	void remove(P player, UUID uuid, InetAddress address) {
+		if (seeding) {
+			synchronized (this) {
+				if (departed != null) {
+					// Do not seed this player from a stale collection of online players
+					departed.add(player);
+				}
+				removeMappings(player, uuid, address);
+			}
+			return;
+		}
+		removeMappings(player, uuid, address);
+	}
+
+	private void removeMappings(P player, UUID uuid, InetAddress address) {
+		// The player may have already been replaced by a newer login with the same UUID
+		byUUID.remove(uuid, player);
+		byAddress.computeIfPresent(address, (a, players) -> {
+			players.remove(player);
+			// Returning null removes the mapping
+			return players.isEmpty() ? null : players;
+		});
+	}
+
+	/**
+	 * Finds the online players matched by the given target matcher
+	 *
+	 * @param targetMatcher the target matcher
+	 * @return the matched players, without duplicates
+	 */
+	Set<P> find(TargetMatcher targetMatcher) {
+		Set<P> matched = new LinkedHashSet<>();
+		targetMatcher.forEachTarget(
+				(uuid) -> {
+					P player = byUUID.get(uuid);
+					if (player != null) {
+						matched.add(player);
+					}
+				},
+				(address) -> {
+					Set<P> players = byAddress.get(address);
+					if (players != null) {
+						matched.addAll(players);
+					}
+				}
+		);
+		return matched;
+	}
+
+	private record Seed(UUID uuid, InetAddress address) { }
+
+}
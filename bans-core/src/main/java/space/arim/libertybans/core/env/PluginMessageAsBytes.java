@@ -62,6 +62,16 @@ public record PluginMessageAsBytes<D, R>(PluginMessage<D, R> pluginMessage) {
 		public void writeUTF(String utf) throws IOException {
 			dataOutput.writeUTF(utf);
 		}
+
+		@Override
+		public void writeShort(short value) throws IOException {
+			dataOutput.writeShort(value);
+		}
+
+		@Override
+		public void writeBytes(byte[] bytes) throws IOException {
+			dataOutput.write(bytes);
+		}
 	}
 
 	record DataInputAsInput(DataInput dataInput) implements PluginMessageInput {
@@ -69,5 +79,17 @@ public record PluginMessageAsBytes<D, R>(PluginMessage<D, R> pluginMessage) {
 		public String readUTF() throws IOException {
 			return dataInput.readUTF();
 		}
+
+		@Override
+		public short readShort() throws IOException {
+			return dataInput.readShort();
+		}
+
+		@Override
+		public byte[] readBytes(int length) throws IOException {
+			byte[] bytes = new byte[length];
+			dataInput.readFully(bytes);
+			return bytes;
+		}
 	}
 }
@@ -24,11 +24,21 @@ import space.arim.libertybans.api.NetworkAddress;
 import java.net.InetAddress;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TargetMatcher {
 
 	boolean matches(UUID uuid, @Nullable InetAddress address);
 
+	/**
+	 * Visits the UUIDs and addresses matched, so that matching players can be looked up directly.
+	 * A player is matched if and only if its UUID or address is visited.
+	 *
+	 * @param uuidAction receives each UUID matched
+	 * @param addressAction receives each address matched
+	 */
+	void forEachTarget(Consumer<UUID> uuidAction, Consumer<InetAddress> addressAction);
+
 	record UUIDs(Set<UUID> uuids) implements TargetMatcher {
 
 		public UUIDs {
@@ -39,6 +49,11 @@ public interface TargetMatcher {
 		public boolean matches(UUID uuid, @Nullable InetAddress address) {
 			return uuids.contains(uuid);
 		}
+
+		@Override
+		public void forEachTarget(Consumer<UUID> uuidAction, Consumer<InetAddress> addressAction) {
+			uuids.forEach(uuidAction);
+		}
 	}
 
 	record Address(InetAddress address) implements TargetMatcher {
@@ -51,6 +66,11 @@ public interface TargetMatcher {
 		public boolean matches(UUID uuid, @Nullable InetAddress address) {
 			return this.address.equals(address);
 		}
+
+		@Override
+		public void forEachTarget(Consumer<UUID> uuidAction, Consumer<InetAddress> addressAction) {
+			addressAction.accept(address);
+		}
 	}
 
 	record Combined(TargetMatcher matcher1, TargetMatcher matcher2) implements TargetMatcher {
@@ -59,5 +79,11 @@ public interface TargetMatcher {
 		public boolean matches(UUID uuid, @Nullable InetAddress address) {
 			return matcher1.matches(uuid, address) || matcher2.matches(uuid, address);
 		}
+
+		@Override
+		public void forEachTarget(Consumer<UUID> uuidAction, Consumer<InetAddress> addressAction) {
+			matcher1.forEachTarget(uuidAction, addressAction);
+			matcher2.forEachTarget(uuidAction, addressAction);
+		}
 	}
 }
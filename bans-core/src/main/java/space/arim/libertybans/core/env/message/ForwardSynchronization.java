@@ -0,0 +1,82 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.env.message;
+
+import java.io.IOException;
+
+/**
+ * Asks the proxy to forward a synchronization message to all other backend servers. Uses the "Forward"
+ * subchannel, which is supported by both BungeeCord and Velocity.
+ *
+ */
+public final class ForwardSynchronization implements PluginMessage<byte[], Void> {
+
+	/**
+	 * The subchannel under which forwarded messages are received
+	 */
+	public static final String FORWARDED_SUBCHANNEL = "LibertyBansSync";
+
+	@Override
+	public String subchannelName() {
+		return "Forward";
+	}
+
+	@Override
+	public void writeData(byte[] data, PluginMessageOutput output) throws IOException {
+		if (data.length > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Message too large to forward: " + data.length + " bytes");
+		}
+		output.writeUTF("ALL");
+		output.writeUTF(FORWARDED_SUBCHANNEL);
+		output.writeShort((short) data.length);
+		output.writeBytes(data);
+	}
+
+	@Override
+	public Void readResponse(PluginMessageInput input) throws IOException {
+		return null;
+	}
+
+	/**
+	 * The synchronization message as received by other backend servers
+	 *
+	 */
+	public static final class Received implements PluginMessage<Void, byte[]> {
+
+		@Override
+		public String subchannelName() {
+			return FORWARDED_SUBCHANNEL;
+		}
+
+		@Override
+		public void writeData(Void data, PluginMessageOutput output) throws IOException {
+		}
+
+		@Override
+		public byte[] readResponse(PluginMessageInput input) throws IOException {
+			short length = input.readShort();
+			if (length < 0) {
+				throw new IOException("Negative message length " + length);
+			}
+			return input.readBytes(length);
+		}
+	}
+
+}
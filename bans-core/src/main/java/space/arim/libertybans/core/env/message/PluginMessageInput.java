@@ -25,4 +25,8 @@ public interface PluginMessageInput {
 
 	String readUTF() throws IOException;
 
+	short readShort() throws IOException;
+
+	byte[] readBytes(int length) throws IOException;
+
 }
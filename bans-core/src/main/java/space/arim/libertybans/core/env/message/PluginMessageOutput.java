@@ -25,4 +25,8 @@ public interface PluginMessageOutput {
 
 	void writeUTF(String utf) throws IOException;
 
+	void writeShort(short value) throws IOException;
+
+	void writeBytes(byte[] bytes) throws IOException;
+
 }
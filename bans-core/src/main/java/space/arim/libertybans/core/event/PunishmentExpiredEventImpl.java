@@ -1,6 +1,6 @@
 /*
  * LibertyBans
- * Copyright © 2023 Anand Beh
+ * Copyright © 2026 Anand Beh
  *
  * LibertyBans is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Affero General Public License as
@@ -17,31 +17,21 @@
  * and navigate to version 3 of the GNU Affero General Public License.
  */
 
-package space.arim.libertybans.core.database.jooq;
+package space.arim.libertybans.core.event;
 
-import org.jooq.Cursor;
+import space.arim.libertybans.api.event.PunishmentExpiredEvent;
+import space.arim.libertybans.api.punish.Punishment;
 
 import java.util.Objects;
 
-public final class BatchTransfer<R extends org.jooq.Record> extends BatchExecute<R> {
+public record PunishmentExpiredEventImpl(Punishment punishment) implements PunishmentExpiredEvent {
 
-	private final Cursor<R> cursor;
-
-	public BatchTransfer(Cursor<R> cursor,
-						 BatchProvider batchProvider,
-						 BatchAttachment<R> batchAttachment) {
-		super(batchProvider, batchAttachment);
-		this.cursor = Objects.requireNonNull(cursor);
+	public PunishmentExpiredEventImpl {
+		Objects.requireNonNull(punishment);
 	}
 
-	/**
-	 * Performs the transfer
-	 *
-	 * @param maxBatchSize how many records to transfer in a single batch
-	 */
-	public void execute(int maxBatchSize) {
-		try (cursor) {
-			super.execute(cursor, maxBatchSize);
-		}
+	@Override
+	public Punishment getPunishment() {
+		return punishment;
 	}
 }
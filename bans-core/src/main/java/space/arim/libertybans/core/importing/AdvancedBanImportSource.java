@@ -81,7 +81,8 @@ public class AdvancedBanImportSource implements ImportSource {
 
 		@Override
 		public String selectStatement() {
-			return "SELECT * FROM " + (active ? "Punishments" : "PunishmentHistory");
+			// Ordered, so that an import may be resumed. See ImportCheckpoint
+			return "SELECT * FROM " + (active ? "Punishments" : "PunishmentHistory") + " ORDER BY id";
 		}
 
 		@Override
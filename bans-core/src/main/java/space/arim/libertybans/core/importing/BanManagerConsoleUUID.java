@@ -44,7 +44,7 @@ class BanManagerConsoleUUID {
 	UUID retrieveConsoleUUID() {
 		try (Connection connection = connectionSource.openConnection();
 			 PreparedStatement preparedStatement = connection.prepareStatement(
-					 "SELECT \"id\" FROM \"" + tablePrefix + "players\" ORDER BY \"lastSeen\" ASC LIMIT 1");
+					 "SELECT \"id\" FROM \"" + tablePrefix + "players\" ORDER BY \"lastSeen\" ASC, \"id\" ASC LIMIT 1");
 			 ResultSet resultSet = preparedStatement.executeQuery()) {
 
 			if (!resultSet.next()) {
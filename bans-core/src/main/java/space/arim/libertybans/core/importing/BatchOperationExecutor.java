@@ -54,11 +54,10 @@ class BatchOperationExecutor implements AutoCloseable {
 		openConnectionIfNecessary();
 
 		/*
-		 * Committing every time is a necessity. Queries cannot be batched together
-		 * because otherwise the open transaction leads to deadlocks with other
-		 * queries, such as uuid lookups for name-based operators.
-		 *
-		 * Committing is handled by #executeWithExistingConnection
+		 * Each operation is committed by #executeWithExistingConnection. An operation
+		 * may write many rows, but it must not wait on other queries, such as uuid
+		 * lookups for name-based operators, or the open transaction leads to deadlocks.
+		 * This is why names are resolved before their punishments reach the ImportSink.
 		 */
 		database.executeWithExistingConnection(connection, operation);
 
@@ -0,0 +1,143 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.importing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.omnibus.util.ThisClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * The progress of an import, saved after each committed batch so that a failed import may be resumed. <br>
+ * <br>
+ * Progress is counted in items read from the import source. Resuming therefore relies on the import source
+ * yielding its data in the same order each time, which is why import sources order their queries. NOT thread safe
+ *
+ */
+final class ImportCheckpoint {
+
+	private final Path file;
+	private final String sourceKey;
+	private Stage stage;
+	private long position;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	private ImportCheckpoint(Path file, String sourceKey, Stage stage, long position) {
+		this.file = file;
+		this.sourceKey = sourceKey;
+		this.stage = stage;
+		this.position = position;
+	}
+
+	enum Stage {
+		PUNISHMENTS,
+		NAME_ADDRESS_HISTORY
+	}
+
+	/**
+	 * Loads the checkpoint saved by a previous import from the same source, or starts from the beginning
+	 *
+	 * @param file the checkpoint file
+	 * @param sourceKey identifies the import source
+	 * @return the checkpoint
+	 */
+	static ImportCheckpoint load(Path file, String sourceKey) {
+		if (Files.exists(file)) {
+			List<String> lines;
+			try {
+				lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			} catch (IOException ex) {
+				throw new ImportException("Unable to read import checkpoint", ex);
+			}
+			if (lines.size() == 3 && lines.get(0).equals(sourceKey)) {
+				try {
+					return new ImportCheckpoint(file, sourceKey, Stage.valueOf(lines.get(1)), Long.parseLong(lines.get(2)));
+				} catch (IllegalArgumentException ex) {
+					logger.warn("Ignoring malformed import checkpoint", ex);
+				}
+			} else {
+				logger.info("Ignoring the checkpoint left by an import from another source");
+			}
+		}
+		return new ImportCheckpoint(file, sourceKey, Stage.PUNISHMENTS, 0L);
+	}
+
+	boolean isResumed() {
+		return stage != Stage.PUNISHMENTS || position != 0L;
+	}
+
+	boolean completed(Stage stage) {
+		return stage.compareTo(this.stage) < 0;
+	}
+
+	/**
+	 * Gets how many items of the given stage were already imported
+	 *
+	 * @param stage the stage
+	 * @return the number of items to skip
+	 */
+	long position(Stage stage) {
+		return (stage == this.stage) ? position : 0L;
+	}
+
+	void beginStage(Stage stage) {
+		if (stage != this.stage) {
+			this.stage = stage;
+			position = 0L;
+			save();
+		}
+	}
+
+	void advance(int committedItems) {
+		position += committedItems;
+		save();
+	}
+
+	private void save() {
+		String content = sourceKey + '\n' + stage + '\n' + position + '\n';
+		Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			Files.writeString(temporaryFile, content, StandardCharsets.UTF_8);
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			throw new ImportException("Unable to save import checkpoint", ex);
+		}
+	}
+
+	/**
+	 * Removes the checkpoint once the import completes
+	 *
+	 */
+	void clear() {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ex) {
+			throw new ImportException("Unable to remove import checkpoint", ex);
+		}
+	}
+
+}
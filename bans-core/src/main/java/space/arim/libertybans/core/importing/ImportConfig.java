@@ -59,7 +59,9 @@ public interface ImportConfig {
 			"How many punishments to retrieve at once from the import source.",
 			"You may be surprised to find out your server is capable of retrieving hundreds,",
 			"even thousands of punishments, into memory without much trouble. However,",
-			"this is set to 250 as a reasonable conservative estimate."})
+			"this is set to 250 as a reasonable conservative estimate.",
+			"",
+			"This is also how many records are written to the database in each transaction."})
 	@ConfDefault.DefaultInteger(250)
 	@IntegerRange(min = 1)
 	int retrievalSize();
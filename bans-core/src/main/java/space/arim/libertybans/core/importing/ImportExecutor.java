@@ -20,10 +20,12 @@
 package space.arim.libertybans.core.importing;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.service.Time;
 import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.punish.Enaction;
@@ -32,27 +34,50 @@ import space.arim.omnibus.util.ThisClass;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.stream.Stream;
 
 public class ImportExecutor {
 
 	private final FactoryOfTheFuture futuresFactory;
+	private final Path folder;
+	private final Configs configs;
 	private final ImportFunction importFunction;
 	private final Provider<InternalDatabase> dbProvider;
 	private final PunishmentCreator creator;
 	private final Time time;
 
+	/**
+	 * How many batches of mapped punishments may wait to be written. Bounds memory usage
+	 * when reading from the import source is faster than writing
+	 */
+	private static final int MAX_QUEUED_BATCHES = 4;
+	/**
+	 * How often, in punishments, to log the progress of the import
+	 */
+	private static final int PROGRESS_INTERVAL = 10_000;
+	private static final String CHECKPOINT_FILE = "import-checkpoint";
+
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
 	@Inject
-	public ImportExecutor(FactoryOfTheFuture futuresFactory, ImportFunction importFunction,
-						  Provider<InternalDatabase> dbProvider, PunishmentCreator creator, Time time) {
+	public ImportExecutor(FactoryOfTheFuture futuresFactory, @Named("folder") Path folder, Configs configs,
+						  ImportFunction importFunction, Provider<InternalDatabase> dbProvider,
+						  PunishmentCreator creator, Time time) {
 		this.futuresFactory = futuresFactory;
+		this.folder = folder;
+		this.configs = configs;
 		this.importFunction = importFunction;
 		this.dbProvider = dbProvider;
 		this.creator = creator;
@@ -74,38 +99,148 @@ public class ImportExecutor {
 	}
 
 	private ImportStatistics runImport(ImportSource importSource) {
+		int batchSize = configs.getImportConfig().retrievalSize();
 		ImportStatistics statistics = new ImportStatistics();
 		try (BatchOperationExecutor batchExecutor = new BatchOperationExecutor(dbProvider.get())) {
 
-			ImportSink importSink = new ImportSink(batchExecutor, statistics);
-			transferPunishments(importSource, importSink);
-			transferExplicitNameAddressRecords(importSource, importSink);
+			ImportCheckpoint checkpoint = ImportCheckpoint.load(
+					folder.resolve(CHECKPOINT_FILE), importSource.getClass().getName()
+			);
+			if (checkpoint.isResumed()) {
+				logger.info("Resuming the previous import after its last committed batch. " +
+						"The statistics only count data imported from now on.");
+			}
+			ImportSink importSink = new ImportSink(batchExecutor, statistics, batchSize, checkpoint);
+			if (!checkpoint.completed(ImportCheckpoint.Stage.PUNISHMENTS)) {
+				transferPunishments(
+						importSource, importSink, statistics, batchSize,
+						checkpoint.position(ImportCheckpoint.Stage.PUNISHMENTS)
+				);
+			}
+			checkpoint.beginStage(ImportCheckpoint.Stage.NAME_ADDRESS_HISTORY);
+			transferExplicitNameAddressRecords(
+					importSource, importSink, checkpoint.position(ImportCheckpoint.Stage.NAME_ADDRESS_HISTORY)
+			);
+			checkpoint.clear();
 
 			logger.info("Import completed successfully. {}", statistics);
 
 		} catch (ImportException | SQLException ex) {
 			logger.error(
-					"Unable to complete import successfully. It is recommended to remove " +
-							"any partially completed data, investigate the cause of failure, and " +
-							"try again when you are sure the problem has been corrected.", ex);
+					"Unable to complete import successfully. Investigate the cause of failure, and " +
+							"try again when you are sure the problem has been corrected. Provided the data " +
+							"being imported is unchanged, the import resumes after its last committed batch.", ex);
 			statistics.markFailed();
 		}
 		return statistics;
 	}
 
-	private void transferPunishments(ImportSource importSource, ImportSink importSink) {
+	/*
+	 * Punishments are imported in two stages. The reader thread pulls batches from the import source
+	 * and resolves every name in a batch at once, while this thread writes the previous batches.
+	 * Punishments already imported by a previous, failed import are skipped.
+	 */
+
+	private void transferPunishments(ImportSource importSource, ImportSink importSink,
+									 ImportStatistics statistics, int batchSize, long skip) {
+		BlockingQueue<MappedBatch> queue = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES);
+		Thread reader = new Thread(
+				() -> readPunishments(importSource, batchSize, skip, queue), "LibertyBans-Importer-Reader"
+		);
+		reader.start();
+		boolean completed = false;
+		try {
+			int nextProgressReport = PROGRESS_INTERVAL;
+			MappedBatch batch;
+			while ((batch = queue.take()) != MappedBatch.END) {
+				if (batch.failure() != null) {
+					throw new ImportException("Failed to read punishments from the import source", batch.failure());
+				}
+				for (MappedPunishment mapped : batch.punishments()) {
+					writePunishment(importSink, mapped);
+					importSink.endItem();
+				}
+				importSink.flush();
+				if (statistics.transferredPunishments() >= nextProgressReport) {
+					logger.info("Imported {} punishments so far", statistics.transferredPunishments());
+					nextProgressReport += PROGRESS_INTERVAL;
+				}
+			}
+			completed = true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ImportException("Interrupted while importing punishments", ex);
+		} finally {
+			if (!completed) {
+				// Unblock the reader if it is waiting for queue space
+				reader.interrupt();
+			}
+			try {
+				reader.join();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void readPunishments(ImportSource importSource, int batchSize, long skip,
+								 BlockingQueue<MappedBatch> queue) {
+		MappedBatch last;
 		try (Stream<PortablePunishment> punishmentStream = importSource.sourcePunishments()) {
-			punishmentStream.forEach(punishment -> {
-				Optional<Enaction.OrderDetails> enactionOrder = importFunction.createOrder(punishment, importSink);
-				if (enactionOrder.isEmpty()) {
-					logger.info("Skipped imported punishment with ID {} applying to victim {}",
-							punishment.foreignId(), punishment.victimInfo());
-					return;
+			Iterator<PortablePunishment> iterator = punishmentStream.skip(skip).iterator();
+			List<PortablePunishment> punishments = new ArrayList<>(batchSize);
+			while (iterator.hasNext()) {
+				punishments.add(iterator.next());
+				if (punishments.size() == batchSize || !iterator.hasNext()) {
+					queue.put(mapPunishments(punishments));
+					punishments.clear();
 				}
-				addEnaction(importSink, punishment, new Enaction(enactionOrder.get(), creator));
-				addImplicitNameAddressRecord(importSink, punishment);
-			});
+			}
+			last = MappedBatch.END;
+		} catch (InterruptedException ex) {
+			// The importer has stopped and will not take any more batches
+			return;
+		} catch (Throwable ex) {
+			last = new MappedBatch(List.of(), ex);
+		}
+		try {
+			queue.put(last);
+		} catch (InterruptedException ignored) {}
+	}
+
+	private MappedBatch mapPunishments(List<PortablePunishment> punishments) {
+		Map<String, UUID> resolvedNames = importFunction.resolveNames(punishments);
+		List<MappedPunishment> mapped = new ArrayList<>(punishments.size());
+		for (PortablePunishment punishment : punishments) {
+			List<NameAddressRecord> resolvedNameRecords = new ArrayList<>(2);
+			Optional<Enaction.OrderDetails> enactionOrder = importFunction.createOrder(
+					punishment, resolvedNames, resolvedNameRecords::add
+			);
+			Enaction enaction = enactionOrder.map((order) -> new Enaction(order, creator)).orElse(null);
+			mapped.add(new MappedPunishment(punishment, enaction, resolvedNameRecords));
+		}
+		return new MappedBatch(mapped, null);
+	}
+
+	private record MappedBatch(List<MappedPunishment> punishments, Throwable failure) {
+
+		static final MappedBatch END = new MappedBatch(List.of(), null);
+
+	}
+
+	private record MappedPunishment(PortablePunishment punishment, Enaction enaction,
+									List<NameAddressRecord> resolvedNameRecords) { }
+
+	private void writePunishment(ImportSink importSink, MappedPunishment mapped) {
+		mapped.resolvedNameRecords().forEach(importSink::addNameAddressRecord);
+		PortablePunishment punishment = mapped.punishment();
+		if (mapped.enaction() == null) {
+			logger.info("Skipped imported punishment with ID {} applying to victim {}",
+					punishment.foreignId(), punishment.victimInfo());
+			return;
 		}
+		addEnaction(importSink, punishment, mapped.enaction());
+		addImplicitNameAddressRecord(importSink, punishment);
 	}
 
 	private void addEnaction(ImportSink importSink, PortablePunishment punishment, Enaction enaction) {
@@ -134,9 +269,13 @@ public class ImportExecutor {
 		}
 	}
 
-	private void transferExplicitNameAddressRecords(ImportSource importSource, ImportSink importSink) {
+	private void transferExplicitNameAddressRecords(ImportSource importSource, ImportSink importSink, long skip) {
 		try (Stream<NameAddressRecord> nameAddressHistoryStream = importSource.sourceNameAddressHistory()) {
-			nameAddressHistoryStream.forEach(importSink::addNameAddressRecord);
+			nameAddressHistoryStream.skip(skip).forEach((nameAddressRecord) -> {
+				importSink.addNameAddressRecord(nameAddressRecord);
+				importSink.endItem();
+			});
 		}
+		importSink.flush();
 	}
 }
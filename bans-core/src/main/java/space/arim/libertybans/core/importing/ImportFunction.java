@@ -34,8 +34,13 @@ import space.arim.libertybans.core.service.Time;
 import space.arim.libertybans.core.uuid.UUIDManager;
 import space.arim.omnibus.util.ThisClass;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class ImportFunction {
 
@@ -50,12 +55,38 @@ public class ImportFunction {
 		this.time = time;
 	}
 
-	Optional<Enaction.OrderDetails> createOrder(PortablePunishment punishment, ImportSink importSink) {
-		Victim victim = toVictim(punishment.victimInfo(), importSink);
+	/**
+	 * Looks up the uuids of all players who are identified only by name in the given punishments.
+	 * Distinct names are resolved together rather than one at a time.
+	 *
+	 * @param punishments the punishments
+	 * @return the resolved uuids, keyed by name. Names which could not be resolved are absent
+	 */
+	Map<String, UUID> resolveNames(List<PortablePunishment> punishments) {
+		Set<String> names = new HashSet<>();
+		for (PortablePunishment punishment : punishments) {
+			PortablePunishment.VictimInfo victimInfo = punishment.victimInfo();
+			if (victimInfo.overrideVictim().isEmpty() && victimInfo.uuid().isEmpty() && victimInfo.address().isEmpty()) {
+				victimInfo.name().ifPresent(names::add);
+			}
+			PortablePunishment.OperatorInfo operatorInfo = punishment.operatorInfo();
+			if (!operatorInfo.console() && operatorInfo.uuid().isEmpty()) {
+				operatorInfo.name().ifPresent(names::add);
+			}
+		}
+		if (names.isEmpty()) {
+			return Map.of();
+		}
+		return uuidManager.lookupUUIDsFromExactNames(names).join();
+	}
+
+	Optional<Enaction.OrderDetails> createOrder(PortablePunishment punishment, Map<String, UUID> resolvedNames,
+												Consumer<NameAddressRecord> nameAddressRecords) {
+		Victim victim = toVictim(punishment.victimInfo(), resolvedNames, nameAddressRecords);
 		if (victim == null) {
 			return Optional.empty();
 		}
-		Operator operator = toOperator(punishment.operatorInfo(), importSink);
+		Operator operator = toOperator(punishment.operatorInfo(), resolvedNames, nameAddressRecords);
 		if (operator == null) {
 			return Optional.empty();
 		}
@@ -67,7 +98,8 @@ public class ImportFunction {
 		));
 	}
 
-	private Victim toVictim(PortablePunishment.VictimInfo victimInfo, ImportSink importSink) {
+	private Victim toVictim(PortablePunishment.VictimInfo victimInfo, Map<String, UUID> resolvedNames,
+							Consumer<NameAddressRecord> nameAddressRecords) {
 		Optional<Victim> overrideVictim = victimInfo.overrideVictim();
 		if (overrideVictim.isPresent()) {
 			return overrideVictim.get();
@@ -82,16 +114,17 @@ public class ImportFunction {
 		}
 		String name = victimInfo.name()
 				.orElseThrow(() -> new ImportException("Victim name must be present if uuid is not"));
-		UUID foundUUID = uuidManager.lookupUUIDFromExactName(name).join().orElse(null);
+		UUID foundUUID = resolvedNames.get(name);
 		if (foundUUID == null) {
 			logger.warn("Skipping punishment because victim uuid could not be found for name {}", victimInfo.name());
 			return null;
 		}
-		importSink.addNameAddressRecord(new NameAddressRecord(foundUUID, name, null, time.currentTimestamp()));
+		nameAddressRecords.accept(new NameAddressRecord(foundUUID, name, null, time.currentTimestamp()));
 		return PlayerVictim.of(foundUUID);
 	}
 
-	private Operator toOperator(PortablePunishment.OperatorInfo operatorInfo, ImportSink importSink) {
+	private Operator toOperator(PortablePunishment.OperatorInfo operatorInfo, Map<String, UUID> resolvedNames,
+								Consumer<NameAddressRecord> nameAddressRecords) {
 		if (operatorInfo.console()) {
 			return ConsoleOperator.INSTANCE;
 		}
@@ -101,12 +134,12 @@ public class ImportFunction {
 		}
 		String name = operatorInfo.name()
 				.orElseThrow(() -> new ImportException("Operator name must be present if uuid is not"));
-		UUID foundUUID = uuidManager.lookupUUIDFromExactName(name).join().orElse(null);
+		UUID foundUUID = resolvedNames.get(name);
 		if (foundUUID == null) {
 			logger.warn("Skipping punishment because operator uuid could not be found for name {}", name);
 			return null;
 		}
-		importSink.addNameAddressRecord(new NameAddressRecord(foundUUID, name, null, time.currentTimestamp()));
+		nameAddressRecords.accept(new NameAddressRecord(foundUUID, name, null, time.currentTimestamp()));
 		return PlayerOperator.of(foundUUID);
 	}
 }
@@ -19,39 +19,74 @@
 
 package space.arim.libertybans.core.importing;
 
+import org.jooq.DSLContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.database.DatabaseConstants;
+import space.arim.libertybans.core.database.execute.SQLTransactionalRunnable;
 import space.arim.libertybans.core.punish.Association;
 import space.arim.libertybans.core.punish.Enaction;
 import space.arim.omnibus.util.ThisClass;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
+import static space.arim.libertybans.core.schema.tables.Names.NAMES;
+
+/**
+ * Writes imported data in batches, each committed as one transaction. Name and address records are
+ * written with multi-row inserts. <br>
+ * <br>
+ * Data is added per item of the import source, and a batch only ends between items. After each commit,
+ * the import checkpoint advances past the items written. NOT thread safe
+ *
+ */
 class ImportSink {
 
 	private final BatchOperationExecutor batchExecutor;
 	private final ImportStatistics statistics;
+	private final int batchSize;
+	private final ImportCheckpoint checkpoint;
+
+	private final List<SQLTransactionalRunnable> pending;
+	private final List<NameAddressRecord> pendingNameAddressRecords = new ArrayList<>();
+	private int pendingActive;
+	private int pendingHistorical;
+	private int pendingItems;
+	private final List<Association.NewAddress> newAddresses = new ArrayList<>();
 
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
-	ImportSink(BatchOperationExecutor batchExecutor, ImportStatistics statistics) {
+	ImportSink(BatchOperationExecutor batchExecutor, ImportStatistics statistics, int batchSize,
+			   ImportCheckpoint checkpoint) {
 		this.batchExecutor = batchExecutor;
 		this.statistics = statistics;
+		this.batchSize = batchSize;
+		this.checkpoint = checkpoint;
+		pending = new ArrayList<>(batchSize);
 	}
 
 	void addActivePunishment(Enaction enaction) {
 		addPunishment(enaction, true);
-		statistics.transferredActive();
+		pendingActive++;
 	}
 
 	void addHistoricalPunishment(Enaction enaction) {
 		addPunishment(enaction, false);
-		statistics.transferredHistorical();
+		pendingHistorical++;
 	}
 
 	private void addPunishment(Enaction enaction, boolean active) {
-		batchExecutor.runOperation((context, transaction) -> {
+		pending.add((context, transaction) -> {
 			if (active) {
 				Punishment enacted = transaction.executeNested(enaction::enactActive);
 				if (enacted == null) {
@@ -67,13 +102,111 @@ class ImportSink {
 	}
 
 	void addNameAddressRecord(NameAddressRecord nameAddressRecord) {
-		batchExecutor.runOperation((context, transaction) -> {
-			Association association = new Association(nameAddressRecord.uuid(), context);
+		pendingNameAddressRecords.add(nameAddressRecord);
+	}
+
+	/**
+	 * Marks the end of the data added for one item of the import source. The batch is written if full
+	 *
+	 */
+	void endItem() {
+		pendingItems++;
+		if (pending.size() + pendingNameAddressRecords.size() >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes all pending data in a single transaction
+	 *
+	 */
+	void flush() {
+		if (!pending.isEmpty() || !pendingNameAddressRecords.isEmpty()) {
+			List<SQLTransactionalRunnable> operations = List.copyOf(pending);
+			List<NameAddressRecord> nameAddressRecords = List.copyOf(pendingNameAddressRecords);
+			pending.clear();
+			pendingNameAddressRecords.clear();
+			batchExecutor.runOperation((context, transaction) -> {
+				for (SQLTransactionalRunnable operation : operations) {
+					operation.run(context, transaction);
+				}
+				writeNameAddressRecords(context, nameAddressRecords);
+			});
+			statistics.transferredActive(pendingActive);
+			statistics.transferredHistorical(pendingHistorical);
+			statistics.transferredNameAddressRecords(nameAddressRecords.size());
+			pendingActive = 0;
+			pendingHistorical = 0;
+		}
+		if (pendingItems != 0) {
+			checkpoint.advance(pendingItems);
+			pendingItems = 0;
+		}
+		if (!newAddresses.isEmpty()) {
+			// Players joining during the import may record the same addresses concurrently
+			batchExecutor.runOperation(Association.linkAfterCommit(newAddresses));
+			newAddresses.clear();
+		}
+	}
+
+	/*
+	 * Past names and addresses are recorded only if not already recorded. Within a batch, the earliest
+	 * record in source order is kept, as if the records were written one by one.
+	 */
+
+	private void writeNameAddressRecords(DSLContext context, List<NameAddressRecord> nameAddressRecords) {
+		Map<NameKey, Instant> names = new LinkedHashMap<>();
+		Map<AddressKey, Instant> addresses = new LinkedHashMap<>();
+		for (NameAddressRecord nameAddressRecord : nameAddressRecords) {
+			UUID uuid = nameAddressRecord.uuid();
 			Instant timeRecorded = nameAddressRecord.timeRecorded();
-			nameAddressRecord.name().ifPresent((name) -> association.associatePastName(name, timeRecorded));
-			nameAddressRecord.address().ifPresent((address) -> association.associatePastAddress(address, timeRecorded));
-		});
-		statistics.transferredNameAddressRecord();
+			nameAddressRecord.name().ifPresent((name) -> names.putIfAbsent(new NameKey(uuid, name), timeRecorded));
+			nameAddressRecord.address().ifPresent((address) -> {
+				addresses.putIfAbsent(new AddressKey(uuid, address), timeRecorded);
+			});
+		}
+		// MAX_IN_LIST also keeps the bind parameters of each multi-row insert within limits
+		for (List<Map.Entry<NameKey, Instant>> chunk : DatabaseConstants.inListChunks(names.entrySet())) {
+			var insert = context
+					.insertInto(NAMES)
+					.columns(NAMES.UUID, NAMES.NAME, NAMES.UPDATED);
+			for (Map.Entry<NameKey, Instant> name : chunk) {
+				insert = insert.values(name.getKey().uuid(), name.getKey().name(), name.getValue());
+			}
+			insert.onConflict(NAMES.UUID, NAMES.NAME).doNothing().execute();
+		}
+		if (addresses.isEmpty()) {
+			return;
+		}
+		// Only newly recorded addresses require linking accounts
+		Set<UUID> uuids = new HashSet<>();
+		for (AddressKey addressKey : addresses.keySet()) {
+			uuids.add(addressKey.uuid());
+		}
+		for (List<UUID> chunk : DatabaseConstants.inListChunks(uuids)) {
+			context
+					.select(ADDRESSES.UUID, ADDRESSES.ADDRESS)
+					.from(ADDRESSES)
+					.where(ADDRESSES.UUID.in(chunk))
+					.forEach((record) -> addresses.remove(new AddressKey(record.value1(), record.value2())));
+		}
+		for (List<Map.Entry<AddressKey, Instant>> chunk : DatabaseConstants.inListChunks(addresses.entrySet())) {
+			var insert = context
+					.insertInto(ADDRESSES)
+					.columns(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED);
+			for (Map.Entry<AddressKey, Instant> address : chunk) {
+				insert = insert.values(address.getKey().uuid(), address.getKey().address(), address.getValue());
+			}
+			insert.onConflict(ADDRESSES.UUID, ADDRESSES.ADDRESS).doNothing().execute();
+		}
+		for (AddressKey newAddress : addresses.keySet()) {
+			new Association(newAddress.uuid(), context).linkAccountsSharing(newAddress.address());
+			newAddresses.add(new Association.NewAddress(newAddress.uuid(), newAddress.address()));
+		}
 	}
 
+	private record NameKey(UUID uuid, String name) { }
+
+	private record AddressKey(UUID uuid, NetworkAddress address) { }
+
 }
@@ -43,16 +43,20 @@ public final class ImportStatistics {
 		failed = true;
 	}
 
-	void transferredActive() {
-		active++;
+	void transferredActive(int count) {
+		active += count;
 	}
 
-	void transferredHistorical() {
-		historical++;
+	void transferredHistorical(int count) {
+		historical += count;
 	}
 
-	void transferredNameAddressRecord() {
-		nameAddressRecord++;
+	void transferredNameAddressRecords(int count) {
+		nameAddressRecord += count;
+	}
+
+	int transferredPunishments() {
+		return active + historical;
 	}
 
 	@Override
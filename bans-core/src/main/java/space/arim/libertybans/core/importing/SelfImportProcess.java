@@ -22,9 +22,11 @@ package space.arim.libertybans.core.importing;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.Table;
+import org.jooq.UniqueKey;
 import org.jooq.impl.DSL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,14 +37,17 @@ import space.arim.libertybans.core.database.DatabaseResult;
 import space.arim.libertybans.core.database.DatabaseSettings;
 import space.arim.libertybans.core.database.StandardDatabase;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
-import space.arim.libertybans.core.database.jooq.BatchTransfer;
+import space.arim.libertybans.core.database.execute.SQLRunnable;
+import space.arim.libertybans.core.database.execute.Workload;
 import space.arim.libertybans.core.database.sql.SequenceValue;
 import space.arim.omnibus.util.ThisClass;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -78,7 +83,7 @@ public final class SelfImportProcess {
 	public CentralisedFuture<Void> transferAllData(Path folder) {
 		logger.info("Beginning self-import process");
 
-		return queryExecutor.get().execute((currentDbCtx) -> {
+		return queryExecutor.get().execute(SQLRunnable.withWorkload(Workload.BULK, (currentDbCtx) -> {
 			ImportConfig importConfig = configs.getImportConfig();
 			ImportConfig.SelfSettings selfSettings = importConfig.self();
 			DatabaseResult dbResult = new DatabaseSettings(folder, databaseManager).create(selfSettings);
@@ -104,23 +109,40 @@ public final class SelfImportProcess {
 				}).join();
 			}
 			logger.info("Completed self-import process");
-		});
+		}));
 	}
 
 	private record SelfImport(DSLContext source, DSLContext target, int maxBatchSize) {
 
+		/**
+		 * Upper bound on bind values in one insert statement. PostgreSQL and MariaDB both
+		 * reject statements with more than 65535 parameters
+		 */
+		private static final int MAX_BIND_VALUES = 30_000;
+
 		private void runTransfer() {
+			long startTime = System.nanoTime();
+			long totalRows = 0;
 			for (Table<?> table : DatabaseConstants.allTables(DatabaseConstants.TableOrder.REFERENTS_FIRST)) {
 				if (table.equals(REVISION) || table.equals(MESSAGES)) {
 					continue;
 				}
 				logger.info("Beginning transfer of data from table: {}", table.getName());
-				transferTable(table);
-				logger.info("Finished transfer of data from table: {}", table.getName());
+				long tableStartTime = System.nanoTime();
+				long rows = transferTable(table);
+				logger.info("Finished transfer of data from table: {}. {}",
+						table.getName(), describeThroughput(rows, tableStartTime));
+				totalRows += rows;
 			}
+			logger.info("Transferred all tables. {}", describeThroughput(totalRows, startTime));
+		}
+
+		private static String describeThroughput(long rows, long startTime) {
+			long millis = Math.max(1L, Duration.ofNanos(System.nanoTime() - startTime).toMillis());
+			return "Copied " + rows + " rows in " + millis + " ms (" + (rows * 1000L / millis) + " rows/second)";
 		}
 
-		private <R extends org.jooq.Record> void transferTable(Table<R> table) {
+		private <R extends org.jooq.Record> long transferTable(Table<R> table) {
 
 			// Table fields
 			Field<?>[] fields;
@@ -137,25 +159,62 @@ public final class SelfImportProcess {
 				feature. If the feature ever becomes part of the OSS edition, switch to it here.
 				 */
 			}
-
-			// Dummy null values for use with the batch API
-			Object[] emptyValues = new Object[fields.length];
-
-			new BatchTransfer<>(
-					source.selectFrom(table).fetchLazy(),
-					() -> target.batch(target
-							.insertInto(table)
-							.columns(fields)
-							.values(emptyValues)
-					),
-					(batch, record) -> {
-						Object[] bindValues = emptyValues.clone();
-						for (int n = 0; n < fields.length; n++) {
-							bindValues[n] = record.get(fields[n]);
-						}
-						return batch.bind(bindValues);
+			/*
+			Rows are read in pages ordered by a unique key, seeking past the last row of the
+			previous page. Unlike a single lazy fetch, this keeps memory bounded regardless of
+			whether the source driver streams results. Each page is written with one multi-row insert.
+			 */
+			Field<?>[] keyFields = keysetFields(table);
+			int pageSize = Math.max(1, Math.min(maxBatchSize, MAX_BIND_VALUES / fields.length));
+
+			long rows = 0;
+			Condition afterLastKey = DSL.noCondition();
+			while (true) {
+				List<R> page = source
+						.selectFrom(table)
+						.where(afterLastKey)
+						.orderBy(keyFields)
+						.limit(pageSize)
+						.fetch();
+				if (page.isEmpty()) {
+					return rows;
+				}
+				var insert = target.insertInto(table).columns(fields);
+				for (R record : page) {
+					Object[] values = new Object[fields.length];
+					for (int n = 0; n < fields.length; n++) {
+						values[n] = record.get(fields[n]);
 					}
-			).execute(maxBatchSize);
+					insert = insert.values(values);
+				}
+				insert.execute();
+				rows += page.size();
+
+				if (page.size() < pageSize) {
+					return rows;
+				}
+				R lastRecord = page.get(page.size() - 1);
+				Object[] lastKey = new Object[keyFields.length];
+				for (int n = 0; n < keyFields.length; n++) {
+					lastKey[n] = lastRecord.get(keyFields[n]);
+				}
+				afterLastKey = DSL.row(keyFields).gt(lastKey);
+			}
+		}
+
+		/**
+		 * Finds the columns by which to page through a table. These are the columns of the
+		 * smallest unique key whose columns are all non-null
+		 *
+		 * @param table the table
+		 * @return the key columns
+		 */
+		private static <R extends org.jooq.Record> Field<?>[] keysetFields(Table<R> table) {
+			return table.getKeys().stream()
+					.filter((key) -> key.getFields().stream().noneMatch((field) -> field.getDataType().nullable()))
+					.min(Comparator.comparingInt((UniqueKey<R> key) -> key.getFields().size()))
+					.map(UniqueKey::getFieldsArray)
+					.orElseThrow(() -> new IllegalStateException("No non-null unique key for table " + table.getName()));
 		}
 
 		private void updateSequences() {
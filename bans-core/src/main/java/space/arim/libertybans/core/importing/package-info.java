@@ -23,10 +23,14 @@
  * How punishment data is stored differs across plugins, especially with regards to UUIDs
  * and names. Importers for specific plugins implement {@link space.arim.libertybans.core.importing.ImportSource} <br>
  * <br>
+ * Imports are resumable. Import sources yield their data in a stable order, and the progress of an import is
+ * saved after each committed batch by {@link space.arim.libertybans.core.importing.ImportCheckpoint} <br>
+ * <br>
  * <b>AdvancedBan</b> <br>
  * AdvancedBan has no dedicated persistent uuid/name cache. The plugin does store victim names
  * and UUIDs alongside each punishment. Also, it does not retain the operator uuid, but rather
- * uses operator names. This requires a lookup during the import process. <br>
+ * uses operator names. This requires a lookup during the import process. The names in each batch
+ * of punishments are looked up together, before the batch is written. <br>
  * <br>
  * <b>LiteBans</b> <br>
  * LiteBans maintains a uuid and name store in litebans_history.
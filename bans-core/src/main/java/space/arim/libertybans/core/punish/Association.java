@@ -21,19 +21,31 @@ package space.arim.libertybans.core.punish;
 
 import org.jooq.DSLContext;
 import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.database.execute.SQLTransactionalRunnable;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+import static org.jooq.impl.DSL.val;
 import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
 import static space.arim.libertybans.core.schema.tables.Names.NAMES;
+import static space.arim.libertybans.core.schema.tables.StrictLinks.STRICT_LINKS;
 
 public final class Association {
 
 	private final UUID uuid;
 	private final DSLContext context;
 
+	/**
+	 * The most accounts an address may be shared by and still link them. Addresses shared by more accounts,
+	 * such as those of carrier-grade NAT or proxies, would otherwise require a quadratic number of links.
+	 * Must be kept in sync with the V44 migration.
+	 */
+	public static final int MAX_LINKED_ACCOUNTS_PER_ADDRESS = 100;
+
 	public Association(UUID uuid, DSLContext context) {
 		this.uuid = Objects.requireNonNull(uuid, "uuid");
 		this.context = Objects.requireNonNull(context, "context");
@@ -64,9 +76,27 @@ public final class Association {
 				.execute();
 	}
 
-	public void associateCurrentAddress(NetworkAddress address, Instant currentTime) {
+	/**
+	 * Records the current address of this user and links the accounts sharing it
+	 *
+	 * @param address the address
+	 * @param currentTime the current time
+	 * @return true if the address is newly recorded, in which case {@link #linkAfterCommit(Collection)}
+	 * should be used once committed
+	 */
+	public boolean associateCurrentAddress(NetworkAddress address, Instant currentTime) {
 		Objects.requireNonNull(address, "address");
 		Objects.requireNonNull(currentTime, "currentTime");
+		// Most joins are by returning players. Only a newly recorded address requires linking accounts
+		int updateCount = context
+				.update(ADDRESSES)
+				.set(ADDRESSES.UPDATED, currentTime)
+				.where(ADDRESSES.UUID.eq(uuid))
+				.and(ADDRESSES.ADDRESS.eq(address))
+				.execute();
+		if (updateCount != 0) {
+			return false;
+		}
 		context
 				.insertInto(ADDRESSES)
 				.columns(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED)
@@ -75,11 +105,28 @@ public final class Association {
 				.doUpdate()
 				.set(ADDRESSES.UPDATED, currentTime)
 				.execute();
+		linkAccountsSharing(address);
+		return true;
 	}
 
-	public void associatePastAddress(NetworkAddress address, Instant pastTime) {
+	/**
+	 * Records a past address of this user, if not already recorded, and links the accounts sharing it
+	 *
+	 * @param address the address
+	 * @param pastTime the time the address was used
+	 * @return true if the address is newly recorded, in which case {@link #linkAfterCommit(Collection)}
+	 * should be used once committed
+	 */
+	public boolean associatePastAddress(NetworkAddress address, Instant pastTime) {
 		Objects.requireNonNull(address, "address");
 		Objects.requireNonNull(pastTime, "pastTime");
+		boolean alreadyRecorded = context.fetchExists(
+				ADDRESSES,
+				ADDRESSES.UUID.eq(uuid).and(ADDRESSES.ADDRESS.eq(address))
+		);
+		if (alreadyRecorded) {
+			return false;
+		}
 		context
 				.insertInto(ADDRESSES)
 				.columns(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED)
@@ -87,6 +134,105 @@ public final class Association {
 				.onConflict(ADDRESSES.UUID, ADDRESSES.ADDRESS)
 				.doNothing()
 				.execute();
+		linkAccountsSharing(address);
+		return true;
+	}
+
+	/**
+	 * Links this user with every user who has used the given address, including this user itself.
+	 * Links are recorded in both directions. <br>
+	 * <br>
+	 * If the address is shared by more than {@link #MAX_LINKED_ACCOUNTS_PER_ADDRESS} users, this user is only
+	 * linked with itself. Links made while the address was shared by fewer users are kept. <br>
+	 * <br>
+	 * Must be called once the address is associated with this user. The {@code strict_links} table
+	 * is otherwise maintained by the other methods of this class, but see also
+	 * {@link #linkAfterCommit(Collection)}.
+	 *
+	 * @param address the address
+	 */
+	public void linkAccountsSharing(NetworkAddress address) {
+		Objects.requireNonNull(address, "address");
+		int sharedBy = context.fetchCount(context
+				.selectOne()
+				.from(ADDRESSES)
+				.where(ADDRESSES.ADDRESS.eq(address))
+				.limit(MAX_LINKED_ACCOUNTS_PER_ADDRESS + 1));
+		if (sharedBy > MAX_LINKED_ACCOUNTS_PER_ADDRESS) {
+			context
+					.insertInto(STRICT_LINKS)
+					.columns(STRICT_LINKS.UUID1, STRICT_LINKS.UUID2)
+					.values(uuid, uuid)
+					.onConflictDoNothing()
+					.execute();
+			return;
+		}
+		context
+				.insertInto(STRICT_LINKS)
+				.columns(STRICT_LINKS.UUID1, STRICT_LINKS.UUID2)
+				.select(context
+						.select(val(uuid, ADDRESSES.UUID), ADDRESSES.UUID)
+						.from(ADDRESSES)
+						.where(ADDRESSES.ADDRESS.eq(address)))
+				.onConflictDoNothing()
+				.execute();
+		context
+				.insertInto(STRICT_LINKS)
+				.columns(STRICT_LINKS.UUID1, STRICT_LINKS.UUID2)
+				.select(context
+						.select(ADDRESSES.UUID, val(uuid, ADDRESSES.UUID))
+						.from(ADDRESSES)
+						.where(ADDRESSES.ADDRESS.eq(address)))
+				.onConflictDoNothing()
+				.execute();
+	}
+
+	/**
+	 * Links the accounts sharing newly recorded addresses again, in a transaction of its own. <br>
+	 * <br>
+	 * Linking in the transaction which records an address is not enough. Under repeatable read isolation,
+	 * if two users record the same address in concurrent transactions, neither sees the other's address,
+	 * and the pair is never linked. Each follow-up transaction begins after its own recording transaction
+	 * commits, so whichever begins later sees both addresses.
+	 *
+	 * @param newAddresses the newly recorded addresses, whose transaction has committed
+	 * @return the operation to execute, preferably with retry
+	 */
+	public static SQLTransactionalRunnable linkAfterCommit(Collection<NewAddress> newAddresses) {
+		List<NewAddress> toLink = List.copyOf(newAddresses);
+		return (context, transaction) -> {
+			for (NewAddress newAddress : toLink) {
+				new Association(newAddress.uuid(), context).linkAccountsSharing(newAddress.address());
+			}
+		};
+	}
+
+	/**
+	 * An address newly recorded for a user
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the address
+	 */
+	public record NewAddress(UUID uuid, NetworkAddress address) { }
+
+	/**
+	 * Recomputes the links of this user after one or more of its addresses were removed
+	 *
+	 */
+	public void relinkAccounts() {
+		context
+				.deleteFrom(STRICT_LINKS)
+				.where(STRICT_LINKS.UUID1.eq(uuid))
+				.or(STRICT_LINKS.UUID2.eq(uuid))
+				.execute();
+		List<NetworkAddress> remainingAddresses = context
+				.select(ADDRESSES.ADDRESS)
+				.from(ADDRESSES)
+				.where(ADDRESSES.UUID.eq(uuid))
+				.fetch(ADDRESSES.ADDRESS);
+		for (NetworkAddress address : remainingAddresses) {
+			linkAccountsSharing(address);
+		}
 	}
 
 	@Override
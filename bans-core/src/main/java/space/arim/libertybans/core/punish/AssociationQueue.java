@@ -0,0 +1,364 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.Part;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.database.DatabaseConstants;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.DelayCalculators;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.ScheduledTask;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
+import static space.arim.libertybans.core.schema.tables.Names.NAMES;
+
+/**
+ * Write-behind queue for the names and addresses recorded when players join. <br>
+ * <br>
+ * Entries are coalesced by (uuid, name) and (uuid, address), keeping the latest time, and written using
+ * multi-row upserts either periodically or once the configured batch size is reached. Until an entry
+ * is written, it remains visible through {@link #pendingUUIDsAt(NetworkAddress, Instant)}.
+ *
+ */
+@Singleton
+public final class AssociationQueue implements Part {
+
+	private final Configs configs;
+	private final FactoryOfTheFuture futuresFactory;
+	private final EnhancedExecutor enhancedExecutor;
+	private final Provider<QueryExecutor> queryExecutor;
+
+	private final Object lock = new Object();
+	// Guarded by lock
+	private Batch pending = new Batch();
+	private Batch flushing;
+	private CentralisedFuture<Void> flushFuture;
+
+	private volatile Settings settings;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	@Inject
+	public AssociationQueue(Configs configs, FactoryOfTheFuture futuresFactory,
+							EnhancedExecutor enhancedExecutor, Provider<QueryExecutor> queryExecutor) {
+		this.configs = configs;
+		this.futuresFactory = futuresFactory;
+		this.enhancedExecutor = enhancedExecutor;
+		this.queryExecutor = queryExecutor;
+	}
+
+	private record Settings(int maxBatchSize, ScheduledTask flushTask) { }
+
+	@Override
+	public void startup() {
+		SqlConfig.AssociationWriteBehind config = configs.getSqlConfig().associationWriteBehind();
+		if (!config.enable()) {
+			settings = null;
+			return;
+		}
+		ScheduledTask flushTask = enhancedExecutor.scheduleRepeating(
+				() -> flush(),
+				Duration.ofMillis(config.flushIntervalMillis()),
+				DelayCalculators.fixedDelay()
+		);
+		settings = new Settings(config.maxBatchSize(), flushTask);
+	}
+
+	@Override
+	public void restart() {
+		shutdown();
+		startup();
+	}
+
+	@Override
+	public void shutdown() {
+		Settings settings = this.settings;
+		if (settings == null) {
+			return;
+		}
+		this.settings = null;
+		settings.flushTask.cancel();
+		// Wait for any ongoing write, then write whatever remains
+		CentralisedFuture<Void> ongoing;
+		synchronized (lock) {
+			ongoing = flushFuture;
+		}
+		if (ongoing != null) {
+			ongoing.join();
+		}
+		flush().join();
+	}
+
+	/**
+	 * Whether write-behind is enabled, in which case recent associations may not yet be written
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isEnabled() {
+		return settings != null;
+	}
+
+	/**
+	 * Queues the current name and address of a user, if write-behind is enabled. If this returns false,
+	 * callers should record the association directly using {@link Association}
+	 *
+	 * @param uuid the user's UUID
+	 * @param name the current name
+	 * @param address the current address
+	 * @param currentTime the current time
+	 * @return true if queued, false if write-behind is not enabled
+	 */
+	public boolean associateCurrent(UUID uuid, String name, NetworkAddress address, Instant currentTime) {
+		Settings settings = this.settings;
+		if (settings == null) {
+			return false;
+		}
+		boolean batchFull;
+		synchronized (lock) {
+			pending.add(uuid, name, address, currentTime);
+			batchFull = flushing == null && pending.size() >= settings.maxBatchSize;
+		}
+		if (batchFull) {
+			flush();
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the UUIDs whose association with the given address is not yet written to the database,
+	 * and whose association time is at least the given time
+	 *
+	 * @param address the address
+	 * @param since the minimum association time
+	 * @return the UUIDs with unwritten associations, empty if there are none
+	 */
+	public Set<UUID> pendingUUIDsAt(NetworkAddress address, Instant since) {
+		Set<UUID> uuids = new HashSet<>();
+		synchronized (lock) {
+			pending.collectUUIDsAt(address, since, uuids);
+			if (flushing != null) {
+				flushing.collectUUIDsAt(address, since, uuids);
+			}
+		}
+		return uuids;
+	}
+
+	/**
+	 * Writes pending associations. If a write is already ongoing, does nothing: the pending
+	 * associations will be written by the next flush.
+	 *
+	 * @return a future completed once written, or once the failure to write is logged
+	 */
+	CentralisedFuture<Void> flush() {
+		Batch batch;
+		CentralisedFuture<Void> future;
+		synchronized (lock) {
+			if (flushing != null || pending.size() == 0) {
+				return futuresFactory.completedFuture(null);
+			}
+			batch = flushing = pending;
+			pending = new Batch();
+			future = queryExecutor.get().queryWithRetry((context, transaction) -> {
+				return batch.write(context);
+			}).thenCompose(this::linkAfterCommit).handle((ignore, ex) -> {
+				boolean batchFull;
+				synchronized (lock) {
+					flushing = null;
+					flushFuture = null;
+					if (ex != null) {
+						// Retain the entries so they are written next time
+						batch.mergeInto(pending);
+					}
+					Settings settings = this.settings;
+					batchFull = settings != null && pending.size() >= settings.maxBatchSize;
+				}
+				if (ex != null) {
+					logger.warn("Failed to write {} queued names and addresses", batch.size(), ex);
+				}
+				if (batchFull) {
+					flush();
+				}
+				return null;
+			});
+			if (flushing == batch) {
+				// Not yet completed
+				flushFuture = future;
+			}
+		}
+		return future;
+	}
+
+	private CentralisedFuture<Void> linkAfterCommit(List<Association.NewAddress> newAddresses) {
+		if (newAddresses.isEmpty()) {
+			return futuresFactory.completedFuture(null);
+		}
+		// The batch itself is written, so it should not be retained if this fails
+		return queryExecutor.get().executeWithRetry(Association.linkAfterCommit(newAddresses)).exceptionally((ex) -> {
+			logger.warn("Failed to link accounts at {} newly recorded addresses", newAddresses.size(), ex);
+			return null;
+		});
+	}
+
+	private static final class Batch {
+
+		private final Map<NameKey, Instant> names = new HashMap<>();
+		private final Map<NetworkAddress, Map<UUID, Instant>> addresses = new HashMap<>();
+		private int addressCount;
+
+		void add(UUID uuid, String name, NetworkAddress address, Instant time) {
+			names.merge(new NameKey(uuid, name), time, Batch::latest);
+			addAddress(uuid, address, time);
+		}
+
+		private void addAddress(UUID uuid, NetworkAddress address, Instant time) {
+			Map<UUID, Instant> uuids = addresses.computeIfAbsent(address, (a) -> new HashMap<>());
+			Instant previous = uuids.get(uuid);
+			if (previous == null) {
+				uuids.put(uuid, time);
+				addressCount++;
+			} else if (time.isAfter(previous)) {
+				uuids.put(uuid, time);
+			}
+		}
+
+		int size() {
+			return names.size() + addressCount;
+		}
+
+		void collectUUIDsAt(NetworkAddress address, Instant since, Set<UUID> destination) {
+			Map<UUID, Instant> uuids = addresses.get(address);
+			if (uuids == null) {
+				return;
+			}
+			for (Map.Entry<UUID, Instant> entry : uuids.entrySet()) {
+				if (!entry.getValue().isBefore(since)) {
+					destination.add(entry.getKey());
+				}
+			}
+		}
+
+		void mergeInto(Batch other) {
+			names.forEach((key, time) -> other.names.merge(key, time, Batch::latest));
+			addresses.forEach((address, uuids) -> {
+				uuids.forEach((uuid, time) -> other.addAddress(uuid, address, time));
+			});
+		}
+
+		/**
+		 * Writes the batch, linking accounts at newly recorded addresses
+		 *
+		 * @param context the context
+		 * @return the newly recorded addresses, which should be linked again once committed
+		 */
+		List<Association.NewAddress> write(DSLContext context) {
+			// Find which addresses are newly recorded, since only those require linking accounts
+			Map<NetworkAddress, Set<UUID>> alreadyRecorded = new HashMap<>();
+			for (List<NetworkAddress> addressChunk : DatabaseConstants.inListChunks(addresses.keySet())) {
+				Set<UUID> uuids = new HashSet<>();
+				addressChunk.forEach((address) -> uuids.addAll(addresses.get(address).keySet()));
+				for (List<UUID> uuidChunk : DatabaseConstants.inListChunks(uuids)) {
+					context
+							.select(ADDRESSES.UUID, ADDRESSES.ADDRESS)
+							.from(ADDRESSES)
+							.where(ADDRESSES.ADDRESS.in(addressChunk))
+							.and(ADDRESSES.UUID.in(uuidChunk))
+							.forEach((record) -> {
+								alreadyRecorded.computeIfAbsent(record.value2(), (a) -> new HashSet<>()).add(record.value1());
+							});
+				}
+			}
+			// MAX_IN_LIST also keeps the bind parameters of each multi-row upsert within limits
+			for (List<Map.Entry<NameKey, Instant>> chunk : DatabaseConstants.inListChunks(names.entrySet())) {
+				var upsert = context
+						.insertInto(NAMES)
+						.columns(NAMES.UUID, NAMES.NAME, NAMES.UPDATED);
+				for (Map.Entry<NameKey, Instant> name : chunk) {
+					upsert = upsert.values(name.getKey().uuid, name.getKey().name, name.getValue());
+				}
+				upsert
+						.onConflict(NAMES.UUID, NAMES.NAME)
+						.doUpdate()
+						.set(NAMES.UPDATED, DSL.excluded(NAMES.UPDATED))
+						.execute();
+			}
+			List<AddressKey> addressKeys = new ArrayList<>(addressCount);
+			addresses.forEach((address, uuids) -> {
+				uuids.forEach((uuid, time) -> addressKeys.add(new AddressKey(uuid, address, time)));
+			});
+			for (List<AddressKey> chunk : DatabaseConstants.inListChunks(addressKeys)) {
+				var upsert = context
+						.insertInto(ADDRESSES)
+						.columns(ADDRESSES.UUID, ADDRESSES.ADDRESS, ADDRESSES.UPDATED);
+				for (AddressKey address : chunk) {
+					upsert = upsert.values(address.uuid, address.address, address.time);
+				}
+				upsert
+						.onConflict(ADDRESSES.UUID, ADDRESSES.ADDRESS)
+						.doUpdate()
+						.set(ADDRESSES.UPDATED, DSL.excluded(ADDRESSES.UPDATED))
+						.execute();
+			}
+
+			List<Association.NewAddress> newAddresses = new ArrayList<>();
+			addresses.forEach((address, uuidsAtAddress) -> {
+				Set<UUID> recorded = alreadyRecorded.getOrDefault(address, Set.of());
+				for (UUID uuid : uuidsAtAddress.keySet()) {
+					if (!recorded.contains(uuid)) {
+						new Association(uuid, context).linkAccountsSharing(address);
+						newAddresses.add(new Association.NewAddress(uuid, address));
+					}
+				}
+			});
+			return newAddresses;
+		}
+
+		private static Instant latest(Instant first, Instant second) {
+			return (first.isAfter(second)) ? first : second;
+		}
+	}
+
+	private record NameKey(UUID uuid, String name) { }
+
+	private record AddressKey(UUID uuid, NetworkAddress address, Instant time) { }
+
+}
@@ -41,8 +41,10 @@ import space.arim.libertybans.core.database.execute.SQLRunnable;
 import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
 import space.arim.libertybans.core.database.execute.SQLTransactionalRunnable;
 import space.arim.libertybans.core.database.execute.Transaction;
+import space.arim.libertybans.core.database.sql.VictimIdSequenceValue;
 import space.arim.libertybans.core.scope.InternalScopeManager;
 import space.arim.libertybans.core.selector.InternalSelector;
+import space.arim.libertybans.core.selector.QueryPlanCache;
 import space.arim.libertybans.core.selector.SelectionResources;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
@@ -61,16 +63,18 @@ public class Enactor implements PunishmentDrafter {
 	private final InternalSelector selector;
 	private final PunishmentCreator creator;
 	private final Time time;
+	private final QueryPlanCache queryPlans;
 
 	@Inject
 	public Enactor(FactoryOfTheFuture futuresFactory, InternalScopeManager scopeManager, Provider<InternalDatabase> dbProvider,
-				   InternalSelector selector, PunishmentCreator creator, Time time) {
+				   InternalSelector selector, PunishmentCreator creator, Time time, QueryPlanCache queryPlans) {
 		this.futuresFactory = futuresFactory;
 		this.scopeManager = scopeManager;
 		this.dbProvider = dbProvider;
 		this.selector = selector;
 		this.creator = creator;
 		this.time = time;
+		this.queryPlans = queryPlans;
 	}
 
 	@Override
@@ -105,11 +109,11 @@ public class Enactor implements PunishmentDrafter {
 				creator);
 
 		return database.queryWithRetry((context, transaction) -> {
-			// Make sure concurrent executions do not conflict
-			transaction.setIsolation(Connection.TRANSACTION_SERIALIZABLE);
-
 			if (type != PunishmentType.KICK) {
-				database.clearExpiredPunishments(context, type, start);
+				// Concurrent enactments for the same or related victims wait on each other
+				transaction.setIsolation(Connection.TRANSACTION_READ_COMMITTED);
+				int victimId = new VictimIdSequenceValue(context).retrieveAndLockVictimId(draftPunishment.getVictim());
+				database.clearExpiredPunishments(context, type, victimId, start);
 			}
 			// If we rollback punishment enactment due to a conflicting ban or mute,
 			// it is not necessary to undo clearing expired punishments
@@ -126,8 +130,10 @@ public class Enactor implements PunishmentDrafter {
 
 		InternalDatabase database = dbProvider.get();
 		return database.queryWithRetry((context, transaction) -> {
-			// Make sure concurrent executions do not conflict
-			transaction.setIsolation(Connection.TRANSACTION_SERIALIZABLE);
+			// Concurrent calculations and enactments for the same or related victims wait on each other,
+			// so that the calculation sees their history
+			transaction.setIsolation(Connection.TRANSACTION_READ_COMMITTED);
+			int victimId = new VictimIdSequenceValue(context).retrieveAndLockVictimId(victim);
 
 			var calculationResult = calculablePunishment.getCalculator().compute(
 					escalationTrack, victim,
@@ -135,7 +141,7 @@ public class Enactor implements PunishmentDrafter {
 			);
 			PunishmentType type = calculationResult.type();
 			if (type != PunishmentType.KICK) {
-				database.clearExpiredPunishments(context, type, start);
+				database.clearExpiredPunishments(context, type, victimId, start);
 			}
 			Duration duration = calculationResult.duration();
 			ServerScope scope = scopeManager.checkScope(calculationResult.scope());
@@ -213,7 +219,8 @@ public class Enactor implements PunishmentDrafter {
 				() -> contextualExecutor,
 				scopeManager,
 				creator,
-				time
+				time,
+				queryPlans
 		);
 	}
 }
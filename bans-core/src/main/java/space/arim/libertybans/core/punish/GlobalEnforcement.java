@@ -23,6 +23,8 @@ import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
+import java.util.Collection;
+
 /**
  * Enforcement of a punishment across an entire network, as opposed to a single server,
  * hence "global"
@@ -38,6 +40,14 @@ public interface GlobalEnforcement extends Runnable {
 
 	CentralisedFuture<Void> clearExpunged(long id);
 
+	/**
+	 * Clears many expunged punishments, sending as few synchronization messages as possible
+	 *
+	 * @param ids the ids of the punishments expunged
+	 * @return a future completed once cleared
+	 */
+	CentralisedFuture<Void> clearExpunged(Collection<Long> ids);
+
 	CentralisedFuture<Void> updateDetails(Punishment punishment);
 
 }
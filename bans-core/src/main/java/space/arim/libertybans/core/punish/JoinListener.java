@@ -0,0 +1,71 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish;
+
+import jakarta.inject.Singleton;
+import space.arim.libertybans.api.NetworkAddress;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifies in-memory components that a user's join was recorded. Subscribers are told about the join
+ * right away, before the association is necessarily written to the database. <br>
+ * <br>
+ * Subscribers are called on the login thread, so they should be quick and must not block.
+ *
+ */
+@Singleton
+public final class JoinListener {
+
+	private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Subscribes to recorded joins. Subscriptions last for the lifetime of the plugin
+	 *
+	 * @param subscriber the subscriber
+	 */
+	public void subscribe(Subscriber subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	/**
+	 * Notifies subscribers that a join was recorded
+	 *
+	 * @param uuid the user's UUID
+	 * @param name the user's name
+	 * @param address the user's address
+	 * @param currentTime the time of joining
+	 */
+	public void onRecordedJoin(UUID uuid, String name, NetworkAddress address, Instant currentTime) {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.onRecordedJoin(uuid, name, address, currentTime);
+		}
+	}
+
+	@FunctionalInterface
+	public interface Subscriber {
+
+		void onRecordedJoin(UUID uuid, String name, NetworkAddress address, Instant currentTime);
+
+	}
+}
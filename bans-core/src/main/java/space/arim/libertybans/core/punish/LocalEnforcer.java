@@ -23,6 +23,8 @@ import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
+import java.util.List;
+
 /**
  * Enforcer of punishments on a single backend server
  *
@@ -39,6 +41,18 @@ public interface LocalEnforcer {
 	 */
 	CentralisedFuture<Void> enforceWithoutSynchronization(Punishment punishment, EnforcementOpts enforcementOptions);
 
+	/**
+	 * Enforces multiple punishments. No punishment synchronization is performed (with regard to multiple
+	 * instances of LibertyBans). For synchronization see {@link GlobalEnforcement} <br>
+	 * <br>
+	 * Equivalent to {@link #enforceWithoutSynchronization(Punishment, EnforcementOpts)} for each punishment
+	 * in order, except that online players are matched in a single pass.
+	 *
+	 * @param orders the punishments and their enforcement options, in order
+	 * @return a future completed when enforcement is finished
+	 */
+	CentralisedFuture<Void> enforceWithoutSynchronization(List<EnforcementOrder> orders);
+
 	/**
 	 * Unenforces a punishment. No punishment synchronization is performed (with regard to multiple
 	 * instances of LibertyBans). For synchronization see {@link GlobalEnforcement}
@@ -87,4 +101,12 @@ public interface LocalEnforcer {
 	 */
 	CentralisedFuture<Void> updateDetailsWithoutSynchronization(long id);
 
+	/**
+	 * A punishment to be enforced, with its enforcement options
+	 *
+	 * @param punishment the punishment
+	 * @param enforcementOptions the enforcement options
+	 */
+	record EnforcementOrder(Punishment punishment, EnforcementOpts enforcementOptions) { }
+
 }
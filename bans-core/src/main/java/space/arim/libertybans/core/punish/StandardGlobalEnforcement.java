@@ -28,18 +28,24 @@ import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.EnforcementOptions;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.punish.sync.MessageReceiver;
 import space.arim.libertybans.core.punish.sync.PacketEnforceUnenforce;
 import space.arim.libertybans.core.punish.sync.PacketExpunge;
+import space.arim.libertybans.core.punish.sync.PacketExpungeBatch;
 import space.arim.libertybans.core.punish.sync.PacketUpdateDetails;
 import space.arim.libertybans.core.punish.sync.SynchronizationMessenger;
 import space.arim.libertybans.core.punish.sync.SynchronizationPacket;
 import space.arim.libertybans.core.punish.sync.SynchronizationProtocol;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 @Singleton
@@ -51,19 +57,24 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	private final SynchronizationProtocol synchronizationProtocol;
 	private final Provider<SynchronizationMessenger> synchronizationMessenger;
 	private final MessageReceiver messageReceiver;
+	private final ActiveBanIndex activeBanIndex;
+	private final Provider<InternalDatabase> dbProvider;
 	private final Time time;
 
 	@Inject
 	public StandardGlobalEnforcement(Configs configs, FactoryOfTheFuture futuresFactory, LocalEnforcer enforcer,
 									 SynchronizationProtocol synchronizationProtocol,
 									 Provider<SynchronizationMessenger> synchronizationMessenger,
-									 MessageReceiver messageReceiver, Time time) {
+									 MessageReceiver messageReceiver, ActiveBanIndex activeBanIndex,
+									 Provider<InternalDatabase> dbProvider, Time time) {
 		this.configs = configs;
 		this.futuresFactory = futuresFactory;
 		this.synchronizationProtocol = synchronizationProtocol;
 		this.enforcer = enforcer;
 		this.synchronizationMessenger = synchronizationMessenger;
 		this.messageReceiver = messageReceiver;
+		this.activeBanIndex = activeBanIndex;
+		this.dbProvider = dbProvider;
 		this.time = time;
 	}
 
@@ -72,6 +83,8 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	// Comes from Punishment#enforcePunishment
 	@Override
 	public CentralisedFuture<Void> enforce(Punishment punishment, EnforcementOpts enforcementOptions) {
+		// The index must be updated regardless of enforcement options
+		activeBanIndex.update(punishment);
 		return handleSynchronizedEnforcement(
 				() -> enforcer.enforceWithoutSynchronization(punishment, enforcementOptions),
 				enforcementOptions.enforcement(),
@@ -82,6 +95,7 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	// Comes from Punishment#unenforcePunishment
 	@Override
 	public CentralisedFuture<Void> unenforce(Punishment punishment, EnforcementOpts enforcementOptions) {
+		activeBanIndex.remove(punishment.getIdentifier());
 		return handleSynchronizedEnforcement(
 				() -> enforcer.unenforceWithoutSynchronization(punishment, enforcementOptions),
 				enforcementOptions.enforcement(),
@@ -92,6 +106,7 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	// Comes from RevocationOrderImpl#undoPunishment
 	@Override
 	public CentralisedFuture<Void> unenforce(long id, PunishmentType type, EnforcementOpts enforcementOptions) {
+		activeBanIndex.remove(id);
 		return handleSynchronizedEnforcement(
 				() -> enforcer.unenforceWithoutSynchronization(id, type, enforcementOptions),
 				enforcementOptions.enforcement(),
@@ -102,6 +117,7 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	// Comes from ExpunctionOrderImpl#expunge
 	@Override
 	public CentralisedFuture<Void> clearExpunged(long id) {
+		activeBanIndex.remove(id);
 		return handleSynchronizedEnforcement(
 				() -> enforcer.clearExpungedWithoutSynchronization(id),
 				EnforcementOptions.Enforcement.GLOBAL,
@@ -109,6 +125,35 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 		);
 	}
 
+	// Comes from RollbackExecutor#executeRollback
+	@Override
+	public CentralisedFuture<Void> clearExpunged(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return futuresFactory.completedFuture(null);
+		}
+		List<Long> idList = List.copyOf(ids);
+		List<SynchronizationPacket> messages = new ArrayList<>();
+		for (int start = 0; start < idList.size(); start += PacketExpungeBatch.MAX_IDS) {
+			long[] chunkIds = new long[Math.min(PacketExpungeBatch.MAX_IDS, idList.size() - start)];
+			for (int n = 0; n < chunkIds.length; n++) {
+				chunkIds[n] = idList.get(start + n);
+				activeBanIndex.remove(chunkIds[n]);
+			}
+			messages.add(new PacketExpungeBatch(chunkIds));
+		}
+		return handleSynchronizedEnforcement(
+				() -> {
+					List<CentralisedFuture<Void>> clearFutures = new ArrayList<>(ids.size());
+					for (long id : ids) {
+						clearFutures.add(enforcer.clearExpungedWithoutSynchronization(id));
+					}
+					return futuresFactory.allOf(clearFutures);
+				},
+				EnforcementOptions.Enforcement.GLOBAL,
+				messages
+		);
+	}
+
 	@Override
 	public CentralisedFuture<Void> updateDetails(Punishment punishment) {
 		PunishmentType type = punishment.getType();
@@ -122,8 +167,10 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 		}
 		if (punishment.isExpired(time.toJdkClock())) {
 			// No need to update anything. The punishment is expired
+			activeBanIndex.remove(punishment.getIdentifier());
 			return futuresFactory.completedFuture(null);
 		}
+		activeBanIndex.update(punishment);
 		long id = punishment.getIdentifier();
 		return handleSynchronizedEnforcement(
 				() -> enforcer.updateDetailsWithoutSynchronization(punishment),
@@ -135,12 +182,25 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	private CentralisedFuture<Void> handleSynchronizedEnforcement(Supplier<CentralisedFuture<Void>> localEnforcement,
 																  EnforcementOptions.Enforcement enforcement,
 																  SynchronizationPacket message) {
+		return handleSynchronizedEnforcement(localEnforcement, enforcement, List.of(message));
+	}
+
+	private CentralisedFuture<Void> handleSynchronizedEnforcement(Supplier<CentralisedFuture<Void>> localEnforcement,
+																  EnforcementOptions.Enforcement enforcement,
+																  List<SynchronizationPacket> messages) {
+		// Punishments have changed, so replicas may be behind
+		dbProvider.get().readYourWrites();
 		return switch (enforcement) {
 			case GLOBAL -> {
 				if (configs.getSqlConfig().synchronization().enabled()) {
 					// Need to dispatch message to other instances
 					yield localEnforcement.get().thenCompose((ignore) -> {
-						return synchronizationMessenger.get().dispatch(synchronizationProtocol.serializeMessage(message));
+						SynchronizationMessenger messenger = synchronizationMessenger.get();
+						List<CentralisedFuture<Void>> dispatchFutures = new ArrayList<>(messages.size());
+						for (SynchronizationPacket message : messages) {
+							dispatchFutures.add(messenger.dispatch(synchronizationProtocol.serializeMessage(message)));
+						}
+						return futuresFactory.allOf(dispatchFutures);
 					});
 				}
 				yield localEnforcement.get();
@@ -165,25 +225,8 @@ public final class StandardGlobalEnforcement implements GlobalEnforcement {
 	}
 
 	ReactionStage<?> receiveAllMessages(byte[][] messages) {
-		// Receive the messages in order
-		ReactionStage<?> future = null;
-		for (int n = 0; n < messages.length; n++) {
-			if (future == null) {
-				future = receiveMessage(messages[n]);
-			} else {
-				int finalIndex = n;
-				future = future.thenCompose((ignore) -> receiveMessage(messages[finalIndex]));
-			}
-		}
-		if (future == null) {
-			// Empty
-			return futuresFactory.completedFuture(null);
-		}
-		return future;
-	}
-
-	private ReactionStage<?> receiveMessage(byte[] message) {
-		return synchronizationProtocol.receiveMessage(message, messageReceiver);
+		// Received as a batch, in order
+		return synchronizationProtocol.receiveMessages(messages, messageReceiver);
 	}
 
 }
@@ -58,7 +58,9 @@ import space.arim.omnibus.util.ThisClass;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -103,18 +105,62 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 																 EnforcementOpts enforcementOptions) {
 		assert enforcementOptions.enforcement() != EnforcementOptions.Enforcement.NONE : "Handled elsewhere";
 
-		PunishmentAdditionSection section = configs.getMessagesConfig().additions().forType(punishment.getType());
-
-		var arrestsAndNotices = enforceArrestsAndNotices(punishment);
+		var arrestsAndNotices = policeFor(punishment).thenCompose((police) -> {
+			if (police == null) {
+				return completedFuture(null);
+			}
+			if (police.targetMatcher() instanceof TargetMatcher.UUIDs matcher && matcher.uuids().size() == 1) {
+				// A single player can be looked up directly, without matching every online player
+				UUID uuid = matcher.uuids().iterator().next();
+				return envEnforcer.doForPlayerIfOnline(uuid, (player) -> {
+					if (police.serverNameMatch().test(envEnforcer.getPlayableServerName(player))) {
+						police.arrest().accept(player);
+					}
+				});
+			}
+			return envEnforcer.dispatchPolice(police);
+		});
 		if (enforcementOptions.broadcasting() == Broadcasting.NONE) {
 			return arrestsAndNotices;
 		}
-		return arrestsAndNotices.thenCompose((ignore) -> {
-			return formatter.formatWithPunishment(
-					enforcementOptions.replaceTargetArgument(section.successNotification()),
-					punishment
-			);
-		}).thenCompose((notification) -> {
+		return arrestsAndNotices.thenCompose((ignore) -> broadcastEnforcement(punishment, enforcementOptions));
+	}
+
+	@Override
+	public CentralisedFuture<Void> enforceWithoutSynchronization(List<EnforcementOrder> orders) {
+		List<CentralisedFuture<Police<P>>> futurePolice = new ArrayList<>(orders.size());
+		for (EnforcementOrder order : orders) {
+			assert order.enforcementOptions().enforcement() != EnforcementOptions.Enforcement.NONE : "Handled elsewhere";
+			futurePolice.add(policeFor(order.punishment()));
+		}
+		CentralisedFuture<Void> future = futuresFactory.allOf(futurePolice).thenCompose((ignore) -> {
+			List<Police<P>> police = new ArrayList<>(futurePolice.size());
+			for (CentralisedFuture<Police<P>> officer : futurePolice) {
+				Police<P> dispatched = officer.join();
+				if (dispatched != null) {
+					police.add(dispatched);
+				}
+			}
+			return envEnforcer.dispatchPolice(police);
+		});
+		// Broadcast in order, after all arrests have been made
+		for (EnforcementOrder order : orders) {
+			if (order.enforcementOptions().broadcasting() != Broadcasting.NONE) {
+				future = future.thenCompose((ignore) -> {
+					return broadcastEnforcement(order.punishment(), order.enforcementOptions());
+				});
+			}
+		}
+		return future;
+	}
+
+	private CentralisedFuture<Void> broadcastEnforcement(Punishment punishment, EnforcementOpts enforcementOptions) {
+		PunishmentAdditionSection section = configs.getMessagesConfig().additions().forType(punishment.getType());
+
+		return formatter.formatWithPunishment(
+				enforcementOptions.replaceTargetArgument(section.successNotification()),
+				punishment
+		).thenCompose((notification) -> {
 			boolean silent = enforcementOptions.broadcasting() == Broadcasting.SILENT;
 			return envEnforcer.sendToThoseWithPermission(
 					new PunishmentPermission(
@@ -130,6 +176,7 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 																   EnforcementOpts enforcementOptions) {
 		assert enforcementOptions.enforcement() != EnforcementOptions.Enforcement.NONE : "Handled elsewhere";
 
+		formatter.invalidatePunishmentMessage(punishment.getIdentifier());
 		if (punishment.getType() == PunishmentType.MUTE) {
 			muteCache.clearCachedMute(punishment);
 		}
@@ -178,6 +225,7 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 				return unenforceWithoutSynchronization(punishment, enforcementOptions);
 			}).toCompletableFuture();
 		}
+		formatter.invalidatePunishmentMessage(id);
 		if (type == PunishmentType.MUTE) {
 			muteCache.clearCachedMute(id);
 		}
@@ -186,12 +234,14 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 
 	@Override
 	public CentralisedFuture<Void> clearExpungedWithoutSynchronization(long id) {
+		formatter.invalidatePunishmentMessage(id);
 		muteCache.clearCachedMute(id);
 		return completedFuture(null);
 	}
 
 	@Override
 	public CentralisedFuture<Void> updateDetailsWithoutSynchronization(Punishment punishment) {
+		formatter.invalidatePunishmentMessage(punishment.getIdentifier());
 		return ((SecurePunishment) punishment).enforcePunishment(
 				punishment.enforcementOptionsBuilder()
 						.broadcasting(Broadcasting.NONE)
@@ -212,7 +262,13 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 		}).toCompletableFuture();
 	}
 
-	private CentralisedFuture<Void> enforceArrestsAndNotices(Punishment punishment) {
+	/**
+	 * Determines the police which would enforce a punishment upon online players
+	 *
+	 * @param punishment the punishment
+	 * @return a future yielding the police, or null if the punishment is not applicable to this server
+	 */
+	private CentralisedFuture<Police<P>> policeFor(Punishment punishment) {
 
         Predicate<String> serverNameMatch;
         if (instanceType == InstanceType.PROXY) {
@@ -232,7 +288,7 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
                 };
             });
         } else if (!scopeManager.scopesApplicableToCurrentServer().contains(punishment.getScope())) {
-            return futuresFactory.completedFuture(null);
+            return completedFuture(null);
         } else {
             serverNameMatch = (playerServer) -> true;
         }
@@ -255,17 +311,15 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 									uuids.add(uuid);
 								}
  								return new Police<>(new TargetMatcher.UUIDs(uuids), serverNameMatch, enforcementCallback);
-							})
-							.thenCompose(envEnforcer::dispatchPolice);
+							});
 				}
-				return envEnforcer.doForPlayerIfOnline(uuid, enforcementCallback);
+				return completedFuture(new Police<>(new TargetMatcher.UUIDs(Set.of(uuid)), serverNameMatch, enforcementCallback));
 
 			} else if (victim instanceof AddressVictim addressVictim) {
 				NetworkAddress address = addressVictim.getAddress();
 				return matchAddressPunishment(strictness, address)
 						.thenApply(targetMatcher ->
-								new Police<>(targetMatcher, serverNameMatch, enforcementCallback))
-						.thenCompose(envEnforcer::dispatchPolice);
+								new Police<>(targetMatcher, serverNameMatch, enforcementCallback));
 
 			} else if (victim instanceof CompositeVictim compositeVictim) {
 				UUID uuid = compositeVictim.getUUID();
@@ -279,8 +333,7 @@ public final class StandardLocalEnforcer<@PlatformPlayer P> implements LocalEnfo
 								targetMatcher = new TargetMatcher.Combined(targetMatcher, new TargetMatcher.UUIDs(Set.of(uuid)));
 							}
 							return new Police<>(targetMatcher, serverNameMatch, enforcementCallback);
-						})
-						.thenCompose(envEnforcer::dispatchPolice);
+						});
 
 			} else {
 				throw MiscUtil.unknownVictimType(victim.getType());
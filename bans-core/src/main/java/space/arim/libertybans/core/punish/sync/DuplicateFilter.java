@@ -0,0 +1,94 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drops the second copy of messages which arrive by two routes: through the proxy, which is fast but may not
+ * deliver, and through the database, to which every message is written. <br>
+ * <br>
+ * Each copy arriving by one route cancels out one copy from the other route. Copies which are never matched,
+ * such as when the proxy did not forward a message, are forgotten after a while.
+ *
+ */
+final class DuplicateFilter {
+
+	private final Cache<ByteBuffer, Integer> fromProxy;
+	private final Cache<ByteBuffer, Integer> fromDatabase;
+
+	DuplicateFilter(Duration retention) {
+		fromProxy = Caffeine.newBuilder().expireAfterWrite(retention).build();
+		fromDatabase = Caffeine.newBuilder().expireAfterWrite(retention).build();
+	}
+
+	/**
+	 * Records a message sent by this instance, which has already been enforced here. Its copy in the database
+	 * is dropped like a message previously received through the proxy.
+	 *
+	 * @param message the message
+	 */
+	synchronized void markSent(byte[] message) {
+		fromProxy.asMap().merge(ByteBuffer.wrap(message), 1, Integer::sum);
+	}
+
+	synchronized List<byte[]> filterFromProxy(List<byte[]> messages) {
+		List<byte[]> accepted = new ArrayList<>(messages.size());
+		for (byte[] message : messages) {
+			if (accept(message, fromProxy, fromDatabase)) {
+				accepted.add(message);
+			}
+		}
+		return accepted;
+	}
+
+	synchronized List<byte[]> filterFromDatabase(byte[][] messages) {
+		List<byte[]> accepted = new ArrayList<>(messages.length);
+		for (byte[] message : messages) {
+			if (accept(message, fromDatabase, fromProxy)) {
+				accepted.add(message);
+			}
+		}
+		return accepted;
+	}
+
+	private static boolean accept(byte[] message, Cache<ByteBuffer, Integer> route,
+								  Cache<ByteBuffer, Integer> otherRoute) {
+		ByteBuffer key = ByteBuffer.wrap(message);
+		Integer unmatched = otherRoute.getIfPresent(key);
+		if (unmatched != null) {
+			if (unmatched == 1) {
+				otherRoute.invalidate(key);
+			} else {
+				otherRoute.put(key, unmatched - 1);
+			}
+			return false;
+		}
+		route.asMap().merge(key, 1, Integer::sum);
+		return true;
+	}
+
+}
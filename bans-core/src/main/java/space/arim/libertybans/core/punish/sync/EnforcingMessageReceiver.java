@@ -16,7 +16,6 @@
  * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
  * and navigate to version 3 of the GNU Affero General Public License.
  */
-
 package space.arim.libertybans.core.punish.sync;
 
 import jakarta.inject.Inject;
@@ -24,69 +23,173 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import space.arim.libertybans.api.punish.EnforcementOptions;
 import space.arim.libertybans.api.punish.Punishment;
-import space.arim.libertybans.api.select.PunishmentSelector;
 import space.arim.libertybans.core.punish.EnforcementOpts;
 import space.arim.libertybans.core.punish.LocalEnforcer;
+import space.arim.libertybans.core.punish.LocalEnforcer.EnforcementOrder;
 import space.arim.libertybans.core.punish.Mode;
+import space.arim.libertybans.core.selector.InternalSelector;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public final class EnforcingMessageReceiver implements MessageReceiver {
 
 	private final FactoryOfTheFuture futuresFactory;
-	private final PunishmentSelector selector;
+	private final InternalSelector selector;
 	private final LocalEnforcer enforcer;
+	private final ActiveBanIndex activeBanIndex;
 
 	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
 
 	@Inject
-	public EnforcingMessageReceiver(FactoryOfTheFuture futuresFactory, PunishmentSelector selector, LocalEnforcer enforcer) {
+	public EnforcingMessageReceiver(FactoryOfTheFuture futuresFactory, InternalSelector selector, LocalEnforcer enforcer,
+									ActiveBanIndex activeBanIndex) {
 		this.futuresFactory = futuresFactory;
 		this.selector = selector;
 		this.enforcer = enforcer;
+		this.activeBanIndex = activeBanIndex;
 	}
 
 	@Override
 	public ReactionStage<?> onReception(SynchronizationPacket message) {
+		return onReception(List.of(message));
+	}
+
+	/*
+	A batch of messages is received in three steps:
+	1. The details of every punishment referenced are fetched in a single query.
+	2. The active ban index is updated, in order.
+	3. Consecutive enforcements are dispatched together, so that online players are matched in a single pass.
+	   Other messages act as barriers, such that every message observes the effects of those before it.
+	 */
+
+	@Override
+	public ReactionStage<?> onReception(List<SynchronizationPacket> messages) {
+		Set<Long> ids = new HashSet<>();
+		for (SynchronizationPacket message : messages) {
+			if (message instanceof PacketEnforceUnenforce packetEnforceUnenforce) {
+				if (requiresDetails(packetEnforceUnenforce)) {
+					ids.add(packetEnforceUnenforce.id);
+				}
+			} else if (message instanceof PacketUpdateDetails packetUpdateDetails) {
+				ids.add(packetUpdateDetails.id);
+			}
+		}
+		return selector.getHistoricalPunishmentsById(ids).thenCompose((punishments) -> {
+			return receiveInOrder(messages, punishments);
+		});
+	}
+
+	private ReactionStage<?> receiveInOrder(List<SynchronizationPacket> messages, Map<Long, Punishment> punishments) {
+		ReactionStage<?> future = futuresFactory.completedFuture(null);
+		List<EnforcementOrder> orders = new ArrayList<>();
+		for (SynchronizationPacket message : messages) {
+			if (message instanceof PacketEnforceUnenforce packetEnforceUnenforce && packetEnforceUnenforce.mode == Mode.DO) {
+				Punishment punishment = findPunishment(packetEnforceUnenforce, punishments);
+				if (punishment != null) {
+					activeBanIndex.update(punishment);
+					orders.add(new EnforcementOrder(punishment, enforcementOptions(packetEnforceUnenforce)));
+				}
+			} else if (message instanceof PacketUpdateDetails packetUpdateDetails) {
+				Punishment punishment = punishments.get(packetUpdateDetails.id);
+				if (punishment == null) {
+					// Possible race condition if punishment is expunged
+					logger.debug("Tried to update details of non-existent punishment with id {}", packetUpdateDetails.id);
+					activeBanIndex.remove(packetUpdateDetails.id);
+					continue;
+				}
+				activeBanIndex.update(punishment);
+				// Equivalent to LocalEnforcer#updateDetailsWithoutSynchronization
+				orders.add(new EnforcementOrder(punishment, EnforcementOpts
+						.builder()
+						.enforcement(EnforcementOptions.Enforcement.SINGLE_SERVER_ONLY)
+						.broadcasting(EnforcementOptions.Broadcasting.NONE)
+						.build()));
+			} else {
+				// Barrier: dispatch the enforcements gathered so far
+				future = dispatchOrders(future, orders);
+				orders = new ArrayList<>();
+				future = receiveOther(message, punishments, future);
+			}
+		}
+		return dispatchOrders(future, orders);
+	}
+
+	private ReactionStage<?> dispatchOrders(ReactionStage<?> future, List<EnforcementOrder> orders) {
+		if (orders.isEmpty()) {
+			return future;
+		}
+		return future.thenCompose((ignore) -> enforcer.enforceWithoutSynchronization(orders));
+	}
+
+	private ReactionStage<?> receiveOther(SynchronizationPacket message, Map<Long, Punishment> punishments,
+										  ReactionStage<?> future) {
 		if (message instanceof PacketEnforceUnenforce packetEnforceUnenforce) {
-			return onReception(packetEnforceUnenforce);
+			assert packetEnforceUnenforce.mode == Mode.UNDO : "Mode " + packetEnforceUnenforce.mode;
+			long id = packetEnforceUnenforce.id;
+			activeBanIndex.remove(id);
+			EnforcementOpts enforcementOptions = enforcementOptions(packetEnforceUnenforce);
+			if (!requiresDetails(packetEnforceUnenforce)) {
+				// Optimization: We do not need the full punishment details to simply undo a punishment
+				return future.thenCompose((ignore) -> {
+					return enforcer.unenforceWithoutSynchronization(id, packetEnforceUnenforce.type, enforcementOptions);
+				});
+			}
+			Punishment punishment = findPunishment(packetEnforceUnenforce, punishments);
+			if (punishment == null) {
+				return future;
+			}
+			// Unenforce this punishment
+			return future.thenCompose((ignore) -> enforcer.unenforceWithoutSynchronization(punishment, enforcementOptions));
 		} else if (message instanceof PacketExpunge packetExpunge) {
-			return enforcer.clearExpungedWithoutSynchronization(packetExpunge.id);
-		} else if (message instanceof PacketUpdateDetails packetUpdateDetails) {
-			return enforcer.updateDetailsWithoutSynchronization(packetUpdateDetails.id);
+			activeBanIndex.remove(packetExpunge.id);
+			return future.thenCompose((ignore) -> enforcer.clearExpungedWithoutSynchronization(packetExpunge.id));
+		} else if (message instanceof PacketExpungeBatch packetExpungeBatch) {
+			for (long id : packetExpungeBatch.ids) {
+				activeBanIndex.remove(id);
+			}
+			return future.thenCompose((ignore) -> {
+				List<CentralisedFuture<Void>> clearFutures = new ArrayList<>(packetExpungeBatch.ids.length);
+				for (long id : packetExpungeBatch.ids) {
+					clearFutures.add(enforcer.clearExpungedWithoutSynchronization(id));
+				}
+				return futuresFactory.allOf(clearFutures);
+			});
 		} else {
 			logger.warn("Unknown packet {} ({})", message, message.getClass());
-			return futuresFactory.completedFuture(null);
+			return future;
 		}
 	}
 
-	private ReactionStage<?> onReception(PacketEnforceUnenforce message) {
-		EnforcementOpts enforcementOptions = EnforcementOpts
+	private static boolean requiresDetails(PacketEnforceUnenforce message) {
+		return message.mode == Mode.DO || message.broadcasting != EnforcementOptions.Broadcasting.NONE;
+	}
+
+	private static EnforcementOpts enforcementOptions(PacketEnforceUnenforce message) {
+		return EnforcementOpts
 				.builder()
 				.enforcement(EnforcementOptions.Enforcement.SINGLE_SERVER_ONLY)
 				.broadcasting(message.broadcasting)
 				.targetArgument(message.targetArgument)
 				.unOperator(message.unOperator)
 				.build();
-		if (message.broadcasting == EnforcementOptions.Broadcasting.NONE && message.mode == Mode.UNDO) {
-			// Optimization: We do not need the full punishment details to simply undo a punishment
-			return enforcer.unenforceWithoutSynchronization(message.id, message.type, enforcementOptions);
+	}
+
+	private static Punishment findPunishment(PacketEnforceUnenforce message, Map<Long, Punishment> punishments) {
+		Punishment punishment = punishments.get(message.id);
+		if (punishment == null || punishment.getType() != message.type) {
+			logger.warn("Received punishment which does not exist: id {} and type {}", message.id, message.type);
+			return null;
 		}
-		return selector.getHistoricalPunishmentByIdAndType(message.id, message.type).thenCompose((optPunishment) -> {
-			if (optPunishment.isEmpty()) {
-				logger.warn("Received punishment which does not exist: id {} and type {}", message.id, message.type);
-				return futuresFactory.completedFuture(null);
-			}
-			Punishment punishment = optPunishment.get();
-			if (message.mode == Mode.UNDO) {
-				// Unenforce this punishment
-				return enforcer.unenforceWithoutSynchronization(punishment, enforcementOptions);
-			}
-			// Enforce this punishment
-			assert message.mode == Mode.DO : "Mode " + message.mode;
-			return enforcer.enforceWithoutSynchronization(punishment, enforcementOptions);
-		});
+		return punishment;
 	}
 
 }
@@ -0,0 +1,83 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * In-process replacement for LISTEN/NOTIFY, used with the local HyperSQL database. Instances in the
+ * same JVM using the same database, as occurs in testing, can thereby synchronize with each other.
+ *
+ */
+final class LocalNotificationBus implements NotificationTransport {
+
+	private final FactoryOfTheFuture futuresFactory;
+	private final String databaseName;
+	private final Runnable onNotification;
+
+	private static final Map<String, Set<LocalNotificationBus>> SUBSCRIBERS = new ConcurrentHashMap<>();
+
+	private LocalNotificationBus(FactoryOfTheFuture futuresFactory, String databaseName, Runnable onNotification) {
+		this.futuresFactory = futuresFactory;
+		this.databaseName = databaseName;
+		this.onNotification = onNotification;
+	}
+
+	/**
+	 * Subscribes to messages published with the same database
+	 *
+	 * @param futuresFactory the futures factory
+	 * @param databaseName the unique name of the database
+	 * @param onNotification the callback to run when notified
+	 * @return the transport, which should be closed to unsubscribe
+	 */
+	static LocalNotificationBus subscribe(FactoryOfTheFuture futuresFactory, String databaseName,
+										  Runnable onNotification) {
+		LocalNotificationBus subscriber = new LocalNotificationBus(futuresFactory, databaseName, onNotification);
+		SUBSCRIBERS.computeIfAbsent(databaseName, (n) -> new CopyOnWriteArraySet<>()).add(subscriber);
+		return subscriber;
+	}
+
+	@Override
+	public CentralisedFuture<Void> publish(byte[] message) {
+		Set<LocalNotificationBus> subscribers = SUBSCRIBERS.get(databaseName);
+		if (subscribers != null) {
+			for (LocalNotificationBus subscriber : subscribers) {
+				subscriber.onNotification.run();
+			}
+		}
+		return futuresFactory.completedFuture(null);
+	}
+
+	@Override
+	public void close() {
+		SUBSCRIBERS.computeIfPresent(databaseName, (n, subscribers) -> {
+			subscribers.remove(this);
+			return subscribers.isEmpty() ? null : subscribers;
+		});
+	}
+
+}
@@ -21,8 +21,27 @@ package space.arim.libertybans.core.punish.sync;
 
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
+import java.util.List;
+
 public interface MessageReceiver {
 
 	ReactionStage<?> onReception(SynchronizationPacket message);
 
+	/**
+	 * Receives multiple messages. The effects of each message must be observed by those after it. <br>
+	 * <br>
+	 * By default, each message is received after the previous one is finished.
+	 *
+	 * @param messages the messages, in order. Never empty
+	 * @return a future completed once all messages are received
+	 */
+	default ReactionStage<?> onReception(List<SynchronizationPacket> messages) {
+		ReactionStage<?> future = onReception(messages.get(0));
+		for (int n = 1; n < messages.size(); n++) {
+			SynchronizationPacket message = messages.get(n);
+			future = future.thenCompose((ignore) -> onReception(message));
+		}
+		return future;
+	}
+
 }
@@ -0,0 +1,42 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+
+/**
+ * A means of notifying all listening instances, including this one, of synchronization messages
+ *
+ */
+interface NotificationTransport extends AutoCloseable {
+
+	/**
+	 * Notifies listening instances of a message. Unless the transport carries the message itself, the message
+	 * must already have been written to the database, whence listeners poll for it upon notification
+	 *
+	 * @param message the message
+	 * @return a future completed once the notification is sent
+	 */
+	CentralisedFuture<Void> publish(byte[] message);
+
+	@Override
+	void close();
+
+}
@@ -0,0 +1,207 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.config.SqlConfig.Synchronization.SyncMode;
+import space.arim.libertybans.core.database.InternalDatabase;
+import space.arim.libertybans.core.database.Vendor;
+import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.jooq.impl.DSL.field;
+
+/**
+ * Messenger which uses native database notifications or proxy plugin messaging if so configured,
+ * and otherwise uses the {@link SQLSynchronizationMessenger}. <br>
+ * <br>
+ * With notifications, messages are still written to the database, and a notification merely prompts
+ * polling it immediately. Thus, no messages are lost while the listener is disconnected, and periodic
+ * polling remains as a fallback, at the longer notify-fallback poll rate. With plugin messaging, messages are likewise written to the database,
+ * and the proxy is only a fast path: forwarded messages are pushed to an inbox, which {@link #poll()}
+ * drains alongside polling the database. Whichever copy of a message arrives second is dropped.
+ *
+ */
+@Singleton
+public final class NotifyingSynchronizationMessenger implements SynchronizationMessenger {
+
+	private final Configs configs;
+	private final FactoryOfTheFuture futuresFactory;
+	private final SQLSynchronizationMessenger sqlMessenger;
+	private final ProxyNotificationTransport<?, ?> proxyTransport;
+
+	private final Queue<byte[]> inbox = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean pollingDatabase = new AtomicBoolean();
+	private final AtomicBoolean pollAgain = new AtomicBoolean();
+	// Messages take at most the poll rate to reach the database route
+	private final DuplicateFilter duplicateFilter = new DuplicateFilter(Duration.ofMinutes(1L));
+	private volatile NotificationTransport transport;
+	private volatile Runnable onArrival;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	@Inject
+	public NotifyingSynchronizationMessenger(Configs configs, FactoryOfTheFuture futuresFactory,
+											 SQLSynchronizationMessenger sqlMessenger,
+											 ProxyNotificationTransport<?, ?> proxyTransport) {
+		this.configs = configs;
+		this.futuresFactory = futuresFactory;
+		this.sqlMessenger = sqlMessenger;
+		this.proxyTransport = proxyTransport;
+	}
+
+	/**
+	 * Whether the listener will hold a connection for as long as it runs. Such a connection is taken from
+	 * the pool, which should therefore be enlarged by one connection
+	 *
+	 * @param sqlConfig the sql config
+	 * @return true if a connection is held permanently
+	 */
+	public static boolean holdsListenerConnection(SqlConfig sqlConfig) {
+		SqlConfig.Synchronization synchronization = sqlConfig.synchronization();
+		return synchronization.enabled() && synchronization.mode() == SyncMode.NOTIFY
+				&& sqlConfig.vendor() == Vendor.POSTGRES;
+	}
+
+	@Override
+	public CentralisedFuture<Void> dispatch(byte[] message) {
+		NotificationTransport transport = this.transport;
+		if (transport == null) {
+			return sqlMessenger.dispatch(message);
+		}
+		if (transport == proxyTransport) {
+			duplicateFilter.markSent(message);
+		}
+		// Notify only once the message is visible to other instances
+		return sqlMessenger.dispatch(message).thenCompose((ignore) -> transport.publish(message));
+	}
+
+	@Override
+	public CentralisedFuture<byte[][]> poll() {
+		NotificationTransport transport = this.transport;
+		if (transport == null) {
+			return sqlMessenger.poll();
+		}
+		if (transport != proxyTransport) {
+			return pollDatabase();
+		}
+		List<byte[]> forwarded = new ArrayList<>();
+		byte[] message;
+		while ((message = inbox.poll()) != null) {
+			forwarded.add(message);
+		}
+		List<byte[]> messages = duplicateFilter.filterFromProxy(forwarded);
+		// Always poll the database too, lest a steady stream of forwarded messages starve those not forwarded
+		return pollDatabase().thenApply((stored) -> {
+			messages.addAll(duplicateFilter.filterFromDatabase(stored));
+			return messages.toArray(byte[][]::new);
+		});
+	}
+
+	private CentralisedFuture<byte[][]> pollDatabase() {
+		// Polling is not thread safe, so skip this poll if another is already in progress. However, that poll
+		// may have started before the newest messages were written, so have it poll again once finished
+		pollAgain.set(true);
+		if (!pollingDatabase.compareAndSet(false, true)) {
+			return futuresFactory.completedFuture(new byte[][] {});
+		}
+		pollAgain.set(false);
+		return sqlMessenger.poll().whenComplete((ignore, ex) -> {
+			pollingDatabase.set(false);
+			Runnable onArrival = this.onArrival;
+			if (pollAgain.get() && onArrival != null) {
+				onArrival.run();
+			}
+		});
+	}
+
+	@Override
+	public boolean startListening(InternalDatabase database, Runnable onArrival) {
+		this.onArrival = onArrival;
+		// Messages dispatched from now on must not be missed by the first poll
+		sqlMessenger.setInitialTimestamp();
+		Consumer<List<byte[]>> receiver = (messages) -> {
+			inbox.addAll(messages);
+			onArrival.run();
+		};
+		SyncMode mode = configs.getSqlConfig().synchronization().mode();
+		if (mode == SyncMode.PLUGIN_MESSAGING) {
+			if (proxyTransport.start(receiver)) {
+				transport = proxyTransport;
+			}
+			// The database must still be polled for messages which the proxy did not forward
+			return false;
+		}
+		if (mode != SyncMode.NOTIFY) {
+			return false;
+		}
+		transport = switch (database.getVendor()) {
+			case POSTGRES -> PostgresNotificationTransport.start(database, onArrival);
+			case HSQLDB -> {
+				// Identifies the database uniquely, even across instances in the same JVM
+				String databaseName = database.query((context) -> {
+					return context.select(field("DATABASE_NAME()", String.class)).fetchSingle().value1();
+				}).join();
+				yield LocalNotificationBus.subscribe(futuresFactory, databaseName, onArrival);
+			}
+			default -> {
+				logger.warn("The NOTIFY synchronization mode is not supported by {}. ANSI_SQL will be used instead.",
+						database.getVendor());
+				yield null;
+			}
+		};
+		// Notifications only prompt polling sooner. Periodic polling picks up any whose notification is missed,
+		// such as when the sender's clock is ahead of the receiver's. See #isNotified
+		return false;
+	}
+
+	@Override
+	public boolean isNotified() {
+		NotificationTransport transport = this.transport;
+		// The proxy does not forward every message, so it does not relax polling
+		return transport != null && transport != proxyTransport;
+	}
+
+	@Override
+	public void stopListening() {
+		NotificationTransport transport = this.transport;
+		if (transport != null) {
+			this.transport = null;
+			transport.close();
+			inbox.clear();
+		}
+		onArrival = null;
+	}
+
+}
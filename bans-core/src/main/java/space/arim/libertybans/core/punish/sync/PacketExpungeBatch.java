@@ -0,0 +1,88 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Expunges many punishments at once, such as those deleted by a staff rollback
+ *
+ */
+public final class PacketExpungeBatch implements SynchronizationPacket {
+
+	final long[] ids;
+
+	static final byte PACKET_ID = (byte) 4;
+
+	/**
+	 * Keeps each message well under the size limit of plugin messages sent through the proxy
+	 */
+	public static final int MAX_IDS = 1000;
+
+	public PacketExpungeBatch(long[] ids) {
+		if (ids.length > MAX_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_IDS + " IDs may be sent in one packet");
+		}
+		this.ids = ids;
+	}
+
+	@Override
+	public byte packetId() {
+		return PACKET_ID;
+	}
+
+	@Override
+	public void writeTo(ProtocolOutputStream output) throws IOException {
+		output.writeShort(ids.length);
+		for (long id : ids) {
+			output.writeLong(id);
+		}
+	}
+
+	static PacketExpungeBatch readFrom(ProtocolInputStream input) throws IOException {
+		long[] ids = new long[input.readUnsignedShort()];
+		for (int n = 0; n < ids.length; n++) {
+			ids[n] = input.readLong();
+		}
+		return new PacketExpungeBatch(ids);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		PacketExpungeBatch that = (PacketExpungeBatch) o;
+		return Arrays.equals(ids, that.ids);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(ids);
+	}
+
+	@Override
+	public String toString() {
+		return "PacketExpungeBatch{" +
+				"ids=" + Arrays.toString(ids) +
+				'}';
+	}
+
+}
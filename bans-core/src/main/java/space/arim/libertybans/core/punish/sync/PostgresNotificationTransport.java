@@ -0,0 +1,154 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.core.database.InternalDatabase;
+import space.arim.libertybans.core.service.SimpleThreadFactory;
+import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Uses PostgreSQL's LISTEN/NOTIFY. A dedicated thread holds a pooled connection on which it listens. <br>
+ * <br>
+ * Notifications carry no payload: they are not persisted, so messages are kept in the database and a
+ * notification only prompts the receiver to poll. For the same reason, the receiver is also prompted
+ * whenever listening begins, since notifications sent while disconnected are never delivered. <br>
+ * <br>
+ * The driver's notification API is accessed reflectively, since the driver is not a compile-time dependency.
+ *
+ */
+final class PostgresNotificationTransport implements NotificationTransport {
+
+	private final InternalDatabase database;
+	private final Runnable onNotification;
+	private final Thread listenerThread;
+
+	private volatile boolean running = true;
+
+	static final String CHANNEL = "libertybans_synchronization";
+	private static final int RECEIVE_TIMEOUT_MILLIS = 500;
+	private static final long RECONNECT_DELAY_SECONDS = 5L;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	private PostgresNotificationTransport(InternalDatabase database, Runnable onNotification) {
+		this.database = database;
+		this.onNotification = onNotification;
+		listenerThread = SimpleThreadFactory.create("SyncListener").newThread(this::listen);
+		listenerThread.setDaemon(true);
+	}
+
+	static PostgresNotificationTransport start(InternalDatabase database, Runnable onNotification) {
+		PostgresNotificationTransport transport = new PostgresNotificationTransport(database, onNotification);
+		transport.listenerThread.start();
+		return transport;
+	}
+
+	@Override
+	public CentralisedFuture<Void> publish(byte[] message) {
+		return database.execute((context) -> {
+			context.execute("NOTIFY " + CHANNEL);
+		});
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = database.getConnection()) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				connection.commit();
+				// Catch up on messages sent before listening began
+				onNotification.run();
+				try {
+					receiveUntilStopped(connection);
+				} finally {
+					// Do not return the connection to the pool while still listening
+					try (Statement statement = connection.createStatement()) {
+						statement.execute("UNLISTEN " + CHANNEL);
+					}
+					connection.commit();
+				}
+			} catch (SQLException | ReflectiveOperationException ex) {
+				if (!running) {
+					break;
+				}
+				logger.warn("Lost connection used to listen for synchronization messages. " +
+						"Reconnecting in {} seconds", RECONNECT_DELAY_SECONDS, ex);
+				long reconnectAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(RECONNECT_DELAY_SECONDS);
+				long remaining;
+				// close() unparks this thread
+				while (running && (remaining = reconnectAt - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(remaining);
+				}
+			}
+		}
+	}
+
+	private void receiveUntilStopped(Connection connection) throws SQLException, ReflectiveOperationException {
+		Connection driverConnection = connection.unwrap(Connection.class);
+		ClassLoader driverLoader = driverConnection.getClass().getClassLoader();
+		Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection", true, driverLoader);
+		Method getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+		Object pgConnection = connection.unwrap(pgConnectionClass);
+
+		while (running) {
+			Object[] notifications;
+			try {
+				// Blocks until notifications arrive or the timeout elapses
+				notifications = (Object[]) getNotifications.invoke(pgConnection, RECEIVE_TIMEOUT_MILLIS);
+			} catch (InvocationTargetException ex) {
+				if (ex.getCause() instanceof SQLException sqlEx) {
+					throw sqlEx;
+				}
+				throw ex;
+			}
+			if (notifications != null && notifications.length != 0) {
+				// A single poll fetches every message
+				onNotification.run();
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(listenerThread);
+		try {
+			listenerThread.join(TimeUnit.SECONDS.toMillis(5L));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		if (listenerThread.isAlive()) {
+			logger.warn("Reached timeout while waiting for synchronization listener to stop");
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.api.env.annote.PlatformPlayer;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.env.EnvEnforcer;
+import space.arim.libertybans.core.env.EnvMessageChannel;
+import space.arim.libertybans.core.env.InstanceType;
+import space.arim.libertybans.core.env.message.ForwardSynchronization;
+import space.arim.omnibus.util.ThisClass;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sends synchronization messages through the proxy, using plugin messaging. <br>
+ * <br>
+ * Plugin messages can only be sent through a connected player. If no player is online, or the message
+ * is too large to be forwarded, nothing is sent. This is acceptable because every message is also written
+ * to the database, so this transport is merely a fast path.
+ *
+ * @param <P> the player type
+ * @param <H> the handler type
+ */
+@Singleton
+public final class ProxyNotificationTransport<@PlatformPlayer P, H> implements NotificationTransport {
+
+	private final InstanceType instanceType;
+	private final Configs configs;
+	private final FactoryOfTheFuture futuresFactory;
+	private final EnvEnforcer<P> envEnforcer;
+	private final EnvMessageChannel<H> envMessageChannel;
+
+	private final ForwardSynchronization forwardSynchronization = new ForwardSynchronization();
+	private final H handler;
+	private volatile Consumer<List<byte[]>> receiver;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	@Inject
+	public ProxyNotificationTransport(InstanceType instanceType, Configs configs, FactoryOfTheFuture futuresFactory,
+									  EnvEnforcer<P> envEnforcer, EnvMessageChannel<H> envMessageChannel) {
+		this.instanceType = instanceType;
+		this.configs = configs;
+		this.futuresFactory = futuresFactory;
+		this.envEnforcer = envEnforcer;
+		this.envMessageChannel = envMessageChannel;
+		handler = envMessageChannel.createHandler(this::receive, new ForwardSynchronization.Received());
+	}
+
+	/**
+	 * Begins receiving forwarded messages, if plugin messaging is usable on this instance
+	 *
+	 * @param receiver the message receiver
+	 * @return true if started, false if plugin messaging cannot be used
+	 */
+	boolean start(Consumer<List<byte[]>> receiver) {
+		if (instanceType != InstanceType.GAME_SERVER) {
+			logger.warn("The PLUGIN_MESSAGING synchronization mode is only usable on backend servers. " +
+					"ANSI_SQL will be used instead.");
+			return false;
+		}
+		if (!configs.getMainConfig().platforms().gameServers().usePluginMessaging()) {
+			logger.warn("The PLUGIN_MESSAGING synchronization mode requires use-plugin-messaging to be enabled. " +
+					"ANSI_SQL will be used instead.");
+			return false;
+		}
+		this.receiver = receiver;
+		envMessageChannel.installHandler(handler);
+		return true;
+	}
+
+	private void receive(byte[] message) {
+		Consumer<List<byte[]>> receiver = this.receiver;
+		if (receiver != null) {
+			receiver.accept(List.of(message));
+		}
+	}
+
+	@Override
+	public CentralisedFuture<Void> publish(byte[] message) {
+		if (message.length > Short.MAX_VALUE) {
+			return futuresFactory.completedFuture(null);
+		}
+		return envEnforcer.doForAllPlayers((players) -> {
+			// Any player will do, since the proxy forwards the message to all other servers
+			for (P player : players) {
+				if (envEnforcer.sendPluginMessageIfListening(player, forwardSynchronization, message)) {
+					break;
+				}
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		receiver = null;
+		// This should not throw even if the handler is not registered
+		envMessageChannel.uninstallHandler(handler);
+	}
+
+}
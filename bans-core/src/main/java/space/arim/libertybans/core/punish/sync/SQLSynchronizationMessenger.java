@@ -70,7 +70,8 @@ public final class SQLSynchronizationMessenger implements SynchronizationMesseng
 			return futuresFactory.completedFuture(new byte[][] {});
 		}
 		Condition timeCondition = MESSAGES.TIME.lessOrEqual(currentTime).and(MESSAGES.TIME.greaterThan(lastTimestamp));
-		var future = queryExecutor.get().query(SQLFunction.readOnly((context) -> {
+		// Use the primary database, since messages missed on a lagging replica would never be seen again
+		var future = queryExecutor.get().query(SQLFunction.readOnlyOnPrimary((context) -> {
 			return context
 					.select(MESSAGES.MESSAGE)
 					.from(MESSAGES)
@@ -19,6 +19,7 @@
 
 package space.arim.libertybans.core.punish.sync;
 
+import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 public interface SynchronizationMessenger {
@@ -27,4 +28,35 @@ public interface SynchronizationMessenger {
 
 	CentralisedFuture<byte[][]> poll();
 
+	/**
+	 * Begins listening for messages pushed by other instances, if supported. Whenever messages arrive,
+	 * the given callback is run, after which {@link #poll()} yields the messages.
+	 *
+	 * @param database the database which is starting up
+	 * @param onArrival the callback to run when messages arrive
+	 * @return true if listening for all messages, false if {@link #poll()} must also be called periodically
+	 */
+	default boolean startListening(InternalDatabase database, Runnable onArrival) {
+		return false;
+	}
+
+	/**
+	 * Whether messages are pushed by notification, so that periodic polling is only a fallback for missed
+	 * notifications and may be infrequent. Only meaningful after {@link #startListening(InternalDatabase, Runnable)}
+	 *
+	 * @return true if notified of messages
+	 */
+	default boolean isNotified() {
+		return false;
+	}
+
+	/**
+	 * Stops listening for pushed messages. Does nothing if not listening. <br>
+	 * <br>
+	 * Should be called even if {@link #startListening(InternalDatabase, Runnable)} returned false, since
+	 * some messages may have been pushed regardless
+	 *
+	 */
+	default void stopListening() {}
+
 }
@@ -58,6 +58,7 @@ public interface EnforcementConfig {
 		"LENIENT - The player's current address matches the punished address",
 		"NORMAL - Any of the player's past addresses matches the punished address",
 		"STERN - Any of the player's past addresses matches any of the past addresses of the punished user",
+		"    (Addresses shared by more than 100 users, such as those of carrier-grade NAT, are not considered)",
 		"",
 		"STRICT is the same as STERN, but also enforces user punishments as stringently as IP-based punishments.",
 		"    (Using STRICT turns all user punishments into IP-based punishments)"
@@ -29,17 +29,23 @@ import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.api.scope.ServerScope;
+import space.arim.libertybans.api.select.AddressStrictness;
 import space.arim.libertybans.api.select.SelectionPredicate;
 import space.arim.libertybans.api.select.SortPunishments;
 import space.arim.libertybans.core.alts.*;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.InternalFormatter;
 import space.arim.libertybans.core.database.execute.SQLFunction;
+import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
+import space.arim.libertybans.core.database.execute.Workload;
 import space.arim.libertybans.core.database.pagination.InstantThenUUID;
 import space.arim.libertybans.core.database.pagination.KeysetPage;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
 import space.arim.libertybans.core.env.EnvEnforcer;
 import space.arim.libertybans.core.punish.Association;
+import space.arim.libertybans.core.punish.AssociationQueue;
+import space.arim.libertybans.core.punish.JoinListener;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.libertybans.core.service.FuturePoster;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
@@ -49,6 +55,9 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static space.arim.libertybans.core.schema.tables.Addresses.ADDRESSES;
 
 public final class Gatekeeper {
 
@@ -60,12 +69,16 @@ public final class Gatekeeper {
 	private final ConnectionLimiter connectionLimiter;
 	private final AltDetection altDetection;
 	private final AltNotification altNotification;
+	private final ActiveBanIndex activeBanIndex;
+	private final AssociationQueue associationQueue;
+	private final JoinListener joinListener;
 	private final Time time;
 
 	@Inject
 	public Gatekeeper(Configs configs, FuturePoster futurePoster, FactoryOfTheFuture futuresFactory,
 					  Provider<QueryExecutor> queryExecutor, InternalFormatter formatter,
 					  ConnectionLimiter connectionLimiter, AltDetection altDetection, AltNotification altNotification,
+					  ActiveBanIndex activeBanIndex, AssociationQueue associationQueue, JoinListener joinListener,
 					  Time time) {
 		this.configs = configs;
         this.futurePoster = futurePoster;
@@ -75,43 +88,39 @@ public final class Gatekeeper {
 		this.connectionLimiter = connectionLimiter;
 		this.altDetection = altDetection;
 		this.altNotification = altNotification;
+		this.activeBanIndex = activeBanIndex;
+		this.associationQueue = associationQueue;
+		this.joinListener = joinListener;
 		this.time = time;
 	}
 
 	CentralisedFuture<Component> executeAndCheckConnection(UUID uuid, String name, NetworkAddress address,
 														   Set<ServerScope> scopes, SelectorImpl selector) {
-		return queryExecutor.get().queryWithRetry((context, transaction) -> {
-			Instant currentTime = time.currentTimestamp();
-			EnforcementConfig config = configs.getMainConfig().enforcement();
-
-			boolean recordUserAssociation = config.altsRegistry().shouldRegisterOnConnection();
-			if (recordUserAssociation) {
-				doAssociation(uuid, name, address, currentTime, context);
-			}
-
-			Punishment ban = selector.selectionByApplicabilityBuilder(uuid, address)
-					.type(PunishmentType.BAN)
-					.scopes(SelectionPredicate.matchingAnyOf(scopes))
-					.canAssumeUserRecorded(recordUserAssociation)
-					.build()
-					.findFirstSpecificPunishment(context, currentTime, SortPunishments.LATEST_END_DATE_FIRST);
-			if (ban != null) {
-				return ban;
-			}
-			Component connectionLimitMessage = connectionLimiter.hasExceededLimit(context, address, currentTime);
-			if (connectionLimitMessage != null) {
-				return connectionLimitMessage;
-			}
-			// The player may join, but should be checked for alts
-			EnforcementConfig.AltsAutoShow altsAutoShow = configs.getMainConfig().enforcement().altsAutoShow();
-			if (altsAutoShow.enable() && !altsAutoShow.enableBypassPermission()) {
-				var formatting = configs.getMessagesConfig().alts().autoShow();
-                return altDetection.detectAlts(context, new AltInfoRequest(
-						uuid, address, altsAutoShow.showWhichAlts(), formatting.oldestFirst(), formatting.limit()
-				));
-			}
-			return null;
-		}).thenCompose((banOrLimitMessageOrDetectedAltsOrNull) -> {
+		boolean recordUserAssociation = configs.getMainConfig().enforcement().altsRegistry().shouldRegisterOnConnection();
+		Instant queuedTime = time.currentTimestamp();
+		if (recordUserAssociation) {
+			joinListener.onRecordedJoin(uuid, name, address, queuedTime);
+		}
+		CentralisedFuture<Object> banOrLimitMessageOrDetectedAltsOrNullFuture;
+		if (recordUserAssociation && associationQueue.associateCurrent(uuid, name, address, queuedTime)) {
+			// The association is written later, so the check is read-only and cannot assume the user is recorded
+			banOrLimitMessageOrDetectedAltsOrNullFuture = queryExecutor.get().query(SQLFunction.withWorkload(Workload.LOGIN, SQLFunction.readOnlyOnPrimary((context) -> {
+				return checkConnection(context, uuid, address, scopes, selector, false, queuedTime);
+			})));
+		} else {
+			AtomicBoolean newAddress = new AtomicBoolean();
+			banOrLimitMessageOrDetectedAltsOrNullFuture = queryExecutor.get().queryWithRetry(SQLTransactionalFunction.withWorkload(Workload.LOGIN, (context, transaction) -> {
+				Instant currentTime = time.currentTimestamp();
+				if (recordUserAssociation) {
+					newAddress.set(doAssociation(uuid, name, address, currentTime, context));
+				}
+				return checkConnection(context, uuid, address, scopes, selector, recordUserAssociation, currentTime);
+			})).thenApply((result) -> {
+				linkAfterCommitIfNew(newAddress, uuid, address);
+				return result;
+			});
+		}
+		return banOrLimitMessageOrDetectedAltsOrNullFuture.thenCompose((banOrLimitMessageOrDetectedAltsOrNull) -> {
 			if (banOrLimitMessageOrDetectedAltsOrNull instanceof Punishment punishment) {
 				return formatter.getPunishmentMessage(punishment);
 			}
@@ -128,30 +137,67 @@ public final class Gatekeeper {
 		});
 	}
 
+	private Object checkConnection(DSLContext context, UUID uuid, NetworkAddress address, Set<ServerScope> scopes,
+								   SelectorImpl selector, boolean canAssumeUserRecorded, Instant currentTime) {
+		Punishment ban = findApplicableBan(
+				context, selector, uuid, address, scopes, canAssumeUserRecorded, currentTime
+		);
+		if (ban != null) {
+			return ban;
+		}
+		Component connectionLimitMessage = connectionLimiter.hasExceededLimit(context, address, currentTime);
+		if (connectionLimitMessage != null) {
+			return connectionLimitMessage;
+		}
+		// The player may join, but should be checked for alts
+		EnforcementConfig.AltsAutoShow altsAutoShow = configs.getMainConfig().enforcement().altsAutoShow();
+		if (altsAutoShow.enable() && !altsAutoShow.enableBypassPermission()) {
+			var formatting = configs.getMessagesConfig().alts().autoShow();
+			return altDetection.detectAlts(context, new AltInfoRequest(
+					uuid, address, altsAutoShow.showWhichAlts(), formatting.oldestFirst(), formatting.limit()
+			));
+		}
+		return null;
+	}
+
 	public CentralisedFuture<@Nullable Component> checkServerSwitch(UUID uuid, String name, NetworkAddress address,
 																	String destinationServer, ServerScope serverScope,
 																	SelectorImpl selector) {
 		if (!configs.getMainConfig().platforms().proxies().enforceServerSwitch()) {
 			return futuresFactory.completedFuture(null);
 		}
-		return queryExecutor.get().queryWithRetry((context, transaction) -> {
-			Instant currentTime = time.currentTimestamp();
-			var altsRegistry = configs.getMainConfig().enforcement().altsRegistry();
-			boolean registerOnConnection = altsRegistry.shouldRegisterOnConnection();
-			List<String> serversWithoutAssociation = altsRegistry.serversWithoutRegistration();
-
-			boolean recordUserAssociation = !registerOnConnection && !serversWithoutAssociation.contains(destinationServer);
-			if (recordUserAssociation) {
-				doAssociation(uuid, name, address, currentTime, context);
-			}
+		var altsRegistry = configs.getMainConfig().enforcement().altsRegistry();
+		boolean registerOnConnection = altsRegistry.shouldRegisterOnConnection();
+		List<String> serversWithoutAssociation = altsRegistry.serversWithoutRegistration();
 
-			return selector.selectionByApplicabilityBuilder(uuid, address)
-					.type(PunishmentType.BAN)
-					.scopes(SelectionPredicate.matchingOnly(serverScope))
-					.canAssumeUserRecorded(registerOnConnection || recordUserAssociation)
-					.build()
-					.findFirstSpecificPunishment(context, currentTime, SortPunishments.LATEST_END_DATE_FIRST);
-		}).thenCompose((punishment) -> {
+		boolean recordUserAssociation = !registerOnConnection && !serversWithoutAssociation.contains(destinationServer);
+		Instant queuedTime = time.currentTimestamp();
+		if (recordUserAssociation) {
+			joinListener.onRecordedJoin(uuid, name, address, queuedTime);
+		}
+		CentralisedFuture<Punishment> punishmentFuture;
+		if (!recordUserAssociation || associationQueue.associateCurrent(uuid, name, address, queuedTime)) {
+			// Nothing to write here. However, queued associations may not yet be written
+			boolean canAssumeUserRecorded = registerOnConnection && !associationQueue.isEnabled();
+			punishmentFuture = queryExecutor.get().query(SQLFunction.withWorkload(Workload.LOGIN, SQLFunction.readOnlyOnPrimary((context) -> {
+				return findApplicableBan(
+						context, selector, uuid, address, Set.of(serverScope), canAssumeUserRecorded, queuedTime
+				);
+			})));
+		} else {
+			AtomicBoolean newAddress = new AtomicBoolean();
+			punishmentFuture = queryExecutor.get().queryWithRetry(SQLTransactionalFunction.withWorkload(Workload.LOGIN, (context, transaction) -> {
+				Instant currentTime = time.currentTimestamp();
+				newAddress.set(doAssociation(uuid, name, address, currentTime, context));
+				return findApplicableBan(
+						context, selector, uuid, address, Set.of(serverScope), true, currentTime
+				);
+			})).thenApply((punishment) -> {
+				linkAfterCommitIfNew(newAddress, uuid, address);
+				return punishment;
+			});
+		}
+		return punishmentFuture.thenCompose((punishment) -> {
 			if (punishment != null) {
 				return formatter.getPunishmentMessage(punishment);
 			} else {
@@ -160,11 +206,50 @@ public final class Gatekeeper {
 		});
 	}
 
-	private void doAssociation(UUID uuid, String name, NetworkAddress address,
-							   Instant currentTime, DSLContext context) {
+	private Punishment findApplicableBan(DSLContext context, SelectorImpl selector,
+										 UUID uuid, NetworkAddress address, Set<ServerScope> scopes,
+										 boolean canAssumeUserRecorded, Instant currentTime) {
+		if (activeBanIndex.isReady()) {
+			AddressStrictness strictness = configs.getMainConfig().enforcement().addressStrictness();
+			switch (strictness) {
+				case LENIENT -> {
+					return activeBanIndex.findApplicableBan(uuid, address, List.of(), scopes, currentTime);
+				}
+				case NORMAL -> {
+					// The user's past addresses are a simple indexed lookup, unlike the applicable_bans view
+					List<NetworkAddress> pastAddresses = context
+							.select(ADDRESSES.ADDRESS)
+							.from(ADDRESSES)
+							.where(ADDRESSES.UUID.eq(uuid))
+							.fetch(ADDRESSES.ADDRESS);
+					return activeBanIndex.findApplicableBan(uuid, address, pastAddresses, scopes, currentTime);
+				}
+				// STERN and STRICT rely on the database's knowledge of linked accounts
+				default -> {}
+			}
+		}
+		return selector.selectionByApplicabilityBuilder(uuid, address)
+				.type(PunishmentType.BAN)
+				.scopes(SelectionPredicate.matchingAnyOf(scopes))
+				.canAssumeUserRecorded(canAssumeUserRecorded)
+				.build()
+				.findFirstSpecificPunishment(context, currentTime, SortPunishments.LATEST_END_DATE_FIRST);
+	}
+
+	private boolean doAssociation(UUID uuid, String name, NetworkAddress address,
+								  Instant currentTime, DSLContext context) {
 		Association association = new Association(uuid, context);
 		association.associateCurrentName(name, currentTime);
-		association.associateCurrentAddress(address, currentTime);
+		return association.associateCurrentAddress(address, currentTime);
+	}
+
+	private void linkAfterCommitIfNew(AtomicBoolean newAddress, UUID uuid, NetworkAddress address) {
+		if (newAddress.get()) {
+			// Do not hold up the login
+			futurePoster.postFuture(queryExecutor.get().executeWithRetry(
+					Association.linkAfterCommit(List.of(new Association.NewAddress(uuid, address)))
+			));
+		}
 	}
 
 	<@PlatformPlayer P> CentralisedFuture<Void> onJoin(P player, EnvEnforcer<P> envEnforcer) {
@@ -24,6 +24,7 @@ import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.database.DatabaseConstants;
 import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.database.execute.SQLFunction;
 import space.arim.libertybans.core.database.sql.EndTimeCondition;
@@ -33,6 +34,11 @@ import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static space.arim.libertybans.core.schema.tables.SimpleActive.SIMPLE_ACTIVE;
 import static space.arim.libertybans.core.schema.tables.SimpleHistory.SIMPLE_HISTORY;
 
@@ -107,6 +113,39 @@ public class IDImpl {
 		}));
 	}
 
+	CentralisedFuture<Map<Long, Punishment>> getHistoricalPunishmentsById(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return futuresFactory.completedFuture(Map.of());
+		}
+		InternalDatabase database = dbProvider.get();
+		// Used to receive synchronization messages, which may arrive before replicas see the punishment
+		return database.query(SQLFunction.readOnlyOnPrimary((context) -> {
+			Map<Long, Punishment> punishments = new HashMap<>();
+			for (List<Long> chunk : DatabaseConstants.inListChunks(ids)) {
+				context
+						.select(
+								SIMPLE_HISTORY.ID, SIMPLE_HISTORY.TYPE,
+								SIMPLE_HISTORY.VICTIM_TYPE, SIMPLE_HISTORY.VICTIM_UUID, SIMPLE_HISTORY.VICTIM_ADDRESS,
+								SIMPLE_HISTORY.OPERATOR, SIMPLE_HISTORY.REASON, SIMPLE_HISTORY.SCOPE,
+								SIMPLE_HISTORY.START, SIMPLE_HISTORY.END, SIMPLE_HISTORY.TRACK, SIMPLE_HISTORY.SCOPE_TYPE
+						)
+						.from(SIMPLE_HISTORY)
+						.where(SIMPLE_HISTORY.ID.in(chunk))
+						.forEach((record) -> {
+							long id = record.value1();
+							Punishment punishment = creator.punishmentMapper(id).map(record.into(
+									SIMPLE_HISTORY.TYPE,
+									SIMPLE_HISTORY.VICTIM_TYPE, SIMPLE_HISTORY.VICTIM_UUID, SIMPLE_HISTORY.VICTIM_ADDRESS,
+									SIMPLE_HISTORY.OPERATOR, SIMPLE_HISTORY.REASON, SIMPLE_HISTORY.SCOPE,
+									SIMPLE_HISTORY.START, SIMPLE_HISTORY.END, SIMPLE_HISTORY.TRACK, SIMPLE_HISTORY.SCOPE_TYPE
+							));
+							punishments.put(id, punishment);
+						});
+			}
+			return punishments;
+		}));
+	}
+
 	CentralisedFuture<Punishment> getHistoricalPunishmentByIdAndType(long id, PunishmentType type) {
 		InternalDatabase database = dbProvider.get();
 		return database.query(SQLFunction.readOnly((context) -> {
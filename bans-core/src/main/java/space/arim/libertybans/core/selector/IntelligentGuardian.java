@@ -34,6 +34,7 @@ import space.arim.libertybans.core.uuid.UUIDManager;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +52,8 @@ public final class IntelligentGuardian implements Guardian {
 	private final UUIDManager uuidManager;
 	private final MuteCache muteCache;
 
+	private volatile MuteCommandMatcher muteCommandMatcher;
+
 	@Inject
 	public IntelligentGuardian(Configs configs, FuturePoster futurePoster, FactoryOfTheFuture futuresFactory,
 							   ScopeManager scopeManager, InternalSelector selector,
@@ -114,43 +117,18 @@ public final class IntelligentGuardian implements Guardian {
 		if (command != null && !blockForMuted(command)) {
 			return futuresFactory.completedFuture(null);
 		}
-		return muteCache.getCachedMuteMessage(uuid, address).thenApply((opt) -> opt.orElse(null));
+		return muteCache.getChatMuteMessage(uuid, address);
 	}
 
 	private boolean blockForMuted(String command) {
-		String[] words = command.split(" ");
-		// Handle commands with colons
-		if (words[0].indexOf(':') != -1) {
-			words[0] = words[0].split(":", 2)[1];
-		}
-		for (String muteCommand : configs.getMainConfig().enforcement().muteCommands()) {
-			if (muteCommandMatches(words, muteCommand)) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private static boolean muteCommandMatches(String[] commandWords, String muteCommand) {
-		// Basic equality check
-		if (commandWords[0].equalsIgnoreCase(muteCommand)) {
-			return true;
-		}
-		// Advanced equality check
-		// Essentially a case-insensitive "startsWith" for arrays
-		if (muteCommand.indexOf(' ') != -1) {
-			String[] muteCommandWords = muteCommand.split(" ");
-			if (muteCommandWords.length > commandWords.length) {
-				return false;
-			}
-			for (int n = 0; n < muteCommandWords.length; n++) {
-				if (!muteCommandWords[n].equalsIgnoreCase(commandWords[n])) {
-					return false;
-				}
-			}
-			return true;
+		Set<String> muteCommands = configs.getMainConfig().enforcement().muteCommands();
+		MuteCommandMatcher muteCommandMatcher = this.muteCommandMatcher;
+		if (muteCommandMatcher == null || !muteCommandMatcher.isCompiledFrom(muteCommands)) {
+			// The configuration was loaded or reloaded. Races here are benign
+			muteCommandMatcher = MuteCommandMatcher.compile(muteCommands);
+			this.muteCommandMatcher = muteCommandMatcher;
 		}
-		return false;
+		return muteCommandMatcher.matches(command);
 	}
 
 	@Override
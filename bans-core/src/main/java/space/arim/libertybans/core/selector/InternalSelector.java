@@ -22,12 +22,15 @@ package space.arim.libertybans.core.selector;
 import net.kyori.adventure.text.Component;
 import space.arim.api.env.annote.PlatformPlayer;
 import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.api.scope.ServerScope;
 import space.arim.libertybans.api.select.PunishmentSelector;
 import space.arim.libertybans.api.select.SelectionOrderBuilder;
 import space.arim.libertybans.core.env.EnvEnforcer;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -41,6 +44,15 @@ public interface InternalSelector extends PunishmentSelector {
 	 */
 	SelectionOrderBuilder selectionBuilder(SelectionResources resources);
 
+	/**
+	 * Gets multiple punishments by ID in a single query, whether active or not. Punishments which
+	 * do not exist are omitted from the result. Always reads from the primary database, not a read replica
+	 *
+	 * @param ids the punishment IDs
+	 * @return a future which yields the punishments keyed by ID
+	 */
+	CentralisedFuture<Map<Long, Punishment>> getHistoricalPunishmentsById(Collection<Long> ids);
+
 	/**
 	 * Checks a player connection's in a single connection query, enforcing any applicable bans,
 	 * connection limits, and dealing out alt checks
@@ -0,0 +1,148 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Matches executed commands against the configured mute commands. <br>
+ * <br>
+ * The mute commands are compiled into a case-insensitive trie of characters, with words separated by spaces.
+ * A command is blocked if it begins with the words of any mute command. Matching walks the command in place,
+ * so it neither splits the command nor allocates.
+ *
+ */
+final class MuteCommandMatcher {
+
+	private final Collection<String> muteCommands;
+	private final Node root;
+
+	private MuteCommandMatcher(Collection<String> muteCommands, Node root) {
+		this.muteCommands = muteCommands;
+		this.root = root;
+	}
+
+	/**
+	 * Compiles a matcher for the given mute commands
+	 *
+	 * @param muteCommands the mute commands from the configuration
+	 * @return the matcher
+	 */
+	static MuteCommandMatcher compile(Collection<String> muteCommands) {
+		Node root = new Node();
+		for (String muteCommand : muteCommands) {
+			// Splitting and rejoining discards trailing spaces, as they would be when matching
+			String normalized = String.join(" ", muteCommand.split(" "));
+			Node node = root;
+			for (int n = 0; n < normalized.length(); n++) {
+				node = node.childOrCreate(fold(normalized.charAt(n)));
+			}
+			node.terminal = true;
+		}
+		return new MuteCommandMatcher(muteCommands, root);
+	}
+
+	/**
+	 * Whether this matcher was compiled from the given mute commands. Used to detect configuration reloads
+	 *
+	 * @param muteCommands the mute commands
+	 * @return true if compiled from the same instance
+	 */
+	boolean isCompiledFrom(Collection<String> muteCommands) {
+		return this.muteCommands == muteCommands;
+	}
+
+	/**
+	 * Determines whether the given command should be blocked for muted players
+	 *
+	 * @param command the command, without the leading slash
+	 * @return true if blocked
+	 */
+	boolean matches(String command) {
+		int length = command.length();
+		int start = 0;
+		// Handle commands with colons, such as 'essentials:msg'
+		for (int n = 0; n < length; n++) {
+			char c = command.charAt(n);
+			if (c == ' ') {
+				break;
+			}
+			if (c == ':') {
+				start = n + 1;
+				break;
+			}
+		}
+		Node node = root;
+		for (int n = start; ; n++) {
+			if (node.terminal && (n == length || command.charAt(n) == ' ')) {
+				// All words of a mute command were matched
+				return true;
+			}
+			if (n == length || (node = node.child(fold(command.charAt(n)))) == null) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Folds the case of a character such that two characters are equal ignoring case, per
+	 * {@link String#equalsIgnoreCase(String)}, if and only if their folded forms are equal
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static final class Node {
+
+		// Parallel arrays, which are small enough that a linear scan is best
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		boolean terminal;
+
+		Node child(char key) {
+			char[] keys = this.keys;
+			for (int n = 0; n < keys.length; n++) {
+				if (keys[n] == key) {
+					return children[n];
+				}
+			}
+			return null;
+		}
+
+		Node childOrCreate(char key) {
+			Node existing = child(key);
+			if (existing != null) {
+				return existing;
+			}
+			Node child = new Node();
+			int size = keys.length;
+			keys = Arrays.copyOf(keys, size + 1);
+			children = Arrays.copyOf(children, size + 1);
+			keys[size] = key;
+			children[size] = child;
+			return child;
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.api.select.SortPunishments;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.jooq.impl.DSL.val;
+
+/**
+ * A pre-rendered query for a selection, which may be executed repeatedly with different variables. <br>
+ * <br>
+ * The plan is compiled by building the query twice, each time with different random placeholder variables.
+ * Bind values matching the placeholders become slots, filled with the real variables upon execution. All other
+ * bind values must be identical between the two builds; otherwise the selection cannot be planned, because
+ * the query is not determined by its shape alone.
+ *
+ */
+final class QueryPlan {
+
+	private final String sql;
+	private final List<Param<?>> params;
+	private final Slot[] slots;
+	private final List<Field<?>> fields;
+	private final RecordMapper<Record, Punishment> mapper;
+
+	private QueryPlan(String sql, List<Param<?>> params, Slot[] slots,
+					  List<Field<?>> fields, RecordMapper<Record, Punishment> mapper) {
+		this.sql = sql;
+		this.params = params;
+		this.slots = slots;
+		this.fields = fields;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Compiles a plan for selecting a single punishment
+	 *
+	 * @param selection the selection, which must have a plan shape
+	 * @param dialect the SQL dialect
+	 * @param settings the jOOQ settings
+	 * @param prioritization sorting prioritization
+	 * @return the plan, or null if the selection cannot be planned
+	 */
+	static @Nullable QueryPlan compile(SelectionByApplicabilityImpl selection, SQLDialect dialect, Settings settings,
+									   SortPunishments...prioritization) {
+		// Build without a connection, so that the plan does not hold onto it
+		DSLContext renderContext = DSL.using(dialect, settings);
+		Variables firstVariables = Variables.placeholders();
+		Variables secondVariables = Variables.placeholders();
+		SelectionBaseSQL.Query<?> firstQuery = build(selection, firstVariables, renderContext, prioritization);
+		Select<?> first = firstQuery.select();
+		Select<?> second = build(selection, secondVariables, renderContext, prioritization).select();
+
+		String sql = renderContext.render(first);
+		if (!sql.equals(renderContext.render(second))) {
+			return null;
+		}
+		List<Param<?>> params = new ArrayList<>(renderContext.extractParams(first).values());
+		List<Param<?>> secondParams = new ArrayList<>(renderContext.extractParams(second).values());
+		// Inlined parameters are already part of the SQL
+		params.removeIf(Param::isInline);
+		secondParams.removeIf(Param::isInline);
+		List<Object> bindValues = renderContext.extractBindValues(first);
+		if (params.size() != secondParams.size() || params.size() != bindValues.size()) {
+			return null;
+		}
+		Slot[] slots = new Slot[params.size()];
+		for (int n = 0; n < slots.length; n++) {
+			Object value = params.get(n).getValue();
+			if (!Objects.equals(value, bindValues.get(n))) {
+				// Parameters are not in bind order
+				return null;
+			}
+			Object secondValue = secondParams.get(n).getValue();
+			Slot slot = Slot.matching(value, firstVariables);
+			if (slot != null && slot == Slot.matching(secondValue, secondVariables)) {
+				slots[n] = slot;
+			} else if (!Objects.equals(value, secondValue)) {
+				// The value is derived from the variables in some other way
+				return null;
+			}
+		}
+		@SuppressWarnings("unchecked")
+		RecordMapper<Record, Punishment> mapper = (RecordMapper<Record, Punishment>) firstQuery.mapper();
+		return new QueryPlan(sql, List.copyOf(params), slots, List.copyOf(first.getSelect()), mapper);
+	}
+
+	private static SelectionBaseSQL.Query<?> build(SelectionByApplicabilityImpl selection, Variables variables,
+												   DSLContext renderContext, SortPunishments[] prioritization) {
+		return selection.withPlanVariables(variables).requestQuery(new SelectionBaseSQL.QueryParameters(
+				renderContext, 1, variables.currentTime(), prioritization
+		));
+	}
+
+	/**
+	 * Executes this plan
+	 *
+	 * @param context the database access
+	 * @param variables the variables
+	 * @return the single punishment selected, or null if there is none
+	 */
+	Punishment fetchOne(DSLContext context, Variables variables) {
+		Object[] bindings = new Object[params.size()];
+		for (int n = 0; n < bindings.length; n++) {
+			Param<?> param = params.get(n);
+			Slot slot = slots[n];
+			// Reuse the existing parameter if possible. Otherwise, bind the variable with the same data type
+			bindings[n] = (slot == null) ? param : val(slot.valueIn(variables), param.getDataType());
+		}
+		return context
+				.resultQuery(sql, bindings)
+				.coerce(fields)
+				.fetchOne(mapper);
+	}
+
+	/**
+	 * Visible for testing
+	 *
+	 * @return the pre-rendered SQL
+	 */
+	String sql() {
+		return sql;
+	}
+
+	/**
+	 * The variables which differ between executions of the same plan
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the user's address
+	 * @param currentTime the current time
+	 */
+	record Variables(UUID uuid, NetworkAddress address, Instant currentTime) {
+
+		static Variables placeholders() {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			byte[] address = new byte[16];
+			random.nextBytes(address);
+			return new Variables(
+					new UUID(random.nextLong(), random.nextLong()),
+					NetworkAddress.of(address),
+					// Far enough in the future not to be mistaken for any other value
+					Instant.ofEpochSecond(random.nextLong(1L << 40, 1L << 41))
+			);
+		}
+	}
+
+	private enum Slot {
+		UUID,
+		ADDRESS,
+		CURRENT_TIME;
+
+		static @Nullable Slot matching(Object value, Variables placeholders) {
+			if (placeholders.uuid().equals(value)) {
+				return UUID;
+			}
+			if (placeholders.address().equals(value)) {
+				return ADDRESS;
+			}
+			if (placeholders.currentTime().equals(value)) {
+				return CURRENT_TIME;
+			}
+			return null;
+		}
+
+		Object valueIn(Variables variables) {
+			return switch (this) {
+				case UUID -> variables.uuid();
+				case ADDRESS -> variables.address();
+				case CURRENT_TIME -> variables.currentTime();
+			};
+		}
+	}
+
+}
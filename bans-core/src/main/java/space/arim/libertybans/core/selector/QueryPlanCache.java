@@ -0,0 +1,104 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import space.arim.libertybans.api.select.SortPunishments;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches {@link QueryPlan}s by the shape of the selection, so that the queries made on login and
+ * for mute checks need not be rebuilt and rendered every time.
+ *
+ */
+@Singleton
+public final class QueryPlanCache {
+
+	private final Map<Key, Optional<QueryPlan>> plans = new ConcurrentHashMap<>();
+
+	/**
+	 * Selections are expected to have few shapes. This bound is a safeguard
+	 */
+	static final int MAX_PLANS = 512;
+
+	@Inject
+	public QueryPlanCache() {}
+
+	/**
+	 * Gets or compiles the plan for selecting a single punishment
+	 *
+	 * @param selection the selection
+	 * @param context the database access
+	 * @param prioritization sorting prioritization
+	 * @return the plan, or null if the selection cannot be planned
+	 */
+	@Nullable QueryPlan planFor(SelectionByApplicabilityImpl selection, DSLContext context,
+								SortPunishments...prioritization) {
+		Object shape = selection.planShape();
+		if (shape == null) {
+			return null;
+		}
+		Key key = new Key(shape, List.of(prioritization), context.dialect(), context.settings(),
+				executeListeners(context.configuration()));
+		Optional<QueryPlan> plan = plans.get(key);
+		if (plan == null) {
+			if (plans.size() >= MAX_PLANS) {
+				return null;
+			}
+			// Compile once, even if several threads miss at the same time
+			plan = plans.computeIfAbsent(key, (k) -> Optional.ofNullable(
+					QueryPlan.compile(selection, context.dialect(), context.settings(), prioritization)
+			));
+		}
+		return plan.orElse(null);
+	}
+
+	/**
+	 * Identifies the execute listeners, such as the one providing retro support, which rewrite the
+	 * rendered SQL. Listener instances differ between contexts, so their types are compared
+	 *
+	 * @param configuration the configuration
+	 * @return the types of the execute listener providers
+	 */
+	private static List<Class<?>> executeListeners(Configuration configuration) {
+		ExecuteListenerProvider[] providers = configuration.executeListenerProviders();
+		List<Class<?>> types = new ArrayList<>(providers.length);
+		for (ExecuteListenerProvider provider : providers) {
+			types.add(provider.getClass());
+		}
+		return types;
+	}
+
+	private record Key(Object shape, List<SortPunishments> prioritization, SQLDialect dialect,
+					   Settings settings, List<Class<?>> executeListeners) { }
+
+}
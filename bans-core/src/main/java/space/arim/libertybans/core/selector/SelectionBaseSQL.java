@@ -40,6 +40,7 @@ import space.arim.libertybans.api.scope.ServerScope;
 import space.arim.libertybans.api.select.SelectionPredicate;
 import space.arim.libertybans.api.select.SortPunishments;
 import space.arim.libertybans.core.database.execute.SQLFunction;
+import space.arim.libertybans.core.database.execute.Workload;
 import space.arim.libertybans.core.database.pagination.KeysetAnchor;
 import space.arim.libertybans.core.database.pagination.Pagination;
 import space.arim.libertybans.core.database.pagination.StartTimeThenId;
@@ -482,6 +483,19 @@ public abstract class SelectionBaseSQL extends SelectionBaseImpl {
 
 	abstract Query<?> requestQuery(QueryParameters parameters);
 
+	SelectionResources resources() {
+		return resources;
+	}
+
+	/**
+	 * The workload for finding a single punishment with {@link #getFirstSpecificPunishment(SortPunishments...)}
+	 *
+	 * @return the workload
+	 */
+	Workload singleLookupWorkload() {
+		return Workload.STANDARD;
+	}
+
 	private boolean selectActiveKicks() {
 		return selectActiveOnly()
 				&& getTypes().isSimpleEquality()
@@ -523,9 +537,9 @@ public abstract class SelectionBaseSQL extends SelectionBaseImpl {
 			return resources.futuresFactory().completedFuture(Optional.empty());
 		}
 		return resources.dbProvider().get()
-				.query(SQLFunction.readOnly((context) -> {
+				.query(SQLFunction.withWorkload(singleLookupWorkload(), SQLFunction.readOnly((context) -> {
 					return findFirstSpecificPunishment(context, resources.time().currentTimestamp(), prioritization);
-				}))
+				})))
 				.thenApply(Optional::ofNullable);
 	}
 
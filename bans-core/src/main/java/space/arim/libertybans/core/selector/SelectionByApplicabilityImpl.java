@@ -19,20 +19,26 @@
 
 package space.arim.libertybans.core.selector;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.Condition;
+import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.Table;
 import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.Victim;
 import space.arim.libertybans.api.Victim.VictimType;
+import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.api.select.AddressStrictness;
 import space.arim.libertybans.api.select.SelectionByApplicability;
+import space.arim.libertybans.api.select.SortPunishments;
 import space.arim.libertybans.core.database.sql.ApplicableViewFields;
 import space.arim.libertybans.core.database.sql.DeserializedVictim;
 import space.arim.libertybans.core.database.sql.PunishmentFields;
+import space.arim.libertybans.core.database.execute.Workload;
 import space.arim.libertybans.core.database.sql.VictimCondition;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -248,6 +254,69 @@ public final class SelectionByApplicabilityImpl extends SelectionBaseSQL impleme
 		}.constructSelect(table, tableUnion, victimCond, victimCondUnion);
 	}
 
+	@Override
+	Workload singleLookupWorkload() {
+		// Used to enforce punishments, such as looking up mutes for the mute cache
+		return Workload.LOGIN;
+	}
+
+	@Override
+	public Punishment findFirstSpecificPunishment(DSLContext context, Instant currentTime,
+												  SortPunishments...prioritization) {
+		QueryPlan plan = resources().queryPlans().planFor(this, context, prioritization);
+		if (plan != null) {
+			return plan.fetchOne(context, planVariables(currentTime));
+		}
+		return super.findFirstSpecificPunishment(context, currentTime, prioritization);
+	}
+
+	/**
+	 * Identifies the queries built by this selection, for the purpose of caching query plans. <br>
+	 * <br>
+	 * If two selections have equal plan shapes, they must build the same query except for the
+	 * variables handled by {@link QueryPlan.Variables}.
+	 *
+	 * @return the plan shape, or null if this selection should not use a query plan
+	 */
+	@Nullable Object planShape() {
+		if (strictness == AddressStrictness.NORMAL && potentialNewEntrant) {
+			// The number of addresses varies
+			return null;
+		}
+		Details details = details();
+		if (details.pageAnchor() != null || details.skipCount() != 0
+				|| !details.seekAfterStartTime().equals(Instant.EPOCH)
+				|| !details.seekBeforeStartTime().equals(Instant.MAX)) {
+			// Pagination is used for listing punishments, not enforcement
+			return null;
+		}
+		return new PlanShape(details, strictness, potentialNewEntrant);
+	}
+
+	private record PlanShape(Details details, AddressStrictness strictness, boolean potentialNewEntrant) { }
+
+	/**
+	 * Creates a copy of this selection using the given variables
+	 *
+	 * @param variables the variables
+	 * @return a selection with the same plan shape
+	 */
+	SelectionByApplicabilityImpl withPlanVariables(QueryPlan.Variables variables) {
+		return new SelectionByApplicabilityImpl(
+				details(), resources(), variables.uuid(), variables.address(), strictness, potentialNewEntrant
+		);
+	}
+
+	/**
+	 * Gets the variables of this selection
+	 *
+	 * @param currentTime the current time
+	 * @return the variables
+	 */
+	QueryPlan.Variables planVariables(Instant currentTime) {
+		return new QueryPlan.Variables(uuid, address, currentTime);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -38,14 +38,16 @@ public final class SelectionResources {
 	private final InternalScopeManager scopeManager;
 	private final PunishmentCreator creator;
 	private final Time time;
+	private final QueryPlanCache queryPlans;
 
 	@Inject
-    public SelectionResources(FactoryOfTheFuture futuresFactory, Provider<QueryExecutor> dbProvider, InternalScopeManager scopeManager, PunishmentCreator creator, Time time) {
+    public SelectionResources(FactoryOfTheFuture futuresFactory, Provider<QueryExecutor> dbProvider, InternalScopeManager scopeManager, PunishmentCreator creator, Time time, QueryPlanCache queryPlans) {
         this.futuresFactory = futuresFactory;
         this.dbProvider = dbProvider;
         this.scopeManager = scopeManager;
         this.creator = creator;
         this.time = time;
+        this.queryPlans = queryPlans;
     }
 
 	public FactoryOfTheFuture futuresFactory() {
@@ -68,4 +70,8 @@ public final class SelectionResources {
 		return time;
 	}
 
+	public QueryPlanCache queryPlans() {
+		return queryPlans;
+	}
+
 }
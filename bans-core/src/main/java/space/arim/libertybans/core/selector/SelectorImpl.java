@@ -37,6 +37,8 @@ import space.arim.libertybans.core.selector.cache.MuteCache;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.ReactionStage;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -106,6 +108,11 @@ public class SelectorImpl implements InternalSelector {
 		return idImpl.getHistoricalPunishmentByIdAndType(id, type).thenApply(Optional::ofNullable);
 	}
 
+	@Override
+	public CentralisedFuture<Map<Long, Punishment>> getHistoricalPunishmentsById(Collection<Long> ids) {
+		return idImpl.getHistoricalPunishmentsById(ids);
+	}
+
 	/*
 	 * 
 	 * Applicability methods
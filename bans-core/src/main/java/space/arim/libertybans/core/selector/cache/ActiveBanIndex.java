@@ -0,0 +1,359 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.arim.libertybans.api.AddressVictim;
+import space.arim.libertybans.api.CompositeVictim;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.PlayerVictim;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.Victim;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.api.scope.ServerScope;
+import space.arim.libertybans.api.select.PunishmentSelector;
+import space.arim.libertybans.core.Part;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.omnibus.util.ThisClass;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static space.arim.libertybans.api.CompositeVictim.WILDCARD_ADDRESS;
+import static space.arim.libertybans.api.CompositeVictim.WILDCARD_UUID;
+
+/**
+ * An optional, memory-resident index of active bans keyed by UUID and by network address. <br>
+ * <br>
+ * When enabled, incoming logins can be checked for bans without querying the ban views. The index is
+ * loaded at startup and kept current by {@code GlobalEnforcement} for punishments made on this instance,
+ * and by the synchronization message receiver for punishments made on other instances. Anything which
+ * changes punishments in bulk without going through enforcement, such as an import, must {@link #reload()}
+ * the index afterward.
+ *
+ */
+@Singleton
+public final class ActiveBanIndex implements Part {
+
+	private final Configs configs;
+	private final Provider<PunishmentSelector> selector;
+
+	private volatile Index index;
+
+	private static final Logger logger = LoggerFactory.getLogger(ThisClass.get());
+
+	@Inject
+	public ActiveBanIndex(Configs configs, Provider<PunishmentSelector> selector) {
+		this.configs = configs;
+		this.selector = selector;
+	}
+
+	@Override
+	public void startup() {
+		reload().join();
+	}
+
+	/**
+	 * Discards the current contents and loads the index anew from the database, without blocking. <br>
+	 * <br>
+	 * The index is not {@link #isReady()} until loading completes, so that callers fall back to the database
+	 * in the meantime. Does nothing if the index is disabled.
+	 *
+	 * @return a future completed once loading is finished
+	 */
+	public CompletableFuture<?> reload() {
+		if (!configs.getSqlConfig().activeBanIndex().enable()) {
+			index = null;
+			return CompletableFuture.completedFuture(null);
+		}
+		Index index = new Index();
+		// Install the index first, so that changes made while loading are not lost
+		this.index = index;
+		return selector.get()
+				.selectionBuilder()
+				.type(PunishmentType.BAN)
+				.selectActiveOnly()
+				.build()
+				.getAllSpecificPunishments()
+				.toCompletableFuture()
+				.thenAccept((activeBans) -> {
+					index.finishLoading(activeBans);
+					logger.debug("Loaded {} active bans into memory", activeBans.size());
+				});
+	}
+
+	@Override
+	public void restart() {
+		startup();
+	}
+
+	@Override
+	public void shutdown() {
+		index = null;
+	}
+
+	/**
+	 * Whether the index is enabled and loaded, such that it may be used in place of the database
+	 *
+	 * @return true if ready for use
+	 */
+	public boolean isReady() {
+		Index index = this.index;
+		return index != null && index.loaded;
+	}
+
+	/**
+	 * Finds the applicable ban with the latest end date. The victim of the ban must either match the given
+	 * UUID, or match the current address or one of the past addresses.
+	 *
+	 * @param uuid the user's UUID
+	 * @param address the user's current address
+	 * @param pastAddresses further addresses to check. Duplicates, including of the current address, are
+	 *                      permitted. The collection is only iterated, never modified
+	 * @param scopes the scopes one of which the ban must be in
+	 * @param currentTime the current time
+	 * @return the ban with the latest end date, or null if there is none
+	 * @throws IllegalStateException if the index is not {@link #isReady()}
+	 */
+	public @Nullable Punishment findApplicableBan(UUID uuid, NetworkAddress address,
+												  Collection<NetworkAddress> pastAddresses,
+												  Set<ServerScope> scopes, Instant currentTime) {
+		Index index = this.index;
+		if (index == null || !index.loaded) {
+			throw new IllegalStateException("Active ban index is not ready");
+		}
+		Punishment bestCandidate = index.bestCandidate(index.byUUID.get(uuid), null, scopes, currentTime);
+		bestCandidate = index.bestCandidate(index.byAddress.get(address), bestCandidate, scopes, currentTime);
+		for (NetworkAddress pastAddress : pastAddresses) {
+			bestCandidate = index.bestCandidate(index.byAddress.get(pastAddress), bestCandidate, scopes, currentTime);
+		}
+		return bestCandidate;
+	}
+
+	/**
+	 * Adds or replaces a punishment. Does nothing if the index is disabled or the punishment is not a ban
+	 *
+	 * @param punishment the punishment
+	 */
+	public void update(Punishment punishment) {
+		Index index = this.index;
+		if (index != null && punishment.getType() == PunishmentType.BAN) {
+			index.update(punishment);
+		}
+	}
+
+	/**
+	 * Removes a punishment by ID. Does nothing if the index is disabled or the punishment is not present
+	 *
+	 * @param id the punishment ID
+	 */
+	public void remove(long id) {
+		Index index = this.index;
+		if (index != null) {
+			index.remove(id);
+		}
+	}
+
+	private static final class Index {
+
+		private final Map<Long, Punishment> byId = new ConcurrentHashMap<>();
+		private final Map<UUID, List<Punishment>> byUUID = new ConcurrentHashMap<>();
+		private final Map<NetworkAddress, List<Punishment>> byAddress = new ConcurrentHashMap<>();
+
+		// Guarded by this
+		private Set<Long> removedWhileLoading = new HashSet<>();
+		private volatile boolean loaded;
+
+		/*
+		Writes are synchronized, since punishments are made rarely in comparison to logins.
+		Reads are lock-free: the lists stored in the maps are immutable and replaced on every write.
+		Readers also drop expired bans without the lock, see removeExpired.
+		 */
+
+		synchronized void finishLoading(List<Punishment> activeBans) {
+			for (Punishment ban : activeBans) {
+				Long id = ban.getIdentifier();
+				// If the ban was updated or removed while loading, the newer information takes precedence
+				if (!byId.containsKey(id) && !removedWhileLoading.contains(id)) {
+					add(ban);
+				}
+			}
+			removedWhileLoading = null;
+			loaded = true;
+		}
+
+		synchronized void update(Punishment punishment) {
+			removeExisting(punishment.getIdentifier());
+			add(punishment);
+		}
+
+		synchronized void remove(long id) {
+			removeExisting(id);
+			if (removedWhileLoading != null) {
+				removedWhileLoading.add(id);
+			}
+		}
+
+		private void add(Punishment punishment) {
+			byId.put(punishment.getIdentifier(), punishment);
+			Victim victim = punishment.getVictim();
+			UUID uuid = uuidKey(victim);
+			if (uuid != null) {
+				byUUID.compute(uuid, (k, existing) -> with(existing, punishment));
+			}
+			NetworkAddress address = addressKey(victim);
+			if (address != null) {
+				byAddress.compute(address, (k, existing) -> with(existing, punishment));
+			}
+		}
+
+		private void removeExisting(long id) {
+			Punishment existing = byId.remove(id);
+			if (existing == null) {
+				return;
+			}
+			Victim victim = existing.getVictim();
+			UUID uuid = uuidKey(victim);
+			if (uuid != null) {
+				byUUID.computeIfPresent(uuid, (k, punishments) -> without(punishments, id));
+			}
+			NetworkAddress address = addressKey(victim);
+			if (address != null) {
+				byAddress.computeIfPresent(address, (k, punishments) -> without(punishments, id));
+			}
+		}
+
+		/*
+		Removes an expired ban without taking the lock. Only that very instance is removed, so that if the
+		punishment is concurrently updated, the update prevails. Each map operation is atomic per key:
+		- If the update removes the expired ban first, this does nothing.
+		- Otherwise, the update finds nothing to remove, and this strips the expired ban from the lists.
+		 */
+		private void removeExpired(Punishment expired) {
+			boolean[] removed = {false};
+			byId.computeIfPresent(expired.getIdentifier(), (k, current) -> {
+				if (current != expired) {
+					return current;
+				}
+				removed[0] = true;
+				return null;
+			});
+			if (!removed[0]) {
+				return;
+			}
+			Victim victim = expired.getVictim();
+			UUID uuid = uuidKey(victim);
+			if (uuid != null) {
+				byUUID.computeIfPresent(uuid, (k, punishments) -> without(punishments, expired));
+			}
+			NetworkAddress address = addressKey(victim);
+			if (address != null) {
+				byAddress.computeIfPresent(address, (k, punishments) -> without(punishments, expired));
+			}
+		}
+
+		private @Nullable Punishment bestCandidate(@Nullable List<Punishment> candidates, @Nullable Punishment best,
+												   Set<ServerScope> scopes, Instant currentTime) {
+			if (candidates == null) {
+				return best;
+			}
+			for (Punishment candidate : candidates) {
+				Instant endDate = candidate.getEndDate();
+				if (!candidate.isPermanent() && !endDate.isAfter(currentTime)) {
+					// Expired. Keep the index from accumulating stale entries
+					removeExpired(candidate);
+					continue;
+				}
+				if (!scopes.contains(candidate.getScope())) {
+					continue;
+				}
+				if (best == null || endDate.isAfter(best.getEndDate())) {
+					best = candidate;
+				}
+			}
+			return best;
+		}
+
+		private static @Nullable UUID uuidKey(Victim victim) {
+			if (victim instanceof PlayerVictim playerVictim) {
+				return playerVictim.getUUID();
+			}
+			if (victim instanceof CompositeVictim compositeVictim && !compositeVictim.getUUID().equals(WILDCARD_UUID)) {
+				return compositeVictim.getUUID();
+			}
+			return null;
+		}
+
+		private static @Nullable NetworkAddress addressKey(Victim victim) {
+			if (victim instanceof AddressVictim addressVictim) {
+				return addressVictim.getAddress();
+			}
+			if (victim instanceof CompositeVictim compositeVictim && !compositeVictim.getAddress().equals(WILDCARD_ADDRESS)) {
+				return compositeVictim.getAddress();
+			}
+			return null;
+		}
+
+		private static List<Punishment> with(@Nullable List<Punishment> existing, Punishment punishment) {
+			if (existing == null) {
+				return List.of(punishment);
+			}
+			List<Punishment> updated = new ArrayList<>(existing.size() + 1);
+			updated.addAll(existing);
+			updated.add(punishment);
+			return List.copyOf(updated);
+		}
+
+		private static @Nullable List<Punishment> without(List<Punishment> existing, long id) {
+			List<Punishment> updated = new ArrayList<>(existing.size());
+			for (Punishment punishment : existing) {
+				if (punishment.getIdentifier() != id) {
+					updated.add(punishment);
+				}
+			}
+			// Returning null removes the mapping
+			return updated.isEmpty() ? null : List.copyOf(updated);
+		}
+
+		private static @Nullable List<Punishment> without(List<Punishment> existing, Punishment instance) {
+			List<Punishment> updated = new ArrayList<>(existing.size());
+			for (Punishment punishment : existing) {
+				if (punishment != instance) {
+					updated.add(punishment);
+				}
+			}
+			return updated.isEmpty() ? null : List.copyOf(updated);
+		}
+	}
+
+}
@@ -63,6 +63,8 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 	private final InternalFormatter formatter;
 	private final Time time;
 
+	private final CentralisedFuture<Component> noMuteMessage;
+
 	private volatile Cache cache;
 
 	static final long GRACE_PERIOD_NANOS = TimeUnit.MINUTES.toNanos(4);
@@ -71,13 +73,15 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 	@Inject
 	public AlwaysAvailableMuteCache(Configs configs, FactoryOfTheFuture futuresFactory,
 									PunishmentSelector selector, EnhancedExecutor enhancedExecutor,
-									EnvUserResolver envUserResolver, InternalFormatter formatter, Time time) {
-		super(configs, selector);
+									EnvUserResolver envUserResolver, InternalFormatter formatter, Time time,
+									MuteExpiryScheduler expiryScheduler) {
+		super(configs, selector, expiryScheduler);
 		this.futuresFactory = futuresFactory;
 		this.enhancedExecutor = enhancedExecutor;
 		this.envUserResolver = envUserResolver;
 		this.formatter = formatter;
 		this.time = time;
+		noMuteMessage = futuresFactory.completedFuture(null);
 	}
 
 	@Override
@@ -87,6 +91,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 			cache.startPurgeTask();
 			this.cache = cache;
 		});
+		startExpiryScheduler();
 	}
 
 	@Override
@@ -103,6 +108,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 	@Override
 	public void shutdown() {
 		cache.stopPurgeTask();
+		stopExpiryScheduler();
 	}
 
 	private long nanoTime() {
@@ -120,7 +126,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 
 	private CentralisedFuture<MuteAndMessage> formatMessage(Punishment mute) {
 		return formatter.getPunishmentMessage(mute)
-				.thenApply((message) -> new MuteAndMessage(mute, message));
+				.thenApply((message) -> new MuteAndMessage(mute, message, futuresFactory.completedFuture(message)));
 	}
 
 	@Override
@@ -135,6 +141,24 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 				.thenApply((opt) -> opt.map(MuteAndMessage::message));
 	}
 
+	@Override
+	public CentralisedFuture<@Nullable Component> getChatMuteMessage(UUID uuid, NetworkAddress address) {
+		MuteCacheKey cacheKey = new MuteCacheKey(uuid, address);
+		Cache cache = this.cache;
+		// Fast path: a plain read, which does not lock, for when the entry needs no update
+		Entry cacheEntry = cache.map.get(cacheKey);
+		if (cacheEntry != null) {
+			CentralisedFuture<MuteAndMessage> nextValue = cacheEntry.nextValue;
+			boolean nextValueReady = nextValue != null && nextValue.isDone();
+			long updatedAgo = nanoTime() - cacheEntry.lastUpdated;
+			if (!nextValueReady && updatedAgo < cache.expirationTimeNanos) {
+				MuteAndMessage currentValue = cacheEntry.currentValue;
+				return (currentValue == null) ? noMuteMessage : currentValue.completedMessage();
+			}
+		}
+		return cacheRequest(cacheKey).thenApply((opt) -> opt.map(MuteAndMessage::message).orElse(null));
+	}
+
 	private CentralisedFuture<Optional<MuteAndMessage>> cacheRequest(MuteCacheKey cacheKey) {
 		Cache cache = this.cache;
 		Entry cacheEntry = cache.map.computeIfPresent(cacheKey, (key, entry) -> {
@@ -155,7 +179,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 				nextValue = queryPunishmentAndMessage(key);
 				lastUpdated = currentTime;
 			}
-			return new Entry(currentValue, lastUpdated, nextValue);
+			return updateEntry(key, entry, new Entry(currentValue, lastUpdated, nextValue));
 		});
 		if (cacheEntry == null) {
 			// The player is offline. This should only happen through an API request.
@@ -192,6 +216,22 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 		}
 	}
 
+	@Override
+	void evictExpiredMute(MuteCacheKey cacheKey, Punishment mute) {
+		cache.map.computeIfPresent(cacheKey, (key, entry) -> {
+			MuteAndMessage currentValue = entry.currentValue;
+			CentralisedFuture<MuteAndMessage> nextValue = entry.nextValue;
+			boolean evictCurrent = currentValue != null && currentValue.mute().equals(mute);
+			boolean evictNext = nextValue != null && holdsMute(nextValue, mute);
+			if (!evictCurrent && !evictNext) {
+				return entry;
+			}
+			return new Entry(
+					evictCurrent ? null : currentValue, entry.lastUpdated, evictNext ? null : nextValue
+			);
+		});
+	}
+
 	@Override
 	public CentralisedFuture<?> cacheOnLogin(UUID uuid, NetworkAddress address) {
 		final long currentTime = nanoTime();
@@ -215,7 +255,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 			}
 			// Always update lastUpdated, to prevent periodic invalidation
 			// But subtract 1 to signal to ourselves outside the lambda
-			return new Entry(currentValue, currentTime - 1, nextValue);
+			return updateEntry(key, existingEntry, new Entry(currentValue, currentTime - 1, nextValue));
 		});
 		if (entry.lastUpdated == currentTime) {
 			// Wait for our newly-entered computation
@@ -246,6 +286,7 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 				} else {
 					// There is a next value in-progress but not yet ready
 					// Keep it, as it will be more accurate in case there are multiple applicable mutes
+					// The new mute stays tracked, since the next value may yet hold it
 					return entry;
 				}
 			}
@@ -253,8 +294,10 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 			if (currentValue == null || mute.getEndDate().isAfter(currentValue.mute().getEndDate())) {
 				nextValue = formatMessage(mute);
 				lastUpdated = nanoTime();
+			} else if (!currentValue.mute().equals(mute)) {
+				releaseMute(key, mute);
 			}
-			return new Entry(currentValue, lastUpdated, nextValue);
+			return updateEntry(key, entry, new Entry(currentValue, lastUpdated, nextValue));
 		});
 	}
 
@@ -296,7 +339,9 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 						}
 						// The player is offline and the grace period has passed
 						// IMPORTANT: This relies on the exact Entry instance for concurrent correctness
-						map.remove(key, entry);
+						if (map.remove(key, entry)) {
+							releaseMutesNotHeld(key, entry, null);
+						}
 					});
 					removalFutures.add(thisFuture);
 				}
@@ -311,6 +356,59 @@ public final class AlwaysAvailableMuteCache extends BaseMuteCache {
 		}
 	}
 
+	// Mutes cached under a key are tracked by the expiry scheduler, until the key no longer holds them
+
+	private Entry updateEntry(MuteCacheKey key, Entry oldEntry, Entry newEntry) {
+		releaseMutesNotHeld(key, oldEntry, newEntry);
+		return newEntry;
+	}
+
+	private void releaseMutesNotHeld(MuteCacheKey key, Entry oldEntry, @Nullable Entry newEntry) {
+		MuteAndMessage currentValue = oldEntry.currentValue;
+		if (currentValue != null && !holdsMute(newEntry, currentValue.mute())) {
+			releaseMute(key, currentValue.mute());
+		}
+		CentralisedFuture<MuteAndMessage> nextValue = oldEntry.nextValue;
+		if (nextValue == null || newEntry != null && newEntry.nextValue == nextValue) {
+			return;
+		}
+		if (nextValue.isDone()) {
+			// Usually, the new entry has taken the next value as its current value
+			if (!nextValue.isCompletedExceptionally()) {
+				MuteAndMessage next = nextValue.join();
+				if (next != null && !holdsMute(newEntry, next.mute())) {
+					releaseMute(key, next.mute());
+				}
+			}
+			return;
+		}
+		// The next value was discarded while in progress, and is tracked once it completes
+		nextValue.thenAccept((next) -> {
+			if (next != null && !holdsMute(cache.map.get(key), next.mute())) {
+				releaseMute(key, next.mute());
+			}
+		});
+	}
+
+	private static boolean holdsMute(@Nullable Entry entry, Punishment mute) {
+		if (entry == null) {
+			return false;
+		}
+		MuteAndMessage currentValue = entry.currentValue;
+		if (currentValue != null && currentValue.mute().equals(mute)) {
+			return true;
+		}
+		return entry.nextValue != null && holdsMute(entry.nextValue, mute);
+	}
+
+	private static boolean holdsMute(CentralisedFuture<MuteAndMessage> future, Punishment mute) {
+		if (!future.isDone() || future.isCompletedExceptionally()) {
+			return false;
+		}
+		MuteAndMessage value = future.join();
+		return value != null && value.mute().equals(mute);
+	}
+
 	private record Entry(@Nullable MuteAndMessage currentValue, long lastUpdated,
 						 @Nullable CentralisedFuture<MuteAndMessage> nextValue) { }
 
@@ -19,6 +19,8 @@
 
 package space.arim.libertybans.core.selector.cache;
 
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.PunishmentType;
 import space.arim.libertybans.api.punish.Punishment;
@@ -38,10 +40,12 @@ abstract class BaseMuteCache implements MuteCache {
 
 	private final Configs configs;
 	private final PunishmentSelector selector;
+	private final MuteExpiryScheduler expiryScheduler;
 
-	BaseMuteCache(Configs configs, PunishmentSelector selector) {
+	BaseMuteCache(Configs configs, PunishmentSelector selector, MuteExpiryScheduler expiryScheduler) {
 		this.configs = configs;
 		this.selector = selector;
+		this.expiryScheduler = expiryScheduler;
 	}
 
 	// Setup
@@ -61,12 +65,50 @@ abstract class BaseMuteCache implements MuteCache {
 		settingsConsumer.accept(expirationTime, expirationSemantic);
 	}
 
+	// Mutes are evicted precisely when they expire
+
+	final void startExpiryScheduler() {
+		expiryScheduler.start(this::evictExpiredMute);
+	}
+
+	/**
+	 * Removes an expired mute from the cache entry of the given key, if the entry still holds it
+	 *
+	 * @param cacheKey the cache key
+	 * @param mute the expired mute
+	 */
+	abstract void evictExpiredMute(MuteCacheKey cacheKey, Punishment mute);
+
+	/**
+	 * Called by implementations once the cache entry of the given key no longer holds a mute,
+	 * whether the entry was replaced, updated, or removed
+	 *
+	 * @param cacheKey the cache key
+	 * @param mute the mute previously held
+	 */
+	final void releaseMute(MuteCacheKey cacheKey, Punishment mute) {
+		expiryScheduler.untrack(mute.getIdentifier(), cacheKey);
+	}
+
+	final void stopExpiryScheduler() {
+		expiryScheduler.stop();
+	}
+
 	// Retrieval
 
 	final CentralisedFuture<Optional<Punishment>> queryPunishment(MuteCacheKey key) {
 		return selector
 				.getApplicablePunishment(key.uuid(), key.address(), PunishmentType.MUTE)
-				.toCompletableFuture();
+				.toCompletableFuture()
+				.thenApply((optMute) -> {
+					optMute.ifPresent((mute) -> expiryScheduler.track(mute, key));
+					return optMute;
+				});
+	}
+
+	@Override
+	public CentralisedFuture<@Nullable Component> getChatMuteMessage(UUID uuid, NetworkAddress address) {
+		return getCachedMuteMessage(uuid, address).thenApply((opt) -> opt.orElse(null));
 	}
 
 	// Management
@@ -76,11 +118,13 @@ abstract class BaseMuteCache implements MuteCache {
 		if (punishment.getType() != PunishmentType.MUTE) {
 			throw new IllegalArgumentException("Cannot clear cached mute of a punishment which is not a mute");
 		}
+		expiryScheduler.cancel(punishment.getIdentifier());
 		clearCachedMuteIf(punishment::equals);
 	}
 
 	@Override
 	public void clearCachedMute(long id) {
+		expiryScheduler.cancel(id);
 		clearCachedMuteIf((punishment) -> punishment.getIdentifier() == id);
 	}
 
@@ -91,7 +135,9 @@ abstract class BaseMuteCache implements MuteCache {
 		if (punishment.getType() != PunishmentType.MUTE) {
 			throw new IllegalArgumentException("Cannot set cached mute to a punishment which is not a mute");
 		}
-		setCachedMute(new MuteCacheKey(uuid, address), punishment);
+		MuteCacheKey cacheKey = new MuteCacheKey(uuid, address);
+		expiryScheduler.track(punishment, cacheKey);
+		setCachedMute(cacheKey, punishment);
 	}
 
 	abstract void setCachedMute(MuteCacheKey cacheKey, Punishment mute);
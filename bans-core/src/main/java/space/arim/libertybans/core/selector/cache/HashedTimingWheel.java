@@ -0,0 +1,169 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel. Each deadline is hashed into one of a fixed number of slots by its tick,
+ * so that advancing by one tick visits a single slot, and scheduling and cancellation take
+ * constant time. Deadlines more than one revolution away share slots with nearer deadlines
+ * and are skipped until their revolution comes. <br>
+ * <br>
+ * Thread safe.
+ *
+ * @param <T> the scheduled value
+ */
+final class HashedTimingWheel<T> {
+
+	private final Slot<T>[] wheel;
+	private final int mask;
+	private long nextTick;
+
+	@SuppressWarnings("unchecked")
+	HashedTimingWheel(int wheelSize, long startTick) {
+		if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+			throw new IllegalArgumentException("Wheel size must be a power of two");
+		}
+		wheel = new Slot[wheelSize];
+		for (int n = 0; n < wheelSize; n++) {
+			wheel[n] = new Slot<>();
+		}
+		mask = wheelSize - 1;
+		nextTick = startTick;
+	}
+
+	/**
+	 * Schedules a value. If the deadline has already passed, the value expires upon the next advance.
+	 *
+	 * @param value the value
+	 * @param deadlineTick the tick at which the value expires
+	 * @return the timeout, which may be used for cancellation
+	 */
+	synchronized Timeout<T> schedule(T value, long deadlineTick) {
+		long tick = Math.max(deadlineTick, nextTick);
+		Timeout<T> timeout = new Timeout<>(value, tick);
+		wheel[(int) (tick & mask)].append(timeout);
+		return timeout;
+	}
+
+	synchronized void cancel(Timeout<T> timeout) {
+		Slot<T> slot = timeout.slot;
+		if (slot != null) {
+			slot.remove(timeout);
+		}
+	}
+
+	/**
+	 * Advances through all ticks up to and including the given tick, yielding expired values
+	 * to the given consumer. The consumer is called without holding any lock.
+	 *
+	 * @param toTick the tick to advance to
+	 * @param expired the consumer of expired values
+	 */
+	void advance(long toTick, Consumer<T> expired) {
+		List<T> expiredValues = new ArrayList<>();
+		synchronized (this) {
+			if (toTick < nextTick) {
+				return;
+			}
+			// After a long pause, one revolution suffices to visit every slot
+			long slotsToVisit = Math.min(toTick - nextTick + 1, wheel.length);
+			for (long n = 0; n < slotsToVisit; n++) {
+				wheel[(int) ((nextTick + n) & mask)].expire(toTick, expiredValues);
+			}
+			nextTick = toTick + 1;
+		}
+		expiredValues.forEach(expired);
+	}
+
+	synchronized int size() {
+		int size = 0;
+		for (Slot<T> slot : wheel) {
+			for (Timeout<T> timeout = slot.head; timeout != null; timeout = timeout.next) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	static final class Timeout<T> {
+
+		private final T value;
+		private final long deadlineTick;
+		private Slot<T> slot;
+		private Timeout<T> previous;
+		private Timeout<T> next;
+
+		private Timeout(T value, long deadlineTick) {
+			this.value = value;
+			this.deadlineTick = deadlineTick;
+		}
+
+	}
+
+	private static final class Slot<T> {
+
+		private Timeout<T> head;
+		private Timeout<T> tail;
+
+		void append(Timeout<T> timeout) {
+			timeout.slot = this;
+			timeout.previous = tail;
+			if (tail == null) {
+				head = timeout;
+			} else {
+				tail.next = timeout;
+			}
+			tail = timeout;
+		}
+
+		void remove(Timeout<T> timeout) {
+			if (timeout.previous == null) {
+				head = timeout.next;
+			} else {
+				timeout.previous.next = timeout.next;
+			}
+			if (timeout.next == null) {
+				tail = timeout.previous;
+			} else {
+				timeout.next.previous = timeout.previous;
+			}
+			timeout.slot = null;
+			timeout.previous = null;
+			timeout.next = null;
+		}
+
+		void expire(long toTick, List<T> expiredValues) {
+			Timeout<T> timeout = head;
+			while (timeout != null) {
+				Timeout<T> next = timeout.next;
+				if (timeout.deadlineTick <= toTick) {
+					remove(timeout);
+					expiredValues.add(timeout.value);
+				}
+				timeout = next;
+			}
+		}
+	}
+
+}
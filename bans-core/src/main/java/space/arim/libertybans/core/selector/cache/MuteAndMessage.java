@@ -21,6 +21,7 @@ package space.arim.libertybans.core.selector.cache;
 
 import net.kyori.adventure.text.Component;
 import space.arim.libertybans.api.punish.Punishment;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 import java.util.Objects;
 
@@ -28,10 +29,13 @@ final class MuteAndMessage {
 
 	private final Punishment mute;
 	private final Component message;
+	// Prepared once, so that chat can be checked without allocating
+	private final CentralisedFuture<Component> completedMessage;
 
-	MuteAndMessage(Punishment mute, Component message) {
+	MuteAndMessage(Punishment mute, Component message, CentralisedFuture<Component> completedMessage) {
 		this.mute = Objects.requireNonNull(mute, "mute");
 		this.message = Objects.requireNonNull(message, "message");
+		this.completedMessage = Objects.requireNonNull(completedMessage, "completedMessage");
 	}
 
 	Punishment mute() {
@@ -42,6 +46,10 @@ final class MuteAndMessage {
 		return message;
 	}
 
+	CentralisedFuture<Component> completedMessage() {
+		return completedMessage;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
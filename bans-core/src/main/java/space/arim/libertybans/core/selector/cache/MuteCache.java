@@ -20,6 +20,7 @@
 package space.arim.libertybans.core.selector.cache;
 
 import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.core.Part;
@@ -34,6 +35,16 @@ public interface MuteCache extends Part {
 
 	CentralisedFuture<Optional<Component>> getCachedMuteMessage(UUID uuid, NetworkAddress address);
 
+	/**
+	 * Gets the mute message for a player who is chatting. This is called for every chat message
+	 * and muted command, so implementations should avoid allocating where possible.
+	 *
+	 * @param uuid the user's uuid
+	 * @param address the user's address
+	 * @return a future yielding the mute message, or null if the player is not muted
+	 */
+	CentralisedFuture<@Nullable Component> getChatMuteMessage(UUID uuid, NetworkAddress address);
+
 	/**
 	 * Fills the cache, as needed, upon player login
 	 *
@@ -0,0 +1,186 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.event.FireEventWithTimeout;
+import space.arim.libertybans.core.event.PunishmentExpiredEventImpl;
+import space.arim.libertybans.core.service.Time;
+import space.arim.omnibus.util.concurrent.DelayCalculators;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
+import space.arim.omnibus.util.concurrent.ScheduledTask;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Tracks the end dates of cached mutes on a timing wheel, so that each mute is evicted
+ * from the cache, and {@link space.arim.libertybans.api.event.PunishmentExpiredEvent} is fired,
+ * when the mute expires. Ticks are seconds, matching the precision of punishment end dates. <br>
+ * <br>
+ * A mute may be cached under several keys. The scheduler therefore tracks the keys holding each mute:
+ * the cache reports a key when it caches the mute under it, and again when the key no longer holds the
+ * mute. Once no key holds a mute, its tracking ends. At expiry, the mute is evicted by key.
+ *
+ */
+@Singleton
+public final class MuteExpiryScheduler {
+
+	private final EnhancedExecutor enhancedExecutor;
+	private final FireEventWithTimeout fireEventWithTimeout;
+	private final Time time;
+
+	private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+	private volatile HashedTimingWheel<Punishment> wheel;
+	private volatile BiConsumer<MuteCacheKey, Punishment> evictor;
+	private ScheduledTask tickTask;
+
+	static final int WHEEL_SIZE = 512;
+	static final Duration TICK_DURATION = Duration.ofSeconds(1L);
+
+	@Inject
+	public MuteExpiryScheduler(EnhancedExecutor enhancedExecutor, FireEventWithTimeout fireEventWithTimeout,
+							   Time time) {
+		this.enhancedExecutor = enhancedExecutor;
+		this.fireEventWithTimeout = fireEventWithTimeout;
+		this.time = time;
+	}
+
+	/**
+	 * Starts ticking the wheel
+	 *
+	 * @param evictor evicts an expired mute from the cache entry of the given key, if the entry holds it
+	 */
+	synchronized void start(BiConsumer<MuteCacheKey, Punishment> evictor) {
+		this.evictor = evictor;
+		if (tickTask == null) {
+			wheel = new HashedTimingWheel<>(WHEEL_SIZE, currentTick());
+			tickTask = enhancedExecutor.scheduleRepeating(
+					this::tick, TICK_DURATION, DelayCalculators.fixedDelay()
+			);
+		}
+	}
+
+	synchronized void stop() {
+		if (tickTask != null) {
+			tickTask.cancel();
+			tickTask = null;
+		}
+		tracked.clear();
+		wheel = null;
+	}
+
+	private long currentTick() {
+		return time.currentTime();
+	}
+
+	/**
+	 * Records that a mute is cached under a key, and schedules the mute for eviction once it expires.
+	 * Permanent mutes are ignored.
+	 *
+	 * @param mute the mute
+	 * @param key the cache key
+	 */
+	void track(Punishment mute, MuteCacheKey key) {
+		HashedTimingWheel<Punishment> wheel = this.wheel;
+		if (wheel == null || mute.isPermanent()) {
+			return;
+		}
+		// A punishment is expired once the current time is after its end date
+		long deadlineTick = mute.getEndDate().getEpochSecond() + 1;
+		tracked.compute(mute.getIdentifier(), (id, existing) -> {
+			if (existing == null) {
+				existing = new Tracked(wheel.schedule(mute, deadlineTick), new HashSet<>(2));
+			}
+			existing.keys().add(key);
+			return existing;
+		});
+	}
+
+	/**
+	 * Records that a key no longer holds a mute. If no other key holds it, its eviction is cancelled
+	 *
+	 * @param id the punishment ID
+	 * @param key the cache key
+	 */
+	void untrack(long id, MuteCacheKey key) {
+		HashedTimingWheel<Punishment> wheel = this.wheel;
+		tracked.computeIfPresent(id, (ignore, existing) -> {
+			existing.keys().remove(key);
+			if (existing.keys().isEmpty()) {
+				if (wheel != null) {
+					wheel.cancel(existing.timeout());
+				}
+				return null;
+			}
+			return existing;
+		});
+	}
+
+	/**
+	 * Cancels the scheduled eviction of a mute, if any, regardless of the keys holding it
+	 *
+	 * @param id the punishment ID
+	 */
+	void cancel(long id) {
+		HashedTimingWheel<Punishment> wheel = this.wheel;
+		Tracked removed = tracked.remove(id);
+		if (wheel != null && removed != null) {
+			wheel.cancel(removed.timeout());
+		}
+	}
+
+	void tick() {
+		HashedTimingWheel<Punishment> wheel = this.wheel;
+		if (wheel == null) {
+			return;
+		}
+		wheel.advance(currentTick(), (mute) -> {
+			Tracked expired = tracked.remove(mute.getIdentifier());
+			if (expired == null) {
+				return;
+			}
+			// Once removed from the map, the tracked keys are no longer modified
+			for (MuteCacheKey key : expired.keys()) {
+				evictor.accept(key, mute);
+			}
+			fireEventWithTimeout.fire(new PunishmentExpiredEventImpl(mute));
+		});
+	}
+
+	int scheduledCount() {
+		return tracked.size();
+	}
+
+	/**
+	 * A tracked mute
+	 *
+	 * @param timeout the scheduled eviction
+	 * @param keys the cache keys holding the mute. Guarded by the map's per-key atomicity
+	 */
+	private record Tracked(HashedTimingWheel.Timeout<Punishment> timeout, Set<MuteCacheKey> keys) { }
+
+}
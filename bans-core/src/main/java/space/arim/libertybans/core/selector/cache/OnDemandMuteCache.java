@@ -21,6 +21,7 @@ package space.arim.libertybans.core.selector.cache;
 
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.Scheduler;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -37,6 +38,7 @@ import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 /**
@@ -55,8 +57,9 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 
 	@Inject
 	public OnDemandMuteCache(Configs configs, FactoryOfTheFuture futuresFactory,
-							 PunishmentSelector selector, InternalFormatter formatter, Time time) {
-		super(configs, selector);
+							 PunishmentSelector selector, InternalFormatter formatter, Time time,
+							 MuteExpiryScheduler expiryScheduler) {
+		super(configs, selector, expiryScheduler);
 		this.futuresFactory = futuresFactory;
 		this.formatter = formatter;
 		this.time = time;
@@ -73,6 +76,11 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 			cache = builder
 					.scheduler(Scheduler.disabledScheduler())
 					.ticker(time.toCaffeineTicker())
+					.removalListener((MuteCacheKey key, Optional<Punishment> optMute, RemovalCause cause) -> {
+						if (key != null && optMute != null) {
+							optMute.ifPresent((mute) -> releaseMuteIfNotHeld(key, mute));
+						}
+					})
 					.buildAsync((key, executor) -> {
 						return queryPunishment(key).exceptionally((ex) -> {
 							// If we don't catch these exceptions, Caffeine will
@@ -82,6 +90,7 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 						});
 					});
 		});
+		startExpiryScheduler();
 	}
 
 	@Override
@@ -91,7 +100,7 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 
 	@Override
 	public void shutdown() {
-
+		stopExpiryScheduler();
 	}
 
 	@Override
@@ -131,6 +140,23 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 		});
 	}
 
+	@Override
+	void evictExpiredMute(MuteCacheKey cacheKey, Punishment mute) {
+		cache.asMap().computeIfPresent(cacheKey, (key, future) -> holdsMute(future, mute) ? null : future);
+	}
+
+	private void releaseMuteIfNotHeld(MuteCacheKey cacheKey, Punishment mute) {
+		// The entry may have been replaced by one holding the same mute
+		if (!holdsMute(cache.asMap().get(cacheKey), mute)) {
+			releaseMute(cacheKey, mute);
+		}
+	}
+
+	private static boolean holdsMute(CompletableFuture<Optional<Punishment>> future, Punishment mute) {
+		return future != null && future.isDone() && !future.isCompletedExceptionally()
+				&& future.join().filter(mute::equals).isPresent();
+	}
+
 	@Override
 	public CentralisedFuture<?> cacheOnLogin(UUID uuid, NetworkAddress address) {
 		// Correctness: It is possible a cached mute's details changed while the player was offline
@@ -150,6 +176,7 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 			if (!future.isDone()) {
 				// Keep the existing computation:
 				// it will be more accurate in case there are multiple applicable mutes
+				// The new mute stays tracked, since the computation may yet yield it
 				return future;
 			}
 			Punishment oldMute = future.join().orElse(null);
@@ -157,6 +184,9 @@ public final class OnDemandMuteCache extends BaseMuteCache {
 			if (oldMute == null || mute.getEndDate().isAfter(oldMute.getEndDate())) {
 				return futuresFactory.completedFuture(Optional.of(mute));
 			}
+			if (!oldMute.equals(mute)) {
+				releaseMute(key, mute);
+			}
 			return future;
 		});
 	}
@@ -37,11 +37,18 @@ import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Singleton
 public final class CachingUUIDManager implements UUIDManager {
@@ -55,6 +62,15 @@ public final class CachingUUIDManager implements UUIDManager {
 
 	private Cache<@NonNull String, @NonNull UUID> nameToUuidCache;
 	private Cache<@NonNull UUID, @NonNull String> uuidToNameCache;
+	// Negative caches, null if disabled
+	private Cache<@NonNull String, @NonNull Boolean> unknownNames;
+	private Cache<@NonNull UUID, @NonNull Boolean> unknownUuids;
+
+	// Lookups in progress, keyed by lowercased name and by uuid
+	private final Map<String, CentralisedFuture<Optional<UUID>>> uuidLookups = new ConcurrentHashMap<>();
+	private final Map<UUID, CentralisedFuture<Optional<String>>> nameLookups = new ConcurrentHashMap<>();
+
+	private static final int NEGATIVE_CACHE_SIZE = 10_000;
 
 	@Inject
 	public CachingUUIDManager(Configs configs, FactoryOfTheFuture futuresFactory,
@@ -84,6 +100,22 @@ public final class CachingUUIDManager implements UUIDManager {
 				.ticker(time.toCaffeineTicker())
 				.expireAfterAccess(Duration.ofMinutes(15L))
 				.build();
+		int negativeCacheSeconds = uuidResolution().negativeCacheSeconds();
+		if (negativeCacheSeconds > 0) {
+			unknownNames = Caffeine.newBuilder()
+					.ticker(time.toCaffeineTicker())
+					.expireAfterWrite(Duration.ofSeconds(negativeCacheSeconds))
+					.maximumSize(NEGATIVE_CACHE_SIZE)
+					.build();
+			unknownUuids = Caffeine.newBuilder()
+					.ticker(time.toCaffeineTicker())
+					.expireAfterWrite(Duration.ofSeconds(negativeCacheSeconds))
+					.maximumSize(NEGATIVE_CACHE_SIZE)
+					.build();
+		} else {
+			unknownNames = null;
+			unknownUuids = null;
+		}
 	}
 
 	@Override
@@ -96,8 +128,68 @@ public final class CachingUUIDManager implements UUIDManager {
 
 	@Override
 	public void addCache(UUID uuid, String name) {
-		nameToUuidCache.put(name.toLowerCase(Locale.ROOT), uuid);
+		String lowercaseName = name.toLowerCase(Locale.ROOT);
+		nameToUuidCache.put(lowercaseName, uuid);
 		uuidToNameCache.put(uuid, name);
+		if (unknownNames != null) {
+			unknownNames.invalidate(lowercaseName);
+			unknownUuids.invalidate(uuid);
+		}
+	}
+
+	private boolean isUnknown(String lowercaseName) {
+		return unknownNames != null && unknownNames.getIfPresent(lowercaseName) != null;
+	}
+
+	private boolean isUnknown(UUID uuid) {
+		return unknownUuids != null && unknownUuids.getIfPresent(uuid) != null;
+	}
+
+	private Optional<UUID> cacheResult(String name, Optional<UUID> optUuid) {
+		if (optUuid.isPresent()) {
+			addCache(optUuid.get(), name);
+		} else if (unknownNames != null) {
+			unknownNames.put(name.toLowerCase(Locale.ROOT), Boolean.TRUE);
+		}
+		return optUuid;
+	}
+
+	private Optional<String> cacheResult(UUID uuid, Optional<String> optName) {
+		if (optName.isPresent()) {
+			addCache(uuid, optName.get());
+		} else if (unknownUuids != null) {
+			unknownUuids.put(uuid, Boolean.TRUE);
+		}
+		return optName;
+	}
+
+	/**
+	 * Shares a lookup among concurrent requests for the same key. The lookup should cache its result,
+	 * so that requests arriving after it completes use the cache instead.
+	 *
+	 * @param inProgress the lookups in progress
+	 * @param key the key
+	 * @param lookup starts the lookup
+	 * @return a future yielding the result of the lookup
+	 * @param <K> the key type
+	 * @param <V> the result type
+	 */
+	private <K, V> CentralisedFuture<V> coalesce(Map<K, CentralisedFuture<V>> inProgress, K key,
+												 Supplier<CentralisedFuture<V>> lookup) {
+		CentralisedFuture<V> future = futuresFactory.newIncompleteFuture();
+		CentralisedFuture<V> existing = inProgress.putIfAbsent(key, future);
+		if (existing != null) {
+			return futuresFactory.copyFuture(existing);
+		}
+		lookup.get().whenComplete((result, ex) -> {
+			inProgress.remove(key, future);
+			if (ex == null) {
+				future.complete(result);
+			} else {
+				future.completeExceptionally(ex);
+			}
+		});
+		return future;
 	}
 
 	private <T> CentralisedFuture<T> completedFuture(T value) {
@@ -111,7 +203,7 @@ public final class CachingUUIDManager implements UUIDManager {
 	/*
 	 * UUID resolution works as follows:
 	 * 
-	 * 1. Check cache
+	 * 1. Check cache, including whether the name or uuid is known not to exist
 	 * 2. Check online players
 	 * 3. Check own database
 	 * 4. If online server, check Mojang API and third party web APIs where configured.
@@ -129,7 +221,8 @@ public final class CachingUUIDManager implements UUIDManager {
 	}
 
 	private CentralisedFuture<Optional<UUID>> lookupUUIDExactOrNot(String name, boolean exact) {
-		UUID cachedResolve = nameToUuidCache.getIfPresent(name.toLowerCase(Locale.ROOT));
+		String lowercaseName = name.toLowerCase(Locale.ROOT);
+		UUID cachedResolve = nameToUuidCache.getIfPresent(lowercaseName);
 		if (cachedResolve != null) {
 			return completedFuture(Optional.of(cachedResolve));
 		}
@@ -139,9 +232,11 @@ public final class CachingUUIDManager implements UUIDManager {
 			addCache(offlineUuid, name);
 			return completedFuture(Optional.of(offlineUuid));
 		}
-		return lookupUUIDUncached(name).thenApply((optExternalUuid) -> {
-            optExternalUuid.ifPresent(uuid -> addCache(uuid, name));
-			return optExternalUuid;
+		if (isUnknown(lowercaseName)) {
+			return completedFuture(Optional.empty());
+		}
+		return coalesce(uuidLookups, lowercaseName, () -> {
+			return lookupUUIDUncached(name).thenApply((optExternalUuid) -> cacheResult(name, optExternalUuid));
 		});
 	}
 
@@ -157,24 +252,30 @@ public final class CachingUUIDManager implements UUIDManager {
 					return completedFuture(Optional.of(queriedUuid));
 				}
 				// 3. Resolve by web API
-				if (nameValidator.isVanillaName(name)) {
-					return webLookup((remoteApi) -> remoteApi.lookupUUID(name));
-				} else {
-					return completedFuture(Optional.empty());
-				}
+				return lookupUUIDRemotely(name);
 			});
 		});
 	}
 
+	private CompletableFuture<Optional<UUID>> lookupUUIDRemotely(String name) {
+		if (nameValidator.isVanillaName(name)) {
+			return webLookup((remoteApi) -> remoteApi.lookupUUID(name));
+		} else {
+			return completedFuture(Optional.empty());
+		}
+	}
+
 	@Override
 	public CentralisedFuture<Optional<String>> lookupName(UUID uuid) {
 		String cachedResolve = uuidToNameCache.getIfPresent(uuid);
 		if (cachedResolve != null) {
 			return completedFuture(Optional.of(cachedResolve));
 		}
-		return lookupNameUncached(uuid).thenApply((optExternalName) -> {
-            optExternalName.ifPresent(name -> addCache(uuid, name));
-			return optExternalName;
+		if (isUnknown(uuid)) {
+			return completedFuture(Optional.empty());
+		}
+		return coalesce(nameLookups, uuid, () -> {
+			return lookupNameUncached(uuid).thenApply((optExternalName) -> cacheResult(uuid, optExternalName));
 		});
 	}
 
@@ -190,15 +291,19 @@ public final class CachingUUIDManager implements UUIDManager {
 					return completedFuture(Optional.of(queriedName));
 				}
 				// 3. Resolve by web API
-				if (nameValidator.isVanillaUUID(uuid)) {
-					return webLookup((remoteApi) -> remoteApi.lookupName(uuid));
-				} else {
-					return completedFuture(Optional.empty());
-				}
+				return lookupNameRemotely(uuid);
 			});
 		});
 	}
 
+	private CompletableFuture<Optional<String>> lookupNameRemotely(UUID uuid) {
+		if (nameValidator.isVanillaUUID(uuid)) {
+			return webLookup((remoteApi) -> remoteApi.lookupName(uuid));
+		} else {
+			return completedFuture(Optional.empty());
+		}
+	}
+
 	private <T> CompletableFuture<Optional<T>> webLookup(Function<RemoteNameUUIDApi, CompletableFuture<RemoteApiResult<T>>> resultFunction) {
 		UUIDResolutionConfig uuidResolution = uuidResolution();
 		if (uuidResolution.serverType() != ServerType.ONLINE) {
@@ -207,6 +312,160 @@ public final class CachingUUIDManager implements UUIDManager {
 		return uuidResolution.remoteApis().lookup(resultFunction).thenApply(Optional::ofNullable);
 	}
 
+	/*
+	 * Bulk resolution follows the same order as single lookups: online players first, then a single
+	 * database query for the rest. Only the remainder is resolved individually, by web APIs, sharing
+	 * any lookups already in progress.
+	 */
+
+	@Override
+	public CentralisedFuture<Map<UUID, String>> lookupNames(Collection<UUID> uuids) {
+		Map<UUID, String> found = new HashMap<>();
+		Map<UUID, CentralisedFuture<Optional<String>>> envLookups = new HashMap<>();
+		for (UUID uuid : uuids) {
+			String cachedResolve = uuidToNameCache.getIfPresent(uuid);
+			if (cachedResolve != null) {
+				found.put(uuid, cachedResolve);
+			} else if (!isUnknown(uuid) && !envLookups.containsKey(uuid)) {
+				// 1. Resolve by environment
+				envLookups.put(uuid, envResolver.lookupName(uuid));
+			}
+		}
+		if (envLookups.isEmpty()) {
+			return completedFuture(found);
+		}
+		return futuresFactory.allOf(envLookups.values()).thenCompose((ignoreEnv) -> {
+			Set<UUID> offline = new HashSet<>();
+			envLookups.forEach((uuid, envLookup) -> {
+				Optional<String> envResolve = envLookup.join();
+				if (envResolve.isPresent()) {
+					found.put(uuid, cacheResult(uuid, envResolve).get());
+				} else {
+					offline.add(uuid);
+				}
+			});
+			if (offline.isEmpty()) {
+				return completedFuture(found);
+			}
+			// 2. Resolve by database query
+			return queryingImpl.resolveNames(offline).thenCompose((queried) -> {
+				Map<UUID, CentralisedFuture<Optional<String>>> remaining = new HashMap<>();
+				for (UUID uuid : offline) {
+					String queriedName = queried.get(uuid);
+					if (queriedName != null) {
+						addCache(uuid, queriedName);
+						found.put(uuid, queriedName);
+						continue;
+					}
+					// 3. Resolve by web API
+					remaining.put(uuid, coalesce(nameLookups, uuid, () -> {
+						return futuresFactory.copyFuture(lookupNameRemotely(uuid))
+								.thenApply((optExternalName) -> cacheResult(uuid, optExternalName));
+					}));
+				}
+				if (remaining.isEmpty()) {
+					return completedFuture(found);
+				}
+				return futuresFactory.allOf(remaining.values()).thenApply((ignore) -> {
+					remaining.forEach((uuid, future) -> future.join().ifPresent((name) -> found.put(uuid, name)));
+					return found;
+				});
+			});
+		});
+	}
+
+	@Override
+	public CentralisedFuture<Map<String, UUID>> lookupUUIDs(Collection<String> names) {
+		Map<String, UUID> found = new HashMap<>();
+		// Keep one of the given names per lowercased name, for use with online players and web APIs
+		Map<String, String> uncached = new HashMap<>();
+		for (String name : names) {
+			String lowercaseName = name.toLowerCase(Locale.ROOT);
+			UUID cachedResolve = nameToUuidCache.getIfPresent(lowercaseName);
+			if (cachedResolve != null) {
+				found.put(lowercaseName, cachedResolve);
+			} else if (!isUnknown(lowercaseName)) {
+				uncached.putIfAbsent(lowercaseName, name);
+			}
+		}
+		if (uncached.isEmpty()) {
+			return completedFuture(keyByGivenName(names, found));
+		}
+		// 1. Resolve by environment
+		Map<String, CentralisedFuture<Optional<UUID>>> envLookups = new HashMap<>();
+		uncached.forEach((lowercaseName, name) -> envLookups.put(lowercaseName, envResolver.lookupUUID(name)));
+		return futuresFactory.allOf(envLookups.values()).thenCompose((ignoreEnv) -> {
+			Map<String, String> offline = new HashMap<>();
+			envLookups.forEach((lowercaseName, envLookup) -> {
+				Optional<UUID> envResolve = envLookup.join();
+				String name = uncached.get(lowercaseName);
+				if (envResolve.isPresent()) {
+					found.put(lowercaseName, cacheResult(name, envResolve).get());
+				} else {
+					offline.put(lowercaseName, name);
+				}
+			});
+			if (offline.isEmpty()) {
+				return completedFuture(keyByGivenName(names, found));
+			}
+			// 2. Resolve by database query
+			return queryingImpl.resolveUUIDs(offline.keySet()).thenCompose((queried) -> {
+				Map<String, CentralisedFuture<Optional<UUID>>> remaining = new HashMap<>();
+				offline.forEach((lowercaseName, name) -> {
+					UUID queriedUuid = queried.get(lowercaseName);
+					if (queriedUuid != null) {
+						addCache(queriedUuid, name);
+						found.put(lowercaseName, queriedUuid);
+						return;
+					}
+					// 3. Resolve by web API
+					remaining.put(lowercaseName, coalesce(uuidLookups, lowercaseName, () -> {
+						return futuresFactory.copyFuture(lookupUUIDRemotely(name))
+								.thenApply((optExternalUuid) -> cacheResult(name, optExternalUuid));
+					}));
+				});
+				if (remaining.isEmpty()) {
+					return completedFuture(keyByGivenName(names, found));
+				}
+				return futuresFactory.allOf(remaining.values()).thenApply((ignore) -> {
+					remaining.forEach((lowercaseName, future) -> {
+						future.join().ifPresent((uuid) -> found.put(lowercaseName, uuid));
+					});
+					return keyByGivenName(names, found);
+				});
+			});
+		});
+	}
+
+	@Override
+	public CentralisedFuture<Map<String, UUID>> lookupUUIDsFromExactNames(Collection<String> names) {
+		if (uuidResolution().serverType() != ServerType.OFFLINE) {
+			return lookupUUIDs(names);
+		}
+		// Offline server and exact lookup: every name has a uuid
+		Map<String, UUID> result = new HashMap<>(names.size());
+		for (String name : names) {
+			UUID cachedResolve = nameToUuidCache.getIfPresent(name.toLowerCase(Locale.ROOT));
+			if (cachedResolve == null) {
+				cachedResolve = OfflineUUID.computeOfflineUuid(name);
+				addCache(cachedResolve, name);
+			}
+			result.put(name, cachedResolve);
+		}
+		return completedFuture(result);
+	}
+
+	private static Map<String, UUID> keyByGivenName(Collection<String> names, Map<String, UUID> byLowercaseName) {
+		Map<String, UUID> result = new HashMap<>(byLowercaseName.size());
+		for (String name : names) {
+			UUID uuid = byLowercaseName.get(name.toLowerCase(Locale.ROOT));
+			if (uuid != null) {
+				result.put(name, uuid);
+			}
+		}
+		return result;
+	}
+
 	// Other lookups
 
 	@Override
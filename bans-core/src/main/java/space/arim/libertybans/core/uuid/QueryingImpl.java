@@ -19,15 +19,23 @@
 
 package space.arim.libertybans.core.uuid;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.inject.Provider;
 
+import org.jooq.Record3;
+
 import space.arim.libertybans.core.database.execute.SQLFunction;
 import space.arim.libertybans.core.env.UUIDAndAddress;
 import space.arim.omnibus.util.concurrent.CentralisedFuture;
 
 import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.database.DatabaseConstants;
 import space.arim.libertybans.core.database.InternalDatabase;
 
 import static org.jooq.impl.DSL.lower;
@@ -68,6 +76,60 @@ class QueryingImpl {
 		}));
 	}
 
+	/**
+	 * Resolves the latest uuids of many names
+	 *
+	 * @param lowercaseNames the lowercased names
+	 * @return a future yielding the uuids found, keyed by lowercased name
+	 */
+	CentralisedFuture<Map<String, UUID>> resolveUUIDs(Collection<String> lowercaseNames) {
+		InternalDatabase database = dbProvider.get();
+		return database.query(SQLFunction.readOnly((context) -> {
+			Map<String, Record3<String, UUID, Instant>> latest = new HashMap<>();
+			for (List<String> chunk : DatabaseConstants.inListChunks(lowercaseNames)) {
+				for (Record3<String, UUID, Instant> record : context
+						.select(NAMES.LOWER_NAME, NAMES.UUID, NAMES.UPDATED)
+						.from(NAMES)
+						.where(NAMES.LOWER_NAME.in(chunk))
+						.fetch()) {
+					latest.merge(record.value1(), record, QueryingImpl::later);
+				}
+			}
+			Map<String, UUID> uuids = new HashMap<>(latest.size());
+			latest.forEach((name, record) -> uuids.put(name, record.value2()));
+			return uuids;
+		}));
+	}
+
+	/**
+	 * Resolves the latest names of many uuids
+	 *
+	 * @param uuids the uuids
+	 * @return a future yielding the names found, keyed by uuid
+	 */
+	CentralisedFuture<Map<UUID, String>> resolveNames(Collection<UUID> uuids) {
+		InternalDatabase database = dbProvider.get();
+		return database.query(SQLFunction.readOnly((context) -> {
+			Map<UUID, Record3<UUID, String, Instant>> latest = new HashMap<>();
+			for (List<UUID> chunk : DatabaseConstants.inListChunks(uuids)) {
+				for (Record3<UUID, String, Instant> record : context
+						.select(NAMES.UUID, NAMES.NAME, NAMES.UPDATED)
+						.from(NAMES)
+						.where(NAMES.UUID.in(chunk))
+						.fetch()) {
+					latest.merge(record.value1(), record, QueryingImpl::later);
+				}
+			}
+			Map<UUID, String> names = new HashMap<>(latest.size());
+			latest.forEach((uuid, record) -> names.put(uuid, record.value2()));
+			return names;
+		}));
+	}
+
+	private static <R extends Record3<?, ?, Instant>> R later(R first, R second) {
+		return second.value3().isAfter(first.value3()) ? second : first;
+	}
+
 	/*
 	 * Other lookups
 	 */
@@ -18,6 +18,8 @@
  */
 package space.arim.libertybans.core.uuid;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -67,4 +69,31 @@ public interface UUIDManager extends UserResolver, Part {
 	 */
 	CentralisedFuture<Optional<NetworkAddress>> lookupLastAddress(UUID uuid);
 
+	/**
+	 * Looks up the names of many players at once. Equivalent to {@link #lookupName(UUID)} for
+	 * each uuid, but more efficient
+	 *
+	 * @param uuids the uuids of the players
+	 * @return a future yielding the names found, keyed by uuid. Players not found are absent
+	 */
+	CentralisedFuture<Map<UUID, String>> lookupNames(Collection<UUID> uuids);
+
+	/**
+	 * Looks up the uuids of many players at once. Equivalent to {@link #lookupUUID(String)} for
+	 * each name, but more efficient
+	 *
+	 * @param names the names of the players
+	 * @return a future yielding the uuids found, keyed by name as given. Players not found are absent
+	 */
+	CentralisedFuture<Map<String, UUID>> lookupUUIDs(Collection<String> names);
+
+	/**
+	 * Looks up the uuids of many players at once. Equivalent to {@link #lookupUUIDFromExactName(String)}
+	 * for each name, but more efficient
+	 *
+	 * @param names the exact player names. Must be correctly cased
+	 * @return a future yielding the uuids found, keyed by name as given. Players not found are absent
+	 */
+	CentralisedFuture<Map<String, UUID>> lookupUUIDsFromExactNames(Collection<String> names);
+
 }
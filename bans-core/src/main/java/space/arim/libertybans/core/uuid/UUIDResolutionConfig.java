@@ -20,11 +20,13 @@
 package space.arim.libertybans.core.uuid;
 
 import space.arim.dazzleconf.annote.ConfComments;
+import space.arim.dazzleconf.annote.ConfDefault.DefaultInteger;
 import space.arim.dazzleconf.annote.ConfDefault.DefaultString;
 import space.arim.dazzleconf.annote.ConfDefault.DefaultStrings;
 import space.arim.dazzleconf.annote.ConfHeader;
 import space.arim.dazzleconf.annote.ConfKey;
 import space.arim.dazzleconf.annote.ConfSerialisers;
+import space.arim.dazzleconf.annote.NumericRange;
 
 @ConfHeader({"Options relating to finding UUIDs from names, and vice-versa",
 	"LibertyBans will first check its own caches before using these resources"})
@@ -51,6 +53,15 @@ public interface UUIDResolutionConfig {
 	@DefaultStrings("MOJANG")
 	RemoteApiBundle remoteApis();
 
+	@ConfKey("negative-cache-seconds")
+	@ConfComments({"",
+		"When a uuid or name cannot be found, for how many seconds should this be remembered?",
+		"This prevents repeated database queries and web API requests for unknown players.",
+		"Players who join are recognized immediately, regardless of this option. Set to 0 to disable."})
+	@DefaultInteger(60)
+	@NumericRange(min = 0)
+	int negativeCacheSeconds();
+
 	@ConfKey("force-geyser-prefix")
 	@ConfComments({
 			"By default, LibertyBans will automatically detect if you are running Geyser or Floodgate.",
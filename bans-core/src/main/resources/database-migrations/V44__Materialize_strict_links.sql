@@ -0,0 +1,36 @@
+
+-- The strict_links view was a self-join of the addresses table. Where many users share an address,
+-- the join produces a great many rows, and it is repeated for every STERN and STRICT lookup.
+-- Replace the view with a table of the same name and columns, maintained when addresses are recorded.
+-- Addresses shared by more than 100 users, such as those of carrier-grade NAT or proxies, do not link
+-- their users, which bounds the table's size. The limit is Association.MAX_LINKED_ACCOUNTS_PER_ADDRESS.
+
+DROP VIEW "${tableprefix}strict_links";
+
+CREATE TABLE "${tableprefix}strict_links" (
+  "uuid1" ${uuidtype} NOT NULL,
+  "uuid2" ${uuidtype} NOT NULL,
+  CONSTRAINT "${tableprefix}strict_links_uniqueness" UNIQUE ("uuid1", "uuid2")
+)${extratableoptions};
+
+CREATE INDEX "${tableprefix}strict_links_uuid2_index" ON "${tableprefix}strict_links" ("uuid2", "uuid1");
+
+INSERT INTO "${tableprefix}strict_links" ("uuid1", "uuid2")
+  SELECT DISTINCT "addrs1"."uuid", "addrs2"."uuid"
+  FROM "${tableprefix}addresses" AS "addrs1"
+  INNER JOIN "${tableprefix}addresses" AS "addrs2"
+  ON "addrs1"."address" = "addrs2"."address"
+  WHERE "addrs1"."address" IN (
+    SELECT "address" FROM "${tableprefix}addresses"
+    GROUP BY "address"
+    HAVING COUNT(*) <= 100
+  );
+
+-- Every user is linked with itself, including users seen only at addresses shared too widely
+INSERT INTO "${tableprefix}strict_links" ("uuid1", "uuid2")
+  SELECT DISTINCT "addrs"."uuid", "addrs"."uuid"
+  FROM "${tableprefix}addresses" AS "addrs"
+  WHERE NOT EXISTS (
+    SELECT 1 FROM "${tableprefix}strict_links" AS "links"
+    WHERE "links"."uuid1" = "addrs"."uuid" AND "links"."uuid2" = "addrs"."uuid"
+  );
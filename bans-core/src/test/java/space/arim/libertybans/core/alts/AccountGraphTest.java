@@ -0,0 +1,210 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.alts;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.MainConfig;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.punish.JoinListener;
+import space.arim.libertybans.core.selector.EnforcementConfig;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountGraphTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final Configs configs;
+	private final SqlConfig.AccountGraph conf;
+	private final EnforcementConfig.AltAccountExpiration expiration;
+	private final QueryExecutor queryExecutor;
+	private final Instant currentTime = Instant.ofEpochSecond(1_000_000_000L);
+
+	private final JoinListener joinListener = new JoinListener();
+	private AccountGraph graph;
+
+	public AccountGraphTest(@Mock Configs configs, @Mock SqlConfig.AccountGraph conf,
+							@Mock EnforcementConfig.AltAccountExpiration expiration,
+							@Mock QueryExecutor queryExecutor) {
+		this.configs = configs;
+		this.conf = conf;
+		this.expiration = expiration;
+		this.queryExecutor = queryExecutor;
+	}
+
+	@BeforeEach
+	public void setGraph(@Mock SqlConfig sqlConfig, @Mock MainConfig mainConfig,
+						 @Mock EnforcementConfig enforcementConfig) {
+		when(configs.getSqlConfig()).thenReturn(sqlConfig);
+		when(sqlConfig.accountGraph()).thenReturn(conf);
+		lenient().when(configs.getMainConfig()).thenReturn(mainConfig);
+		lenient().when(mainConfig.enforcement()).thenReturn(enforcementConfig);
+		lenient().when(enforcementConfig.altAccountExpiration()).thenReturn(expiration);
+		graph = new AccountGraph(configs, () -> queryExecutor, joinListener);
+	}
+
+	private void startEmpty() {
+		when(conf.enable()).thenReturn(true);
+		when(queryExecutor.query(any())).thenReturn(futuresFactory.completedFuture(0));
+		graph.startup();
+	}
+
+	private AccountGraph.Neighbourhood neighbourhood(UUID uuid, NetworkAddress address) {
+		return graph.neighbourhood(uuid, address, currentTime);
+	}
+
+	@Test
+	public void disabled() {
+		when(conf.enable()).thenReturn(false);
+		graph.startup();
+		assertFalse(graph.isReady());
+		assertThrows(IllegalStateException.class, () -> neighbourhood(UUID.randomUUID(), RandomUtil.randomAddress()));
+	}
+
+	@Test
+	public void linkBySharedAddress() {
+		startEmpty();
+		assertTrue(graph.isReady());
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		graph.record(uuid, address, currentTime);
+		graph.record(alt, address, currentTime);
+
+		assertEquals(Set.of(alt), neighbourhood(uuid, address).alts());
+		assertEquals(Set.of(uuid), neighbourhood(alt, address).alts());
+	}
+
+	@Test
+	public void linkByRecordedJoins() {
+		startEmpty();
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		joinListener.onRecordedJoin(uuid, "user", address, currentTime);
+		joinListener.onRecordedJoin(alt, "alt", address, currentTime);
+
+		assertEquals(Set.of(alt), neighbourhood(uuid, address).alts());
+	}
+
+	@Test
+	public void pastAddressesIncluded() {
+		startEmpty();
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress pastAddress = RandomUtil.randomAddress();
+		NetworkAddress currentAddress = RandomUtil.randomAddress();
+		graph.record(uuid, pastAddress, currentTime.minusSeconds(60L));
+		graph.record(alt, pastAddress, currentTime.minusSeconds(30L));
+
+		AccountGraph.Neighbourhood neighbourhood = neighbourhood(uuid, currentAddress);
+		assertEquals(Set.of(pastAddress, currentAddress), neighbourhood.addresses());
+		assertEquals(Set.of(alt), neighbourhood.alts());
+	}
+
+	@Test
+	public void notTransitive() {
+		startEmpty();
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		UUID altOfAlt = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		NetworkAddress otherAddress = RandomUtil.randomAddress();
+		graph.record(uuid, address, currentTime);
+		graph.record(alt, address, currentTime);
+		graph.record(alt, otherAddress, currentTime);
+		graph.record(altOfAlt, otherAddress, currentTime);
+
+		assertEquals(Set.of(alt), neighbourhood(uuid, address).alts());
+	}
+
+	@Test
+	public void expiredAccountsIgnored() {
+		startEmpty();
+		when(expiration.enable()).thenReturn(true);
+		when(expiration.expirationTimeDays()).thenReturn(30L);
+		UUID uuid = UUID.randomUUID();
+		UUID expiredAlt = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress expiredAddress = RandomUtil.randomAddress();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Instant longAgo = currentTime.minus(Duration.ofDays(31L));
+		graph.record(uuid, expiredAddress, longAgo);
+		graph.record(alt, expiredAddress, currentTime);
+		graph.record(expiredAlt, address, longAgo);
+
+		AccountGraph.Neighbourhood neighbourhood = neighbourhood(uuid, address);
+		assertEquals(Set.of(address), neighbourhood.addresses());
+		assertEquals(Set.of(), neighbourhood.alts());
+	}
+
+	@Test
+	public void removeDeletedHistory() {
+		startEmpty();
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Instant recorded = currentTime.minusSeconds(60L);
+		graph.record(uuid, address, currentTime);
+		graph.record(alt, address, recorded);
+
+		graph.remove(alt, recorded.plusSeconds(1L));
+		assertEquals(Set.of(alt), neighbourhood(uuid, address).alts(), "Different recorded time");
+		graph.remove(alt, recorded);
+		assertEquals(Set.of(), neighbourhood(uuid, address).alts());
+	}
+
+	@Test
+	public void removeDoesNotAffectNewerRecord() {
+		startEmpty();
+		UUID uuid = UUID.randomUUID();
+		UUID alt = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Instant recorded = currentTime.minusSeconds(60L);
+		graph.record(uuid, address, currentTime);
+		graph.record(alt, address, recorded);
+		graph.record(alt, address, currentTime);
+
+		graph.remove(alt, recorded);
+		assertEquals(Set.of(alt), neighbourhood(uuid, address).alts());
+	}
+
+}
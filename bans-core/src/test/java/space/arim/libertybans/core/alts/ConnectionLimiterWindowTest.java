@@ -0,0 +1,92 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.alts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionLimiterWindowTest {
+
+	private final ConnectionLimiter.Window window = new ConnectionLimiter.Window();
+
+	@Test
+	public void countDistinctUsers() {
+		UUID uuid = UUID.randomUUID();
+		window.record(uuid, 100L, 3);
+		window.record(uuid, 110L, 3);
+		window.record(UUID.randomUUID(), 105L, 3);
+		assertEquals(2, window.count(100L));
+		assertEquals(2, window.count(105L));
+		assertEquals(1, window.count(106L));
+	}
+
+	@Test
+	public void keepOnlyNewestUsers() {
+		for (int n = 0; n < 10; n++) {
+			window.record(UUID.randomUUID(), 100L + n, 3);
+		}
+		assertEquals(3, window.count(0L), "Capacity bounds the count");
+		assertEquals(3, window.count(107L));
+		assertEquals(2, window.count(108L));
+		// An older join cannot displace newer ones
+		window.record(UUID.randomUUID(), 50L, 3);
+		assertEquals(3, window.count(107L));
+	}
+
+	@Test
+	public void outOfOrderJoins() {
+		UUID uuid = UUID.randomUUID();
+		window.record(uuid, 120L, 4);
+		window.record(UUID.randomUUID(), 100L, 4);
+		window.record(uuid, 90L, 4);
+		window.record(UUID.randomUUID(), 130L, 4);
+		assertEquals(3, window.count(100L));
+		assertEquals(2, window.count(101L), "The latest join time per user is kept");
+	}
+
+	@Test
+	public void lowerCapacity() {
+		for (int n = 0; n < 5; n++) {
+			window.record(UUID.randomUUID(), 100L + n, 5);
+		}
+		window.record(UUID.randomUUID(), 200L, 2);
+		assertEquals(2, window.count(0L));
+	}
+
+	@Test
+	public void reconcileOnceWithoutInterval() {
+		assertTrue(window.claimReconciliation(100L, 0L));
+		assertFalse(window.claimReconciliation(100L, 0L));
+		assertFalse(window.claimReconciliation(10_000L, 0L));
+	}
+
+	@Test
+	public void reconcilePeriodically() {
+		assertTrue(window.claimReconciliation(100L, 30L));
+		assertFalse(window.claimReconciliation(129L, 30L));
+		assertTrue(window.claimReconciliation(130L, 30L));
+		assertFalse(window.claimReconciliation(131L, 30L));
+	}
+}
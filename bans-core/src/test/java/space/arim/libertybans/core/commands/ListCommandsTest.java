@@ -59,7 +59,7 @@ public class ListCommandsTest {
 	@Test
 	public void suggest(@Mock CmdSender sender) {
 		Set<String> playerNames = Set.of("player1", "player2");
-		when(tabCompletion.completeOfflinePlayerNames(sender)).thenReturn(playerNames.stream());
-		assertEquals(playerNames, listCommands.suggest(sender, "history", 0).collect(Collectors.toUnmodifiableSet()));
+		when(tabCompletion.completeOfflinePlayerNames(sender, "play")).thenReturn(playerNames.stream());
+		assertEquals(playerNames, listCommands.suggest(sender, "history", 0, "play").collect(Collectors.toUnmodifiableSet()));
 	}
 }
@@ -0,0 +1,71 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.commands.extra;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OfflineNameIndexTest {
+
+	private final OfflineNameIndex index = new OfflineNameIndex();
+	private final Instant now = Instant.ofEpochSecond(1_700_000_000L);
+	private final Instant cutoff = now.minusSeconds(3600L);
+
+	@Test
+	public void completeByPrefixIgnoringCase() {
+		index.add("A248", now);
+		index.add("anna", now);
+		index.add("Bob", now);
+		assertEquals(List.of("A248", "anna"), index.complete("a", cutoff, 10));
+		assertEquals(List.of("anna"), index.complete("AN", cutoff, 10));
+		assertEquals(List.of("A248", "anna", "Bob"), index.complete("", cutoff, 10));
+		assertEquals(List.of(), index.complete("c", cutoff, 10));
+	}
+
+	@Test
+	public void limitCompletions() {
+		for (int n = 0; n < 50; n++) {
+			index.add("Player" + (10 + n), now);
+		}
+		assertEquals(List.of("Player10", "Player11", "Player12"), index.complete("player", cutoff, 3));
+	}
+
+	@Test
+	public void ignoreAndRemoveExpired() {
+		index.add("Recent", now);
+		index.add("Removed", cutoff);
+		assertEquals(List.of("Recent"), index.complete("re", cutoff, 10));
+		assertEquals(2, index.size());
+		index.removeExpired(cutoff);
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void keepLatestCapitalization() {
+		index.add("oldcase", cutoff.plusSeconds(1L));
+		index.add("OldCase", now);
+		index.add("OLDCASE", cutoff.plusSeconds(2L));
+		assertEquals(List.of("OldCase"), index.complete("old", cutoff, 10));
+	}
+}
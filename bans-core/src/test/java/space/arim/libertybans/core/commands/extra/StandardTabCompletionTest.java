@@ -29,6 +29,7 @@ import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.MainConfig;
 import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.env.CmdSender;
+import space.arim.libertybans.core.punish.JoinListener;
 import space.arim.libertybans.core.service.Time;
 
 import java.util.Set;
@@ -57,7 +58,7 @@ public class StandardTabCompletionTest {
 
 	@BeforeEach
 	public void setTabCompletion() {
-		tabCompletion = new StandardTabCompletion(configs, dbProvider, time);
+		tabCompletion = new StandardTabCompletion(configs, dbProvider, time, new JoinListener());
 	}
 
 	private void setUseOnlyPlayersOnSameServer(boolean useOnlyPlayersOnSameServer) {
@@ -51,15 +51,23 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -99,7 +107,8 @@ public class FormatterTest {
 
 	@BeforeEach
 	public void setupMocks() {
-		when(configs.getMessagesConfig()).thenReturn(messagesConfig);
+		// Messages using only the reason never need the messages config
+		lenient().when(configs.getMessagesConfig()).thenReturn(messagesConfig);
 
 		lenient().when(scopeManager.globalScope()).thenReturn(globalScope);
 		lenient().when(scopeManager.display(same(globalScope), any())).thenAnswer(
@@ -170,7 +179,7 @@ public class FormatterTest {
 		when(dateFormatting.zoneId()).thenReturn(ZoneOffset.UTC);
 	}
 
-	private void setSimpleMessagesFormatting() {
+	private MessagesConfig.Formatting setSimpleMessagesFormatting() {
 		MessagesConfig.Formatting formatting = mock(MessagesConfig.Formatting.class);
 		when(messagesConfig.formatting()).thenReturn(formatting);
 		MessagesConfig.Formatting.IdDisplay idDisplay = mock(MessagesConfig.Formatting.IdDisplay.class);
@@ -185,14 +194,18 @@ public class FormatterTest {
 		MessagesConfig.Formatting.VictimDisplay victimDisplay = mock(MessagesConfig.Formatting.VictimDisplay.class);
 		lenient().when(victimDisplay.playerNameUnknown()).thenReturn("-NameUnknown-");
 		lenient().when(formatting.victimDisplay()).thenReturn(victimDisplay);
-		MessagesConfig.Formatting.PunishmentExpiredDisplay expiredDisplay = mock(MessagesConfig.Formatting.PunishmentExpiredDisplay.class);
-		lenient().when(expiredDisplay.notExpired()).thenReturn(Component.text("not expired"));
-		lenient().when(expiredDisplay.expired()).thenReturn(Component.text("expired"));
-		when(formatting.punishmentExpiredDisplay()).thenReturn(expiredDisplay);
 		MessagesConfig.Formatting.Silence silenceDisplay = mock(MessagesConfig.Formatting.Silence.class);
 		lenient().when(silenceDisplay.silent()).thenReturn(Component.text("[silent!] "));
 		lenient().when(silenceDisplay.notSilent()).thenReturn(Component.empty());
 		lenient().when(formatting.silence()).thenReturn(silenceDisplay);
+		return formatting;
+	}
+
+	private void setSimplePunishmentDisplays(MessagesConfig.Formatting formatting) {
+		MessagesConfig.Formatting.PunishmentExpiredDisplay expiredDisplay = mock(MessagesConfig.Formatting.PunishmentExpiredDisplay.class);
+		lenient().when(expiredDisplay.notExpired()).thenReturn(Component.text("not expired"));
+		lenient().when(expiredDisplay.expired()).thenReturn(Component.text("expired"));
+		when(formatting.punishmentExpiredDisplay()).thenReturn(expiredDisplay);
 		MessagesConfig.Formatting.TrackDisplay trackDisplay = mock(MessagesConfig.Formatting.TrackDisplay.class);
 		lenient().when(trackDisplay.noTrack()).thenReturn("no track");
 		lenient().when(trackDisplay.noTrackId()).thenReturn("no track id");
@@ -204,7 +217,7 @@ public class FormatterTest {
 	private void setupSimpleDefaults() {
 		setTimeConf(simpleTimeConf());
 		setSimpleDateFormatting();
-		setSimpleMessagesFormatting();
+		setSimplePunishmentDisplays(setSimpleMessagesFormatting());
 	}
 
 	@ParameterizedTest
@@ -216,16 +229,17 @@ public class FormatterTest {
 		Instant end = INSTANT_2021_01_05.plus(Duration.ofHours(2L)).plus(Duration.ofMinutes(15L));
 		Punishment punishment = punishmentFor(testInfo, start, end);
 
-		String layout = "%TYPE% [%TRACK%] > %OPERATOR% enacted against %VICTIM% for %DURATION% due to %REASON%. " +
+		String layout = "%TYPE% [%TRACK%] > %OPERATOR% enacted against %VICTIM% in %SCOPE% for %DURATION% due to %REASON%. " +
 				"Starts on %START_DATE%. Ends on %END_DATE%. Remaining time is %TIME_REMAINING%. " +
-				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%.";
+				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%. %HAS_EXPIRED%";
 		String expectedFormat = testInfo.formatVariables(layout)
 				.replace("%DURATION%", "4 days, 2 hours, and 15 minutes")
 				.replace("%TIME_REMAINING%", "2 hours, and 15 minutes")
 				.replace("%START_DATE%", "01/01/2021 24:00")
 				.replace("%END_DATE%", "05/01/2021 02:15")
 				.replace("%TIME_PASSED%", "4 days")
-				.replace("%TRACK%", "no track");
+				.replace("%TRACK%", "no track")
+				.replace("%HAS_EXPIRED%", "not expired");
 
 		assertEquals(expectedFormat, format(punishment, layout));
 	}
@@ -240,10 +254,10 @@ public class FormatterTest {
 		Punishment punishment = punishmentFor(testInfo, start, end);
 		setEscalationTrack(punishment, EscalationTrack.create("trackspace", "simpletrack"));
 
-		String layout = "%TYPE% > %OPERATOR% enacted against %VICTIM% for %DURATION% due to %REASON%. " +
+		String layout = "%TYPE% > %OPERATOR% enacted against %VICTIM% in %SCOPE% for %DURATION% due to %REASON%. " +
 				"Starts on %START_DATE%. Ends on %END_DATE%. Remaining time is %TIME_REMAINING%. " +
 				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%. " +
-				"On track %TRACK%/%TRACK_ID% in %TRACK_NAMESPACE%.";
+				"On track %TRACK%/%TRACK_ID% in %TRACK_NAMESPACE%. %HAS_EXPIRED%";
 		String expectedFormat = testInfo.formatVariables(layout)
 				.replace("%DURATION%", "4 days, 2 hours, and 15 minutes")
 				.replace("%TIME_REMAINING%", "2 hours, and 15 minutes")
@@ -252,7 +266,8 @@ public class FormatterTest {
 				.replace("%TIME_PASSED%", "4 days")
 				.replace("%TRACK%", "SimpleTrack")
 				.replace("%TRACK_ID%", "simpletrack")
-				.replace("%TRACK_NAMESPACE%", "trackspace");
+				.replace("%TRACK_NAMESPACE%", "trackspace")
+				.replace("%HAS_EXPIRED%", "not expired");
 
 		assertEquals(expectedFormat, format(punishment, layout));
 	}
@@ -275,39 +290,36 @@ public class FormatterTest {
 		Instant end = start.plus(Duration.ofHours(3L));
 		Punishment punishment = punishmentFor(testInfo, start, end);
 
-		String layout = "%TYPE% > %OPERATOR% enacted against %VICTIM% for %DURATION% due to %REASON%. " +
+		String layout = "%TYPE% [%TRACK%] > %OPERATOR% enacted against %VICTIM% in %SCOPE% for %DURATION% due to %REASON%. " +
 				"Starts on %START_DATE%. Ends on %END_DATE%. Remaining time is %TIME_REMAINING%. " +
-				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%.";
+				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%. %HAS_EXPIRED%";
 		String expectedFormat = testInfo.formatVariables(layout)
 				.replace("%DURATION%", "3 hours")
 				.replace("%TIME_REMAINING%", "3 hours")
 				.replace("%START_DATE%", "04/01/2021 23:59")
 				.replace("%END_DATE%", "05/01/2021 02:59")
-				.replace("%TIME_PASSED%", "1 seconds");
+				.replace("%TIME_PASSED%", "1 seconds")
+				.replace("%TRACK%", "no track")
+				.replace("%HAS_EXPIRED%", "not expired");
 
 		assertEquals(expectedFormat, format(punishment, layout));
 	}
 
 	@Test
 	public void noTimeRemaining() {
-		setupSimpleDefaults();
-
-		FormatterTestInfo testInfo = new FormatterTestInfo(
-				PunishmentType.BAN,
-				DisplayableVictim.ObWolf, DisplayableOperator.CONSOLE,
-				"global", "this ban has expired");
+		setTimeConf(simpleTimeConf());
+		setSimpleMessagesFormatting();
 
 		// Start punishment 4 hours ago and end it 1 hour ago, for a duration of 3 hours
 		Instant start = INSTANT_2021_01_05.minus(Duration.ofHours(4L));
 		Instant end = start.plus(Duration.ofHours(3L));
-		Punishment punishment = punishmentFor(testInfo, start, end);
-
-		String layout = "Remaining time is %TIME_REMAINING%. Time passed is %TIME_PASSED%.";
-		String expectedFormat = testInfo.formatVariables(layout)
-				.replace("%TIME_REMAINING%", "(No time remaining)")
-				.replace("%TIME_PASSED%", "4 hours");
+		Punishment punishment = mock(Punishment.class);
+		when(punishment.getStartDateSeconds()).thenReturn(start.getEpochSecond());
+		when(punishment.getEndDateSeconds()).thenReturn(end.getEpochSecond());
+		when(punishment.isPermanent()).thenReturn(false);
 
-		assertEquals(expectedFormat, format(punishment, layout));
+		assertEquals("Remaining time is (No time remaining). Time passed is 4 hours.",
+				format(punishment, "Remaining time is %TIME_REMAINING%. Time passed is %TIME_PASSED%."));
 	}
 
 	@ParameterizedTest
@@ -319,9 +331,9 @@ public class FormatterTest {
 		Instant end = INSTANT_2021_01_05.plus(Duration.ofHours(2L)).plus(Duration.ofMinutes(15L));
 		Punishment punishment = punishmentFor(testInfo, start, end);
 
-		String layout = "%SILENCE%%TYPE% [%TRACK%] > %OPERATOR% enacted against %VICTIM% for %DURATION% due to %REASON%. " +
+		String layout = "%SILENCE%%TYPE% [%TRACK%] > %OPERATOR% enacted against %VICTIM% in %SCOPE% for %DURATION% due to %REASON%. " +
 				"Starts on %START_DATE%. Ends on %END_DATE%. Remaining time is %TIME_REMAINING%. " +
-				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%.";
+				"Time passed is %TIME_PASSED%. Operator ID is %OPERATOR_ID%; Victim ID is %VICTIM_ID%. %HAS_EXPIRED%";
 		String expectedFormat = testInfo.formatVariables(layout)
 				.replace("%SILENCE%", "[silent!] ")
 				.replace("%DURATION%", "4 days, 2 hours, and 15 minutes")
@@ -329,13 +341,89 @@ public class FormatterTest {
 				.replace("%START_DATE%", "01/01/2021 24:00")
 				.replace("%END_DATE%", "05/01/2021 02:15")
 				.replace("%TIME_PASSED%", "4 days")
-				.replace("%TRACK%", "no track");
+				.replace("%TRACK%", "no track")
+				.replace("%HAS_EXPIRED%", "not expired");
 
 		assertEquals(expectedFormat, formatUsing(layout, layoutMsg -> {
 			return formatter.formatNotificationIssue(layoutMsg, punishment, true);
 		}));
 	}
 
+	@Test
+	public void computeOnlyVariablesUsed() {
+		Punishment punishment = punishmentWithReason("spamming");
+
+		var formatFuture = formatter.formatWithPunishment(
+				ComponentText.create(Component.text("Muted for %REASON%")), punishment);
+		assertTrue(formatFuture.isDone(), "Formatting without names completes immediately");
+		assertEquals("Muted for spamming", PlainComponentSerializer.plain().serialize(formatFuture.join()));
+		verify(punishment, never()).getStartDate();
+		verify(punishment, never()).getEndDate();
+		verifyNoInteractions(uuidManager);
+	}
+
+	@Test
+	public void leaveOtherPercentSignsAlone() {
+		Punishment punishment = punishmentWithReason("100% certain");
+
+		assertEquals("50% %NOT_A_VARIABLE% 100% certain %UNOPERATOR%%",
+				format(punishment, "50% %NOT_A_VARIABLE% %REASON% %UNOPERATOR%%"));
+	}
+
+	@Test
+	public void reuseRenderedPunishmentMessage() {
+		when(configs.getMainConfig()).thenReturn(mock(MainConfig.class));
+
+		Punishment punishment = punishmentWithReason("griefing");
+		when(punishment.getIdentifier()).thenReturn(5L);
+		when(punishment.getType()).thenReturn(PunishmentType.BAN);
+
+		AdditionsSection additions = mock(AdditionsSection.class);
+		PunishmentAdditionSection.WithLayout banAddition = mock(PunishmentAdditionSection.WithLayout.class);
+		when(messagesConfig.additions()).thenReturn(additions);
+		when(additions.forType(PunishmentType.BAN)).thenReturn(banAddition);
+		when(banAddition.layout()).thenReturn(ComponentText.create(Component.text("Banned for %REASON%")));
+
+		assertEquals("Banned for griefing", render(formatter.getPunishmentMessage(punishment)));
+		assertEquals("Banned for griefing", render(formatter.getPunishmentMessage(punishment)));
+		verify(banAddition).layout();
+
+		formatter.invalidatePunishmentMessage(5L);
+		assertEquals("Banned for griefing", render(formatter.getPunishmentMessage(punishment)));
+		verify(banAddition, times(2)).layout();
+	}
+
+	@Test
+	public void formatPageWithOneNameLookup() {
+		setSimpleMessagesFormatting();
+
+		Punishment first = punishmentWithReason("griefing");
+		setVictimAndOperator(first, DisplayableVictim.ObWolf, DisplayableOperator.A248);
+		Punishment second = punishmentWithReason("botting");
+		setVictimAndOperator(second, DisplayableVictim.Address_198_27_31_42, DisplayableOperator.CONSOLE);
+		Punishment third = punishmentWithReason("hacking");
+		setVictimAndOperator(third, DisplayableVictim.ObWolf, DisplayableOperator.A248);
+		UUID victimUuid = ((PlayerVictim) DisplayableVictim.ObWolf.victim()).getUUID();
+		UUID operatorUuid = ((PlayerOperator) DisplayableOperator.A248.operator()).getUUID();
+		when(uuidManager.lookupNames(Set.of(victimUuid, operatorUuid))).thenReturn(completedFuture(Map.of(
+				victimUuid, "ObWolf"
+		)));
+
+		ComponentText layout = ComponentText.create(Component.text("%OPERATOR% > %VICTIM% for %REASON%"));
+		List<Component> page = formatter.formatAllWithPunishment(layout, List.of(first, second, third)).join();
+		assertEquals(
+				List.of("-NameUnknown- > ObWolf for griefing", "Console > 198.27.31.42 for botting",
+						"-NameUnknown- > ObWolf for hacking"),
+				page.stream().map(PlainComponentSerializer.plain()::serialize).toList()
+		);
+		verify(uuidManager).lookupNames(any());
+		verify(uuidManager, never()).lookupName(any());
+	}
+
+	private static String render(CentralisedFuture<Component> message) {
+		return PlainComponentSerializer.plain().serialize(message.join());
+	}
+
 	private String format(Punishment punishment, String layout) {
 		return formatUsing(layout, (layoutMsg) -> formatter.formatWithPunishment(layoutMsg, punishment));
 	}
@@ -373,6 +461,23 @@ public class FormatterTest {
 		return punishment;
 	}
 
+	/*
+	 * Only the variables used by a message are computed. Tests of messages using a few
+	 * variables stub only what those variables need, starting from these.
+	 */
+
+	private Punishment punishmentWithReason(String reason) {
+		Punishment punishment = mock(Punishment.class);
+		when(punishment.getReason()).thenReturn(reason);
+		return punishment;
+	}
+
+	private void setVictimAndOperator(Punishment punishment, DisplayableVictim displayableVictim,
+									  DisplayableOperator displayableOperator) {
+		when(punishment.getVictim()).thenReturn(displayableVictim.victim());
+		when(punishment.getOperator()).thenReturn(displayableOperator.operator());
+	}
+
 	private ServerScope specificScope(String server) {
 		ServerScope scope = mock(ServerScope.class);
 		when(scopeManager.display(same(scope), any())).thenReturn(server);
@@ -66,6 +66,7 @@ final class FormatterTestInfo {
 				.replace("%VICTIM_ID%", victim.displayId())
 				.replace("%OPERATOR%", operator.display())
 				.replace("%OPERATOR_ID%", operator.displayId())
+				.replace("%SCOPE%", serverScope)
 				.replace("%REASON%", reason);
 	}
 
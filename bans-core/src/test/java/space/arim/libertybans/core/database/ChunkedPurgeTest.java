@@ -0,0 +1,124 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
+import space.arim.libertybans.core.database.execute.Transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ChunkedPurgeTest {
+
+	private final InternalDatabase database;
+	private final DSLContext context;
+	private final Transaction transaction;
+
+	public ChunkedPurgeTest(@Mock InternalDatabase database, @Mock DSLContext context, @Mock Transaction transaction) {
+		this.database = database;
+		this.context = context;
+		this.transaction = transaction;
+	}
+
+	@BeforeEach
+	public void runBatchesDirectly(@Mock Connection connection) throws SQLException {
+		lenient().when(database.getConnection()).thenReturn(connection);
+		lenient().when(database.queryWithExistingConnection(any(), any())).thenAnswer((invocation) -> {
+			SQLTransactionalFunction<?> command = invocation.getArgument(1);
+			return command.obtain(context, transaction);
+		});
+	}
+
+	@Test
+	public void purgeUntilBatchIsShort() throws SQLException {
+		ChunkedPurge purge = new ChunkedPurge(database, () -> false);
+		int[] remaining = {1234};
+		List<Integer> requestedSizes = new ArrayList<>();
+		int deleted = purge.purge("rows", (context, batchSize) -> {
+			requestedSizes.add(batchSize);
+			int deletedInBatch = Math.min(batchSize, remaining[0]);
+			remaining[0] -= deletedInBatch;
+			return deletedInBatch;
+		});
+		assertEquals(1234, deleted);
+		assertEquals(0, remaining[0]);
+		assertEquals(ChunkedPurge.INITIAL_BATCH_SIZE, requestedSizes.get(0));
+	}
+
+	@Test
+	public void stopUnderLoad() throws SQLException {
+		ChunkedPurge purge = new ChunkedPurge(database, () -> true, Duration.ZERO, Duration.ZERO);
+		int deleted = purge.purge("rows", (context, batchSize) -> {
+			throw new AssertionError("Should not purge under load");
+		});
+		assertEquals(0, deleted);
+		verify(database, never()).getConnection();
+	}
+
+	@Test
+	public void resumeAfterLoadSubsides() throws SQLException {
+		int[] loadChecks = {0};
+		ChunkedPurge purge = new ChunkedPurge(
+				database, () -> loadChecks[0]++ < 3, Duration.ofMillis(1L), Duration.ofSeconds(10L)
+		);
+		assertEquals(7, purge.purge("rows", (context, batchSize) -> 7));
+	}
+
+	@Test
+	public void adaptBatchSize() {
+		ChunkedPurge purge = new ChunkedPurge(database, () -> false);
+		purge.adaptBatchSize(Duration.ofMillis(1L));
+		assertEquals(ChunkedPurge.INITIAL_BATCH_SIZE * 2, purge.batchSize());
+		purge.adaptBatchSize(ChunkedPurge.TARGET_BATCH_LATENCY.multipliedBy(3L).dividedBy(4L));
+		assertEquals(ChunkedPurge.INITIAL_BATCH_SIZE * 2, purge.batchSize(), "Within target range");
+		purge.adaptBatchSize(Duration.ofSeconds(1L));
+		assertEquals(ChunkedPurge.INITIAL_BATCH_SIZE, purge.batchSize());
+	}
+
+	@Test
+	public void batchSizeBounds() {
+		ChunkedPurge purge = new ChunkedPurge(database, () -> false);
+		for (int n = 0; n < 20; n++) {
+			purge.adaptBatchSize(Duration.ZERO);
+		}
+		assertEquals(ChunkedPurge.MAX_BATCH_SIZE, purge.batchSize());
+		for (int n = 0; n < 20; n++) {
+			purge.adaptBatchSize(Duration.ofSeconds(1L));
+		}
+		assertEquals(ChunkedPurge.MIN_BATCH_SIZE, purge.batchSize());
+	}
+
+}
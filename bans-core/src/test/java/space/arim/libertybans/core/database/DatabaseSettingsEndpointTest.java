@@ -0,0 +1,56 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DatabaseSettingsEndpointTest {
+
+	@Test
+	public void hostAndPort() {
+		assertEquals(new DatabaseSettings.Endpoint("replica.example", 3307),
+				DatabaseSettings.Endpoint.parse("replica.example:3307", 3306));
+	}
+
+	@Test
+	public void defaultPort() {
+		assertEquals(new DatabaseSettings.Endpoint("replica.example", 3306),
+				DatabaseSettings.Endpoint.parse(" replica.example ", 3306));
+	}
+
+	@Test
+	public void bracketedIPv6() {
+		assertEquals(new DatabaseSettings.Endpoint("[::1]", 5433),
+				DatabaseSettings.Endpoint.parse("[::1]:5433", 5432));
+		assertEquals(new DatabaseSettings.Endpoint("[::1]", 5432),
+				DatabaseSettings.Endpoint.parse("[::1]", 5432));
+	}
+
+	@Test
+	public void invalid() {
+		assertNull(DatabaseSettings.Endpoint.parse("replica.example:port", 3306));
+		assertNull(DatabaseSettings.Endpoint.parse("replica.example:70000", 3306));
+		assertNull(DatabaseSettings.Endpoint.parse(":3306", 3306));
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkheadsTest {
+
+	private final Bulkheads bulkheads = Bulkheads.create(6);
+
+	@AfterEach
+	public void shutdown() {
+		bulkheads.shutdown();
+	}
+
+	@Test
+	public void limitsForPoolSize() {
+		assertEquals(new Bulkheads.Limits(1, 1), Bulkheads.Limits.forPoolSize(1));
+		assertEquals(new Bulkheads.Limits(1, 1), Bulkheads.Limits.forPoolSize(2));
+		assertEquals(new Bulkheads.Limits(3, 1), Bulkheads.Limits.forPoolSize(6));
+		assertEquals(new Bulkheads.Limits(13, 6), Bulkheads.Limits.forPoolSize(20));
+	}
+
+	private CompletableFuture<?> occupy(Workload workload, CountDownLatch acquired, CountDownLatch release) {
+		return CompletableFuture.runAsync(() -> bulkheads.call(workload, () -> {
+			acquired.countDown();
+			try {
+				return release.await(10L, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}), bulkheads.executor(workload));
+	}
+
+	@Test
+	public void loginsNotStarvedByOtherWork() throws Exception {
+		// Saturate the connections available to standard and bulk work
+		CountDownLatch acquired = new CountDownLatch(3);
+		CountDownLatch release = new CountDownLatch(1);
+		assertFalse(bulkheads.isSaturated());
+		List<CompletableFuture<?>> standard = new ArrayList<>();
+		for (int n = 0; n < 3; n++) {
+			standard.add(occupy(Workload.STANDARD, acquired, release));
+		}
+		assertTrue(acquired.await(5L, TimeUnit.SECONDS));
+		assertTrue(bulkheads.isSaturated());
+
+		CountDownLatch bulkAcquired = new CountDownLatch(1);
+		CompletableFuture<?> bulk = occupy(Workload.BULK, bulkAcquired, new CountDownLatch(0));
+		CompletableFuture<String> login = CompletableFuture.supplyAsync(
+				() -> bulkheads.call(Workload.LOGIN, () -> "login"), bulkheads.executor(Workload.LOGIN)
+		);
+		assertEquals("login", login.get(5L, TimeUnit.SECONDS));
+		assertFalse(bulkAcquired.await(100L, TimeUnit.MILLISECONDS), "Bulk work should wait");
+
+		release.countDown();
+		bulk.get(5L, TimeUnit.SECONDS);
+		for (CompletableFuture<?> future : standard) {
+			future.get(5L, TimeUnit.SECONDS);
+		}
+		assertFalse(bulkheads.isSaturated());
+	}
+
+}
+
@@ -0,0 +1,81 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.core.database.jooq.JooqContext;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JooqQueryExecutorTest {
+
+	private final DataSource dataSource;
+	private final EnhancedExecutor enhancedExecutor;
+	private final Bulkheads bulkheads = Bulkheads.create(2);
+
+	public JooqQueryExecutorTest(@Mock DataSource dataSource, @Mock EnhancedExecutor enhancedExecutor) {
+		this.dataSource = dataSource;
+		this.enhancedExecutor = enhancedExecutor;
+	}
+
+	@AfterEach
+	public void shutdown() {
+		bulkheads.shutdown();
+	}
+
+	@Test
+	public void failIfRetryCannotBeScheduled(@Mock Connection connection) throws SQLException {
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(enhancedExecutor.scheduleOnce(any(Runnable.class), any(Duration.class)))
+				.thenThrow(new RejectedExecutionException("Shut down"));
+		JooqQueryExecutor queryExecutor = new JooqQueryExecutor(
+				new JooqContext(SQLDialect.HSQLDB), dataSource, ReadRouting.primaryOnly(),
+				new IndifferentFactoryOfTheFuture(), bulkheads, enhancedExecutor, new RetryMetrics()
+		);
+		var future = queryExecutor.queryWithRetry(3, (context, transaction) -> {
+			throw new DataAccessException("Conflict", new SQLException("Serialization failure", "40001"));
+		});
+		CompletionException thrown = assertThrows(
+				CompletionException.class, () -> future.toCompletableFuture().orTimeout(5L, TimeUnit.SECONDS).join()
+		);
+		assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+	}
+
+}
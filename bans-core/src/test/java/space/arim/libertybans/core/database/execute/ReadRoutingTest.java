@@ -0,0 +1,118 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadRoutingTest {
+
+	private final DataSource first;
+	private final DataSource second;
+
+	public ReadRoutingTest(@Mock DataSource first, @Mock DataSource second) {
+		this.first = first;
+		this.second = second;
+	}
+
+	private ReadRouting readRouting(Duration readYourWrites) {
+		return new ReadRouting(List.of(
+				new ReadRouting.NamedDataSource("first", first), new ReadRouting.NamedDataSource("second", second)
+		), readYourWrites);
+	}
+
+	@Test
+	public void primaryOnly() {
+		ReadRouting readRouting = ReadRouting.primaryOnly();
+		assertNull(readRouting.replicaConnection());
+		readRouting.readYourWrites();
+		assertNull(readRouting.replicaConnection());
+	}
+
+	@Test
+	public void alternateReplicas() throws SQLException {
+		Connection firstConnection = mock(Connection.class);
+		Connection secondConnection = mock(Connection.class);
+		when(first.getConnection()).thenReturn(firstConnection);
+		when(second.getConnection()).thenReturn(secondConnection);
+
+		ReadRouting readRouting = readRouting(Duration.ZERO);
+		assertSame(firstConnection, readRouting.replicaConnection());
+		assertSame(secondConnection, readRouting.replicaConnection());
+		assertSame(firstConnection, readRouting.replicaConnection());
+	}
+
+	@Test
+	public void skipUnreachableReplicaUntilHealthCheck() throws SQLException {
+		Connection firstConnection = mock(Connection.class);
+		Connection secondConnection = mock(Connection.class);
+		when(first.getConnection()).thenThrow(new SQLException("Unreachable"));
+		when(second.getConnection()).thenReturn(secondConnection);
+
+		ReadRouting readRouting = readRouting(Duration.ZERO);
+		assertSame(secondConnection, readRouting.replicaConnection());
+		assertSame(secondConnection, readRouting.replicaConnection());
+		assertSame(secondConnection, readRouting.replicaConnection());
+
+		// Recovers
+		doReturn(firstConnection).when(first).getConnection();
+		when(firstConnection.isValid(anyInt())).thenReturn(true);
+		when(secondConnection.isValid(anyInt())).thenReturn(true);
+		readRouting.checkHealth();
+		assertSame(secondConnection, readRouting.replicaConnection());
+		assertSame(firstConnection, readRouting.replicaConnection());
+	}
+
+	@Test
+	public void fallBackToPrimaryIfAllUnreachable() throws SQLException {
+		when(first.getConnection()).thenThrow(new SQLException("Unreachable"));
+		when(second.getConnection()).thenThrow(new SQLException("Unreachable"));
+
+		ReadRouting readRouting = readRouting(Duration.ZERO);
+		assertNull(readRouting.replicaConnection());
+		assertNull(readRouting.replicaConnection());
+	}
+
+	@Test
+	public void readYourWrites() {
+		ReadRouting readRouting = readRouting(Duration.ofHours(1L));
+		readRouting.readYourWrites();
+		assertNull(readRouting.replicaConnection());
+		verifyNoInteractions(first, second);
+	}
+
+}
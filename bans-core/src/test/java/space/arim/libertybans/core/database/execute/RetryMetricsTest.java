@@ -0,0 +1,48 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RetryMetricsTest {
+
+	private final RetryMetrics metrics = new RetryMetrics();
+
+	@Test
+	public void emptySnapshot() {
+		assertEquals(new RetryMetrics.Snapshot(0, 0, 0, 0, 0), metrics.snapshot());
+	}
+
+	@Test
+	public void accumulate() {
+		metrics.recordOperation();
+		metrics.recordOperation();
+		metrics.recordRetry(Duration.ofMillis(120));
+		metrics.recordRetry(Duration.ofMillis(230));
+		metrics.recordHeavyContention();
+		metrics.recordExhausted();
+		assertEquals(new RetryMetrics.Snapshot(2, 2, 350, 1, 1), metrics.snapshot());
+	}
+
+}
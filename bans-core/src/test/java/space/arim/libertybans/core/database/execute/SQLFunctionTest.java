@@ -0,0 +1,46 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.database.execute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLFunctionTest {
+
+	@Test
+	public void readOnlyMayUseReplica() {
+		SQLFunction<Void> function = SQLFunction.readOnly((context) -> null);
+		assertTrue(function.isReadOnly());
+		assertFalse(function.requiresPrimary());
+	}
+
+	@Test
+	public void readOnlyOnPrimaryKeptThroughWorkload() {
+		SQLFunction<Void> function = SQLFunction.withWorkload(
+				Workload.LOGIN, SQLFunction.readOnlyOnPrimary((context) -> null)
+		);
+		assertTrue(function.isReadOnly());
+		assertTrue(function.requiresPrimary());
+		assertEquals(Workload.LOGIN, function.workload());
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.env;
+
+import org.junit.jupiter.api.Test;
+import space.arim.libertybans.it.util.RandomUtil;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OnlinePlayerIndexTest {
+
+	private final OnlinePlayerIndex<String> index = new OnlinePlayerIndex<>();
+
+	private static InetAddress randomAddress() {
+		return RandomUtil.randomAddress().toInetAddress();
+	}
+
+	@Test
+	public void findByUUIDAndAddress() {
+		UUID uuid1 = UUID.randomUUID();
+		UUID uuid2 = UUID.randomUUID();
+		UUID uuid3 = UUID.randomUUID();
+		InetAddress sharedAddress = randomAddress();
+		index.add("player1", uuid1, sharedAddress);
+		index.add("player2", uuid2, sharedAddress);
+		index.add("player3", uuid3, randomAddress());
+
+		assertEquals(Set.of("player3"), index.find(new TargetMatcher.UUIDs(Set.of(uuid3))));
+		assertEquals(Set.of("player1", "player2"), index.find(new TargetMatcher.Address(sharedAddress)));
+		assertEquals(Set.of("player1", "player2", "player3"), index.find(new TargetMatcher.Combined(
+				new TargetMatcher.UUIDs(Set.of(uuid1, uuid3)), new TargetMatcher.Address(sharedAddress)
+		)));
+		assertEquals(Set.of(), index.find(new TargetMatcher.UUIDs(Set.of(UUID.randomUUID()))));
+	}
+
+	@Test
+	public void removeOnQuit() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.add("player", uuid, address);
+		index.remove("player", uuid, address);
+
+		assertEquals(Set.of(), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of(), index.find(new TargetMatcher.Address(address)));
+	}
+
+	@Test
+	public void quitAfterRelogin() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.add("old session", uuid, address);
+		index.add("new session", uuid, address);
+		index.remove("old session", uuid, address);
+
+		assertEquals(Set.of("new session"), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of("new session"), index.find(new TargetMatcher.Address(address)));
+	}
+
+	@Test
+	public void deactivateClears() {
+		UUID uuid = UUID.randomUUID();
+		index.add("player", uuid, randomAddress());
+		index.setActive(true);
+		assertTrue(index.isActive());
+
+		index.setActive(false);
+		assertFalse(index.isActive());
+		assertEquals(Set.of(), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+	}
+
+	@Test
+	public void seedPlayersAlreadyOnline() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.startSeeding();
+		assertFalse(index.isActive());
+		index.seed("player", uuid, address);
+		index.finishSeeding(List.of("player"));
+
+		assertTrue(index.isActive());
+		assertEquals(Set.of("player"), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of("player"), index.find(new TargetMatcher.Address(address)));
+	}
+
+	@Test
+	public void doNotSeedPlayerWhoQuit() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.startSeeding();
+		index.remove("player", uuid, address);
+		// The collection of online players was obtained before the player quit
+		index.seed("player", uuid, address);
+		index.finishSeeding(List.of());
+
+		assertEquals(Set.of(), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of(), index.find(new TargetMatcher.Address(address)));
+	}
+
+	@Test
+	public void removeSeededPlayerNoLongerOnline() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.startSeeding();
+		index.seed("player", uuid, address);
+		index.finishSeeding(List.of());
+
+		assertEquals(Set.of(), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of(), index.find(new TargetMatcher.Address(address)));
+	}
+
+	@Test
+	public void doNotSeedOverNewerLogin() {
+		UUID uuid = UUID.randomUUID();
+		InetAddress address = randomAddress();
+		index.startSeeding();
+		index.add("new session", uuid, address);
+		index.seed("old session", uuid, address);
+		index.finishSeeding(List.of("new session"));
+
+		assertEquals(Set.of("new session"), index.find(new TargetMatcher.UUIDs(Set.of(uuid))));
+		assertEquals(Set.of("new session"), index.find(new TargetMatcher.Address(address)));
+	}
+
+}
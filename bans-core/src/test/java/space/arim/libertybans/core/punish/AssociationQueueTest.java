@@ -0,0 +1,212 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.database.execute.SQLTransactionalFunction;
+import space.arim.libertybans.core.database.execute.SQLTransactionalRunnable;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.ScheduledTask;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AssociationQueueTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final Configs configs;
+	private final SqlConfig.AssociationWriteBehind conf;
+	private final EnhancedExecutor enhancedExecutor;
+	private final QueryExecutor queryExecutor;
+
+	private final List<Runnable> scheduledTasks = new ArrayList<>();
+	private final List<CentralisedFuture<List<Association.NewAddress>>> writes = new ArrayList<>();
+	private AssociationQueue associationQueue;
+
+	private final Instant currentTime = Instant.ofEpochSecond(1_700_000_000L);
+
+	public AssociationQueueTest(@Mock Configs configs, @Mock SqlConfig.AssociationWriteBehind conf,
+								@Mock EnhancedExecutor enhancedExecutor, @Mock QueryExecutor queryExecutor) {
+		this.configs = configs;
+		this.conf = conf;
+		this.enhancedExecutor = enhancedExecutor;
+		this.queryExecutor = queryExecutor;
+	}
+
+	@BeforeEach
+	public void setAssociationQueue(@Mock SqlConfig sqlConfig, @Mock ScheduledTask scheduledTask) {
+		when(configs.getSqlConfig()).thenReturn(sqlConfig);
+		when(sqlConfig.associationWriteBehind()).thenReturn(conf);
+		lenient().when(conf.flushIntervalMillis()).thenReturn(1000L);
+		lenient().when(conf.maxBatchSize()).thenReturn(100);
+		lenient().when(enhancedExecutor.scheduleRepeating((Runnable) any(), any(), any())).thenAnswer((invocation) -> {
+			scheduledTasks.add(invocation.getArgument(0));
+			return scheduledTask;
+		});
+		lenient().when(queryExecutor.queryWithRetry(any(SQLTransactionalFunction.class))).thenAnswer((invocation) -> {
+			CentralisedFuture<List<Association.NewAddress>> write = futuresFactory.newIncompleteFuture();
+			writes.add(write);
+			return write;
+		});
+		associationQueue = new AssociationQueue(configs, futuresFactory, enhancedExecutor, () -> queryExecutor);
+	}
+
+	private void runScheduledTasks() {
+		scheduledTasks.forEach(Runnable::run);
+	}
+
+	@Test
+	public void disabled() {
+		when(conf.enable()).thenReturn(false);
+		associationQueue.startup();
+
+		assertFalse(associationQueue.isEnabled());
+		assertFalse(associationQueue.associateCurrent(UUID.randomUUID(), "A248", RandomUtil.randomAddress(), currentTime));
+		verify(enhancedExecutor, never()).scheduleRepeating((Runnable) any(), any(), any());
+	}
+
+	@Test
+	public void pendingUntilWritten() {
+		when(conf.enable()).thenReturn(true);
+		associationQueue.startup();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+
+		assertTrue(associationQueue.associateCurrent(uuid, "A248", address, currentTime));
+		assertEquals(Set.of(uuid), associationQueue.pendingUUIDsAt(address, currentTime));
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(address, currentTime.plusSeconds(1L)));
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(RandomUtil.randomAddress(), currentTime));
+
+		runScheduledTasks();
+		assertEquals(1, writes.size());
+		// Still visible while the write is ongoing
+		assertEquals(Set.of(uuid), associationQueue.pendingUUIDsAt(address, currentTime));
+
+		writes.get(0).complete(List.of());
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(address, currentTime));
+		runScheduledTasks();
+		assertEquals(1, writes.size(), "Nothing more to write");
+	}
+
+	@Test
+	public void coalesceRepeatedJoins() {
+		when(conf.enable()).thenReturn(true);
+		when(conf.maxBatchSize()).thenReturn(4);
+		associationQueue.startup();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+
+		for (int n = 0; n < 5; n++) {
+			associationQueue.associateCurrent(uuid, "A248", address, currentTime.plusSeconds(n));
+		}
+		// One name and one address
+		assertEquals(0, writes.size());
+		assertEquals(Set.of(uuid), associationQueue.pendingUUIDsAt(address, currentTime.plusSeconds(4L)));
+
+		// Another user fills the batch
+		UUID otherUuid = UUID.randomUUID();
+		associationQueue.associateCurrent(otherUuid, "Aurelium", address, currentTime);
+		assertEquals(1, writes.size());
+		assertEquals(Set.of(uuid, otherUuid), associationQueue.pendingUUIDsAt(address, currentTime));
+	}
+
+	@Test
+	public void retainAfterFailedWrite() {
+		when(conf.enable()).thenReturn(true);
+		associationQueue.startup();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+
+		associationQueue.associateCurrent(uuid, "A248", address, currentTime);
+		runScheduledTasks();
+		writes.get(0).completeExceptionally(new IllegalStateException("Database unavailable"));
+		assertEquals(Set.of(uuid), associationQueue.pendingUUIDsAt(address, currentTime));
+
+		runScheduledTasks();
+		assertEquals(2, writes.size());
+		writes.get(1).complete(List.of());
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(address, currentTime));
+	}
+
+	@Test
+	public void linkNewAddressesAfterCommit() {
+		when(conf.enable()).thenReturn(true);
+		associationQueue.startup();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+
+		associationQueue.associateCurrent(uuid, "A248", address, currentTime);
+		runScheduledTasks();
+		CentralisedFuture<Void> failedLink = futuresFactory.newIncompleteFuture();
+		failedLink.completeExceptionally(new IllegalStateException("Database unavailable"));
+		when(queryExecutor.executeWithRetry(any(SQLTransactionalRunnable.class))).thenReturn(failedLink);
+		writes.get(0).complete(List.of(new Association.NewAddress(uuid, address)));
+
+		verify(queryExecutor).executeWithRetry(any(SQLTransactionalRunnable.class));
+		// The batch was written, so a failure to link does not retain it
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(address, currentTime));
+		runScheduledTasks();
+		assertEquals(1, writes.size());
+	}
+
+	@Test
+	public void writeRemainingOnShutdown() {
+		when(conf.enable()).thenReturn(true);
+		associationQueue.startup();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+
+		associationQueue.associateCurrent(uuid, "A248", address, currentTime);
+		when(queryExecutor.queryWithRetry(any(SQLTransactionalFunction.class)))
+				.thenReturn(futuresFactory.completedFuture(List.of()));
+		associationQueue.shutdown();
+
+		verify(queryExecutor, times(1)).queryWithRetry(any(SQLTransactionalFunction.class));
+		assertFalse(associationQueue.isEnabled());
+		assertEquals(Set.of(), associationQueue.pendingUUIDsAt(address, currentTime));
+	}
+
+}
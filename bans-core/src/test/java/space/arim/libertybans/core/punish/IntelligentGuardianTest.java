@@ -43,7 +43,6 @@ import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
 
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -90,7 +89,7 @@ public class IntelligentGuardianTest {
 
 	@Test
 	public void checkChatNotMuted() {
-		when(muteCache.getCachedMuteMessage(uuid, address)).thenReturn(completedFuture(Optional.empty()));
+		when(muteCache.getChatMuteMessage(uuid, address)).thenReturn(completedFuture(null));
 
 		assertNull(guardian.checkChat(uuid, address, null).join());
 		assertNull(guardian.checkChat(uuid, address, "help").join());
@@ -100,7 +99,7 @@ public class IntelligentGuardianTest {
 	@Test
 	public void checkChatIsMuted(@Mock Punishment punishment) {
 		Component denyMessage = Component.text("You are forbidden to chat");
-		when(muteCache.getCachedMuteMessage(uuid, address)).thenReturn(completedFuture(Optional.of(denyMessage)));
+		when(muteCache.getChatMuteMessage(uuid, address)).thenReturn(completedFuture(denyMessage));
 
 		assertEquals(denyMessage, guardian.checkChat(uuid, address, null).join());
 		assertNull(guardian.checkChat(uuid, address, "help").join(),
@@ -31,21 +31,27 @@ import space.arim.libertybans.api.punish.EnforcementOptions;
 import space.arim.libertybans.api.punish.Punishment;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.punish.sync.MessageReceiver;
+import space.arim.libertybans.core.punish.sync.PacketExpungeBatch;
 import space.arim.libertybans.core.punish.sync.SynchronizationMessenger;
 import space.arim.libertybans.core.punish.sync.SynchronizationProtocol;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
 import space.arim.libertybans.core.service.Time;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
 
 import java.time.Clock;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -87,7 +93,7 @@ public class StandardGlobalEnforcementTest {
 		globalEnforcement = new StandardGlobalEnforcement(
 				configs, futuresFactory, enforcer,
 				synchronizationProtocol, () -> synchronizationMessenger, mock(MessageReceiver.class),
-				time
+				mock(ActiveBanIndex.class), () -> mock(InternalDatabase.class), time
 		);
 	}
 
@@ -263,6 +269,20 @@ public class StandardGlobalEnforcementTest {
 		verify(enforcer).clearExpungedWithoutSynchronization(punishment.getIdentifier());
 	}
 
+	@Test
+	public void clearExpungedBatch() {
+		enableSync();
+		when(enforcer.clearExpungedWithoutSynchronization(anyLong())).thenReturn(futuresFactory.completedFuture(null));
+
+		List<Long> ids = LongStream.range(0, PacketExpungeBatch.MAX_IDS * 2 + 1).boxed().toList();
+		globalEnforcement.clearExpunged(ids).join();
+		for (long id : ids) {
+			verify(enforcer).clearExpungedWithoutSynchronization(id);
+		}
+		// One message per full batch, then one for the remainder
+		verify(synchronizationMessenger, times(3)).dispatch(notNull());
+	}
+
 	@Test
 	public void updateDetailsWarnOrKick() {
 		Punishment punishment = punishmentWithType(PunishmentType.WARN);
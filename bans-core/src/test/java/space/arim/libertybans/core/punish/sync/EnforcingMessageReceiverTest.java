@@ -0,0 +1,200 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.punish.EnforcementOptions;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.punish.LocalEnforcer;
+import space.arim.libertybans.core.punish.LocalEnforcer.EnforcementOrder;
+import space.arim.libertybans.core.punish.Mode;
+import space.arim.libertybans.core.selector.InternalSelector;
+import space.arim.libertybans.core.selector.cache.ActiveBanIndex;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EnforcingMessageReceiverTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final InternalSelector selector;
+	private final LocalEnforcer enforcer;
+	private final ActiveBanIndex activeBanIndex;
+
+	private EnforcingMessageReceiver messageReceiver;
+
+	public EnforcingMessageReceiverTest(@Mock InternalSelector selector, @Mock LocalEnforcer enforcer,
+										@Mock ActiveBanIndex activeBanIndex) {
+		this.selector = selector;
+		this.enforcer = enforcer;
+		this.activeBanIndex = activeBanIndex;
+	}
+
+	@BeforeEach
+	public void setMessageReceiver() {
+		messageReceiver = new EnforcingMessageReceiver(futuresFactory, selector, enforcer, activeBanIndex);
+		lenient().when(enforcer.enforceWithoutSynchronization(anyList())).thenReturn(futuresFactory.completedFuture(null));
+		lenient().when(enforcer.unenforceWithoutSynchronization(anyLong(), any(), any()))
+				.thenReturn(futuresFactory.completedFuture(null));
+		lenient().when(enforcer.clearExpungedWithoutSynchronization(anyLong()))
+				.thenReturn(futuresFactory.completedFuture(null));
+	}
+
+	private Punishment punishment(PunishmentType type) {
+		Punishment punishment = mock(Punishment.class);
+		lenient().when(punishment.getIdentifier()).thenReturn(ThreadLocalRandom.current().nextLong());
+		lenient().when(punishment.getType()).thenReturn(type);
+		return punishment;
+	}
+
+	private static PacketEnforceUnenforce packet(Punishment punishment, Mode mode) {
+		return new PacketEnforceUnenforce(
+				punishment.getIdentifier(), punishment.getType(), mode, EnforcementOptions.Broadcasting.NONE, null, null
+		);
+	}
+
+	private void setPunishments(Punishment...punishments) {
+		Map<Long, Punishment> byId = new HashMap<>();
+		for (Punishment punishment : punishments) {
+			byId.put(punishment.getIdentifier(), punishment);
+		}
+		when(selector.getHistoricalPunishmentsById(byId.keySet())).thenReturn(futuresFactory.completedFuture(byId));
+	}
+
+	private static List<Punishment> punishmentsOf(List<EnforcementOrder> orders) {
+		return orders.stream().map(EnforcementOrder::punishment).toList();
+	}
+
+	@Test
+	public void enforceBatchTogether() {
+		Punishment ban = punishment(PunishmentType.BAN);
+		Punishment mute = punishment(PunishmentType.MUTE);
+		Punishment updated = punishment(PunishmentType.BAN);
+		setPunishments(ban, mute, updated);
+
+		messageReceiver.onReception(List.of(
+				packet(ban, Mode.DO), packet(mute, Mode.DO), new PacketUpdateDetails(updated.getIdentifier())
+		)).toCompletableFuture().join();
+
+		verify(selector).getHistoricalPunishmentsById(Set.of(ban.getIdentifier(), mute.getIdentifier(), updated.getIdentifier()));
+		verify(enforcer).enforceWithoutSynchronization(
+				argThat((List<EnforcementOrder> orders) -> punishmentsOf(orders).equals(List.of(ban, mute, updated)))
+		);
+		verify(activeBanIndex).update(ban);
+		verify(activeBanIndex).update(updated);
+	}
+
+	@Test
+	public void undoActsAsBarrier() {
+		Punishment first = punishment(PunishmentType.MUTE);
+		Punishment undone = punishment(PunishmentType.MUTE);
+		Punishment last = punishment(PunishmentType.MUTE);
+		// Undoing without broadcasting does not require the punishment details
+		setPunishments(first, last);
+
+		messageReceiver.onReception(List.of(
+				packet(first, Mode.DO), packet(undone, Mode.UNDO), packet(last, Mode.DO)
+		)).toCompletableFuture().join();
+
+		InOrder inOrder = inOrder(enforcer);
+		inOrder.verify(enforcer).enforceWithoutSynchronization(
+				argThat((List<EnforcementOrder> orders) -> punishmentsOf(orders).equals(List.of(first)))
+		);
+		inOrder.verify(enforcer).unenforceWithoutSynchronization(
+				eq(undone.getIdentifier()), eq(PunishmentType.MUTE), any()
+		);
+		inOrder.verify(enforcer).enforceWithoutSynchronization(
+				argThat((List<EnforcementOrder> orders) -> punishmentsOf(orders).equals(List.of(last)))
+		);
+		verify(activeBanIndex).remove(undone.getIdentifier());
+	}
+
+	@Test
+	public void skipMissingOrMistypedPunishments() {
+		Punishment existing = punishment(PunishmentType.BAN);
+		Punishment missing = punishment(PunishmentType.BAN);
+		Punishment mistyped = punishment(PunishmentType.WARN);
+		Map<Long, Punishment> found = Map.of(
+				existing.getIdentifier(), existing,
+				// Same ID but a different type
+				mistyped.getIdentifier(), punishment(PunishmentType.MUTE)
+		);
+		when(selector.getHistoricalPunishmentsById(any())).thenReturn(futuresFactory.completedFuture(found));
+
+		messageReceiver.onReception(List.of(
+				packet(existing, Mode.DO), packet(missing, Mode.DO), packet(mistyped, Mode.DO),
+				new PacketExpunge(missing.getIdentifier())
+		)).toCompletableFuture().join();
+
+		verify(enforcer).enforceWithoutSynchronization(
+				argThat((List<EnforcementOrder> orders) -> punishmentsOf(orders).equals(List.of(existing)))
+		);
+		verify(enforcer).clearExpungedWithoutSynchronization(missing.getIdentifier());
+		verify(activeBanIndex, never()).update(missing);
+	}
+
+	@Test
+	public void expungeBatch() {
+		when(selector.getHistoricalPunishmentsById(Set.of())).thenReturn(futuresFactory.completedFuture(Map.of()));
+
+		messageReceiver.onReception(new PacketExpungeBatch(new long[] {1L, 2L, 3L})).toCompletableFuture().join();
+		for (long id = 1L; id <= 3L; id++) {
+			verify(activeBanIndex).remove(id);
+			verify(enforcer).clearExpungedWithoutSynchronization(id);
+		}
+	}
+
+	@Test
+	public void singleMessage() {
+		Punishment ban = punishment(PunishmentType.BAN);
+		setPunishments(ban);
+
+		messageReceiver.onReception(packet(ban, Mode.DO)).toCompletableFuture().join();
+		verify(enforcer).enforceWithoutSynchronization(
+				argThat((List<EnforcementOrder> orders) -> punishmentsOf(orders).equals(List.of(ban))
+						&& orders.get(0).enforcementOptions().enforcement() == EnforcementOptions.Enforcement.SINGLE_SERVER_ONLY)
+		);
+	}
+
+}
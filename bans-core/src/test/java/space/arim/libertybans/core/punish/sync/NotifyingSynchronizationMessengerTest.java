@@ -0,0 +1,249 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.core.database.InternalDatabase;
+import space.arim.libertybans.core.database.Vendor;
+import space.arim.libertybans.core.database.execute.SQLFunction;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.CentralisedFuture;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotifyingSynchronizationMessengerTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final Configs configs;
+	private final SqlConfig.Synchronization synchronization;
+	private final SQLSynchronizationMessenger sqlMessenger;
+	private final ProxyNotificationTransport<?, ?> proxyTransport;
+
+	private final String databaseName = "HSQLDB" + UUID.randomUUID();
+
+	private NotifyingSynchronizationMessenger messenger;
+	private NotifyingSynchronizationMessenger otherMessenger;
+
+	public NotifyingSynchronizationMessengerTest(@Mock Configs configs, @Mock SqlConfig.Synchronization synchronization,
+												 @Mock SQLSynchronizationMessenger sqlMessenger,
+												 @Mock ProxyNotificationTransport<?, ?> proxyTransport) {
+		this.configs = configs;
+		this.synchronization = synchronization;
+		this.sqlMessenger = sqlMessenger;
+		this.proxyTransport = proxyTransport;
+	}
+
+	@BeforeEach
+	public void setMessengers(@Mock SqlConfig sqlConfig) {
+		when(configs.getSqlConfig()).thenReturn(sqlConfig);
+		when(sqlConfig.synchronization()).thenReturn(synchronization);
+		messenger = new NotifyingSynchronizationMessenger(configs, futuresFactory, sqlMessenger, proxyTransport);
+		otherMessenger = new NotifyingSynchronizationMessenger(configs, futuresFactory, sqlMessenger, proxyTransport);
+	}
+
+	@AfterEach
+	public void stopListening() {
+		messenger.stopListening();
+		otherMessenger.stopListening();
+	}
+
+	private InternalDatabase localDatabase(String databaseName) {
+		InternalDatabase database = mock(InternalDatabase.class);
+		when(database.getVendor()).thenReturn(Vendor.HSQLDB);
+		when(database.query(any(SQLFunction.class))).thenReturn(futuresFactory.completedFuture(databaseName));
+		return database;
+	}
+
+	@Test
+	public void notConfigured() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.ANSI_SQL);
+		assertFalse(messenger.startListening(mock(InternalDatabase.class), () -> {}));
+		assertFalse(messenger.isNotified());
+
+		byte[] message = RandomUtil.randomBytes(20);
+		when(sqlMessenger.dispatch(message)).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(message).join();
+		verify(sqlMessenger).dispatch(message);
+	}
+
+	@Test
+	public void unsupportedVendor(@Mock InternalDatabase database) {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.NOTIFY);
+		when(database.getVendor()).thenReturn(Vendor.MARIADB);
+		assertFalse(messenger.startListening(database, () -> {}));
+		assertFalse(messenger.isNotified());
+	}
+
+	@Test
+	public void notifyInstancesWithSameDatabase() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.NOTIFY);
+		AtomicInteger arrivals = new AtomicInteger();
+		// Periodic polling is still needed as a fallback
+		assertFalse(messenger.startListening(localDatabase(databaseName), () -> {}));
+		assertFalse(otherMessenger.startListening(localDatabase(databaseName), arrivals::incrementAndGet));
+		// But it may be infrequent
+		assertTrue(messenger.isNotified());
+
+		byte[] message1 = RandomUtil.randomBytes(20);
+		byte[] message2 = RandomUtil.randomBytes(30);
+		when(sqlMessenger.dispatch(any())).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(message1).join();
+		messenger.dispatch(message2).join();
+
+		// Messages are stored in the database, and only a notification is pushed
+		verify(sqlMessenger).dispatch(message1);
+		verify(sqlMessenger).dispatch(message2);
+		assertEquals(2, arrivals.get());
+		byte[][] polled = new byte[][] {message1, message2};
+		when(sqlMessenger.poll()).thenReturn(futuresFactory.completedFuture(polled));
+		assertArrayEquals(polled, otherMessenger.poll().join());
+	}
+
+	@Test
+	public void isolateDifferentDatabases() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.NOTIFY);
+		AtomicInteger arrivals = new AtomicInteger();
+		messenger.startListening(localDatabase(databaseName), () -> {});
+		otherMessenger.startListening(localDatabase(databaseName + "-other"), arrivals::incrementAndGet);
+
+		when(sqlMessenger.dispatch(any())).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(RandomUtil.randomBytes(20)).join();
+
+		assertEquals(0, arrivals.get());
+	}
+
+	@Test
+	public void pollAgainIfNotifiedWhilePolling() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.NOTIFY);
+		AtomicInteger arrivals = new AtomicInteger();
+		messenger.startListening(localDatabase(databaseName), arrivals::incrementAndGet);
+
+		CentralisedFuture<byte[][]> firstPoll = futuresFactory.newIncompleteFuture();
+		when(sqlMessenger.poll()).thenReturn(firstPoll);
+		CentralisedFuture<byte[][]> polling = messenger.poll();
+		// The first poll may have begun before the message was written
+		assertArrayEquals(new byte[][] {}, messenger.poll().join());
+		verify(sqlMessenger).poll();
+		assertEquals(0, arrivals.get());
+
+		byte[][] polled = new byte[][] {RandomUtil.randomBytes(10)};
+		firstPoll.complete(polled);
+		assertArrayEquals(polled, polling.join());
+		assertEquals(1, arrivals.get());
+	}
+
+	@Test
+	public void stopListeningFallsBack() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.NOTIFY);
+		AtomicInteger arrivals = new AtomicInteger();
+		messenger.startListening(localDatabase(databaseName), () -> {});
+		otherMessenger.startListening(localDatabase(databaseName), arrivals::incrementAndGet);
+		otherMessenger.stopListening();
+
+		when(sqlMessenger.dispatch(any())).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(RandomUtil.randomBytes(20)).join();
+		assertEquals(0, arrivals.get());
+
+		byte[][] polled = new byte[][] {RandomUtil.randomBytes(10)};
+		when(sqlMessenger.poll()).thenReturn(futuresFactory.completedFuture(polled));
+		assertArrayEquals(polled, otherMessenger.poll().join());
+	}
+
+	private Consumer<List<byte[]>> startPluginMessaging(Runnable onArrival) {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.PLUGIN_MESSAGING);
+		ArgumentCaptor<Consumer<List<byte[]>>> receiverCaptor = ArgumentCaptor.captor();
+		when(proxyTransport.start(receiverCaptor.capture())).thenReturn(true);
+		assertFalse(messenger.startListening(mock(InternalDatabase.class), onArrival));
+		assertFalse(messenger.isNotified());
+		return receiverCaptor.getValue();
+	}
+
+	@Test
+	public void pluginMessagingAlsoWritesToDatabase() {
+		startPluginMessaging(() -> {});
+
+		byte[] message = RandomUtil.randomBytes(20);
+		when(sqlMessenger.dispatch(message)).thenReturn(futuresFactory.completedFuture(null));
+		when(proxyTransport.publish(message)).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(message).join();
+		verify(sqlMessenger).dispatch(message);
+		verify(proxyTransport).publish(message);
+
+		// This instance's own message is not received again
+		when(sqlMessenger.poll()).thenReturn(futuresFactory.completedFuture(new byte[][] {message}));
+		assertArrayEquals(new byte[][] {}, messenger.poll().join());
+	}
+
+	@Test
+	public void pluginMessagingDropsSecondCopy() {
+		AtomicInteger arrivals = new AtomicInteger();
+		Consumer<List<byte[]>> receiver = startPluginMessaging(arrivals::incrementAndGet);
+
+		byte[] forwarded = RandomUtil.randomBytes(20);
+		byte[] notForwarded = RandomUtil.randomBytes(20);
+		receiver.accept(List.of(forwarded));
+		assertEquals(1, arrivals.get());
+		// The database is polled even when forwarded messages are waiting
+		when(sqlMessenger.poll()).thenReturn(futuresFactory.completedFuture(new byte[][] {notForwarded}));
+		assertArrayEquals(new byte[][] {forwarded, notForwarded}, messenger.poll().join());
+
+		// The database's copy of the forwarded message, and the proxy's late copy of the other, are dropped
+		when(sqlMessenger.poll()).thenReturn(futuresFactory.completedFuture(new byte[][] {forwarded}));
+		receiver.accept(List.of(notForwarded));
+		assertArrayEquals(new byte[][] {}, messenger.poll().join());
+	}
+
+	@Test
+	public void pluginMessagingUnusable() {
+		when(synchronization.mode()).thenReturn(SqlConfig.Synchronization.SyncMode.PLUGIN_MESSAGING);
+		when(proxyTransport.start(any())).thenReturn(false);
+		assertFalse(messenger.startListening(mock(InternalDatabase.class), () -> {}));
+		assertFalse(messenger.isNotified());
+
+		byte[] message = RandomUtil.randomBytes(20);
+		when(sqlMessenger.dispatch(message)).thenReturn(futuresFactory.completedFuture(null));
+		messenger.dispatch(message).join();
+		verify(sqlMessenger).dispatch(message);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.punish.sync;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.MainConfig;
+import space.arim.libertybans.core.env.EnvEnforcer;
+import space.arim.libertybans.core.env.EnvMessageChannel;
+import space.arim.libertybans.core.env.InstanceType;
+import space.arim.libertybans.core.env.message.ForwardSynchronization;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProxyNotificationTransportTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final Configs configs;
+	private final EnvEnforcer<Object> envEnforcer;
+	private final EnvMessageChannel<Object> envMessageChannel;
+
+	public ProxyNotificationTransportTest(@Mock Configs configs, @Mock EnvEnforcer<Object> envEnforcer,
+										  @Mock EnvMessageChannel<Object> envMessageChannel) {
+		this.configs = configs;
+		this.envEnforcer = envEnforcer;
+		this.envMessageChannel = envMessageChannel;
+	}
+
+	private ProxyNotificationTransport<Object, Object> newTransport(InstanceType instanceType) {
+		return new ProxyNotificationTransport<>(
+				instanceType, configs, futuresFactory, envEnforcer, envMessageChannel
+		);
+	}
+
+	private void setOnlinePlayers(Collection<Object> players) {
+		when(envEnforcer.doForAllPlayers(any())).thenAnswer((invocation) -> {
+			Consumer<Collection<Object>> action = invocation.getArgument(0);
+			action.accept(players);
+			return futuresFactory.completedFuture(null);
+		});
+	}
+
+	@Test
+	public void sendThroughOnePlayer() {
+		Object player1 = new Object();
+		Object player2 = new Object();
+		setOnlinePlayers(List.of(player1, player2));
+		byte[] message = RandomUtil.randomBytes(20);
+		when(envEnforcer.sendPluginMessageIfListening(eq(player1), any(ForwardSynchronization.class), eq(message)))
+				.thenReturn(true);
+
+		newTransport(InstanceType.GAME_SERVER).publish(message).join();
+		verify(envEnforcer, never()).sendPluginMessageIfListening(eq(player2), any(), any());
+	}
+
+	@Test
+	public void tryEachPlayerUntilListening() {
+		Object player1 = new Object();
+		Object player2 = new Object();
+		setOnlinePlayers(List.of(player1, player2));
+		byte[] message = RandomUtil.randomBytes(20);
+		when(envEnforcer.sendPluginMessageIfListening(eq(player1), any(ForwardSynchronization.class), eq(message)))
+				.thenReturn(false);
+		when(envEnforcer.sendPluginMessageIfListening(eq(player2), any(ForwardSynchronization.class), eq(message)))
+				.thenReturn(true);
+
+		newTransport(InstanceType.GAME_SERVER).publish(message).join();
+		verify(envEnforcer).sendPluginMessageIfListening(eq(player2), any(), eq(message));
+	}
+
+	@Test
+	public void skipOversizedMessages() {
+		byte[] message = RandomUtil.randomBytes(Short.MAX_VALUE + 1);
+
+		// The message is in the database regardless
+		newTransport(InstanceType.GAME_SERVER).publish(message).join();
+		verifyNoInteractions(envEnforcer);
+	}
+
+	@Test
+	public void unusableOnProxy() {
+		assertFalse(newTransport(InstanceType.PROXY).start((messages) -> {}));
+		verify(envMessageChannel, never()).installHandler(any());
+	}
+
+	@Test
+	public void unusableWithoutPluginMessaging(@Mock MainConfig mainConfig, @Mock MainConfig.Platforms platforms,
+											   @Mock MainConfig.Platforms.GameServers gameServers) {
+		when(configs.getMainConfig()).thenReturn(mainConfig);
+		when(mainConfig.platforms()).thenReturn(platforms);
+		when(platforms.gameServers()).thenReturn(gameServers);
+		when(gameServers.usePluginMessaging()).thenReturn(false);
+		assertFalse(newTransport(InstanceType.GAME_SERVER).start((messages) -> {}));
+		verify(envMessageChannel, never()).installHandler(any());
+	}
+
+}
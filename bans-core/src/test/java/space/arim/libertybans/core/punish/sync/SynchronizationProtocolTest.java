@@ -87,6 +87,11 @@ public class SynchronizationProtocolTest {
 		communicateMessageSuccessfully(new PacketExpunge(id));
 	}
 
+	@Test
+	public void expungeBatch() {
+		communicateMessageSuccessfully(new PacketExpungeBatch(new long[] {id, id + 1, id + 2}));
+	}
+
 	@Test
 	public void updateDetails() {
 		communicateMessageSuccessfully(new PacketUpdateDetails(id));
@@ -0,0 +1,86 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MuteCommandMatcherTest {
+
+	private final MuteCommandMatcher matcher = MuteCommandMatcher.compile(Set.of("msg", "r", "clan chat"));
+
+	@Test
+	public void singleWord() {
+		assertTrue(matcher.matches("msg"));
+		assertTrue(matcher.matches("msg Player1 hi"));
+		assertTrue(matcher.matches("r hi"));
+		assertFalse(matcher.matches("msgs"));
+		assertFalse(matcher.matches("ms"));
+		assertFalse(matcher.matches("help msg"));
+		assertFalse(matcher.matches("rules"));
+	}
+
+	@Test
+	public void ignoreCase() {
+		assertTrue(matcher.matches("MSG Player1 hi"));
+		assertTrue(matcher.matches("Clan CHAT hello"));
+	}
+
+	@Test
+	public void multipleWords() {
+		assertTrue(matcher.matches("clan chat"));
+		assertTrue(matcher.matches("clan chat hello my clan"));
+		assertFalse(matcher.matches("clan"));
+		assertFalse(matcher.matches("clan another clan command not block"));
+		assertFalse(matcher.matches("clan chatter"));
+	}
+
+	@Test
+	public void colonPrefix() {
+		assertTrue(matcher.matches("essentials:msg Player1 hi"));
+		assertTrue(matcher.matches("someplugin:clan chat hello"));
+		assertFalse(matcher.matches("essentials:help msg"));
+	}
+
+	@Test
+	public void emptyCommand() {
+		assertFalse(matcher.matches(""));
+		assertFalse(matcher.matches(" msg"));
+	}
+
+	@Test
+	public void trailingSpaceInConfiguredCommand() {
+		MuteCommandMatcher matcher = MuteCommandMatcher.compile(Set.of("tell "));
+		assertTrue(matcher.matches("tell"));
+		assertTrue(matcher.matches("tell Player1 hi"));
+	}
+
+	@Test
+	public void recompiledAfterReload() {
+		Set<String> muteCommands = Set.of("msg");
+		MuteCommandMatcher matcher = MuteCommandMatcher.compile(muteCommands);
+		assertTrue(matcher.isCompiledFrom(muteCommands));
+		assertFalse(matcher.isCompiledFrom(Set.of("msg")));
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.api.select.SortPunishments;
+import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.database.jooq.JooqContext;
+import space.arim.libertybans.core.punish.PunishmentCreator;
+import space.arim.libertybans.core.scope.InternalScopeManager;
+import space.arim.libertybans.core.service.Time;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class QueryPlanCacheTest {
+
+	private final QueryPlanCache queryPlans = new QueryPlanCache();
+	private final DSLContext context = new JooqContext(SQLDialect.HSQLDB).createRenderOnlyContext();
+	private SelectionResources selectionResources;
+
+	@BeforeEach
+	public void setSelectionResources() {
+		selectionResources = new SelectionResources(
+				new IndifferentFactoryOfTheFuture(), () -> mock(QueryExecutor.class),
+				mock(InternalScopeManager.class), mock(PunishmentCreator.class), mock(Time.class),
+				queryPlans
+		);
+	}
+
+	private SelectionByApplicabilityImpl selection(AddressStrictness strictness, boolean canAssumeUserRecorded) {
+		return (SelectionByApplicabilityImpl) new SelectionByApplicabilityBuilderImpl(
+				selectionResources, UUID.randomUUID(), RandomUtil.randomAddress(), strictness
+		)
+				.canAssumeUserRecorded(canAssumeUserRecorded)
+				.type(PunishmentType.BAN)
+				.build();
+	}
+
+	@ParameterizedTest
+	@EnumSource(AddressStrictness.class)
+	public void planMatchesRenderedQuery(AddressStrictness strictness) {
+		for (boolean canAssumeUserRecorded : new boolean[] {true, false}) {
+			if (strictness == AddressStrictness.NORMAL && !canAssumeUserRecorded) {
+				continue;
+			}
+			SelectionByApplicabilityImpl selection = selection(strictness, canAssumeUserRecorded);
+			QueryPlan plan = queryPlans.planFor(selection, context, SortPunishments.LATEST_END_DATE_FIRST);
+			assertNotNull(plan, "Strictness " + strictness + ", canAssumeUserRecorded " + canAssumeUserRecorded);
+			assertEquals(selection.renderSingleApplicablePunishmentSQL(context), plan.sql());
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(AddressStrictness.class)
+	public void reusePlanForDifferentUsers(AddressStrictness strictness) {
+		QueryPlan plan = queryPlans.planFor(
+				selection(strictness, true), context, SortPunishments.LATEST_END_DATE_FIRST
+		);
+		assertNotNull(plan);
+		assertSame(plan, queryPlans.planFor(
+				selection(strictness, true), context, SortPunishments.LATEST_END_DATE_FIRST
+		));
+	}
+
+	@Test
+	public void separatePlansForRetroSupport() {
+		DSLContext retroContext = new JooqContext(SQLDialect.HSQLDB, true).createRenderOnlyContext();
+		QueryPlan plan = queryPlans.planFor(
+				selection(AddressStrictness.LENIENT, true), context, SortPunishments.LATEST_END_DATE_FIRST
+		);
+		QueryPlan retroPlan = queryPlans.planFor(
+				selection(AddressStrictness.LENIENT, true), retroContext, SortPunishments.LATEST_END_DATE_FIRST
+		);
+		assertNotNull(plan);
+		assertNotNull(retroPlan);
+		assertNotSame(plan, retroPlan);
+	}
+
+	@Test
+	public void noPlanForVariableAddresses() {
+		assertNull(queryPlans.planFor(
+				selection(AddressStrictness.NORMAL, false), context, SortPunishments.LATEST_END_DATE_FIRST
+		));
+	}
+
+	@Test
+	public void noPlanForPagination() {
+		SelectionByApplicabilityImpl selection = (SelectionByApplicabilityImpl) new SelectionByApplicabilityBuilderImpl(
+				selectionResources, UUID.randomUUID(), RandomUtil.randomAddress(), AddressStrictness.LENIENT
+		)
+				.skipFirstRetrieved(5)
+				.build();
+		assertNull(queryPlans.planFor(selection, context, SortPunishments.LATEST_END_DATE_FIRST));
+	}
+
+}
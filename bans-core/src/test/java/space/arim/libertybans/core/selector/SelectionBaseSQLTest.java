@@ -49,7 +49,8 @@ public class SelectionBaseSQLTest {
 	public void optimizedApplicabilityQuery(AddressStrictness strictness) {
 		SelectionResources selectionResources = new SelectionResources(
 				new IndifferentFactoryOfTheFuture(), () -> mock(QueryExecutor.class),
-				mock(InternalScopeManager.class), mock(PunishmentCreator.class), mock(Time.class)
+				mock(InternalScopeManager.class), mock(PunishmentCreator.class), mock(Time.class),
+				new QueryPlanCache()
 		);
 		UUID uuid = UUID.randomUUID();
 		NetworkAddress address = NetworkAddress.of(InetAddress.getLoopbackAddress());
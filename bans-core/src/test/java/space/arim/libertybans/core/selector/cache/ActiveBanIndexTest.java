@@ -0,0 +1,240 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.api.AddressVictim;
+import space.arim.libertybans.api.CompositeVictim;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.PlayerVictim;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.Victim;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.api.scope.ServerScope;
+import space.arim.libertybans.api.select.PunishmentSelector;
+import space.arim.libertybans.api.select.SelectionOrder;
+import space.arim.libertybans.api.select.SelectionOrderBuilder;
+import space.arim.libertybans.core.config.Configs;
+import space.arim.libertybans.core.config.SqlConfig;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
+import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveBanIndexTest {
+
+	private final FactoryOfTheFuture futuresFactory = new IndifferentFactoryOfTheFuture();
+	private final Configs configs;
+	private final SqlConfig.ActiveBanIndex conf;
+	private final PunishmentSelector selector;
+	private final ServerScope scope = mock(ServerScope.class);
+	private final Instant currentTime = Instant.ofEpochSecond(1_000_000L);
+
+	private ActiveBanIndex index;
+
+	public ActiveBanIndexTest(@Mock Configs configs, @Mock SqlConfig.ActiveBanIndex conf,
+							  @Mock PunishmentSelector selector) {
+		this.configs = configs;
+		this.conf = conf;
+		this.selector = selector;
+	}
+
+	@BeforeEach
+	public void setIndex(@Mock SqlConfig sqlConfig) {
+		when(configs.getSqlConfig()).thenReturn(sqlConfig);
+		when(sqlConfig.activeBanIndex()).thenReturn(conf);
+		index = new ActiveBanIndex(configs, () -> selector);
+	}
+
+	private SelectionOrder startWithExisting(Punishment...existing) {
+		when(conf.enable()).thenReturn(true);
+		SelectionOrderBuilder builder = mock(SelectionOrderBuilder.class, RETURNS_SELF);
+		SelectionOrder order = mock(SelectionOrder.class);
+		when(selector.selectionBuilder()).thenReturn(builder);
+		when(builder.build()).thenReturn(order);
+		when(order.getAllSpecificPunishments()).thenReturn(futuresFactory.completedFuture(List.of(existing)));
+		index.startup();
+		return order;
+	}
+
+	private Punishment ban(Victim victim, Instant endDate) {
+		Punishment ban = mock(Punishment.class);
+		lenient().when(ban.getIdentifier()).thenReturn(ThreadLocalRandom.current().nextLong());
+		lenient().when(ban.getType()).thenReturn(PunishmentType.BAN);
+		lenient().when(ban.getVictim()).thenReturn(victim);
+		lenient().when(ban.getScope()).thenReturn(scope);
+		lenient().when(ban.getEndDate()).thenReturn(endDate);
+		lenient().when(ban.isPermanent()).thenReturn(endDate.equals(Punishment.PERMANENT_END_DATE));
+		return ban;
+	}
+
+	private Punishment find(UUID uuid, NetworkAddress address) {
+		return index.findApplicableBan(uuid, address, List.of(), Set.of(scope), currentTime);
+	}
+
+	@Test
+	public void disabled() {
+		when(conf.enable()).thenReturn(false);
+		index.startup();
+		assertFalse(index.isReady());
+	}
+
+	@Test
+	public void loadExisting() {
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment userBan = ban(PlayerVictim.of(uuid), Punishment.PERMANENT_END_DATE);
+		startWithExisting(userBan);
+
+		assertTrue(index.isReady());
+		assertEquals(userBan, find(uuid, address));
+		assertNull(find(UUID.randomUUID(), address));
+	}
+
+	@Test
+	public void matchVictimTypes() {
+		startWithExisting();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment addressBan = ban(AddressVictim.of(address), Punishment.PERMANENT_END_DATE);
+		index.update(addressBan);
+		assertEquals(addressBan, find(UUID.randomUUID(), address));
+
+		UUID otherUuid = UUID.randomUUID();
+		NetworkAddress otherAddress = RandomUtil.randomAddress();
+		Punishment compositeBan = ban(CompositeVictim.of(otherUuid, otherAddress), Punishment.PERMANENT_END_DATE);
+		index.update(compositeBan);
+		assertEquals(compositeBan, find(otherUuid, RandomUtil.randomAddress()));
+		assertEquals(compositeBan, find(uuid, otherAddress));
+	}
+
+	@Test
+	public void matchPastAddresses() {
+		startWithExisting();
+		NetworkAddress pastAddress = RandomUtil.randomAddress();
+		Punishment addressBan = ban(AddressVictim.of(pastAddress), Punishment.PERMANENT_END_DATE);
+		index.update(addressBan);
+		assertEquals(addressBan, index.findApplicableBan(
+				UUID.randomUUID(), RandomUtil.randomAddress(), List.of(pastAddress), Set.of(scope), currentTime));
+	}
+
+	@Test
+	public void latestEndDateFirst() {
+		startWithExisting();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment shorterBan = ban(PlayerVictim.of(uuid), currentTime.plusSeconds(60L));
+		Punishment longerBan = ban(AddressVictim.of(address), currentTime.plusSeconds(600L));
+		index.update(shorterBan);
+		index.update(longerBan);
+		assertEquals(longerBan, find(uuid, address));
+	}
+
+	@Test
+	public void ignoreExpiredAndOtherScopes() {
+		startWithExisting();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		index.update(ban(PlayerVictim.of(uuid), currentTime.minusSeconds(1L)));
+		Punishment otherScopeBan = ban(PlayerVictim.of(uuid), Punishment.PERMANENT_END_DATE);
+		when(otherScopeBan.getScope()).thenReturn(mock(ServerScope.class));
+		index.update(otherScopeBan);
+		assertNull(find(uuid, address));
+	}
+
+	@Test
+	public void dropExpiredThenUpdate() {
+		startWithExisting();
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment expiredBan = ban(CompositeVictim.of(uuid, address), currentTime.minusSeconds(1L));
+		index.update(expiredBan);
+		assertNull(find(uuid, address));
+
+		// The same punishment, extended
+		Punishment extendedBan = ban(CompositeVictim.of(uuid, address), Punishment.PERMANENT_END_DATE);
+		when(extendedBan.getIdentifier()).thenReturn(expiredBan.getIdentifier());
+		index.update(extendedBan);
+		assertEquals(extendedBan, find(uuid, RandomUtil.randomAddress()));
+		assertEquals(extendedBan, find(UUID.randomUUID(), address));
+
+		index.remove(extendedBan.getIdentifier());
+		assertNull(find(uuid, address));
+	}
+
+	@Test
+	public void removeAndUpdate() {
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment userBan = ban(PlayerVictim.of(uuid), Punishment.PERMANENT_END_DATE);
+		startWithExisting(userBan);
+
+		index.remove(userBan.getIdentifier());
+		assertNull(find(uuid, address));
+
+		index.update(userBan);
+		assertEquals(userBan, find(uuid, address));
+	}
+
+	@Test
+	public void reloadDiscardsDeleted() {
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = RandomUtil.randomAddress();
+		Punishment userBan = ban(PlayerVictim.of(uuid), Punishment.PERMANENT_END_DATE);
+		SelectionOrder order = startWithExisting(userBan);
+		assertEquals(userBan, find(uuid, address));
+
+		// The ban is deleted from the database behind the index's back
+		when(order.getAllSpecificPunishments()).thenReturn(futuresFactory.completedFuture(List.of()));
+		index.reload().join();
+		assertTrue(index.isReady());
+		assertNull(find(uuid, address));
+	}
+
+	@Test
+	public void ignoreOtherTypes() {
+		startWithExisting();
+		UUID uuid = UUID.randomUUID();
+		Punishment mute = ban(PlayerVictim.of(uuid), Punishment.PERMANENT_END_DATE);
+		when(mute.getType()).thenReturn(PunishmentType.MUTE);
+		index.update(mute);
+		assertNull(find(uuid, RandomUtil.randomAddress()));
+	}
+
+}
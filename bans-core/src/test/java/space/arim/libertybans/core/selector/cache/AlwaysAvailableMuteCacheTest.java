@@ -51,6 +51,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -89,7 +90,8 @@ public class AlwaysAvailableMuteCacheTest {
 
 	@BeforeEach
 	public void setMuteCache(@Mock Configs configs, @Mock SqlConfig sqlConfig,
-							 @Mock SqlConfig.MuteCaching muteCaching, @Mock SqlConfig.Synchronization synchronization) {
+							 @Mock SqlConfig.MuteCaching muteCaching, @Mock SqlConfig.Synchronization synchronization,
+							 @Mock MuteExpiryScheduler expiryScheduler) {
 		when(configs.getSqlConfig()).thenReturn(sqlConfig);
 		when(sqlConfig.muteCaching()).thenReturn(muteCaching);
 		when(muteCaching.expirationTimeSeconds()).thenReturn((int) EXPIRATION_TIME.toSeconds());
@@ -103,7 +105,7 @@ public class AlwaysAvailableMuteCacheTest {
 		});
 
 		muteCache = new AlwaysAvailableMuteCache(
-				configs, futuresFactory, selector, enhancedExecutor, envUserResolver, formatter, time);
+				configs, futuresFactory, selector, enhancedExecutor, envUserResolver, formatter, time, expiryScheduler);
 		muteCache.startup();
 
 		uuid = UUID.randomUUID();
@@ -207,6 +209,23 @@ public class AlwaysAvailableMuteCacheTest {
 		assertAvailableCacheResult(null);
 	}
 
+	@Test
+	public void chatMuteMessageReusedWhileFresh(@Mock Punishment mute) {
+		Component muteMessage = Component.text("You are muted");
+
+		when(selector.getApplicablePunishment(uuid, address, PunishmentType.MUTE))
+				.thenReturn(futuresFactory.completedFuture(Optional.of(mute)));
+		when(formatter.getPunishmentMessage(mute)).thenReturn(futuresFactory.completedFuture(muteMessage));
+		muteCache.cacheOnLogin(uuid, address).join();
+		// The first request swaps in the value computed on login
+		assertEquals(muteMessage, muteCache.getChatMuteMessage(uuid, address).join());
+
+		CentralisedFuture<Component> chatMuteMessage = muteCache.getChatMuteMessage(uuid, address);
+		time.advanceBy(Duration.ofSeconds(1L));
+		assertSame(chatMuteMessage, muteCache.getChatMuteMessage(uuid, address));
+		assertEquals(muteMessage, chatMuteMessage.join());
+	}
+
 	// cacheRequest
 
 	@Test
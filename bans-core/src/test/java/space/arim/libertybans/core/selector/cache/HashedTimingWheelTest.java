@@ -0,0 +1,92 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HashedTimingWheelTest {
+
+	private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(8, 100L);
+
+	private List<String> advance(long toTick) {
+		List<String> expired = new ArrayList<>();
+		wheel.advance(toTick, expired::add);
+		return expired;
+	}
+
+	@Test
+	public void expireAtDeadline() {
+		wheel.schedule("first", 102L);
+		wheel.schedule("second", 103L);
+		assertEquals(List.of(), advance(101L));
+		assertEquals(List.of("first"), advance(102L));
+		assertEquals(List.of("second"), advance(103L));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void deadlinesBeyondOneRevolution() {
+		// Both hash into the same slot
+		wheel.schedule("near", 101L);
+		wheel.schedule("far", 101L + 8L * 3);
+		assertEquals(List.of("near"), advance(101L));
+		assertEquals(List.of(), advance(110L));
+		assertEquals(List.of(), advance(124L));
+		assertEquals(List.of("far"), advance(125L));
+	}
+
+	@Test
+	public void pastDeadlineExpiresOnNextAdvance() {
+		advance(105L);
+		wheel.schedule("late", 90L);
+		assertEquals(List.of("late"), advance(106L));
+	}
+
+	@Test
+	public void advanceAfterLongPause() {
+		wheel.schedule("first", 103L);
+		wheel.schedule("second", 150L);
+		wheel.schedule("third", 1000L);
+		assertEquals(List.of("first", "second"), advance(200L));
+		assertEquals(1, wheel.size());
+	}
+
+	@Test
+	public void cancel() {
+		var timeout = wheel.schedule("cancelled", 102L);
+		wheel.schedule("kept", 102L);
+		wheel.cancel(timeout);
+		// Cancelling twice is harmless
+		wheel.cancel(timeout);
+		assertEquals(List.of("kept"), advance(102L));
+	}
+
+	@Test
+	public void wheelSizeMustBePowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(6, 0L));
+	}
+
+}
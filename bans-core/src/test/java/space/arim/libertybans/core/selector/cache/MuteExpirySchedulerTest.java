@@ -0,0 +1,188 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.core.selector.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.core.event.FireEventWithTimeout;
+import space.arim.libertybans.core.event.PunishmentExpiredEventImpl;
+import space.arim.libertybans.core.service.SettableTime;
+import space.arim.libertybans.core.service.SettableTimeImpl;
+import space.arim.libertybans.it.util.RandomUtil;
+import space.arim.omnibus.util.concurrent.EnhancedExecutor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MuteExpirySchedulerTest {
+
+	private final EnhancedExecutor enhancedExecutor;
+	private final FireEventWithTimeout fireEventWithTimeout;
+	private final SettableTime time = new SettableTimeImpl(Instant.ofEpochSecond(1_000_000L));
+	private final List<Map.Entry<MuteCacheKey, Punishment>> evicted = new ArrayList<>();
+
+	private MuteExpiryScheduler scheduler;
+
+	public MuteExpirySchedulerTest(@Mock EnhancedExecutor enhancedExecutor,
+								   @Mock FireEventWithTimeout fireEventWithTimeout) {
+		this.enhancedExecutor = enhancedExecutor;
+		this.fireEventWithTimeout = fireEventWithTimeout;
+	}
+
+	@BeforeEach
+	public void setScheduler() {
+		scheduler = new MuteExpiryScheduler(enhancedExecutor, fireEventWithTimeout, time);
+		scheduler.start((key, mute) -> evicted.add(Map.entry(key, mute)));
+	}
+
+	private Punishment muteEndingIn(Duration duration, Punishment mute, long id) {
+		lenient().when(mute.getIdentifier()).thenReturn(id);
+		when(mute.getEndDate()).thenReturn(time.currentTimestamp().plus(duration));
+		return mute;
+	}
+
+	private static MuteCacheKey randomKey() {
+		return new MuteCacheKey(UUID.randomUUID(), RandomUtil.randomAddress());
+	}
+
+	@Test
+	public void evictWhenExpired(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofSeconds(30L), mockMute, 1L);
+		MuteCacheKey key = randomKey();
+		scheduler.track(mute, key);
+		assertEquals(1, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofSeconds(30L));
+		scheduler.tick();
+		assertEquals(List.of(), evicted, "Not expired at its end date exactly");
+
+		time.advanceBy(Duration.ofSeconds(1L));
+		scheduler.tick();
+		assertEquals(List.of(Map.entry(key, mute)), evicted);
+		assertEquals(0, scheduler.scheduledCount());
+		verify(fireEventWithTimeout).fire(new PunishmentExpiredEventImpl(mute));
+	}
+
+	@Test
+	public void ignorePermanentMutes(@Mock Punishment mute) {
+		when(mute.isPermanent()).thenReturn(true);
+		scheduler.track(mute, randomKey());
+		assertEquals(0, scheduler.scheduledCount());
+	}
+
+	@Test
+	public void scheduleOncePerPunishment(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofMinutes(2L), mockMute, 2L);
+		MuteCacheKey key = randomKey();
+		scheduler.track(mute, key);
+		scheduler.track(mute, key);
+		assertEquals(1, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofMinutes(3L));
+		scheduler.tick();
+		assertEquals(List.of(Map.entry(key, mute)), evicted);
+		verify(fireEventWithTimeout).fire(new PunishmentExpiredEventImpl(mute));
+	}
+
+	@Test
+	public void evictFromEachKey(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofMinutes(2L), mockMute, 3L);
+		MuteCacheKey key1 = randomKey();
+		MuteCacheKey key2 = randomKey();
+		scheduler.track(mute, key1);
+		scheduler.track(mute, key2);
+		assertEquals(1, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofMinutes(3L));
+		scheduler.tick();
+		assertEquals(2, evicted.size());
+		assertEquals(Set.of(Map.entry(key1, mute), Map.entry(key2, mute)), Set.copyOf(evicted));
+		// Fired once, regardless of the number of keys
+		verify(fireEventWithTimeout).fire(new PunishmentExpiredEventImpl(mute));
+	}
+
+	@Test
+	public void cancelledMuteIsNotEvicted(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofSeconds(5L), mockMute, 4L);
+		scheduler.track(mute, randomKey());
+		scheduler.track(mute, randomKey());
+		scheduler.cancel(4L);
+		assertEquals(0, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofSeconds(10L));
+		scheduler.tick();
+		assertEquals(List.of(), evicted);
+		verify(fireEventWithTimeout, never()).fire(any());
+	}
+
+	@Test
+	public void cancelMuteNoLongerHeld(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofHours(1L), mockMute, 5L);
+		MuteCacheKey key = randomKey();
+		scheduler.track(mute, key);
+		scheduler.untrack(5L, key);
+		assertEquals(0, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofHours(2L));
+		scheduler.tick();
+		assertEquals(List.of(), evicted);
+		verify(fireEventWithTimeout, never()).fire(any());
+	}
+
+	@Test
+	public void keepMuteHeldByAnotherKey(@Mock Punishment mockMute) {
+		Punishment mute = muteEndingIn(Duration.ofHours(1L), mockMute, 6L);
+		MuteCacheKey key1 = randomKey();
+		MuteCacheKey key2 = randomKey();
+		scheduler.track(mute, key1);
+		scheduler.track(mute, key2);
+		scheduler.untrack(6L, key1);
+		assertEquals(1, scheduler.scheduledCount());
+
+		time.advanceBy(Duration.ofHours(2L));
+		scheduler.tick();
+		assertEquals(List.of(Map.entry(key2, mute)), evicted);
+		verify(fireEventWithTimeout).fire(new PunishmentExpiredEventImpl(mute));
+	}
+
+	@Test
+	public void untrackUnknownMute() {
+		scheduler.untrack(7L, randomKey());
+		assertEquals(0, scheduler.scheduledCount());
+	}
+
+}
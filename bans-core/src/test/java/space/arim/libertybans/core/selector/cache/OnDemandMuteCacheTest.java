@@ -67,7 +67,8 @@ public class OnDemandMuteCacheTest {
 
 	@BeforeEach
 	public void setMuteCache(@Mock InternalFormatter formatter, @Mock Configs configs, @Mock SqlConfig sqlConfig,
-							 @Mock SqlConfig.MuteCaching muteCaching, @Mock SqlConfig.Synchronization synchronization) {
+							 @Mock SqlConfig.MuteCaching muteCaching, @Mock SqlConfig.Synchronization synchronization,
+							 @Mock MuteExpiryScheduler expiryScheduler) {
 		when(configs.getSqlConfig()).thenReturn(sqlConfig);
 		when(sqlConfig.muteCaching()).thenReturn(muteCaching);
 		when(muteCaching.expirationTimeSeconds()).thenReturn((int) EXPIRATION_TIME.toSeconds());
@@ -75,7 +76,7 @@ public class OnDemandMuteCacheTest {
 		when(sqlConfig.synchronization()).thenReturn(synchronization);
 		when(synchronization.enabled()).thenReturn(false);
 
-		muteCache = new OnDemandMuteCache(configs, futuresFactory, selector, formatter, time);
+		muteCache = new OnDemandMuteCache(configs, futuresFactory, selector, formatter, time, expiryScheduler);
 		muteCache.startup();
 
 		uuid = UUID.randomUUID();
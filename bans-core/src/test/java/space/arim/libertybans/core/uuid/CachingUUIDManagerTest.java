@@ -36,7 +36,11 @@ import space.arim.omnibus.util.concurrent.CentralisedFuture;
 import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 import space.arim.omnibus.util.concurrent.impl.IndifferentFactoryOfTheFuture;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -78,6 +82,7 @@ public class CachingUUIDManagerTest {
 		UUIDResolutionConfig uuidResolution = mock(UUIDResolutionConfig.class);
 		lenient().when(configs.getMainConfig()).thenReturn(mainConfig);
 		lenient().when(mainConfig.uuidResolution()).thenReturn(uuidResolution);
+		when(uuidResolution.negativeCacheSeconds()).thenReturn(60);
 
 		when(time.toCaffeineTicker()).thenReturn(Ticker.disabledTicker());
 
@@ -325,8 +330,122 @@ public class CachingUUIDManagerTest {
 		assertNull(lookupUUID(nonAsciiName));
 		verify(nameValidator, times(1)).isVanillaName(nonAsciiName);
 		assertNull(lookupUUIDExact(nonAsciiName));
-		verify(nameValidator, times(2)).isVanillaName(nonAsciiName);
+		verify(nameValidator, times(1).description("Miss should be cached")).isVanillaName(nonAsciiName);
 
 		verifyNoInteractions(remoteApiBundle);
 	}
+
+	@Test
+	public void cacheMisses() {
+		when(queryingImpl.resolve(name)).thenReturn(completedFuture(null));
+		when(queryingImpl.resolve(uuid)).thenReturn(completedFuture(null));
+		when(nameValidator.isVanillaName(name)).thenReturn(false);
+		when(nameValidator.isVanillaUUID(uuid)).thenReturn(false);
+
+		assertNull(lookupUUID(name));
+		assertNull(lookupUUID(name.toUpperCase(Locale.ROOT)), "Miss should be cached");
+		assertNull(lookupName(uuid));
+		assertNull(lookupName(uuid), "Miss should be cached");
+		verify(queryingImpl).resolve(name);
+		verify(queryingImpl).resolve(uuid);
+
+		uuidManager.addCache(uuid, name);
+		assertEquals(uuid, lookupUUID(name), "Joining players should be recognized immediately");
+		assertEquals(name, lookupName(uuid));
+	}
+
+	@Test
+	public void coalesceConcurrentLookups() {
+		CentralisedFuture<String> queriedName = futuresFactory.newIncompleteFuture();
+		when(queryingImpl.resolve(uuid)).thenReturn(queriedName);
+
+		var firstLookup = uuidManager.lookupName(uuid);
+		var secondLookup = uuidManager.lookupName(uuid);
+		verify(queryingImpl).resolve(uuid);
+
+		queriedName.complete(name);
+		assertEquals(Optional.of(name), firstLookup.join());
+		assertEquals(Optional.of(name), secondLookup.join());
+		assertEquals(name, lookupName(uuid), "Name should be cached");
+		verify(queryingImpl).resolve(uuid);
+	}
+
+	@Test
+	public void bulkLookupNames() {
+		UUID queriedUuid = UUID.randomUUID();
+		UUID unknownUuid = UUID.randomUUID();
+		uuidManager.addCache(uuid, name);
+		when(queryingImpl.resolveNames(Set.of(queriedUuid, unknownUuid)))
+				.thenReturn(completedFuture(Map.of(queriedUuid, "Queried")));
+		when(nameValidator.isVanillaUUID(unknownUuid)).thenReturn(false);
+
+		assertEquals(
+				Map.of(uuid, name, queriedUuid, "Queried"),
+				uuidManager.lookupNames(List.of(uuid, queriedUuid, unknownUuid)).join()
+		);
+		assertEquals("Queried", lookupName(queriedUuid), "Name should be cached");
+		assertNull(lookupName(unknownUuid), "Miss should be cached");
+		verify(queryingImpl, never()).resolve(any(UUID.class));
+	}
+
+	@Test
+	public void bulkLookupUUIDs() {
+		UUID queriedUuid = UUID.randomUUID();
+		uuidManager.addCache(uuid, name);
+		when(queryingImpl.resolveUUIDs(Set.of("queried", "unknown")))
+				.thenReturn(completedFuture(Map.of("queried", queriedUuid)));
+		when(nameValidator.isVanillaName("Unknown")).thenReturn(false);
+
+		assertEquals(
+				Map.of(name, uuid, "Queried", queriedUuid, "QUERIED", queriedUuid),
+				uuidManager.lookupUUIDs(List.of(name, "Queried", "QUERIED", "Unknown")).join()
+		);
+		assertEquals(queriedUuid, lookupUUID("queried"), "uuid should be cached");
+		assertNull(lookupUUID("unknown"), "Miss should be cached");
+		verify(queryingImpl, never()).resolve(any(String.class));
+	}
+
+	@Test
+	public void bulkLookupNamesFromEnvironmentFirst() {
+		UUID queriedUuid = UUID.randomUUID();
+		when(envUserResolver.lookupName(uuid)).thenReturn(completedFuture(Optional.of(name)));
+		when(queryingImpl.resolveNames(Set.of(queriedUuid)))
+				.thenReturn(completedFuture(Map.of(queriedUuid, "Queried")));
+
+		assertEquals(
+				Map.of(uuid, name, queriedUuid, "Queried"),
+				uuidManager.lookupNames(List.of(uuid, queriedUuid)).join()
+		);
+		assertEquals(name, lookupName(uuid), "Name should be cached");
+	}
+
+	@Test
+	public void bulkLookupUUIDsFromEnvironmentFirst() {
+		UUID queriedUuid = UUID.randomUUID();
+		when(envUserResolver.lookupUUID(name)).thenReturn(completedFuture(Optional.of(uuid)));
+		when(queryingImpl.resolveUUIDs(Set.of("queried")))
+				.thenReturn(completedFuture(Map.of("queried", queriedUuid)));
+
+		assertEquals(
+				Map.of(name, uuid, "Queried", queriedUuid),
+				uuidManager.lookupUUIDs(List.of(name, "Queried")).join()
+		);
+		assertEquals(uuid, lookupUUID(name), "uuid should be cached");
+	}
+
+	@Test
+	public void bulkLookupExactNamesComputeOffline() {
+		RemoteApiBundle remoteApiBundle = mock(RemoteApiBundle.class);
+		mockConfig(ServerType.OFFLINE, remoteApiBundle);
+		UUID cachedUuid = UUID.randomUUID();
+		uuidManager.addCache(cachedUuid, "Cached");
+
+		UUID offlineUuid = OfflineUUID.computeOfflineUuid(name);
+		assertEquals(
+				Map.of(name, offlineUuid, "Cached", cachedUuid),
+				uuidManager.lookupUUIDsFromExactNames(List.of(name, "Cached")).join()
+		);
+		assertEquals(offlineUuid, lookupUUID(name), "uuid should be cached");
+		verifyNoInteractions(queryingImpl);
+	}
 }
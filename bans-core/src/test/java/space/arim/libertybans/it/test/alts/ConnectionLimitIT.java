@@ -32,7 +32,10 @@ import space.arim.libertybans.core.alts.ConnectionLimitConfig;
 import space.arim.libertybans.core.alts.ConnectionLimiter;
 import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.MainConfig;
+import space.arim.libertybans.core.config.SqlConfig;
 import space.arim.libertybans.core.database.execute.QueryExecutor;
+import space.arim.libertybans.core.punish.AssociationQueue;
+import space.arim.libertybans.core.punish.JoinListener;
 import space.arim.libertybans.core.selector.Guardian;
 import space.arim.libertybans.core.selector.EnforcementConfig;
 import space.arim.libertybans.core.service.SettableTime;
@@ -58,6 +61,7 @@ public class ConnectionLimitIT {
 	private final SettableTime time;
 	private final ConnectionLimitConfig conf;
 
+	private Configs configs;
 	private ConnectionLimiter limiter;
 
 	@Inject
@@ -70,7 +74,7 @@ public class ConnectionLimitIT {
 
 	@BeforeEach
 	public void setupConfiguration() {
-		Configs configs = mock(Configs.class);
+		configs = mock(Configs.class);
 		MainConfig mainConfig = mock(MainConfig.class);
 		EnforcementConfig enforcementConfig = mock(EnforcementConfig.class);
 		when(configs.getMainConfig()).thenReturn(mainConfig);
@@ -78,7 +82,20 @@ public class ConnectionLimitIT {
 		when(enforcementConfig.connectionLimiter()).thenReturn(conf);
 		when(conf.enable()).thenReturn(true);
 
-		limiter = new ConnectionLimiter(configs);
+		limiter = new ConnectionLimiter(configs, mock(AssociationQueue.class), new JoinListener());
+	}
+
+	private void countInMemory(boolean enable) {
+		ConnectionLimitConfig.InMemory inMemory = mock(ConnectionLimitConfig.InMemory.class);
+		when(conf.inMemory()).thenReturn(inMemory);
+		when(inMemory.enable()).thenReturn(enable);
+		if (enable) {
+			// Nothing is recorded by this limiter, so the in-memory count is seeded from the database
+			SqlConfig sqlConfig = mock(SqlConfig.class);
+			SqlConfig.Synchronization synchronization = mock(SqlConfig.Synchronization.class);
+			when(configs.getSqlConfig()).thenReturn(sqlConfig);
+			when(sqlConfig.synchronization()).thenReturn(synchronization);
+		}
 	}
 
 	private Component exceededLimit(NetworkAddress address) {
@@ -88,7 +105,18 @@ public class ConnectionLimitIT {
 	}
 
 	@TestTemplate
-	public void exceededLimit(Guardian guardian) {
+	public void exceededLimitInMemory(Guardian guardian) {
+		countInMemory(true);
+		exceededLimit(guardian);
+	}
+
+	@TestTemplate
+	public void exceededLimitInDatabase(Guardian guardian) {
+		countInMemory(false);
+		exceededLimit(guardian);
+	}
+
+	private void exceededLimit(Guardian guardian) {
 		Component denialMessage = Component.text("Denied due to limit");
 		when(conf.message()).thenReturn(denialMessage);
 		when(conf.durationSeconds()).thenReturn(Duration.ofHours(4L).toSeconds());
@@ -107,7 +135,18 @@ public class ConnectionLimitIT {
 	}
 
 	@TestTemplate
-	public void sufficientTimePassed(Guardian guardian) {
+	public void sufficientTimePassedInMemory(Guardian guardian) {
+		countInMemory(true);
+		sufficientTimePassed(guardian);
+	}
+
+	@TestTemplate
+	public void sufficientTimePassedInDatabase(Guardian guardian) {
+		countInMemory(false);
+		sufficientTimePassed(guardian);
+	}
+
+	private void sufficientTimePassed(Guardian guardian) {
 		Component denialMessage = Component.text("Denied due to limit");
 		when(conf.message()).thenReturn(denialMessage);
 		when(conf.durationSeconds()).thenReturn(Duration.ofHours(2L).toSeconds());
@@ -0,0 +1,119 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.it.test.alts;
+
+import jakarta.inject.Inject;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.core.database.InternalDatabase;
+import space.arim.libertybans.core.database.jooq.JooqContext;
+import space.arim.libertybans.core.punish.Association;
+import space.arim.libertybans.it.InjectionInvocationContextProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static space.arim.libertybans.core.schema.tables.StrictLinks.STRICT_LINKS;
+import static space.arim.libertybans.it.util.RandomUtil.randomAddress;
+
+@ExtendWith(InjectionInvocationContextProvider.class)
+public class StrictLinksIT {
+
+	private final InternalDatabase database;
+
+	@Inject
+	public StrictLinksIT(InternalDatabase database) {
+		this.database = database;
+	}
+
+	@TestTemplate
+	public void linkAddressRecordedConcurrently() throws SQLException, InterruptedException {
+		UUID user1 = UUID.randomUUID();
+		UUID user2 = UUID.randomUUID();
+		NetworkAddress address = randomAddress();
+		Instant currentTime = Instant.ofEpochSecond(1_700_000_000L);
+		JooqContext jooqContext = new JooqContext(database.getVendor().dialect());
+
+		CountDownLatch user2Recorded = new CountDownLatch(1);
+		try (Connection connection1 = database.getConnection()) {
+			DSLContext context1 = jooqContext.createContext(connection1);
+			assertTrue(new Association(user1, context1).associateCurrentAddress(address, currentTime));
+
+			CompletableFuture<?> otherTransaction = CompletableFuture.runAsync(() -> {
+				try (Connection connection2 = database.getConnection()) {
+					DSLContext context2 = jooqContext.createContext(connection2);
+					assertTrue(new Association(user2, context2).associateCurrentAddress(address, currentTime));
+					user2Recorded.countDown();
+					connection2.commit();
+				} catch (SQLException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+			// Some databases make the other transaction wait for this one, precluding the race
+			user2Recorded.await(2L, TimeUnit.SECONDS);
+			connection1.commit();
+			otherTransaction.join();
+		}
+		database.executeWithRetry(Association.linkAfterCommit(List.of(
+				new Association.NewAddress(user1, address), new Association.NewAddress(user2, address)
+		))).join();
+
+		assertTrue(isLinked(user1, user2));
+		assertTrue(isLinked(user2, user1));
+	}
+
+	@TestTemplate
+	public void doNotLinkAccountsAtCrowdedAddress() {
+		NetworkAddress address = randomAddress();
+		Instant currentTime = Instant.ofEpochSecond(1_700_000_000L);
+		UUID firstUser = UUID.randomUUID();
+		database.executeWithRetry((context, transaction) -> {
+			new Association(firstUser, context).associateCurrentAddress(address, currentTime);
+			for (int n = 1; n < Association.MAX_LINKED_ACCOUNTS_PER_ADDRESS; n++) {
+				new Association(UUID.randomUUID(), context).associateCurrentAddress(address, currentTime);
+			}
+		}).join();
+		UUID lastUser = UUID.randomUUID();
+		database.executeWithRetry((context, transaction) -> {
+			new Association(lastUser, context).associateCurrentAddress(address, currentTime);
+		}).join();
+
+		assertFalse(isLinked(firstUser, lastUser));
+		assertFalse(isLinked(lastUser, firstUser));
+		assertTrue(isLinked(lastUser, lastUser), "Users are always linked with themselves");
+	}
+
+	private boolean isLinked(UUID uuid1, UUID uuid2) {
+		return database.query((context) -> {
+			return context.fetchExists(STRICT_LINKS, STRICT_LINKS.UUID1.eq(uuid1).and(STRICT_LINKS.UUID2.eq(uuid2)));
+		}).join();
+	}
+
+}
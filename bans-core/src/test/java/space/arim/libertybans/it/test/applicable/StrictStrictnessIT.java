@@ -26,13 +26,20 @@ import space.arim.libertybans.api.AddressVictim;
 import space.arim.libertybans.api.CompositeVictim;
 import space.arim.libertybans.api.NetworkAddress;
 import space.arim.libertybans.api.select.AddressStrictness;
+import space.arim.libertybans.core.alts.AccountHistory;
+import space.arim.libertybans.core.service.SettableTime;
 import space.arim.libertybans.it.InjectionInvocationContextProvider;
 import space.arim.libertybans.it.SetAddressStrictness;
 import space.arim.libertybans.it.SetAltRegistry;
+import space.arim.libertybans.it.SetTime;
 import space.arim.libertybans.it.util.RandomUtil;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
 @ExtendWith(InjectionInvocationContextProvider.class)
 public class StrictStrictnessIT {
 
@@ -108,4 +115,31 @@ public class StrictStrictnessIT {
 		assertHelper.assertBanned(userTwo.uuid(), commonAddress, "User is linked to banner user by present common address");
 		assertHelper.assertBanned(userTwo.uuid(), userTwo.address(), "User is linked to banned user by past common address");
 	}
+
+	@TestTemplate
+	@SetAddressStrictness({AddressStrictness.STERN, AddressStrictness.STRICT})
+	@SetAltRegistry(all = true)
+	@SetTime(unixTime = SetTime.DEFAULT_TIME)
+	public void deletedHistoryUnlinksUsers(AccountHistory accountHistory, SettableTime time) {
+		NetworkAddress commonAddress = RandomUtil.randomAddress();
+		Instant commonAddressRecorded = time.currentTimestamp();
+
+		User userOne = User.randomUser();
+		User userTwo = User.randomUser();
+
+		assertHelper.connectAndAssumeUnbannedUser(userOne.uuid(), "namesdontmatter", commonAddress);
+		assertHelper.connectAndAssumeUnbannedUser(userTwo.uuid(), "yesreally", commonAddress);
+		time.advanceBy(Duration.ofDays(1L));
+		assertHelper.connectAndAssumeUnbannedUser(userOne.uuid(), "namesdontmatter2", userOne.address());
+		assertHelper.connectAndAssumeUnbannedUser(userTwo.uuid(), "namesdonotmatter", userTwo.address());
+
+		assertHelper.banVictim(AddressVictim.of(userOne.address()), "Botnet is banned");
+		assertHelper.assertBanned(userTwo.uuid(), userTwo.address(), "User is linked to banned user by past common address");
+
+		// Forget the common address of the second user
+		assumeTrue(accountHistory.deleteAccount(userTwo.uuid(), commonAddressRecorded).join());
+
+		assertHelper.assertNotBanned(userTwo.uuid(), userTwo.address(), "User is no longer linked to banned user");
+		assertHelper.assertBanned(userOne.uuid(), commonAddress, "Past address is still banned");
+	}
 }
@@ -33,6 +33,7 @@ import space.arim.libertybans.core.config.Configs;
 import space.arim.libertybans.core.config.MainConfig;
 import space.arim.libertybans.core.database.InternalDatabase;
 import space.arim.libertybans.core.env.CmdSender;
+import space.arim.libertybans.core.punish.JoinListener;
 import space.arim.libertybans.core.service.Time;
 import space.arim.libertybans.it.DontInject;
 import space.arim.libertybans.it.InjectionInvocationContextProvider;
@@ -68,7 +69,7 @@ public class OfflineNamesIT {
 
 	@BeforeEach
 	public void setTabCompletion() {
-		tabCompletion = new StandardTabCompletion(configs, dbProvider, time);
+		tabCompletion = new StandardTabCompletion(configs, dbProvider, time, new JoinListener());
 	}
 
 	private static final long CURRENT_TIME = 1628954750;
@@ -90,6 +91,7 @@ public class OfflineNamesIT {
 		when(config.enable()).thenReturn(true);
 		when(config.retentionMinutes()).thenReturn(Duration.ofHours(3L).toMinutes());
 		when(config.cacheRefreshSeconds()).thenReturn(Duration.ofMinutes(1L).toSeconds());
+		when(config.maxCompletions()).thenReturn(100);
 
 		Instant now = Instant.ofEpochSecond(CURRENT_TIME);
 		dbProvider.get().execute((context) -> {
@@ -106,6 +108,12 @@ public class OfflineNamesIT {
 		tabCompletion.startup();
 
 		assertEquals(Set.of("Sender", "Player1", "Player2"),
-				tabCompletion.completeOfflinePlayerNames(sender).collect(Collectors.toUnmodifiableSet()));
+				tabCompletion.completeOfflinePlayerNames(sender, "").collect(Collectors.toUnmodifiableSet()));
+		assertEquals(Set.of("Player1", "Player2"),
+				tabCompletion.completeOfflinePlayerNames(sender, "play").collect(Collectors.toUnmodifiableSet()));
+
+		tabCompletion.recordName("Player4", now);
+		assertEquals(Set.of("Player1", "Player2", "Player4"),
+				tabCompletion.completeOfflinePlayerNames(sender, "play").collect(Collectors.toUnmodifiableSet()));
 	}
 }
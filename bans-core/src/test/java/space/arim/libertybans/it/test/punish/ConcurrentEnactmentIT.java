@@ -0,0 +1,178 @@
+/*
+ * LibertyBans
+ * Copyright © 2026 Anand Beh
+ *
+ * LibertyBans is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * LibertyBans is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with LibertyBans. If not, see <https://www.gnu.org/licenses/>
+ * and navigate to version 3 of the GNU Affero General Public License.
+ */
+
+package space.arim.libertybans.it.test.punish;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import space.arim.libertybans.api.CompositeVictim;
+import space.arim.libertybans.api.NetworkAddress;
+import space.arim.libertybans.api.Operator;
+import space.arim.libertybans.api.PlayerVictim;
+import space.arim.libertybans.api.PunishmentType;
+import space.arim.libertybans.api.Victim;
+import space.arim.libertybans.api.punish.EscalationTrack;
+import space.arim.libertybans.api.punish.Punishment;
+import space.arim.libertybans.api.punish.PunishmentDetailsCalculator;
+import space.arim.libertybans.api.punish.PunishmentDrafter;
+import space.arim.libertybans.api.scope.ScopeManager;
+import space.arim.libertybans.api.select.SelectionPredicate;
+import space.arim.libertybans.it.DontInject;
+import space.arim.libertybans.it.InjectionInvocationContextProvider;
+import space.arim.libertybans.it.resolver.NonNullTrack;
+import space.arim.libertybans.it.resolver.RandomEscalationTrackResolver;
+import space.arim.libertybans.it.resolver.RandomOperatorResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static space.arim.libertybans.it.util.RandomUtil.randomAddress;
+
+@ExtendWith(InjectionInvocationContextProvider.class)
+@ExtendWith({RandomOperatorResolver.class, RandomEscalationTrackResolver.class})
+public class ConcurrentEnactmentIT {
+
+	private final PunishmentDrafter drafter;
+	private final ScopeManager scopeManager;
+	private final Operator operator;
+	private final EscalationTrack escalationTrack;
+
+	private static final int CONCURRENT_PUNISHMENTS = 8;
+
+	public ConcurrentEnactmentIT(PunishmentDrafter drafter, ScopeManager scopeManager,
+								 @DontInject Operator operator, @DontInject @NonNullTrack EscalationTrack escalationTrack) {
+		this.drafter = drafter;
+		this.scopeManager = scopeManager;
+		this.operator = operator;
+		this.escalationTrack = escalationTrack;
+	}
+
+	private PunishmentDetailsCalculator countingCalculator(Victim first, Victim...others) {
+		return (track, victim, selectionOrderBuilder) -> {
+			Integer existingPunishments = selectionOrderBuilder
+					.victims(SelectionPredicate.matchingAnyOf(first, others))
+					.escalationTrack(track)
+					.build()
+					.countNumberOfPunishments()
+					.toCompletableFuture()
+					.getNow(null);
+			if (existingPunishments == null) {
+				throw new AssertionError("Selection should be instantly complete");
+			}
+			return new PunishmentDetailsCalculator.CalculationResult(
+					PunishmentType.WARN, "Now at " + (existingPunishments + 1), Duration.ZERO, scopeManager.globalScope()
+			);
+		};
+	}
+
+	private CompletableFuture<Punishment> calculate(Victim victim, PunishmentDetailsCalculator calculator) {
+		return drafter
+				.calculablePunishmentBuilder()
+				.victim(victim)
+				.operator(operator)
+				.escalationTrack(escalationTrack)
+				.calculator(calculator)
+				.build()
+				.enactPunishment()
+				.toCompletableFuture()
+				.thenApply((optPunishment) -> optPunishment.orElseThrow(AssertionError::new));
+	}
+
+	private CompletableFuture<Punishment> enact(Victim victim) {
+		return drafter
+				.draftBuilder()
+				.type(PunishmentType.WARN)
+				.victim(victim)
+				.operator(operator)
+				.reason("enacted")
+				.escalationTrack(escalationTrack)
+				.build()
+				.enactPunishment()
+				.toCompletableFuture()
+				.thenApply((optPunishment) -> optPunishment.orElseThrow(AssertionError::new));
+	}
+
+	private static Set<String> expectedReasons(int count) {
+		Set<String> reasons = new HashSet<>();
+		for (int n = 1; n <= count; n++) {
+			reasons.add("Now at " + n);
+		}
+		return reasons;
+	}
+
+	private static Set<String> reasonsOf(List<CompletableFuture<Punishment>> futures) {
+		Set<String> reasons = new HashSet<>();
+		for (CompletableFuture<Punishment> future : futures) {
+			reasons.add(future.join().getReason());
+		}
+		return reasons;
+	}
+
+	@TestTemplate
+	public void calculateSameVictimConcurrently() {
+		Victim victim = PlayerVictim.of(UUID.randomUUID());
+		PunishmentDetailsCalculator calculator = countingCalculator(victim);
+		List<CompletableFuture<Punishment>> futures = new ArrayList<>();
+		for (int n = 0; n < CONCURRENT_PUNISHMENTS; n++) {
+			futures.add(calculate(victim, calculator));
+		}
+		// Each calculation must see every calculation completed before it
+		assertEquals(expectedReasons(CONCURRENT_PUNISHMENTS), reasonsOf(futures));
+	}
+
+	@TestTemplate
+	public void calculateRelatedVictimsConcurrently() {
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = randomAddress();
+		Victim playerVictim = PlayerVictim.of(uuid);
+		Victim compositeVictim = CompositeVictim.of(uuid, address);
+		PunishmentDetailsCalculator calculator = countingCalculator(playerVictim, compositeVictim);
+		List<CompletableFuture<Punishment>> futures = new ArrayList<>();
+		for (int n = 0; n < CONCURRENT_PUNISHMENTS; n++) {
+			futures.add(calculate((n % 2 == 0) ? playerVictim : compositeVictim, calculator));
+		}
+		assertEquals(expectedReasons(CONCURRENT_PUNISHMENTS), reasonsOf(futures));
+	}
+
+	@TestTemplate
+	public void enactAndCalculateConcurrently() {
+		UUID uuid = UUID.randomUUID();
+		NetworkAddress address = randomAddress();
+		Victim playerVictim = PlayerVictim.of(uuid);
+		Victim compositeVictim = CompositeVictim.of(uuid, address);
+		PunishmentDetailsCalculator calculator = countingCalculator(playerVictim, compositeVictim);
+		List<CompletableFuture<Punishment>> calculations = new ArrayList<>();
+		List<CompletableFuture<Punishment>> enactments = new ArrayList<>();
+		for (int n = 0; n < CONCURRENT_PUNISHMENTS; n++) {
+			calculations.add(calculate(playerVictim, calculator));
+			enactments.add(enact((n % 2 == 0) ? playerVictim : compositeVictim));
+		}
+		enactments.forEach(CompletableFuture::join);
+		// Every punishment is counted by the calculations after it, so no two calculations see the same count
+		Set<String> reasons = reasonsOf(calculations);
+		assertEquals(CONCURRENT_PUNISHMENTS, reasons.size(), () -> "Reasons " + reasons);
+	}
+
+}
@@ -30,12 +30,16 @@ import space.arim.libertybans.core.uuid.UUIDManager;
 import space.arim.libertybans.it.InjectionInvocationContextProvider;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static space.arim.libertybans.it.util.RandomUtil.randomAddress;
+import static space.arim.libertybans.core.schema.tables.Names.NAMES;
 import static space.arim.libertybans.it.util.RandomUtil.randomName;
 
 @ExtendWith(InjectionInvocationContextProvider.class)
@@ -134,4 +138,31 @@ public class UUIDStoreIT {
 
 		assertEquals(addressTwo, lookupPlayer(name).address(), "Should use most recent address");
 	}
+
+	@TestTemplate
+	public void bulkLookupStoredNames(InternalDatabase database) {
+		UUID uuidOne = UUID.randomUUID();
+		UUID uuidTwo = UUID.randomUUID();
+		String nameOne = randomName();
+		String pastNameTwo = randomName();
+		String nameTwo = randomName();
+		Instant updated = Instant.ofEpochSecond(1_700_000_000L);
+		database.execute((context) -> {
+			context
+					.insertInto(NAMES)
+					.columns(NAMES.UUID, NAMES.NAME, NAMES.UPDATED)
+					.values(uuidOne, nameOne, updated)
+					.values(uuidTwo, pastNameTwo, updated)
+					.values(uuidTwo, nameTwo, updated.plusSeconds(60L))
+					.execute();
+		}).join();
+
+		assertEquals(
+				Map.of(uuidOne, nameOne, uuidTwo, nameTwo),
+				uuidManager.lookupNames(List.of(uuidOne, uuidTwo, UUID.randomUUID())).join(),
+				"Should use most recent names");
+		assertEquals(
+				Map.of(nameOne, uuidOne, pastNameTwo, uuidTwo, nameTwo, uuidTwo),
+				uuidManager.lookupUUIDs(List.of(nameOne, pastNameTwo, nameTwo, randomName())).join());
+	}
 }
@@ -21,6 +21,7 @@ package space.arim.libertybans.env.bungee;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
 import net.md_5.bungee.api.event.PostLoginEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -46,16 +47,24 @@ public class JoinListener implements PlatformListener, Listener {
     @Override
     public void register() {
         plugin.getProxy().getPluginManager().registerListener(plugin, this);
+        bungeeEnforcer.startIndexingPlayers();
     }
 
     @Override
     public void unregister() {
         plugin.getProxy().getPluginManager().unregisterListener(this);
+        bungeeEnforcer.stopIndexingPlayers();
     }
 
     @EventHandler(priority = EventPriority.LOW)
     public void onJoin(PostLoginEvent event) {
+        bungeeEnforcer.indexPlayerJoin(event.getPlayer());
         guardian.onJoin(event.getPlayer(), bungeeEnforcer);
     }
 
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onQuit(PlayerDisconnectEvent event) {
+        bungeeEnforcer.indexPlayerQuit(event.getPlayer());
+    }
+
 }
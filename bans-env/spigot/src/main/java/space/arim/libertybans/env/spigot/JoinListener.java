@@ -27,6 +27,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import space.arim.libertybans.core.env.PlatformListener;
 import space.arim.libertybans.core.scope.ServerNameListener;
@@ -53,19 +54,27 @@ public final class JoinListener implements PlatformListener, Listener {
 	public void register() {
 		serverNameListener.register();
 		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+		spigotEnforcer.startIndexingPlayers();
 	}
 
 	@Override
 	public void unregister() {
 		HandlerList.unregisterAll(this);
+		spigotEnforcer.stopIndexingPlayers();
 		serverNameListener.unregister();
 	}
 
 	@EventHandler(priority = EventPriority.LOW)
 	public void onJoin(PlayerJoinEvent event) {
 		Player player = event.getPlayer();
+		spigotEnforcer.indexPlayerJoin(player);
 		guardian.onJoin(player, spigotEnforcer);
 		serverNameListener.onJoin(player, spigotEnforcer);
 	}
 
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onQuit(PlayerQuitEvent event) {
+		spigotEnforcer.indexPlayerQuit(event.getPlayer());
+	}
+
 }
@@ -51,19 +51,27 @@ public final class JoinListener implements PlatformListener {
 	public void register() {
 		serverNameListener.register();
 		registerListeners.register(this);
+		spongeEnforcer.startIndexingPlayers();
 	}
 
 	@Override
 	public void unregister() {
 		registerListeners.unregister(this);
+		spongeEnforcer.stopIndexingPlayers();
 		serverNameListener.unregister();
 	}
 
 	@Listener(order = Order.EARLY)
 	public void onJoin(ServerSideConnectionEvent.Join event) {
 		ServerPlayer player = event.player();
+		spongeEnforcer.indexPlayerJoin(player);
 		guardian.onJoin(player, spongeEnforcer);
 		serverNameListener.onJoin(player, spongeEnforcer);
 	}
 
+	@Listener(order = Order.POST)
+	public void onQuit(ServerSideConnectionEvent.Disconnect event) {
+		spongeEnforcer.indexPlayerQuit(event.player());
+	}
+
 }
@@ -100,6 +100,16 @@ public final class SpongeMessageChannel implements EnvMessageChannel<ChannelFaca
 		public void writeUTF(String utf) throws IOException {
 			buffer.writeUTF(utf);
 		}
+
+		@Override
+		public void writeShort(short value) throws IOException {
+			buffer.writeShort(value);
+		}
+
+		@Override
+		public void writeBytes(byte[] bytes) throws IOException {
+			buffer.writeBytes(bytes);
+		}
 	}
 
 	private record ChannelBufAsInput(ChannelBuf buffer) implements PluginMessageInput {
@@ -107,6 +117,16 @@ public final class SpongeMessageChannel implements EnvMessageChannel<ChannelFaca
 		public String readUTF() throws IOException {
 			return buffer.readUTF();
 		}
+
+		@Override
+		public short readShort() throws IOException {
+			return buffer.readShort();
+		}
+
+		@Override
+		public byte[] readBytes(int length) throws IOException {
+			return buffer.readBytes(length);
+		}
 	}
 
 }
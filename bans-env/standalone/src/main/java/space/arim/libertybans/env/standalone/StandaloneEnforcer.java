@@ -32,6 +32,7 @@ import space.arim.omnibus.util.concurrent.FactoryOfTheFuture;
 
 import java.net.InetAddress;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -86,6 +87,11 @@ final class StandaloneEnforcer implements EnvEnforcer<Void> {
 		return completedVoid();
 	}
 
+	@Override
+	public CentralisedFuture<Void> dispatchPolice(List<Police<Void>> police) {
+		return completedVoid();
+	}
+
 	@Override
 	public UUID getUniqueIdFor(Void player) {
 		throw new UnsupportedOperationException();
@@ -22,6 +22,8 @@ package space.arim.libertybans.env.velocity;
 import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
 import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.proxy.ProxyServer;
@@ -49,11 +51,23 @@ public class JoinListener implements PlatformListener {
     @Override
     public void register() {
         server.getEventManager().register(plugin, this);
+        velocityEnforcer.startIndexingPlayers();
     }
 
     @Override
     public void unregister() {
         server.getEventManager().unregisterListener(plugin, this);
+        velocityEnforcer.stopIndexingPlayers();
+    }
+
+    @Subscribe(order = PostOrder.FIRST)
+    public void onPostLogin(PostLoginEvent event) {
+        velocityEnforcer.indexPlayerJoin(event.getPlayer());
+    }
+
+    @Subscribe(order = PostOrder.LAST)
+    public void onQuit(DisconnectEvent event) {
+        velocityEnforcer.indexPlayerQuit(event.getPlayer());
     }
 
     @Subscribe(order = PostOrder.EARLY)